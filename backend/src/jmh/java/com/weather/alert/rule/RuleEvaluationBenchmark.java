@@ -0,0 +1,129 @@
+package com.weather.alert.rule;
+
+import com.weather.alert.AlertType;
+import com.weather.alert.WeatherAlert;
+import com.weather.alert.WeatherAlertSystem;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates 100k compound rules, spread over locations, against one observation per location.
+ * Compares rules evaluated one by one with rule sets sharing comparisons per location, and with
+ * the same number of single-threshold alerts checked by {@link WeatherAlertSystem#shouldTriggerAlert}.
+ * Run with: ./gradlew jmh -PjmhIncludes=RuleEvaluationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RuleEvaluationBenchmark {
+
+  private static final String[] TEMPLATES = {
+          "temp > %d AND humidity > 70",
+          "temp > %d AND humidity > 70 FOR 2 CONSECUTIVE CHECKS",
+          "wind >= 40 OR condition CONTAINS 'storm'",
+          "temp < %d OR (wind > 60 AND NOT condition = 'Clear')",
+          "humidity > 90 AND temp > %d"
+  };
+
+  @Param({"100000"})
+  private int rules;
+
+  @Param({"10"})
+  private int rulesPerLocation;
+
+  private CompiledRule[][] compiled;
+  private RuleSet[] ruleSets;
+  private WeatherData[] observations;
+  private WeatherAlertSystem alertSystem;
+  private WeatherAlert[] thresholdAlerts;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    int locations = rules / rulesPerLocation;
+    compiled = new CompiledRule[locations][rulesPerLocation];
+    ruleSets = new RuleSet[locations];
+    observations = new WeatherData[locations];
+    for (int l = 0; l < locations; l++) {
+      List<CompiledRule> locationRules = new ArrayList<>(rulesPerLocation);
+      for (int r = 0; r < rulesPerLocation; r++) {
+        // Few distinct thresholds, as users pick round numbers, so rules on a location overlap
+        String template = TEMPLATES[random.nextInt(TEMPLATES.length)];
+        compiled[l][r] = CompiledRule.compile(String.format(template, 25 + 5 * random.nextInt(3)));
+        locationRules.add(compiled[l][r]);
+      }
+      ruleSets[l] = RuleSet.of(locationRules);
+      observations[l] = WeatherData.builder()
+              .temperature(10 + random.nextDouble() * 30)
+              .humidity(random.nextInt(101))
+              .windSpeed(random.nextDouble() * 80)
+              .condition(random.nextBoolean() ? "Clear" : "Thunderstorm")
+              .build();
+    }
+
+    alertSystem = new WeatherAlertSystem();
+    Location location = new Location("Milan", "IT", 45.4642, 9.1900);
+    thresholdAlerts = new WeatherAlert[rules];
+    for (int i = 0; i < rules; i++) {
+      thresholdAlerts[i] = alertSystem.createTemperatureAlert(location, 25 + 5 * random.nextInt(3), AlertType.HIGH_TEMPERATURE);
+    }
+  }
+
+  @Benchmark
+  public int thresholdSwitch() {
+    int matching = 0;
+    for (int i = 0; i < thresholdAlerts.length; i++) {
+      if (alertSystem.shouldTriggerAlert(thresholdAlerts[i], observations[i / rulesPerLocation])) {
+        matching++;
+      }
+    }
+    return matching;
+  }
+
+  @Benchmark
+  public int compiledPerRule() {
+    int matching = 0;
+    for (int l = 0; l < compiled.length; l++) {
+      for (CompiledRule rule : compiled[l]) {
+        if (rule.matches(observations[l])) {
+          matching++;
+        }
+      }
+    }
+    return matching;
+  }
+
+  @Benchmark
+  public int sharedPerLocation() {
+    int matching = 0;
+    for (int l = 0; l < ruleSets.length; l++) {
+      RuleSet ruleSet = ruleSets[l];
+      long outcomes = 0;
+      int evaluated = -1;
+      for (int i = 0; i < ruleSet.size(); i++) {
+        int group = ruleSet.groupOf(i);
+        if (group != evaluated) {
+          outcomes = ruleSet.evaluateGroup(group, observations[l]);
+          evaluated = group;
+        }
+        if (ruleSet.matches(i, outcomes)) {
+          matching++;
+        }
+      }
+    }
+    return matching;
+  }
+}
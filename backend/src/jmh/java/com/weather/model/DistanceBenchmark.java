@@ -0,0 +1,98 @@
+package com.weather.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares filtering many locations by distance from one point.
+ * Run with: ./gradlew jmh -PjmhIncludes=DistanceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DistanceBenchmark {
+
+  private static final double RADIUS_KM = 100.0;
+
+  @Param({"100000"})
+  private int size;
+
+  private Location center;
+  private List<Location> locations;
+  private GeoPoints points;
+  private int[] matches;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    center = new Location("Milan", "IT", 45.4642, 9.1900);
+    locations = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      // Spread over Europe, so a share of the points falls inside the radius
+      locations.add(new Location("City" + i, "IT", 36 + random.nextDouble() * 20, -5 + random.nextDouble() * 30));
+    }
+    points = GeoPoints.of(locations);
+    matches = new int[size];
+  }
+
+  @Benchmark
+  public int previousDistanceTo() {
+    int count = 0;
+    for (Location location : locations) {
+      if (previousDistance(center, location) <= RADIUS_KM) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int distanceTo() {
+    int count = 0;
+    for (Location location : locations) {
+      if (center.distanceTo(location) <= RADIUS_KM) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int batchWithin() {
+    return points.within(center.getLatitude(), center.getLongitude(), RADIUS_KM, matches);
+  }
+
+  @Benchmark
+  public int batchWithinApproximate() {
+    return points.withinApproximate(center.getLatitude(), center.getLongitude(), RADIUS_KM, matches);
+  }
+
+  /**
+   * Previous implementation of Location.distanceTo: equality check on every call, then every
+   * conversion and cosine recomputed per pair
+   */
+  private static double previousDistance(Location from, Location to) {
+    if (from.equals(to)) {
+      return 0.0;
+    }
+    double fromLatitude = Math.toRadians(from.getLatitude());
+    double toLatitude = Math.toRadians(to.getLatitude());
+    double latitudeDifference = Math.toRadians(to.getLatitude() - from.getLatitude());
+    double longitudeDifference = Math.toRadians(to.getLongitude() - from.getLongitude());
+    double haversine = Math.sin(latitudeDifference / 2) * Math.sin(latitudeDifference / 2)
+            + Math.cos(fromLatitude) * Math.cos(toLatitude)
+            * Math.sin(longitudeDifference / 2) * Math.sin(longitudeDifference / 2);
+    return GeoPoints.EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(haversine), Math.sqrt(1 - haversine));
+  }
+}
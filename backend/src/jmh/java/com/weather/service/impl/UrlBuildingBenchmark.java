@@ -0,0 +1,51 @@
+package com.weather.service.impl;
+
+import okhttp3.HttpUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares per-request upstream URL construction strategies.
+ * Run with: ./gradlew jmh -PjmhIncludes=UrlBuildingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UrlBuildingBenchmark {
+
+  private static final String BASE_URL = "https://api.openweathermap.org/data/2.5";
+
+  private OpenWeatherMapUrls urls;
+  private double latitude;
+  private double longitude;
+
+  @Setup
+  public void setUp() {
+    urls = new OpenWeatherMapUrls(BASE_URL);
+    latitude = 45.4642;
+    longitude = -9.19;
+  }
+
+  @Benchmark
+  public HttpUrl stringFormat() {
+    // Previous implementation: format string parsed on every call, then parsed again by OkHttp
+    return HttpUrl.get(String.format("%s/weather?lat=%f&lon=%f&units=metric", BASE_URL, latitude, longitude));
+  }
+
+  @Benchmark
+  public HttpUrl precomputedTemplate() {
+    return urls.currentWeather(latitude, longitude);
+  }
+
+  @Benchmark
+  public String formatCoordinate() {
+    return OpenWeatherMapUrls.formatCoordinate(latitude);
+  }
+}
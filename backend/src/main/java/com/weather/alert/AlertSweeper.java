@@ -0,0 +1,135 @@
+package com.weather.alert;
+
+import com.weather.config.AlertEvaluationConfig;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.WeatherService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background sweep checking every location with active alerts.
+ * Each sweep fetches current weather for the alert locations in parallel, through the weather
+ * cache, then evaluates them with the {@link ShardedAlertEvaluator}. Sweeps also drop the forecast
+ * predictions of locations whose alerts are gone.
+ */
+@Slf4j
+@Component
+public class AlertSweeper {
+
+  private final WeatherAlertSystem alertSystem;
+  private final ShardedAlertEvaluator evaluator;
+  private final ForecastAlertEvaluator forecastEvaluator;
+  private final WeatherService weatherService;
+  private final AlertEvaluationConfig config;
+  private final Timer sweepDuration;
+  private final Counter sweptLocations;
+  private final Counter fetchFailures;
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService fetchers;
+
+  public AlertSweeper(WeatherAlertSystem alertSystem, ShardedAlertEvaluator evaluator,
+                      ForecastAlertEvaluator forecastEvaluator, WeatherService weatherService,
+                      AlertEvaluationConfig config, MeterRegistry meterRegistry) {
+    this.alertSystem = alertSystem;
+    this.evaluator = evaluator;
+    this.forecastEvaluator = forecastEvaluator;
+    this.weatherService = weatherService;
+    this.config = config;
+    this.sweepDuration = Timer.builder("weather.alerts.sweep.duration")
+            .description("Time to fetch and evaluate every alert location")
+            .register(meterRegistry);
+    this.sweptLocations = Counter.builder("weather.alerts.sweep.locations")
+            .description("Locations evaluated by background sweeps")
+            .register(meterRegistry);
+    this.fetchFailures = Counter.builder("weather.alerts.sweep.fetch.failures")
+            .description("Locations skipped because their weather could not be fetched")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    fetchers = Executors.newFixedThreadPool(config.getFetchThreads(), daemonThreads("alert-sweep-fetch"));
+    if (!config.isSweepEnabled()) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("alert-sweep"));
+    long intervalMillis = config.getSweepInterval().toMillis();
+    scheduler.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+    if (fetchers != null) {
+      fetchers.shutdownNow();
+    }
+  }
+
+  /**
+   * Fetches weather for every alert location and evaluates their alerts
+   *
+   * @return alerts triggered by this sweep
+   */
+  public List<WeatherAlert> sweep() {
+    long start = System.nanoTime();
+    Map<String, Location> locations = alertSystem.getAlertLocations();
+    Map<String, WeatherData> observations = new ConcurrentHashMap<>(locations.size() * 2);
+
+    List<CompletableFuture<Void>> fetches = new ArrayList<>(locations.size());
+    locations.forEach((key, location) -> fetches.add(CompletableFuture.runAsync(() -> {
+      try {
+        observations.put(key, weatherService.getCurrentWeather(location));
+      } catch (Exception e) {
+        fetchFailures.increment();
+        log.debug("Alert sweep could not fetch weather for {}: {}", location.getFullName(), e.getMessage());
+      }
+    }, fetchers)));
+    CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).join();
+
+    List<WeatherAlert> triggered = evaluator.evaluate(observations).join();
+    forecastEvaluator.prune();
+    sweptLocations.increment(observations.size());
+    sweepDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    log.debug("Alert sweep evaluated {} of {} locations, {} alerts triggered",
+            observations.size(), locations.size(), triggered.size());
+    return triggered;
+  }
+
+  private void sweepSafely() {
+    try {
+      sweep();
+    } catch (RuntimeException e) {
+      log.warn("Alert sweep failed: {}", e.getMessage());
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
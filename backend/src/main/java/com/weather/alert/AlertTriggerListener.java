@@ -0,0 +1,19 @@
+package com.weather.alert;
+
+import com.weather.model.WeatherData;
+
+import java.util.List;
+
+/**
+ * Callback for alerts triggered while checking weather data.
+ * Invoked on the checking thread, so implementations should hand work off rather than block.
+ */
+@FunctionalInterface
+public interface AlertTriggerListener {
+
+  /**
+   * @param alerts      alerts triggered by one check, never empty
+   * @param weatherData the weather data that triggered them
+   */
+  void onTriggered(List<WeatherAlert> alerts, WeatherData weatherData);
+}
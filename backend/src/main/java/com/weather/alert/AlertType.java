@@ -13,7 +13,8 @@ public enum AlertType {
   PRECIPITATION("Precipitation", "Precipitation conditions detected"),
   HIGH_WIND_SPEED("High Wind Speed", "Wind speed exceeds threshold"),
   HIGH_HUMIDITY("High Humidity", "Humidity exceeds threshold"),
-  LOW_HUMIDITY("Low Humidity", "Humidity below threshold");
+  LOW_HUMIDITY("Low Humidity", "Humidity below threshold"),
+  RULE("Custom Rule", "Compound rule over current conditions");
 
   private final String displayName;
   private final String description;
@@ -0,0 +1,136 @@
+package com.weather.alert;
+
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.WeatherService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Predicts when alerts will trigger by checking them against the forecast of their location.
+ * All alerts of a location are evaluated in a single pass over the forecast series, stopping as
+ * soon as every alert has crossed. Results are kept per location and reused for as long as both
+ * the cached forecast instance and the location's (immutable) alert list are unchanged, so repeated
+ * predictions cost two reference comparisons until the forecast cache refreshes.
+ */
+@Component
+public class ForecastAlertEvaluator {
+
+  private final WeatherAlertSystem alertSystem;
+  private final WeatherService weatherService;
+  private final Map<String, Prediction> predictions = new ConcurrentHashMap<>();
+  private final Counter computed;
+  private final Counter reused;
+
+  public ForecastAlertEvaluator(WeatherAlertSystem alertSystem, WeatherService weatherService,
+                                MeterRegistry meterRegistry) {
+    this.alertSystem = alertSystem;
+    this.weatherService = weatherService;
+    this.computed = Counter.builder("weather.alerts.forecast.predictions")
+            .description("Predictions for a location")
+            .tag("result", "computed")
+            .register(meterRegistry);
+    this.reused = Counter.builder("weather.alerts.forecast.predictions")
+            .description("Predictions for a location")
+            .tag("result", "cached")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Finds the earliest predicted crossing of each active alert of a location
+   *
+   * @param location the location
+   * @param days     number of forecast days to look ahead
+   * @return crossings ordered by predicted time; alerts not crossing within the forecast are omitted
+   * @throws IllegalArgumentException if location is null or days is invalid
+   */
+  public List<PredictedCrossing> predict(Location location, int days) {
+    if (location == null) {
+      throw new IllegalArgumentException("Location cannot be null");
+    }
+    String locationKey = Location.searchKey(location.getCity(), location.getCountry());
+    List<WeatherAlert> alerts = alertSystem.getActiveAlertsForLocationKey(locationKey);
+    if (alerts.isEmpty()) {
+      predictions.remove(locationKey);
+      return List.of();
+    }
+
+    WeatherData[] forecast = weatherService.getWeatherForecast(location, days);
+    Prediction cached = predictions.get(locationKey);
+    if (cached != null && cached.forecast == forecast && cached.alerts == alerts) {
+      reused.increment();
+      return cached.crossings;
+    }
+
+    List<PredictedCrossing> crossings = earliestCrossings(alerts, forecast);
+    predictions.put(locationKey, new Prediction(forecast, alerts, crossings));
+    computed.increment();
+    return crossings;
+  }
+
+  /**
+   * Drops predictions of locations that no longer have active alerts
+   */
+  public void prune() {
+    predictions.keySet().removeIf(locationKey -> alertSystem.getActiveAlertsForLocationKey(locationKey).isEmpty());
+  }
+
+  int cachedLocations() {
+    return predictions.size();
+  }
+
+  /**
+   * Rules requiring consecutive checks count consecutive forecast points.
+   *
+   * @param forecast series in chronological order of {@link WeatherData#getValidAtEpochSecond valid
+   *                 time}; missing points are skipped
+   */
+  List<PredictedCrossing> earliestCrossings(List<WeatherAlert> alerts, WeatherData[] forecast) {
+    int[] streaks = new int[alerts.size()];  // -1 once crossed
+    int remaining = streaks.length;
+    List<PredictedCrossing> crossings = new ArrayList<>();
+    for (WeatherData point : forecast) {
+      if (point == null) {
+        continue;
+      }
+      for (int i = 0; i < streaks.length; i++) {
+        if (streaks[i] < 0) {
+          continue;
+        }
+        WeatherAlert alert = alerts.get(i);
+        streaks[i] = alertSystem.shouldTriggerAlert(alert, point) ? streaks[i] + 1 : 0;
+        if (streaks[i] >= alert.getRequiredConsecutiveChecks()) {
+          streaks[i] = -1;
+          remaining--;
+          crossings.add(new PredictedCrossing(alert, point));
+        }
+      }
+      if (remaining == 0) {
+        break;
+      }
+    }
+    return List.copyOf(crossings);
+  }
+
+  /**
+   * Crossings computed from one forecast instance and one alert list
+   */
+  private static final class Prediction {
+
+    private final WeatherData[] forecast;
+    private final List<WeatherAlert> alerts;
+    private final List<PredictedCrossing> crossings;
+
+    private Prediction(WeatherData[] forecast, List<WeatherAlert> alerts, List<PredictedCrossing> crossings) {
+      this.forecast = forecast;
+      this.alerts = alerts;
+      this.crossings = crossings;
+    }
+  }
+}
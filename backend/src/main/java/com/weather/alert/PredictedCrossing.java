@@ -0,0 +1,21 @@
+package com.weather.alert;
+
+import com.weather.model.WeatherData;
+import lombok.Value;
+
+/**
+ * First forecast point at which an alert is predicted to trigger
+ */
+@Value
+public class PredictedCrossing {
+
+  WeatherAlert alert;
+  WeatherData forecast;
+
+  /**
+   * @return predicted crossing time in seconds since the epoch, the valid time of the forecast point
+   */
+  public long getEpochSecond() {
+    return forecast.getValidAtEpochSecond();
+  }
+}
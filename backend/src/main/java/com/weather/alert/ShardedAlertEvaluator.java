@@ -0,0 +1,193 @@
+package com.weather.alert;
+
+import com.weather.config.AlertEvaluationConfig;
+import com.weather.model.WeatherData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates alerts for many locations in parallel.
+ * Locations are partitioned into shards by the hash of their {@link com.weather.model.Location#searchKey
+ * search key}, and each shard is evaluated by its own single worker thread. A location therefore
+ * always lands on the same thread, so the consecutive check counts of its alerts are only updated
+ * by that thread and shards proceed without locks; throughput grows with the number of shards up
+ * to the number of cores.
+ * The alerts themselves stay in the shared concurrent store of {@link WeatherAlertSystem}, whose
+ * per-location lists are immutable snapshots read without locking. Trigger times are not
+ * confined: ad-hoc checks from request threads ({@link WeatherAlertSystem#checkAlerts}) trigger
+ * alerts too, so the trigger time is a volatile last-writer-wins value.
+ */
+@Slf4j
+@Component
+public class ShardedAlertEvaluator {
+
+  private final WeatherAlertSystem alertSystem;
+  private final Shard[] shards;
+
+  public ShardedAlertEvaluator(WeatherAlertSystem alertSystem, AlertEvaluationConfig config,
+                               MeterRegistry meterRegistry) {
+    this.alertSystem = alertSystem;
+    this.shards = new Shard[config.getShards()];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = new Shard(i, config.getShardQueueCapacity(), meterRegistry);
+    }
+  }
+
+  @PostConstruct
+  public void start() {
+    for (Shard shard : shards) {
+      shard.start();
+    }
+    log.info("Alert evaluation started with {} shards", shards.length);
+  }
+
+  @PreDestroy
+  public void stop() {
+    for (Shard shard : shards) {
+      if (shard.worker != null) {
+        shard.worker.shutdownNow();
+      }
+    }
+  }
+
+  public int shardCount() {
+    return shards.length;
+  }
+
+  /**
+   * @return shard owning the location with the given search key
+   */
+  public int shardOf(String locationKey) {
+    int hash = locationKey.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+  }
+
+  /**
+   * Evaluates the alerts of each location against its observation, one batch per shard.
+   * Triggered alerts are reported to the trigger listeners of the alert system per location.
+   * A shard whose queue is full skips its batch, counted as rejected.
+   *
+   * @param observations current weather keyed by location search key
+   * @return future completed with every triggered alert once all shards are done
+   */
+  public CompletableFuture<List<WeatherAlert>> evaluate(Map<String, WeatherData> observations) {
+    List<List<Map.Entry<String, WeatherData>>> batches = new ArrayList<>(shards.length);
+    for (int i = 0; i < shards.length; i++) {
+      batches.add(new ArrayList<>());
+    }
+    for (Map.Entry<String, WeatherData> observation : observations.entrySet()) {
+      if (observation.getValue() != null) {
+        batches.get(shardOf(observation.getKey())).add(observation);
+      }
+    }
+
+    List<CompletableFuture<List<WeatherAlert>>> results = new ArrayList<>(shards.length);
+    for (int i = 0; i < shards.length; i++) {
+      if (!batches.get(i).isEmpty()) {
+        results.add(shards[i].submit(batches.get(i)));
+      }
+    }
+    return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+            .thenApply(done -> {
+              List<WeatherAlert> triggered = new ArrayList<>();
+              results.forEach(result -> triggered.addAll(result.join()));
+              return triggered;
+            });
+  }
+
+  /**
+   * One partition of the locations with its worker and meters
+   */
+  private final class Shard {
+
+    private final int index;
+    private final BlockingQueue<Runnable> queue;
+    private final Timer duration;
+    private final Counter evaluated;
+    private final Counter triggered;
+    private final Counter rejected;
+    private ThreadPoolExecutor worker;
+
+    private Shard(int index, int queueCapacity, MeterRegistry registry) {
+      this.index = index;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+      String shard = String.valueOf(index);
+      this.duration = Timer.builder("weather.alerts.evaluation.duration")
+              .description("Time for a shard to evaluate one batch of locations")
+              .tag("shard", shard)
+              .register(registry);
+      this.evaluated = Counter.builder("weather.alerts.evaluation.evaluated")
+              .description("Alerts evaluated against an observation")
+              .tag("shard", shard)
+              .register(registry);
+      this.triggered = Counter.builder("weather.alerts.evaluation.triggered")
+              .description("Alerts triggered by sharded evaluation")
+              .tag("shard", shard)
+              .register(registry);
+      this.rejected = Counter.builder("weather.alerts.evaluation.rejected")
+              .description("Locations skipped because the shard queue was full")
+              .tag("shard", shard)
+              .register(registry);
+      Gauge.builder("weather.alerts.evaluation.queue.depth", queue, BlockingQueue::size)
+              .description("Batches waiting for a shard worker")
+              .tag("shard", shard)
+              .register(registry);
+    }
+
+    private void start() {
+      worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+        Thread thread = new Thread(runnable, "alert-shard-" + index);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    private CompletableFuture<List<WeatherAlert>> submit(List<Map.Entry<String, WeatherData>> batch) {
+      CompletableFuture<List<WeatherAlert>> result = new CompletableFuture<>();
+      try {
+        worker.execute(() -> {
+          try {
+            result.complete(evaluate(batch));
+          } catch (RuntimeException e) {
+            log.warn("Alert shard {} failed to evaluate {} locations: {}", index, batch.size(), e.getMessage());
+            result.complete(List.of());
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        rejected.increment(batch.size());
+        result.complete(List.of());
+      }
+      return result;
+    }
+
+    private List<WeatherAlert> evaluate(List<Map.Entry<String, WeatherData>> batch) {
+      long start = System.nanoTime();
+      List<WeatherAlert> shardTriggered = new ArrayList<>();
+      long alertCount = 0;
+      for (Map.Entry<String, WeatherData> observation : batch) {
+        alertCount += alertSystem.getActiveAlertsForLocationKey(observation.getKey()).size();
+        shardTriggered.addAll(alertSystem.checkLocation(observation.getKey(), observation.getValue()));
+      }
+      evaluated.increment(alertCount);
+      triggered.increment(shardTriggered.size());
+      duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return shardTriggered;
+    }
+  }
+}
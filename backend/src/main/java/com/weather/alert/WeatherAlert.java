@@ -1,6 +1,8 @@
 package com.weather.alert;
 
+import com.weather.alert.rule.CompiledRule;
 import com.weather.model.Location;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,7 +18,7 @@ import java.util.UUID;
  */
 @Getter
 @Setter
-@EqualsAndHashCode(of = {"location", "alertType", "threshold", "precipitationConditions"})
+@EqualsAndHashCode(of = {"location", "alertType", "threshold", "precipitationConditions", "rule"})
 @ToString
 public class WeatherAlert {
 
@@ -27,9 +29,16 @@ public class WeatherAlert {
   private List<String> precipitationConditions;
   private boolean active;
   private LocalDateTime createdAt;
-  private LocalDateTime lastTriggered;
+  private volatile LocalDateTime lastTriggered; // Set by shard workers and by ad-hoc checks on request threads
   private String message;
   private int priority;
+  @Setter(AccessLevel.NONE)
+  private CompiledRule rule;
+  @Setter(AccessLevel.NONE)
+  private int consecutiveMatches;  // Updated only by the thread evaluating the alert's location
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private long lastCountedObservation = Long.MIN_VALUE; // Epoch second of the last observation counted
 
   public WeatherAlert() {
     this.id = UUID.randomUUID().toString();
@@ -80,6 +89,53 @@ public class WeatherAlert {
     this.threshold = threshold;
   }
 
+  /**
+   * Sets the compound rule of a {@link AlertType#RULE} alert
+   *
+   * @param rule compiled rule
+   */
+  public void setRule(CompiledRule rule) {
+    if (rule == null) {
+      throw new IllegalArgumentException("Rule cannot be null");
+    }
+    this.rule = rule;
+    this.consecutiveMatches = 0;
+    this.lastCountedObservation = Long.MIN_VALUE;
+  }
+
+  /**
+   * @return checks the condition must hold for in a row before the alert triggers
+   */
+  public int getRequiredConsecutiveChecks() {
+    return rule != null ? rule.getConsecutiveChecks() : 1;
+  }
+
+  /**
+   * Records the outcome of checking the alert condition against one observation.
+   * Only a newer observation counts as a new check: weather stays cached for longer than the
+   * evaluation interval, so the same observation is re-checked several times.
+   *
+   * @param conditionMet          whether the condition held for the observation
+   * @param observedAtEpochSecond observation time of the checked weather
+   * @return true if the condition has now held for the required consecutive observations;
+   * false for an observation that was already counted
+   */
+  public boolean recordCheck(boolean conditionMet, long observedAtEpochSecond) {
+    if (observedAtEpochSecond <= lastCountedObservation) {
+      return false;
+    }
+    lastCountedObservation = observedAtEpochSecond;
+    if (!conditionMet) {
+      consecutiveMatches = 0;
+      return false;
+    }
+    int required = getRequiredConsecutiveChecks();
+    if (consecutiveMatches < required) {
+      consecutiveMatches++;
+    }
+    return consecutiveMatches >= required;
+  }
+
   public List<String> getPrecipitationConditions() {
     return precipitationConditions != null ? new ArrayList<>(precipitationConditions) : null;
   }
@@ -136,6 +192,8 @@ public class WeatherAlert {
       if (precipitationConditions != null) {
         desc.append(" for conditions: ").append(String.join(",", precipitationConditions));
       }
+    } else if (alertType == AlertType.RULE && rule != null) {
+      desc.append(" when ").append(rule.getSource());
     }
 
     return desc.toString();
@@ -1,14 +1,23 @@
 package com.weather.alert;
 
+import com.weather.alert.rule.CompiledRule;
+import com.weather.alert.rule.RuleSet;
+import com.weather.model.GeoPoints;
 import com.weather.model.Location;
 import com.weather.model.WeatherData;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
@@ -16,16 +25,33 @@ import java.util.stream.Collectors;
 /**
  * System for managing weather alerts and checking conditions
  */
+@Slf4j
 @Component
 public class WeatherAlertSystem {
 
   @Getter
   private final List<WeatherAlert> activeAlerts;
   private final Map<String, WeatherAlert> alertsById;
+  private final Map<String, LocationAlerts> alertsByLocationKey;
+  private final List<AlertTriggerListener> triggerListeners;
 
   public WeatherAlertSystem() {
     this.activeAlerts = new CopyOnWriteArrayList<>();
     this.alertsById = new ConcurrentHashMap<>();
+    this.alertsByLocationKey = new ConcurrentHashMap<>();
+    this.triggerListeners = new CopyOnWriteArrayList<>();
+  }
+
+  /**
+   * Registers a listener notified of alerts triggered by {@link #checkAlerts(WeatherData)}
+   *
+   * @param listener the listener to add
+   */
+  public void addTriggerListener(AlertTriggerListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    triggerListeners.add(listener);
   }
 
   /**
@@ -88,6 +114,25 @@ public class WeatherAlertSystem {
     return new WeatherAlert(location, AlertType.HIGH_WIND_SPEED, windSpeedThreshold);
   }
 
+  /**
+   * Creates an alert from a compound rule, for example
+   * {@code temp > 30 AND humidity > 70 FOR 2 CONSECUTIVE CHECKS}
+   *
+   * @param location the location
+   * @param rule     rule text, see {@link CompiledRule}
+   * @return created alert
+   * @throws IllegalArgumentException if the rule is malformed
+   */
+  public WeatherAlert createRuleAlert(Location location, String rule) {
+    if (location == null) {
+      throw new IllegalArgumentException("Location cannot be null");
+    }
+
+    WeatherAlert alert = new WeatherAlert(location, AlertType.RULE);
+    alert.setRule(CompiledRule.compile(rule));
+    return alert;
+  }
+
   /**
    * Adds an alert to the active alerts list
    *
@@ -101,6 +146,12 @@ public class WeatherAlertSystem {
     if (!activeAlerts.contains(alert)) {
       activeAlerts.add(alert);
       alertsById.put(alert.getId(), alert);
+      // Entries are replaced, never modified, so readers can use them without locking
+      alertsByLocationKey.compute(locationKey(alert), (key, entry) -> {
+        List<WeatherAlert> updated = entry == null ? new ArrayList<>(1) : new ArrayList<>(entry.alerts);
+        updated.add(alert);
+        return new LocationAlerts(updated);
+      });
     }
   }
 
@@ -113,6 +164,11 @@ public class WeatherAlertSystem {
     if (alert != null) {
       activeAlerts.remove(alert);
       alertsById.remove(alert.getId());
+      alertsByLocationKey.computeIfPresent(locationKey(alert), (key, entry) -> {
+        List<WeatherAlert> updated = new ArrayList<>(entry.alerts);
+        updated.remove(alert);
+        return updated.isEmpty() ? null : new LocationAlerts(updated);
+      });
     }
   }
 
@@ -141,6 +197,75 @@ public class WeatherAlertSystem {
             .collect(Collectors.toList());
   }
 
+  /**
+   * Gets active alerts registered for any of the given locations, matched by name
+   *
+   * @param locationKeys {@link Location#searchKey search keys} of the locations
+   * @return list of alerts for the locations
+   */
+  public List<WeatherAlert> getActiveAlertsForLocationKeys(Collection<String> locationKeys) {
+    List<WeatherAlert> alerts = new ArrayList<>();
+    for (String locationKey : locationKeys) {
+      alerts.addAll(getActiveAlertsForLocationKey(locationKey));
+    }
+    return alerts;
+  }
+
+  /**
+   * Gets active alerts registered for one location, matched by name
+   *
+   * @param locationKey {@link Location#searchKey search key} of the location
+   * @return unmodifiable list of alerts for the location
+   */
+  public List<WeatherAlert> getActiveAlertsForLocationKey(String locationKey) {
+    LocationAlerts entry = alertsByLocationKey.get(locationKey);
+    return entry != null ? entry.alerts : List.of();
+  }
+
+  /**
+   * Gets an active alert by ID
+   *
+   * @param alertId the alert ID
+   * @return the alert, or empty if no active alert has this ID
+   */
+  public Optional<WeatherAlert> getAlert(String alertId) {
+    return alertId == null ? Optional.empty() : Optional.ofNullable(alertsById.get(alertId));
+  }
+
+  /**
+   * Gets the distinct locations that have active alerts
+   *
+   * @return location of the first alert registered for each {@link Location#searchKey search key}
+   */
+  public Map<String, Location> getAlertLocations() {
+    Map<String, Location> locations = new HashMap<>(alertsByLocationKey.size() * 2);
+    alertsByLocationKey.forEach((key, entry) -> locations.put(key, entry.alerts.get(0).getLocation()));
+    return locations;
+  }
+
+  /**
+   * Gets the locations with active alerts whose own coordinates lie within a radius, including
+   * places the gazetteer does not know. One batch pass compares haversine values, so no distance
+   * is computed.
+   *
+   * @return {@link Location#searchKey search keys} of the matching locations
+   */
+  public Set<String> getAlertLocationKeysWithin(double latitude, double longitude, double radiusKm) {
+    List<String> keys = new ArrayList<>(alertsByLocationKey.size());
+    List<Location> locations = new ArrayList<>(alertsByLocationKey.size());
+    alertsByLocationKey.forEach((key, entry) -> {
+      keys.add(key);
+      locations.add(entry.alerts.get(0).getLocation());
+    });
+    int[] matches = new int[locations.size()];
+    int count = GeoPoints.of(locations).within(latitude, longitude, radiusKm, matches);
+    Set<String> within = new HashSet<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      within.add(keys.get(matches[i]));
+    }
+    return within;
+  }
+
   /**
    * Checks if an alert should be triggered based on current weather
    *
@@ -169,6 +294,9 @@ public class WeatherAlertSystem {
       case LOW_HUMIDITY:
         return weatherData.getHumidity() < alert.getThreshold();
 
+      case RULE:
+        return alert.getRule() != null && alert.getRule().matches(weatherData);
+
       case PRECIPITATION:
         List<String> conditions = alert.getPrecipitationConditions();
         if (conditions != null) {
@@ -185,9 +313,12 @@ public class WeatherAlertSystem {
   }
 
   /**
-   * Checks all active alerts against current weather data
+   * Checks all active alerts against weather data that belongs to no particular location.
+   * The data counts as a single check: alerts requiring several consecutive checks are not
+   * triggered, and their consecutive counts, which track each location's own observations, are
+   * left untouched.
    *
-   * @param weatherData current weather data
+   * @param weatherData weather data to check
    * @return list of triggered alerts
    */
   public List<WeatherAlert> checkAlerts(WeatherData weatherData) {
@@ -198,12 +329,64 @@ public class WeatherAlertSystem {
     List<WeatherAlert> triggeredAlerts = new ArrayList<>();
 
     for (WeatherAlert alert : activeAlerts) {
-      if (shouldTriggerAlert(alert, weatherData)) {
+      if (alert.getRequiredConsecutiveChecks() <= 1 && shouldTriggerAlert(alert, weatherData)) {
         alert.trigger();
         triggeredAlerts.add(alert);
       }
     }
 
+    if (!triggeredAlerts.isEmpty()) {
+      notifyTriggered(triggeredAlerts, weatherData);
+    }
+    return triggeredAlerts;
+  }
+
+  /**
+   * Checks the active alerts of one location against its current weather.
+   * Comparisons shared by the rules of several alerts are evaluated once. Alerts whose condition
+   * has held for their required consecutive observations are triggered and reported to the
+   * listeners; re-checking an observation already counted triggers nothing.
+   * Checks of the same location must not run concurrently, as they update consecutive counts.
+   *
+   * @param locationKey {@link Location#searchKey search key} of the location
+   * @param weatherData current weather at the location
+   * @return triggered alerts
+   */
+  public List<WeatherAlert> checkLocation(String locationKey, WeatherData weatherData) {
+    LocationAlerts entry = alertsByLocationKey.get(locationKey);
+    if (entry == null || weatherData == null) {
+      return List.of();
+    }
+
+    List<WeatherAlert> triggeredAlerts = null;
+    long outcomes = 0;
+    int evaluatedGroup = -1;
+    for (int i = 0; i < entry.alerts.size(); i++) {
+      WeatherAlert alert = entry.alerts.get(i);
+      boolean conditionMet;
+      int group = entry.rules.groupOf(i);
+      if (group < 0) {
+        conditionMet = shouldTriggerAlert(alert, weatherData);
+      } else {
+        if (group != evaluatedGroup) {
+          outcomes = entry.rules.evaluateGroup(group, weatherData);
+          evaluatedGroup = group;
+        }
+        conditionMet = alert.isActive() && entry.rules.matches(i, outcomes);
+      }
+      if (alert.recordCheck(conditionMet, weatherData.getEpochSecond())) {
+        alert.trigger();
+        if (triggeredAlerts == null) {
+          triggeredAlerts = new ArrayList<>();
+        }
+        triggeredAlerts.add(alert);
+      }
+    }
+
+    if (triggeredAlerts == null) {
+      return List.of();
+    }
+    notifyTriggered(triggeredAlerts, weatherData);
     return triggeredAlerts;
   }
 
@@ -225,5 +408,38 @@ public class WeatherAlertSystem {
   public void clearAllAlerts() {
     activeAlerts.clear();
     alertsById.clear();
+    alertsByLocationKey.clear();
+  }
+
+  private static String locationKey(WeatherAlert alert) {
+    return Location.searchKey(alert.getLocation().getCity(), alert.getLocation().getCountry());
+  }
+
+  /**
+   * Alerts of one location with their rules compiled together
+   */
+  private static final class LocationAlerts {
+
+    private final List<WeatherAlert> alerts;
+    private final RuleSet rules;
+
+    private LocationAlerts(List<WeatherAlert> alerts) {
+      this.alerts = List.copyOf(alerts);
+      this.rules = RuleSet.of(this.alerts.stream()
+              .map(WeatherAlert::getRule)
+              .collect(Collectors.toList()));
+    }
+  }
+
+  private void notifyTriggered(List<WeatherAlert> triggeredAlerts, WeatherData weatherData) {
+    List<WeatherAlert> alerts = Collections.unmodifiableList(triggeredAlerts);
+    for (AlertTriggerListener listener : triggerListeners) {
+      try {
+        listener.onTriggered(alerts, weatherData);
+      } catch (RuntimeException e) {
+        // A failing listener must not change the outcome of the check
+        log.warn("Alert trigger listener failed: {}", e.getMessage());
+      }
+    }
   }
 }
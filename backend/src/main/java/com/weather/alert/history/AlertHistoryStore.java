@@ -0,0 +1,255 @@
+package com.weather.alert.history;
+
+import com.weather.alert.AlertTriggerListener;
+import com.weather.alert.WeatherAlert;
+import com.weather.alert.WeatherAlertSystem;
+import com.weather.config.AlertHistoryConfig;
+import com.weather.model.WeatherData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Trigger history of every alert, for the retention window in memory and beyond it on disk.
+ * Each alert keeps a {@link TriggerHistory} ring of hourly (by default) buckets holding the time
+ * and the observed temperature, humidity and wind speed of its triggers in primitive columns.
+ * A background roll moves buckets past the retention to disk, merged into one columnar file per
+ * period, and deletes files past the disk retention; shutdown spills everything still in memory.
+ * Until written, displaced buckets stay queryable from the pending queue.
+ */
+@Slf4j
+@Component
+public class AlertHistoryStore implements AlertTriggerListener {
+
+  private final WeatherAlertSystem alertSystem;
+  private final AlertHistoryConfig config;
+  private final Clock clock;
+  private final TriggerSpillStore spillStore;
+  private final long bucketSeconds;
+  private final int slots;
+  private final Map<String, TriggerHistory> histories = new ConcurrentHashMap<>();
+  private final Queue<TriggerBucket> pending = new ConcurrentLinkedQueue<>();
+  private final Object spillLock = new Object();
+  private final Consumer<TriggerBucket> displaced = this::queueDisplaced;
+  private final AtomicLong events = new AtomicLong();
+  private final Counter spilled;
+  private final Counter dropped;
+
+  private ScheduledExecutorService roller;
+
+  public AlertHistoryStore(WeatherAlertSystem alertSystem, AlertHistoryConfig config, Clock clock,
+                           MeterRegistry meterRegistry) {
+    this.alertSystem = alertSystem;
+    this.config = config;
+    this.clock = clock;
+    this.bucketSeconds = Math.max(1, config.getBucketDuration().toSeconds());
+    // Whole buckets per file so none straddles two files
+    long fileSeconds = Math.max(1, (config.getSpillFileDuration().toSeconds() + bucketSeconds - 1) / bucketSeconds)
+            * bucketSeconds;
+    this.spillStore = new TriggerSpillStore(Paths.get(config.getSpillDirectory()), fileSeconds);
+    // One spare slot so a full retention window fits next to the bucket being filled
+    this.slots = (int) ((config.getRetention().toSeconds() + bucketSeconds - 1) / bucketSeconds) + 1;
+    this.spilled = Counter.builder("weather.alerts.history.spilled")
+            .description("Trigger events moved from memory to disk")
+            .register(meterRegistry);
+    this.dropped = Counter.builder("weather.alerts.history.dropped")
+            .description("Trigger events not recorded because their bucket was full")
+            .register(meterRegistry);
+    Gauge.builder("weather.alerts.history.events", events, AtomicLong::get)
+            .description("Trigger events held in memory")
+            .register(meterRegistry);
+    Gauge.builder("weather.alerts.history.alerts", histories, Map::size)
+            .description("Alerts with trigger history in memory")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    alertSystem.addTriggerListener(this);
+    roller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "alert-history-roll");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = config.getRollInterval().toMillis();
+    roller.scheduleWithFixedDelay(this::rollSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (roller != null) {
+      roller.shutdownNow();
+    }
+    spillAll();
+  }
+
+  @Override
+  public void onTriggered(List<WeatherAlert> alerts, WeatherData weatherData) {
+    long now = clock.instant().getEpochSecond();
+    for (WeatherAlert alert : alerts) {
+      record(alert.getId(), now, weatherData);
+    }
+  }
+
+  /**
+   * Records one trigger of an alert
+   *
+   * @param alertId     the alert ID
+   * @param epochSecond trigger time in seconds since the epoch
+   * @param weatherData the weather data that triggered the alert
+   */
+  public void record(String alertId, long epochSecond, WeatherData weatherData) {
+    boolean[] recorded = new boolean[1];
+    // Recorded inside compute so a roll cannot drop the history between lookup and record
+    histories.compute(alertId, (id, history) -> {
+      TriggerHistory target = history != null ? history : new TriggerHistory(id, bucketSeconds, slots);
+      recorded[0] = target.record(epochSecond, weatherData.getTemperature(), weatherData.getHumidity(),
+              weatherData.getWindSpeed(), config.getMaxEventsPerBucket(), displaced);
+      return target;
+    });
+    if (recorded[0]) {
+      events.incrementAndGet();
+    } else {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * Finds the triggers of an alert within {@code [fromEpochSecond, toEpochSecond)}
+   *
+   * @param limit maximum number of triggers to return, the most recent ones are kept
+   * @return triggers in chronological order with the total number found in the range
+   */
+  public TriggerQueryResult query(String alertId, long fromEpochSecond, long toEpochSecond, int limit) {
+    List<TriggerEvent> found = new ArrayList<>();
+    // The spill lock keeps buckets from moving from pending to disk, and the history's monitor
+    // from moving from its ring to pending, so each bucket is seen exactly once
+    synchronized (spillLock) {
+      TriggerHistory history = histories.get(alertId);
+      if (history != null) {
+        synchronized (history) {
+          history.collect(fromEpochSecond, toEpochSecond, found);
+          collectPending(alertId, fromEpochSecond, toEpochSecond, found);
+        }
+      } else {
+        collectPending(alertId, fromEpochSecond, toEpochSecond, found);
+      }
+      spillStore.collect(alertId, fromEpochSecond, toEpochSecond, found);
+    }
+    found.sort(Comparator.comparingLong(TriggerEvent::getEpochSecond));
+    int total = found.size();
+    List<TriggerEvent> triggers = total > limit ? found.subList(total - limit, total) : found;
+    return new TriggerQueryResult(total, List.copyOf(triggers));
+  }
+
+  /**
+   * Moves buckets past the retention to disk and deletes spilled files past the disk retention
+   */
+  public void roll() {
+    long now = clock.instant().getEpochSecond();
+    long cutoff = now - config.getRetention().toSeconds();
+    for (String alertId : histories.keySet()) {
+      histories.computeIfPresent(alertId, (id, history) -> {
+        history.evictBefore(cutoff, displaced);
+        return history.isEmpty() ? null : history;
+      });
+    }
+    spillPending();
+    int deleted = spillStore.deleteBefore(now - config.getDiskRetention().toSeconds());
+    if (deleted > 0) {
+      log.debug("Deleted {} expired alert history files", deleted);
+    }
+  }
+
+  long eventsInMemory() {
+    return events.get();
+  }
+
+  /**
+   * Queues a bucket displaced from a history, called while holding the history's monitor
+   */
+  private void queueDisplaced(TriggerBucket bucket) {
+    events.addAndGet(-bucket.count());
+    pending.add(bucket);
+  }
+
+  private void collectPending(String alertId, long from, long to, List<TriggerEvent> found) {
+    for (TriggerBucket bucket : pending) {
+      if (bucket.alertId().equals(alertId)) {
+        bucket.collect(from, to, found);
+      }
+    }
+  }
+
+  private void spillAll() {
+    histories.forEach((alertId, history) -> history.evictBefore(Long.MAX_VALUE, displaced));
+    histories.clear();
+    spillPending();
+  }
+
+  private void spillPending() {
+    synchronized (spillLock) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      List<TriggerBucket> batch = new ArrayList<>(pending);
+      try {
+        spillStore.write(batch);
+      } catch (IOException e) {
+        // Kept pending for the next roll
+        log.warn("Failed to spill alert history: {}", e.getMessage());
+        return;
+      }
+      // Only this method removes from the queue, so the batch is still at its head
+      long count = 0;
+      for (TriggerBucket bucket : batch) {
+        pending.poll();
+        count += bucket.count();
+      }
+      spilled.increment(count);
+      log.debug("Spilled {} trigger events in {} buckets", count, batch.size());
+    }
+  }
+
+  private void rollSafely() {
+    try {
+      roll();
+    } catch (RuntimeException e) {
+      log.warn("Alert history roll failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Triggers found by a query
+   */
+  @Value
+  public static class TriggerQueryResult {
+
+    /**
+     * Number of triggers in the range, including those cut by the limit
+     */
+    int total;
+    List<TriggerEvent> triggers;
+  }
+}
@@ -0,0 +1,134 @@
+package com.weather.alert.history;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Triggers of one alert within one time bucket, stored column by column in primitive arrays.
+ * An event costs 11 bytes: its offset from the bucket start in seconds, temperature and wind
+ * speed in hundredths, and humidity. The same columns are the on-disk format.
+ */
+final class TriggerBucket {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final String alertId;
+  private final long start;
+  private int count;
+  private int[] offsets;
+  private short[] temperatures;
+  private byte[] humidities;
+  private int[] windSpeeds;
+
+  TriggerBucket(String alertId, long start) {
+    this(alertId, start, 0, new int[INITIAL_CAPACITY], new short[INITIAL_CAPACITY],
+            new byte[INITIAL_CAPACITY], new int[INITIAL_CAPACITY]);
+  }
+
+  private TriggerBucket(String alertId, long start, int count, int[] offsets, short[] temperatures,
+                        byte[] humidities, int[] windSpeeds) {
+    this.alertId = alertId;
+    this.start = start;
+    this.count = count;
+    this.offsets = offsets;
+    this.temperatures = temperatures;
+    this.humidities = humidities;
+    this.windSpeeds = windSpeeds;
+  }
+
+  String alertId() {
+    return alertId;
+  }
+
+  long start() {
+    return start;
+  }
+
+  int count() {
+    return count;
+  }
+
+  /**
+   * @return false if the bucket already holds {@code capacity} events
+   */
+  boolean add(long epochSecond, double temperature, int humidity, double windSpeed, int capacity) {
+    if (count >= capacity) {
+      return false;
+    }
+    if (count == offsets.length) {
+      int grown = Math.min(capacity, count * 2);
+      offsets = Arrays.copyOf(offsets, grown);
+      temperatures = Arrays.copyOf(temperatures, grown);
+      humidities = Arrays.copyOf(humidities, grown);
+      windSpeeds = Arrays.copyOf(windSpeeds, grown);
+    }
+    offsets[count] = (int) (epochSecond - start);
+    temperatures[count] = (short) Math.round(temperature * 100);
+    humidities[count] = (byte) humidity;
+    windSpeeds[count] = (int) Math.round(windSpeed * 100);
+    count++;
+    return true;
+  }
+
+  /**
+   * Adds the events within {@code [from, to)} to {@code events}
+   */
+  void collect(long from, long to, List<TriggerEvent> events) {
+    for (int i = 0; i < count; i++) {
+      long epochSecond = start + offsets[i];
+      if (epochSecond >= from && epochSecond < to) {
+        events.add(new TriggerEvent(epochSecond, temperatures[i] / 100.0, humidities[i], windSpeeds[i] / 100.0));
+      }
+    }
+  }
+
+  long estimatedBytes() {
+    return 64L + offsets.length * 11L;
+  }
+
+  void write(DataOutputStream out) throws IOException {
+    out.writeUTF(alertId);
+    out.writeLong(start);
+    out.writeInt(count);
+    for (int i = 0; i < count; i++) {
+      out.writeInt(offsets[i]);
+    }
+    for (int i = 0; i < count; i++) {
+      out.writeShort(temperatures[i]);
+    }
+    out.write(humidities, 0, count);
+    for (int i = 0; i < count; i++) {
+      out.writeInt(windSpeeds[i]);
+    }
+  }
+
+  /**
+   * Reads the next bucket
+   */
+  static TriggerBucket read(DataInputStream in) throws IOException {
+    String id = in.readUTF();
+    long start = in.readLong();
+    int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Negative event count");
+    }
+    int[] offsets = new int[count];
+    short[] temperatures = new short[count];
+    byte[] humidities = new byte[count];
+    int[] windSpeeds = new int[count];
+    for (int i = 0; i < count; i++) {
+      offsets[i] = in.readInt();
+    }
+    for (int i = 0; i < count; i++) {
+      temperatures[i] = in.readShort();
+    }
+    in.readFully(humidities);
+    for (int i = 0; i < count; i++) {
+      windSpeeds[i] = in.readInt();
+    }
+    return new TriggerBucket(id, start, count, offsets, temperatures, humidities, windSpeeds);
+  }
+}
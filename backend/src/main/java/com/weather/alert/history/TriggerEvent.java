@@ -0,0 +1,15 @@
+package com.weather.alert.history;
+
+import lombok.Value;
+
+/**
+ * One recorded trigger of an alert with the weather observed at that moment
+ */
+@Value
+public class TriggerEvent {
+
+  long epochSecond;
+  double temperature;
+  int humidity;
+  double windSpeed;
+}
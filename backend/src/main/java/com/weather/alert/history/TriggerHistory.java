@@ -0,0 +1,92 @@
+package com.weather.alert.history;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Ring of time buckets holding the recent triggers of one alert.
+ * Slot {@code (start / bucketSeconds) % slots} holds the bucket starting at {@code start}; a
+ * bucket is replaced once the ring wraps around to its slot, so memory is bounded by the number
+ * of slots times the bucket capacity.
+ * Displaced buckets are handed over while holding this history's monitor, so a reader holding it
+ * sees each bucket either in the ring or wherever it was handed to, never in both or neither.
+ */
+final class TriggerHistory {
+
+  private final String alertId;
+  private final long bucketSeconds;
+  private final TriggerBucket[] ring;
+  private int events;
+
+  TriggerHistory(String alertId, long bucketSeconds, int slots) {
+    this.alertId = alertId;
+    this.bucketSeconds = bucketSeconds;
+    this.ring = new TriggerBucket[slots];
+  }
+
+  /**
+   * Records a trigger; a bucket displaced from its slot is passed to {@code displaced}
+   *
+   * @return false if the event was dropped: its bucket is full or older than the ring
+   */
+  synchronized boolean record(long epochSecond, double temperature, int humidity, double windSpeed,
+                              int capacity, Consumer<TriggerBucket> displaced) {
+    long bucketIndex = Math.floorDiv(epochSecond, bucketSeconds);
+    long start = bucketIndex * bucketSeconds;
+    int slot = (int) Math.floorMod(bucketIndex, (long) ring.length);
+    TriggerBucket bucket = ring[slot];
+    if (bucket == null || bucket.start() != start) {
+      if (bucket != null && bucket.start() > start) {
+        return false;
+      }
+      if (bucket != null) {
+        events -= bucket.count();
+        displaced.accept(bucket);
+      }
+      bucket = new TriggerBucket(alertId, start);
+      ring[slot] = bucket;
+    }
+    if (!bucket.add(epochSecond, temperature, humidity, windSpeed, capacity)) {
+      return false;
+    }
+    events++;
+    return true;
+  }
+
+  /**
+   * Passes the buckets starting before {@code cutoff} to {@code displaced}
+   */
+  synchronized void evictBefore(long cutoff, Consumer<TriggerBucket> displaced) {
+    for (int i = 0; i < ring.length; i++) {
+      if (ring[i] != null && ring[i].start() < cutoff) {
+        events -= ring[i].count();
+        displaced.accept(ring[i]);
+        ring[i] = null;
+      }
+    }
+  }
+
+  /**
+   * Adds the events within {@code [from, to)} to {@code results}, in no particular order
+   */
+  synchronized void collect(long from, long to, List<TriggerEvent> results) {
+    for (TriggerBucket bucket : ring) {
+      if (bucket != null && bucket.start() < to && bucket.start() + bucketSeconds > from) {
+        bucket.collect(from, to, results);
+      }
+    }
+  }
+
+  synchronized int events() {
+    return events;
+  }
+
+  synchronized boolean isEmpty() {
+    for (TriggerBucket bucket : ring) {
+      if (bucket != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
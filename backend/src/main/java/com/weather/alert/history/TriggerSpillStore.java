@@ -0,0 +1,255 @@
+package com.weather.alert.history;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Trigger buckets evicted from memory, written to local disk.
+ * Buckets are compacted into one file per period ({@code triggers-<from>-<to>.hist}, epoch
+ * seconds): a spill into a period that already has a file merges into it, so the number of files
+ * is bounded by the disk retention over the period rather than by the number of rolls. Each file
+ * starts with an index of the byte range of every alert's buckets, so a query reads the index and
+ * the buckets of its alert only, and retention deletes whole files.
+ */
+@Slf4j
+final class TriggerSpillStore {
+
+  private static final int MAGIC = 0x54524832; // "TRH2"
+  private static final String PREFIX = "triggers-";
+  private static final String SUFFIX = ".hist";
+
+  private final Path directory;
+  private final long fileSeconds;
+
+  /**
+   * @param fileSeconds period of one file, a multiple of the bucket duration so buckets never
+   *                    straddle two files
+   */
+  TriggerSpillStore(Path directory, long fileSeconds) {
+    this.directory = directory;
+    this.fileSeconds = fileSeconds;
+  }
+
+  /**
+   * Merges buckets into the files of their periods
+   */
+  void write(List<TriggerBucket> buckets) throws IOException {
+    Map<Long, List<TriggerBucket>> byPeriod = new TreeMap<>();
+    for (TriggerBucket bucket : buckets) {
+      long from = Math.floorDiv(bucket.start(), fileSeconds) * fileSeconds;
+      byPeriod.computeIfAbsent(from, key -> new ArrayList<>()).add(bucket);
+    }
+    Files.createDirectories(directory);
+    for (Map.Entry<Long, List<TriggerBucket>> period : byPeriod.entrySet()) {
+      writePeriod(period.getKey(), period.getValue());
+    }
+  }
+
+  /**
+   * Adds the spilled events of an alert within {@code [from, to)} to {@code results}
+   */
+  void collect(String alertId, long from, long to, List<TriggerEvent> results) {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+      for (Path file : files) {
+        long[] range = range(file);
+        if (range != null && range[0] < to && range[1] > from) {
+          collect(file, alertId, from, to, results);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Failed to list alert history in {}: {}", directory, e.getMessage());
+    }
+  }
+
+  /**
+   * Deletes files whose whole range ends before {@code cutoff}
+   *
+   * @return number of files deleted
+   */
+  int deleteBefore(long cutoff) {
+    if (!Files.isDirectory(directory)) {
+      return 0;
+    }
+    int deleted = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+      for (Path file : files) {
+        long[] range = range(file);
+        if (range != null && range[1] <= cutoff) {
+          Files.deleteIfExists(file);
+          deleted++;
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Failed to delete expired alert history in {}: {}", directory, e.getMessage());
+    }
+    return deleted;
+  }
+
+  private void writePeriod(long from, List<TriggerBucket> buckets) throws IOException {
+    Path file = directory.resolve(PREFIX + from + "-" + (from + fileSeconds) + SUFFIX);
+    Map<String, Section> sections = new TreeMap<>();
+    if (Files.exists(file)) {
+      try {
+        readSections(file, sections);
+      } catch (IOException e) {
+        // Set aside rather than failing every later spill into this period
+        log.warn("Replacing unreadable alert history file {}: {}", file, e.getMessage());
+        Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+        sections.clear();
+      }
+    }
+    for (TriggerBucket bucket : buckets) {
+      Section section = sections.computeIfAbsent(bucket.alertId(), id -> new Section());
+      bucket.write(new DataOutputStream(section.bytes));
+      section.buckets++;
+    }
+
+    ByteArrayOutputStream index = new ByteArrayOutputStream();
+    DataOutputStream indexOut = new DataOutputStream(index);
+    indexOut.writeInt(sections.size());
+    int offset = 0;
+    for (Map.Entry<String, Section> entry : sections.entrySet()) {
+      int length = Integer.BYTES + entry.getValue().bytes.size();
+      indexOut.writeUTF(entry.getKey());
+      indexOut.writeInt(offset);
+      indexOut.writeInt(length);
+      offset += length;
+    }
+
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+      out.writeInt(MAGIC);
+      out.writeInt(index.size());
+      index.writeTo(out);
+      for (Section section : sections.values()) {
+        out.writeInt(section.buckets);
+        section.bytes.writeTo(out);
+      }
+    }
+    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Loads the buckets of every alert in {@code file} as raw bytes, to be rewritten unchanged
+   */
+  private static void readSections(Path file, Map<String, Section> sections) throws IOException {
+    byte[] content = Files.readAllBytes(file);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Alert history file " + file + " has an unknown format");
+    }
+    int indexBytes = in.readInt();
+    if (indexBytes < Integer.BYTES || indexBytes > content.length) {
+      throw new IOException("Alert history file " + file + " is truncated");
+    }
+    int dataStart = 2 * Integer.BYTES + indexBytes;
+    int alerts = in.readInt();
+    for (int i = 0; i < alerts; i++) {
+      String alertId = in.readUTF();
+      int offset = in.readInt();
+      int length = in.readInt();
+      if (offset < 0 || length < Integer.BYTES || dataStart + (long) offset + length > content.length) {
+        throw new IOException("Alert history file " + file + " is truncated");
+      }
+      Section section = new Section();
+      section.buckets = ByteBuffer.wrap(content, dataStart + offset, Integer.BYTES).getInt();
+      section.bytes.write(content, dataStart + offset + Integer.BYTES, length - Integer.BYTES);
+      sections.put(alertId, section);
+    }
+  }
+
+  private void collect(Path file, String alertId, long from, long to, List<TriggerEvent> results) {
+    try (FileChannel channel = FileChannel.open(file)) {
+      ByteBuffer header = readFully(channel, 0, 2 * Integer.BYTES);
+      if (header.getInt() != MAGIC) {
+        log.warn("Ignoring alert history file {} with unknown format", file);
+        return;
+      }
+      int indexBytes = header.getInt();
+      if (indexBytes < Integer.BYTES || indexBytes > channel.size()) {
+        throw new EOFException();
+      }
+      DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+              readFully(channel, 2 * Integer.BYTES, indexBytes).array()));
+      int alerts = index.readInt();
+      for (int i = 0; i < alerts; i++) {
+        String id = index.readUTF();
+        int offset = index.readInt();
+        int length = index.readInt();
+        if (id.equals(alertId)) {
+          if (offset < 0 || length < Integer.BYTES) {
+            throw new EOFException();
+          }
+          long position = 2L * Integer.BYTES + indexBytes + offset;
+          DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                  readFully(channel, position, length).array()));
+          int buckets = in.readInt();
+          for (int b = 0; b < buckets; b++) {
+            TriggerBucket.read(in).collect(from, to, results);
+          }
+          return;
+        }
+      }
+    } catch (EOFException e) {
+      log.warn("Alert history file {} is truncated", file);
+    } catch (IOException e) {
+      log.warn("Failed to read alert history file {}: {}", file, e.getMessage());
+    }
+  }
+
+  private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * @return {from, to} parsed from the file name, or null if it does not follow the naming scheme
+   */
+  private static long[] range(Path file) {
+    String name = file.getFileName().toString();
+    String[] parts = name.substring(PREFIX.length(), name.length() - SUFFIX.length()).split("-");
+    if (parts.length != 2) {
+      return null;
+    }
+    try {
+      return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Buckets of one alert within a file, encoded
+   */
+  private static final class Section {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private int buckets;
+  }
+}
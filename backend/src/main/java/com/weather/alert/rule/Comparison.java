@@ -0,0 +1,148 @@
+package com.weather.alert.rule;
+
+import com.weather.model.WeatherData;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Comparison of one weather field with a constant, the leaf of a rule.
+ * Equal comparisons are interchangeable, so rules on the same location evaluate each distinct
+ * comparison only once per observation.
+ */
+final class Comparison {
+
+  /**
+   * Weather fields a rule can refer to
+   */
+  enum Field {
+    TEMPERATURE, HUMIDITY, WIND_SPEED, CONDITION;
+
+    static Field of(String name) {
+      switch (name.toLowerCase(Locale.ROOT)) {
+        case "temp":
+        case "temperature":
+          return TEMPERATURE;
+        case "humidity":
+          return HUMIDITY;
+        case "wind":
+        case "windspeed":
+        case "wind_speed":
+          return WIND_SPEED;
+        case "condition":
+          return CONDITION;
+        default:
+          return null;
+      }
+    }
+  }
+
+  /**
+   * Comparison operators; CONTAINS applies to the condition text only
+   */
+  enum Operator {
+    GT(">"), GE(">="), LT("<"), LE("<="), EQ("="), NE("!="), CONTAINS("contains");
+
+    private final String symbol;
+
+    Operator(String symbol) {
+      this.symbol = symbol;
+    }
+  }
+
+  private final Field field;
+  private final Operator operator;
+  private final double value;
+  private final String text;
+
+  Comparison(Field field, Operator operator, double value) {
+    this.field = field;
+    this.operator = operator;
+    this.value = value;
+    this.text = null;
+  }
+
+  Comparison(Operator operator, String text) {
+    this.field = Field.CONDITION;
+    this.operator = operator;
+    this.value = 0;
+    this.text = text.toLowerCase(Locale.ROOT);
+  }
+
+  boolean test(WeatherData data) {
+    switch (field) {
+      case TEMPERATURE:
+        return compare(data.getTemperature());
+      case HUMIDITY:
+        return compare(data.getHumidity());
+      case WIND_SPEED:
+        return compare(data.getWindSpeed());
+      default:
+        return testCondition(data.getCondition());
+    }
+  }
+
+  private boolean compare(double actual) {
+    switch (operator) {
+      case GT:
+        return actual > value;
+      case GE:
+        return actual >= value;
+      case LT:
+        return actual < value;
+      case LE:
+        return actual <= value;
+      case EQ:
+        return actual == value;
+      default:
+        return actual != value;
+    }
+  }
+
+  private boolean testCondition(String condition) {
+    if (condition == null) {
+      return operator == Operator.NE;
+    }
+    switch (operator) {
+      case EQ:
+        return condition.equalsIgnoreCase(text);
+      case NE:
+        return !condition.equalsIgnoreCase(text);
+      default:
+        return containsIgnoreCase(condition, text);
+    }
+  }
+
+  private static boolean containsIgnoreCase(String haystack, String needle) {
+    for (int i = 0, last = haystack.length() - needle.length(); i <= last; i++) {
+      if (haystack.regionMatches(true, i, needle, 0, needle.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Comparison)) {
+      return false;
+    }
+    Comparison that = (Comparison) other;
+    return field == that.field && operator == that.operator
+            && Double.compare(value, that.value) == 0 && Objects.equals(text, that.text);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(field, operator, value, text);
+  }
+
+  @Override
+  public String toString() {
+    String operand = text != null ? "'" + text + "'" : String.valueOf(value);
+    return field.name().toLowerCase(Locale.ROOT) + " " + operator.symbol + " " + operand;
+  }
+}
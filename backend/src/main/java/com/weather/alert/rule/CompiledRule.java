@@ -0,0 +1,144 @@
+package com.weather.alert.rule;
+
+import com.weather.model.WeatherData;
+
+/**
+ * Alert rule compiled into a flat postfix program over its distinct comparisons.
+ * <p>
+ * Rules combine comparisons of the current weather with AND, OR, NOT and parentheses, and may
+ * require the combination to hold for several consecutive checks:
+ * <pre>
+ *   temp &gt; 30 AND humidity &gt; 70 FOR 2 CONSECUTIVE CHECKS
+ *   wind &gt;= 50 OR condition CONTAINS 'storm'
+ *   NOT (condition = 'Clear' OR condition = 'Sunny')
+ * </pre>
+ * Fields are {@code temp}/{@code temperature} (°C), {@code humidity} (%), {@code wind} (km/h) and
+ * {@code condition}; keywords are case-insensitive.
+ * <p>
+ * Evaluation first computes the outcome of every comparison into the bits of a {@code long}, then
+ * runs the program with a stack held in the bits of another {@code long}, so it allocates nothing.
+ * Both limits (64 distinct comparisons, nesting depth 64) are checked at compile time.
+ */
+public final class CompiledRule {
+
+  /**
+   * Most distinct comparisons in one rule, and deepest operand stack, both held in a long
+   */
+  public static final int MAX_COMPARISONS = 64;
+  public static final int MAX_CONSECUTIVE_CHECKS = 100;
+  public static final int MAX_LENGTH = 1000;
+
+  static final int AND = -1;
+  static final int OR = -2;
+  static final int NOT = -3;
+
+  private static final int[] IDENTITY = new int[MAX_COMPARISONS];
+
+  static {
+    for (int i = 0; i < IDENTITY.length; i++) {
+      IDENTITY[i] = i;
+    }
+  }
+
+  private final String source;
+  private final Comparison[] comparisons;
+  private final int[] program;
+  private final int consecutiveChecks;
+
+  CompiledRule(String source, Comparison[] comparisons, int[] program, int consecutiveChecks) {
+    this.source = source;
+    this.comparisons = comparisons;
+    this.program = program;
+    this.consecutiveChecks = consecutiveChecks;
+  }
+
+  /**
+   * @param rule rule text
+   * @return the compiled rule
+   * @throws RuleSyntaxException if the rule is malformed or exceeds the limits
+   */
+  public static CompiledRule compile(String rule) {
+    if (rule == null || rule.trim().isEmpty()) {
+      throw new RuleSyntaxException("Rule cannot be empty", 0);
+    }
+    if (rule.length() > MAX_LENGTH) {
+      throw new RuleSyntaxException("Rule is longer than " + MAX_LENGTH + " characters", MAX_LENGTH);
+    }
+    return new RuleParser(rule.trim()).parse();
+  }
+
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * @return number of consecutive checks the rule must hold for before triggering, at least 1
+   */
+  public int getConsecutiveChecks() {
+    return consecutiveChecks;
+  }
+
+  /**
+   * @return true if the weather satisfies the rule, regardless of consecutive checks
+   */
+  public boolean matches(WeatherData weatherData) {
+    return evaluate(evaluateComparisons(comparisons, weatherData), IDENTITY);
+  }
+
+  Comparison[] comparisons() {
+    return comparisons;
+  }
+
+  /**
+   * @return bit i set if comparison i holds
+   */
+  static long evaluateComparisons(Comparison[] comparisons, WeatherData weatherData) {
+    long outcomes = 0;
+    for (int i = 0; i < comparisons.length; i++) {
+      if (comparisons[i].test(weatherData)) {
+        outcomes |= 1L << i;
+      }
+    }
+    return outcomes;
+  }
+
+  /**
+   * Runs the program against precomputed comparison outcomes
+   *
+   * @param outcomes comparison outcomes, one bit per comparison
+   * @param slots    bit of {@code outcomes} holding each of this rule's comparisons
+   */
+  boolean evaluate(long outcomes, int[] slots) {
+    long stack = 0;
+    for (int instruction : program) {
+      if (instruction >= 0) {
+        stack = (stack << 1) | ((outcomes >>> slots[instruction]) & 1L);
+      } else if (instruction == NOT) {
+        stack ^= 1L;
+      } else {
+        long top = stack & 1L;
+        stack >>>= 1;
+        stack = instruction == AND ? stack & (top | ~1L) : stack | top;
+      }
+    }
+    return (stack & 1L) != 0;
+  }
+
+  /**
+   * Rules are equal if compiled from the same text
+   */
+  @Override
+  public boolean equals(Object other) {
+    return this == other || other instanceof CompiledRule && source.equals(((CompiledRule) other).source);
+  }
+
+  @Override
+  public int hashCode() {
+    return source.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return source;
+  }
+}
@@ -0,0 +1,270 @@
+package com.weather.alert.rule;
+
+import com.weather.alert.rule.Comparison.Field;
+import com.weather.alert.rule.Comparison.Operator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recursive-descent parser emitting the postfix program of a rule directly.
+ * <pre>
+ *   rule       := or [FOR count [CONSECUTIVE] [CHECK | CHECKS]]
+ *   or         := and {OR and}
+ *   and        := unary {AND unary}
+ *   unary      := NOT unary | '(' or ')' | comparison
+ *   comparison := field ('&gt;' | '&gt;=' | '&lt;' | '&lt;=' | '=' | '==' | '!=') number
+ *               | condition ('=' | '==' | '!=' | CONTAINS) (quoted text | word)
+ * </pre>
+ */
+final class RuleParser {
+
+  private final String rule;
+  private final Map<Comparison, Integer> comparisons = new LinkedHashMap<>();
+  private int[] program = new int[16];
+  private int length;
+  private int depth;
+  private int position;
+
+  RuleParser(String rule) {
+    this.rule = rule;
+  }
+
+  CompiledRule parse() {
+    parseOr();
+    int consecutiveChecks = 1;
+    if (acceptKeyword("for")) {
+      consecutiveChecks = parseCount();
+      acceptKeyword("consecutive");
+      if (!acceptKeyword("checks")) {
+        acceptKeyword("check");
+      }
+    }
+    skipWhitespace();
+    if (position < rule.length()) {
+      throw new RuleSyntaxException("Unexpected '" + rule.charAt(position) + "'", position);
+    }
+    return new CompiledRule(rule, comparisons.keySet().toArray(new Comparison[0]),
+            Arrays.copyOf(program, length), consecutiveChecks);
+  }
+
+  private void parseOr() {
+    parseAnd();
+    while (acceptKeyword("or")) {
+      parseAnd();
+      emit(CompiledRule.OR);
+    }
+  }
+
+  private void parseAnd() {
+    parseUnary();
+    while (acceptKeyword("and")) {
+      parseUnary();
+      emit(CompiledRule.AND);
+    }
+  }
+
+  private void parseUnary() {
+    if (acceptKeyword("not")) {
+      parseUnary();
+      emit(CompiledRule.NOT);
+    } else if (accept('(')) {
+      parseOr();
+      if (!accept(')')) {
+        throw new RuleSyntaxException("Expected ')'", position);
+      }
+    } else {
+      parseComparison();
+    }
+  }
+
+  private void parseComparison() {
+    int start = skipWhitespace();
+    String name = readWord();
+    Field field = name.isEmpty() ? null : Field.of(name);
+    if (field == null) {
+      throw new RuleSyntaxException(name.isEmpty()
+              ? "Expected a field (temp, humidity, wind or condition)"
+              : "Unknown field '" + name + "'", start);
+    }
+    int operatorStart = skipWhitespace();
+    Operator operator = readOperator();
+    Comparison comparison;
+    if (field == Field.CONDITION) {
+      if (operator != Operator.EQ && operator != Operator.NE && operator != Operator.CONTAINS) {
+        throw new RuleSyntaxException("Condition supports =, != and CONTAINS", operatorStart);
+      }
+      comparison = new Comparison(operator, readText());
+    } else {
+      if (operator == Operator.CONTAINS) {
+        throw new RuleSyntaxException("CONTAINS applies to condition only", operatorStart);
+      }
+      comparison = new Comparison(field, operator, readNumber());
+    }
+
+    Integer index = comparisons.get(comparison);
+    if (index == null) {
+      if (comparisons.size() == CompiledRule.MAX_COMPARISONS) {
+        throw new RuleSyntaxException("Rule has more than " + CompiledRule.MAX_COMPARISONS
+                + " distinct comparisons", start);
+      }
+      index = comparisons.size();
+      comparisons.put(comparison, index);
+    }
+    emit(index);
+  }
+
+  private Operator readOperator() {
+    int start = position;
+    if (acceptKeyword("contains")) {
+      return Operator.CONTAINS;
+    }
+    if (rule.startsWith(">=", position)) {
+      position += 2;
+      return Operator.GE;
+    }
+    if (rule.startsWith("<=", position)) {
+      position += 2;
+      return Operator.LE;
+    }
+    if (rule.startsWith("!=", position) || rule.startsWith("<>", position)) {
+      position += 2;
+      return Operator.NE;
+    }
+    if (rule.startsWith("==", position)) {
+      position += 2;
+      return Operator.EQ;
+    }
+    if (accept('>')) {
+      return Operator.GT;
+    }
+    if (accept('<')) {
+      return Operator.LT;
+    }
+    if (accept('=')) {
+      return Operator.EQ;
+    }
+    throw new RuleSyntaxException("Expected a comparison operator", start);
+  }
+
+  private double readNumber() {
+    int start = skipWhitespace();
+    int end = start;
+    if (end < rule.length() && (rule.charAt(end) == '-' || rule.charAt(end) == '+')) {
+      end++;
+    }
+    while (end < rule.length() && (Character.isDigit(rule.charAt(end)) || rule.charAt(end) == '.')) {
+      end++;
+    }
+    try {
+      double value = Double.parseDouble(rule.substring(start, end));
+      position = end;
+      return value;
+    } catch (NumberFormatException e) {
+      throw new RuleSyntaxException("Expected a number", start);
+    }
+  }
+
+  private String readText() {
+    int start = skipWhitespace();
+    if (start < rule.length() && (rule.charAt(start) == '\'' || rule.charAt(start) == '"')) {
+      int end = rule.indexOf(rule.charAt(start), start + 1);
+      if (end < 0) {
+        throw new RuleSyntaxException("Unterminated text", start);
+      }
+      position = end + 1;
+      String text = rule.substring(start + 1, end).trim();
+      if (text.isEmpty()) {
+        throw new RuleSyntaxException("Text cannot be empty", start);
+      }
+      return text;
+    }
+    String word = readWord();
+    if (word.isEmpty() || isKeyword(word)) {
+      throw new RuleSyntaxException("Expected a condition name", start);
+    }
+    return word;
+  }
+
+  private int parseCount() {
+    int start = skipWhitespace();
+    int end = start;
+    while (end < rule.length() && Character.isDigit(rule.charAt(end))) {
+      end++;
+    }
+    if (end == start || end - start > 3) {
+      throw new RuleSyntaxException("Expected a number of checks", start);
+    }
+    int count = Integer.parseInt(rule.substring(start, end));
+    if (count < 1 || count > CompiledRule.MAX_CONSECUTIVE_CHECKS) {
+      throw new RuleSyntaxException("Consecutive checks must be between 1 and "
+              + CompiledRule.MAX_CONSECUTIVE_CHECKS, start);
+    }
+    position = end;
+    return count;
+  }
+
+  private void emit(int instruction) {
+    depth += instruction >= 0 ? 1 : instruction == CompiledRule.NOT ? 0 : -1;
+    if (depth > CompiledRule.MAX_COMPARISONS) {
+      throw new RuleSyntaxException("Rule is nested too deeply", position);
+    }
+    if (length == program.length) {
+      program = Arrays.copyOf(program, length * 2);
+    }
+    program[length++] = instruction;
+  }
+
+  private boolean acceptKeyword(String keyword) {
+    int start = skipWhitespace();
+    int end = start + keyword.length();
+    if (rule.regionMatches(true, start, keyword, 0, keyword.length())
+            && (end == rule.length() || !isWordChar(rule.charAt(end)))) {
+      position = end;
+      return true;
+    }
+    return false;
+  }
+
+  private boolean accept(char c) {
+    skipWhitespace();
+    if (position < rule.length() && rule.charAt(position) == c) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private String readWord() {
+    int start = skipWhitespace();
+    while (position < rule.length() && isWordChar(rule.charAt(position))) {
+      position++;
+    }
+    return rule.substring(start, position);
+  }
+
+  private int skipWhitespace() {
+    while (position < rule.length() && Character.isWhitespace(rule.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  private static boolean isKeyword(String word) {
+    switch (word.toLowerCase(Locale.ROOT)) {
+      case "and":
+      case "or":
+      case "not":
+      case "for":
+        return true;
+      default:
+        return false;
+    }
+  }
+}
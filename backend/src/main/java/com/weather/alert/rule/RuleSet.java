@@ -0,0 +1,126 @@
+package com.weather.alert.rule;
+
+import com.weather.model.WeatherData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rules of the alerts of one location, with their comparisons merged.
+ * A comparison appearing in several rules, such as {@code temp > 30}, is evaluated once per
+ * observation and its outcome shared. Comparisons are packed into groups of at most 64 so each
+ * group's outcomes fit one {@code long}; groups follow the order of the rules, so walking the
+ * rules in order evaluates every group exactly once.
+ * <pre>
+ *   long outcomes = 0;
+ *   int evaluated = -1;
+ *   for (int i = 0; i &lt; size; i++) {
+ *     int group = rules.groupOf(i);
+ *     if (group != evaluated) {
+ *       outcomes = rules.evaluateGroup(group, weatherData);
+ *       evaluated = group;
+ *     }
+ *     boolean met = rules.matches(i, outcomes);
+ *   }
+ * </pre>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class RuleSet {
+
+  private final CompiledRule[] rules;
+  private final int[] groups;
+  private final int[][] slots;
+  private final Comparison[][] comparisons;
+
+  private RuleSet(CompiledRule[] rules, int[] groups, int[][] slots, Comparison[][] comparisons) {
+    this.rules = rules;
+    this.groups = groups;
+    this.slots = slots;
+    this.comparisons = comparisons;
+  }
+
+  /**
+   * @param rules rules by position; null entries stand for alerts without a rule
+   */
+  public static RuleSet of(List<CompiledRule> rules) {
+    int size = rules.size();
+    CompiledRule[] compiled = rules.toArray(new CompiledRule[0]);
+    int[] groups = new int[size];
+    int[][] slots = new int[size][];
+    List<Comparison[]> packed = new ArrayList<>();
+    Map<Comparison, Integer> group = new LinkedHashMap<>();
+
+    for (int i = 0; i < size; i++) {
+      CompiledRule rule = compiled[i];
+      if (rule == null) {
+        groups[i] = -1;
+        continue;
+      }
+      Comparison[] ruleComparisons = rule.comparisons();
+      int added = 0;
+      for (Comparison comparison : ruleComparisons) {
+        if (!group.containsKey(comparison)) {
+          added++;
+        }
+      }
+      if (group.size() + added > CompiledRule.MAX_COMPARISONS) {
+        packed.add(group.keySet().toArray(new Comparison[0]));
+        group = new LinkedHashMap<>();
+      }
+      int[] ruleSlots = new int[ruleComparisons.length];
+      for (int c = 0; c < ruleComparisons.length; c++) {
+        Integer slot = group.get(ruleComparisons[c]);
+        if (slot == null) {
+          slot = group.size();
+          group.put(ruleComparisons[c], slot);
+        }
+        ruleSlots[c] = slot;
+      }
+      groups[i] = packed.size();
+      slots[i] = ruleSlots;
+    }
+    if (!group.isEmpty()) {
+      packed.add(group.keySet().toArray(new Comparison[0]));
+    }
+    return new RuleSet(compiled, groups, slots, packed.toArray(new Comparison[0][]));
+  }
+
+  public int size() {
+    return rules.length;
+  }
+
+  /**
+   * @return number of comparisons evaluated per observation, after sharing
+   */
+  public int comparisonCount() {
+    int count = 0;
+    for (Comparison[] group : comparisons) {
+      count += group.length;
+    }
+    return count;
+  }
+
+  /**
+   * @return group holding the comparisons of rule {@code index}, or -1 if that position has no rule
+   */
+  public int groupOf(int index) {
+    return groups[index];
+  }
+
+  /**
+   * @return outcomes of the comparisons of a group, one bit each
+   */
+  public long evaluateGroup(int group, WeatherData weatherData) {
+    return CompiledRule.evaluateComparisons(comparisons[group], weatherData);
+  }
+
+  /**
+   * @param outcomes result of {@link #evaluateGroup} for the group of the rule
+   * @return true if rule {@code index} holds, regardless of consecutive checks
+   */
+  public boolean matches(int index, long outcomes) {
+    return rules[index].evaluate(outcomes, slots[index]);
+  }
+}
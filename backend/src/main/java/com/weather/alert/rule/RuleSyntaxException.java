@@ -0,0 +1,21 @@
+package com.weather.alert.rule;
+
+/**
+ * Thrown when an alert rule cannot be parsed
+ */
+public class RuleSyntaxException extends IllegalArgumentException {
+
+  private final int position;
+
+  public RuleSyntaxException(String message, int position) {
+    super(message + " at position " + (position + 1));
+    this.position = position;
+  }
+
+  /**
+   * @return zero-based offset in the rule where parsing failed
+   */
+  public int getPosition() {
+    return position;
+  }
+}
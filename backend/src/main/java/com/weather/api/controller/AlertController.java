@@ -1,22 +1,31 @@
 package com.weather.api.controller;
 
 import com.weather.alert.AlertType;
+import com.weather.alert.ForecastAlertEvaluator;
+import com.weather.alert.PredictedCrossing;
 import com.weather.alert.WeatherAlert;
 import com.weather.alert.WeatherAlertSystem;
+import com.weather.alert.history.AlertHistoryStore;
+import com.weather.alert.history.AlertHistoryStore.TriggerQueryResult;
 import com.weather.api.dto.request.CheckAlertsRequest;
 import com.weather.api.dto.request.CreatePrecipitationAlertRequest;
+import com.weather.api.dto.request.CreateRuleAlertRequest;
 import com.weather.api.dto.request.CreateTemperatureAlertRequest;
 import com.weather.api.dto.request.CreateWindAlertRequest;
 import com.weather.api.dto.response.AlertCheckResponseDto;
 import com.weather.api.dto.response.AlertCreationResponseDto;
 import com.weather.api.dto.response.AlertDeletionResponseDto;
+import com.weather.api.dto.response.AlertHistoryResponseDto;
 import com.weather.api.dto.response.AlertsByPriorityResponseDto;
 import com.weather.api.dto.response.ApiResponse;
 import com.weather.api.dto.response.ClearAlertsResponseDto;
+import com.weather.api.dto.response.PredictedAlertsResponseDto;
 import com.weather.api.dto.response.WeatherAlertsDto;
 import com.weather.api.mapper.WeatherDtoMapper;
+import com.weather.geo.GazetteerService;
 import com.weather.model.Location;
 import com.weather.model.WeatherData;
+import com.weather.service.WeatherServiceException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -28,6 +37,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -40,7 +50,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for weather alerts management
@@ -55,6 +71,10 @@ public class AlertController {
 
   private final WeatherAlertSystem alertSystem;
   private final WeatherDtoMapper dtoMapper;
+  private final GazetteerService gazetteerService;
+  private final ForecastAlertEvaluator forecastAlertEvaluator;
+  private final AlertHistoryStore alertHistoryStore;
+  private final Clock clock;
 
   /**
    * Get all active alerts
@@ -103,6 +123,11 @@ public class AlertController {
                   description = "Location alerts retrieved successfully",
                   content = @Content(schema = @Schema(implementation = WeatherAlertsDto.class))
           ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Unknown location or invalid parameters",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
           @io.swagger.v3.oas.annotations.responses.ApiResponse(
                   responseCode = "500",
                   description = "Internal server error",
@@ -125,6 +150,9 @@ public class AlertController {
       WeatherAlertsDto responseDto = dtoMapper.toWeatherAlertsDto(alerts, location);
 
       return ResponseEntity.ok(ApiResponse.success(responseDto));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
     } catch (Exception e) {
       log.error("Error getting alerts for location", e);
       return ResponseEntity.internalServerError()
@@ -132,6 +160,115 @@ public class AlertController {
     }
   }
 
+  /**
+   * Get alerts predicted from the forecast of a location
+   */
+  @GetMapping("/predicted")
+  @Operation(
+          summary = "Get predicted alerts for location",
+          description = "Check the active alerts of a location against its forecast and report when each is first expected to trigger"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Predicted alerts retrieved successfully",
+                  content = @Content(schema = @Schema(implementation = PredictedAlertsResponseDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Unknown location or invalid parameters",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "503",
+                  description = "Forecast unavailable",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<PredictedAlertsResponseDto>> getPredictedAlerts(
+          @Parameter(description = "City name", example = "Milan")
+          @RequestParam String city,
+          @Parameter(description = "Country code (ISO 3166-1 alpha-2)", example = "IT")
+          @RequestParam String country,
+          @Parameter(description = "Number of forecast days to look ahead", example = "3")
+          @RequestParam(defaultValue = "3") @Min(1) @Max(14) int days,
+          @Parameter(description = "Latitude coordinate", example = "45.4642")
+          @RequestParam(required = false) Double latitude,
+          @Parameter(description = "Longitude coordinate", example = "9.1900")
+          @RequestParam(required = false) Double longitude) {
+
+    try {
+      Location location = dtoMapper.createLocation(city, country, latitude, longitude);
+      List<PredictedCrossing> crossings = forecastAlertEvaluator.predict(location, days);
+      PredictedAlertsResponseDto responseDto = dtoMapper.toPredictedAlertsResponseDto(crossings, location, days);
+
+      return ResponseEntity.ok(ApiResponse.success(responseDto));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    } catch (WeatherServiceException e) {
+      log.error("Weather service error for predicted alerts: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+              .body(ApiResponse.error("Service unavailable", e.getMessage()));
+    } catch (Exception e) {
+      log.error("Error predicting alerts for location", e);
+      return ResponseEntity.internalServerError()
+              .body(ApiResponse.error("Failed to predict location alerts"));
+    }
+  }
+
+  /**
+   * Get alerts near coordinates
+   */
+  @GetMapping("/nearby")
+  @Operation(
+          summary = "Get alerts near coordinates",
+          description = "Retrieve active alerts registered for known places within a radius of the coordinates, "
+                  + "or whose own coordinates lie within it"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Nearby alerts retrieved successfully",
+                  content = @Content(schema = @Schema(implementation = WeatherAlertsDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid coordinates or radius",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "500",
+                  description = "Internal server error",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<WeatherAlertsDto>> getAlertsNearby(
+          @Parameter(description = "Latitude coordinate", example = "45.4642", required = true)
+          @RequestParam double latitude,
+          @Parameter(description = "Longitude coordinate", example = "9.1900", required = true)
+          @RequestParam double longitude,
+          @Parameter(description = "Search radius in km", example = "50")
+          @RequestParam(defaultValue = "50") double radiusKm) {
+
+    try {
+      // The gazetteer validates the coordinates and radius; alert coordinates add places it does not know
+      Set<String> locationKeys = new HashSet<>(gazetteerService.locationKeysWithin(latitude, longitude, radiusKm));
+      locationKeys.addAll(alertSystem.getAlertLocationKeysWithin(latitude, longitude, radiusKm));
+      List<WeatherAlert> alerts = alertSystem.getActiveAlertsForLocationKeys(locationKeys);
+      WeatherAlertsDto responseDto = dtoMapper.toWeatherAlertsDto(alerts);
+
+      return ResponseEntity.ok(ApiResponse.success(responseDto));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    } catch (Exception e) {
+      log.error("Error getting nearby alerts", e);
+      return ResponseEntity.internalServerError()
+              .body(ApiResponse.error("Failed to retrieve nearby alerts"));
+    }
+  }
+
   /**
    * Create a temperature alert
    */
@@ -245,6 +382,9 @@ public class AlertController {
 
       return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(responseDto));
 
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
     } catch (Exception e) {
       log.error("Error creating wind alert", e);
       return ResponseEntity.internalServerError()
@@ -252,6 +392,66 @@ public class AlertController {
     }
   }
 
+  /**
+   * Create a compound rule alert
+   */
+  @PostMapping("/rule")
+  @Operation(
+          summary = "Create rule alert",
+          description = "Create an alert from a compound rule such as 'temp > 30 AND humidity > 70 FOR 2 CONSECUTIVE CHECKS'"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "201",
+                  description = "Rule alert created successfully",
+                  content = @Content(schema = @Schema(implementation = AlertCreationResponseDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid request parameters or malformed rule",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "500",
+                  description = "Internal server error",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<AlertCreationResponseDto>> createRuleAlert(
+          @Valid @RequestBody CreateRuleAlertRequest request) {
+    try {
+      Location location = dtoMapper.createLocation(
+              request.getCity(),
+              request.getCountry(),
+              request.getLatitude(),
+              request.getLongitude()
+      );
+
+      WeatherAlert alert = alertSystem.createRuleAlert(location, request.getRule());
+      alert.setPriority(request.getPriority());
+
+      if (request.getMessage() != null) {
+        alert.setMessage(request.getMessage());
+      }
+
+      alertSystem.addAlert(alert);
+
+      AlertCreationResponseDto responseDto = dtoMapper.toAlertCreationResponseDto(
+              alert, "Rule alert created successfully"
+      );
+
+      return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(responseDto));
+
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    } catch (Exception e) {
+      log.error("Error creating rule alert", e);
+      return ResponseEntity.internalServerError()
+              .body(ApiResponse.error("Failed to create rule alert"));
+    }
+  }
+
   /**
    * Create a precipitation alert
    */
@@ -302,6 +502,9 @@ public class AlertController {
 
       return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(responseDto));
 
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
     } catch (Exception e) {
       log.error("Error creating precipitation alert", e);
       return ResponseEntity.internalServerError()
@@ -309,6 +512,73 @@ public class AlertController {
     }
   }
 
+  /**
+   * Get the trigger history of an alert
+   */
+  @GetMapping("/{alertId}/history")
+  @Operation(
+          summary = "Get alert trigger history",
+          description = "Retrieve when an alert triggered within a time range, with the observed weather; the most recent triggers are returned up to the limit"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Trigger history retrieved successfully",
+                  content = @Content(schema = @Schema(implementation = AlertHistoryResponseDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid parameters",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "404",
+                  description = "Alert not found",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "500",
+                  description = "Internal server error",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<AlertHistoryResponseDto>> getAlertHistory(
+          @Parameter(description = "Alert ID", example = "alert-123")
+          @PathVariable String alertId,
+          @Parameter(description = "Start of the range, inclusive (ISO date-time, defaults to 7 days before the end)", example = "2024-01-01T00:00:00")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+          @Parameter(description = "End of the range, exclusive (ISO date-time, defaults to now)", example = "2024-01-08T00:00:00")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+          @Parameter(description = "Maximum number of triggers to return", example = "1000")
+          @RequestParam(defaultValue = "1000") @Min(1) @Max(10000) int limit) {
+
+    try {
+      ZoneId zone = clock.getZone();
+      LocalDateTime end = to != null ? to : LocalDateTime.now(clock).plusSeconds(1);
+      LocalDateTime start = from != null ? from : end.minus(Duration.ofDays(7));
+      if (!start.isBefore(end)) {
+        throw new IllegalArgumentException("'from' must be before 'to'");
+      }
+
+      TriggerQueryResult result = alertHistoryStore.query(alertId,
+              start.atZone(zone).toEpochSecond(), end.atZone(zone).toEpochSecond(), limit);
+      if (result.getTotal() == 0 && alertSystem.getAlert(alertId).isEmpty()) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Alert not found", "No alert with ID: " + alertId));
+      }
+
+      AlertHistoryResponseDto responseDto = dtoMapper.toAlertHistoryResponseDto(alertId, start, end, result);
+      return ResponseEntity.ok(ApiResponse.success(responseDto));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    } catch (Exception e) {
+      log.error("Error retrieving alert history", e);
+      return ResponseEntity.internalServerError()
+              .body(ApiResponse.error("Failed to retrieve alert history"));
+    }
+  }
+
   /**
    * Delete an alert by ID
    */
@@ -0,0 +1,159 @@
+package com.weather.api.controller;
+
+import com.weather.api.dto.response.ApiResponse;
+import com.weather.api.dto.response.LocationDto;
+import com.weather.api.dto.response.NearbyLocationDto;
+import com.weather.api.mapper.WeatherDtoMapper;
+import com.weather.geo.GazetteerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for looking up known places by coordinates and by name
+ */
+@RestController
+@RequestMapping("/api/v1/locations")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "Locations", description = "Known places and spatial lookups")
+public class LocationController {
+
+  private final GazetteerService gazetteerService;
+  private final WeatherDtoMapper dtoMapper;
+
+  /**
+   * Get the known place nearest to coordinates
+   */
+  @GetMapping("/nearest")
+  @Operation(
+          summary = "Get nearest place",
+          description = "Resolve coordinates to the closest known place"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Nearest place found",
+                  content = @Content(schema = @Schema(implementation = NearbyLocationDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid coordinates",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "404",
+                  description = "No places are known",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<NearbyLocationDto>> getNearestLocation(
+          @Parameter(description = "Latitude coordinate", example = "45.47", required = true)
+          @RequestParam double latitude,
+          @Parameter(description = "Longitude coordinate", example = "9.18", required = true)
+          @RequestParam double longitude) {
+    try {
+      return gazetteerService.nearest(latitude, longitude)
+              .map(match -> ResponseEntity.ok(ApiResponse.success(dtoMapper.toNearbyLocationDto(match))))
+              .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                      .body(ApiResponse.error("No places are known")));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    }
+  }
+
+  /**
+   * Get known places within a radius of coordinates
+   */
+  @GetMapping("/nearby")
+  @Operation(
+          summary = "Get nearby places",
+          description = "List known places within a radius of the coordinates, nearest first"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Nearby places retrieved successfully"
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid coordinates or radius",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<List<NearbyLocationDto>>> getNearbyLocations(
+          @Parameter(description = "Latitude coordinate", example = "45.47", required = true)
+          @RequestParam double latitude,
+          @Parameter(description = "Longitude coordinate", example = "9.18", required = true)
+          @RequestParam double longitude,
+          @Parameter(description = "Search radius in km", example = "50")
+          @RequestParam(defaultValue = "50") double radiusKm,
+          @Parameter(description = "Maximum number of places returned", example = "20")
+          @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int limit) {
+    try {
+      List<NearbyLocationDto> places = gazetteerService.within(latitude, longitude, radiusKm, limit).stream()
+              .map(dtoMapper::toNearbyLocationDto)
+              .collect(Collectors.toList());
+      return ResponseEntity.ok(ApiResponse.success(places));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    }
+  }
+
+  /**
+   * Suggest known places by name prefix
+   */
+  @GetMapping("/autocomplete")
+  @Operation(
+          summary = "Autocomplete place names",
+          description = "Suggest known places whose name starts with the query, ignoring case and accents, most populous first"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Suggestions retrieved successfully"
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid parameters",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<List<LocationDto>>> autocomplete(
+          @Parameter(description = "Beginning of the place name", example = "Mil", required = true)
+          @RequestParam String query,
+          @Parameter(description = "Country code (ISO 3166-1 alpha-2) to restrict suggestions to", example = "IT")
+          @RequestParam(required = false) String country,
+          @Parameter(description = "Maximum number of suggestions", example = "10")
+          @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+    try {
+      List<LocationDto> suggestions = gazetteerService.autocomplete(query, country, limit).stream()
+              .map(place -> dtoMapper.toLocationDto(place.toLocation()))
+              .collect(Collectors.toList());
+      return ResponseEntity.ok(ApiResponse.success(suggestions));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.weather.api.controller;
+
+import com.weather.api.dto.request.MobileRegistrationRequest;
+import com.weather.api.dto.response.ApiResponse;
+import com.weather.api.dto.response.MobileRegistrationResponseDto;
+import com.weather.api.mapper.WeatherDtoMapper;
+import com.weather.mobile.DevicePlatform;
+import com.weather.mobile.DeviceRegistration;
+import com.weather.mobile.DeviceRegistry;
+import com.weather.model.Location;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * REST controller for mobile device registration
+ */
+@RestController
+@RequestMapping("/api/v1/mobile/devices")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "Mobile", description = "Mobile device registration for push notifications")
+public class MobileController {
+
+  private final DeviceRegistry deviceRegistry;
+  private final WeatherDtoMapper dtoMapper;
+
+  /**
+   * Register a device or replace its registration
+   */
+  @PostMapping
+  @Operation(
+          summary = "Register mobile device",
+          description = "Register a push token with the locations and alerts it follows; re-registering replaces them"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "201",
+                  description = "Device registered",
+                  content = @Content(schema = @Schema(implementation = MobileRegistrationResponseDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Existing registration replaced",
+                  content = @Content(schema = @Schema(implementation = MobileRegistrationResponseDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid request parameters",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "503",
+                  description = "Device registry is full",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<MobileRegistrationResponseDto>> registerDevice(
+          @Valid @RequestBody MobileRegistrationRequest request) {
+    try {
+      Set<String> locationKeys = new HashSet<>();
+      for (String entry : request.getLocations()) {
+        String[] parts = entry.split(",");
+        Location location = dtoMapper.createLocation(parts[0].trim(), parts[1].trim(), null, null);
+        locationKeys.add(Location.searchKey(location.getCity(), location.getCountry()));
+      }
+      DeviceRegistration registration = new DeviceRegistration(
+              request.getDeviceToken(),
+              DevicePlatform.valueOf(request.getPlatform().toUpperCase(Locale.ROOT)),
+              locationKeys,
+              new HashSet<>(request.getAlertIds()),
+              Instant.now()
+      );
+
+      boolean created = deviceRegistry.register(registration);
+      return ResponseEntity.status(created ? HttpStatus.CREATED : HttpStatus.OK)
+              .body(ApiResponse.success(toResponseDto(registration, created)));
+
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    } catch (IllegalStateException e) {
+      log.warn("Rejected device registration: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+              .body(ApiResponse.error("Registration unavailable", e.getMessage()));
+    }
+  }
+
+  /**
+   * Get a device registration
+   */
+  @GetMapping("/{deviceToken}")
+  @Operation(summary = "Get mobile device registration")
+  public ResponseEntity<ApiResponse<MobileRegistrationResponseDto>> getDevice(
+          @Parameter(description = "Push token of the device", required = true)
+          @PathVariable String deviceToken) {
+    return deviceRegistry.find(deviceToken)
+            .map(registration -> ResponseEntity.ok(ApiResponse.success(toResponseDto(registration, false))))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Device not found")));
+  }
+
+  /**
+   * Unregister a device
+   */
+  @DeleteMapping("/{deviceToken}")
+  @Operation(summary = "Unregister mobile device")
+  public ResponseEntity<ApiResponse<String>> unregisterDevice(
+          @Parameter(description = "Push token of the device", required = true)
+          @PathVariable String deviceToken) {
+    if (!deviceRegistry.unregister(deviceToken)) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+              .body(ApiResponse.error("Device not found"));
+    }
+    return ResponseEntity.ok(ApiResponse.success("Device unregistered"));
+  }
+
+  private static MobileRegistrationResponseDto toResponseDto(DeviceRegistration registration, boolean created) {
+    return MobileRegistrationResponseDto.builder()
+            .deviceToken(registration.getToken())
+            .platform(registration.getPlatform().name())
+            .locations(List.copyOf(registration.getLocationKeys()))
+            .alertIds(List.copyOf(registration.getAlertIds()))
+            .updatedAt(registration.getUpdatedAt())
+            .created(created)
+            .build();
+  }
+}
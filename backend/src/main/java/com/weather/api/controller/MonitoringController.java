@@ -1,10 +1,12 @@
 package com.weather.api.controller;
 
+import com.weather.monitoring.HealthSnapshot;
+import com.weather.monitoring.PassiveHealthCheck;
 import com.weather.monitoring.circuit.CircuitBreaker;
-import com.weather.service.WeatherService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.Health;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * REST controller for monitoring and operational endpoints
@@ -28,24 +31,29 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class MonitoringController implements HealthIndicator {
 
-  private final WeatherService weatherService;
   private final CircuitBreaker circuitBreaker;
   private final MeterRegistry meterRegistry;
   private final CacheManager cacheManager;
+  private final PassiveHealthCheck passiveHealthCheck;
 
+  /**
+   * Health from passive signals only; never calls the upstream provider
+   */
   @Override
   public Health health() {
     try {
-      boolean serviceHealthy = weatherService.isHealthy();
-      boolean circuitHealthy = !circuitBreaker.getState().name().equals("OPEN");
+      HealthSnapshot snapshot = passiveHealthCheck.snapshot();
 
-      Health.Builder builder = serviceHealthy && circuitHealthy ?
+      Health.Builder builder = snapshot.isHealthy() ?
               Health.up() : Health.down();
 
       return builder
-              .withDetail("weather-service", serviceHealthy ? "UP" : "DOWN")
-              .withDetail("circuit-breaker", circuitBreaker.getState().name())
-              .withDetail("cache-stats", weatherService.getCacheStatistics())
+              .withDetail("weather-service", snapshot.getStatus().name())
+              .withDetail("reason", snapshot.getReason())
+              .withDetail("circuit-breaker", snapshot.getCircuitBreakerState().name())
+              .withDetail("upstream-success-rate", snapshot.getUpstreamSuccessRate())
+              .withDetail("last-success-age-ms", snapshot.getLastSuccessAgeMillis())
+              .withDetail("cache-fresh", snapshot.isCacheFresh())
               .build();
 
     } catch (Exception e) {
@@ -61,10 +69,24 @@ public class MonitoringController implements HealthIndicator {
   @GetMapping("/health/detailed")
   public ResponseEntity<?> getDetailedHealth() {
     try {
+      HealthSnapshot snapshot = passiveHealthCheck.snapshot();
       Map<String, Object> health = Map.of(
               "service", Map.of(
-                      "status", weatherService.isHealthy() ? "UP" : "DOWN",
-                      "cache", weatherService.getCacheStatistics()
+                      "status", snapshot.getStatus().name(),
+                      "reason", snapshot.getReason(),
+                      "cache", cacheMeters()
+              ),
+              "upstream", Map.of(
+                      "windowCalls", snapshot.getWindowCalls(),
+                      "successRate", snapshot.getUpstreamSuccessRate(),
+                      "meanLatencyMillis", snapshot.getUpstreamMeanLatencyMillis(),
+                      "maxLatencyMillis", snapshot.getUpstreamMaxLatencyMillis(),
+                      "lastSuccessAgeMillis", snapshot.getLastSuccessAgeMillis()
+              ),
+              "cacheFreshness", Map.of(
+                      "fresh", snapshot.isCacheFresh(),
+                      "entries", snapshot.getCachedEntries(),
+                      "hitRate", snapshot.getCacheHitRate()
               ),
               "circuitBreaker", Map.of(
                       "state", circuitBreaker.getState().name(),
@@ -120,19 +142,14 @@ public class MonitoringController implements HealthIndicator {
   @GetMapping("/metrics/summary")
   public ResponseEntity<?> getMetricsSummary() {
     try {
-      Counter.builder("weather.api.calls")
-              .description("Total API calls")
-              .register(meterRegistry)
-              .increment();
-
-      Gauge.builder("weather.cache.count", cacheManager.getCacheNames()::size)
-              .description("Number of configured caches")
-              .register(meterRegistry);
+      // Read existing meters only; registering here would add a registry lookup to every request
+      double totalApiCalls = meterRegistry.find("weather.api.calls.total").counters().stream()
+              .mapToDouble(Counter::count)
+              .sum();
 
       return ResponseEntity.ok(Map.of(
               "metrics", Map.of(
-                      "totalAPICalls", meterRegistry.find("weather.api.calls").counter() != null ?
-                              meterRegistry.find("weather.api.calls").counter().count() : 0,
+                      "totalAPICalls", totalApiCalls,
                       "cacheCount", cacheManager.getCacheNames().size(),
                       "cacheNames", cacheManager.getCacheNames(),
                       "circuitBreakerState", circuitBreaker.getState().name()
@@ -185,4 +202,28 @@ public class MonitoringController implements HealthIndicator {
             "status", "success"
     ));
   }
+
+  /**
+   * Per-cache request counts and estimated size, read from the pre-registered cache meters
+   */
+  private Map<String, Object> cacheMeters() {
+    Map<String, Object> caches = new TreeMap<>();
+    for (String cacheName : cacheManager.getCacheNames()) {
+      Timer hits = meterRegistry.find("weather.cache.request.duration")
+              .tag("cache", cacheName).tag("result", "hit").timer();
+      Timer misses = meterRegistry.find("weather.cache.request.duration")
+              .tag("cache", cacheName).tag("result", "miss").timer();
+      Gauge size = meterRegistry.find("weather.cache.weighted.size").tag("cache", cacheName).gauge();
+      long hitCount = hits == null ? 0 : hits.count();
+      long missCount = misses == null ? 0 : misses.count();
+      long requests = hitCount + missCount;
+      caches.put(cacheName, Map.of(
+              "hits", hitCount,
+              "misses", missCount,
+              "hitRate", requests == 0 ? 0.0 : (double) hitCount / requests,
+              "estimatedBytes", size == null ? 0L : (long) size.value()
+      ));
+    }
+    return caches;
+  }
 }
@@ -1 +1,69 @@
+package com.weather.api.controller;
 
+import com.weather.api.mapper.WeatherDtoMapper;
+import com.weather.model.Location;
+import com.weather.realtime.LiveWeatherHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller for real-time weather streams
+ */
+@RestController
+@RequestMapping("/api/v1/realtime")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*") // Allow frontend from any origin
+@Tag(name = "Real-Time", description = "Live weather updates over Server-Sent Events")
+public class RealTimeController {
+
+  private final LiveWeatherHub liveWeatherHub;
+  private final WeatherDtoMapper dtoMapper;
+
+  /**
+   * Stream live weather updates for one or more locations
+   */
+  @GetMapping(value = "/weather", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+          summary = "Stream live weather",
+          description = "Server-Sent Events stream: a snapshot per location, then only changed fields"
+  )
+  public ResponseEntity<SseEmitter> streamWeather(
+          @Parameter(description = "Locations as City,CC; repeat for several", example = "Milan,IT", required = true)
+          @RequestParam("location") List<String> locations) {
+
+    try {
+      List<Location> resolved = new ArrayList<>(locations.size());
+      for (String location : locations) {
+        String[] parts = location.split(",");
+        if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+          return ResponseEntity.badRequest().build();
+        }
+        // Throws IllegalArgumentException for places the gazetteer cannot resolve
+        resolved.add(dtoMapper.createLocation(parts[0].trim(), parts[1].trim().toUpperCase(), null, null));
+      }
+      return ResponseEntity.ok(liveWeatherHub.subscribe(resolved));
+    } catch (IllegalArgumentException e) {
+      log.debug("Rejected real-time subscription: {}", e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (IllegalStateException e) {
+      log.warn("Rejected real-time subscription: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.weather.api.controller;
 
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.weather.monitoring.HotKeyTracker;
+import com.weather.monitoring.WeatherMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -10,10 +12,12 @@ import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,7 +29,10 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SpringCacheController {
 
+  private static final int MAX_HOT_KEYS = 50;
+
   private final CacheManager cacheManager;
+  private final WeatherMetrics weatherMetrics;
 
   /**
    * Get statistics for all caches
@@ -82,6 +89,7 @@ public class SpringCacheController {
       statsMap.put("requestCount", stats.requestCount());
       statsMap.put("evictionCount", stats.evictionCount());
       statsMap.put("estimatedSize", nativeCache.estimatedSize());
+      statsMap.put("estimatedBytes", weatherMetrics.cache(cacheName).weightedSizeBytes());
 
       result.put("statistics", statsMap);
     }
@@ -89,6 +97,62 @@ public class SpringCacheController {
     return result;
   }
 
+  /**
+   * Get the hottest keys of every cache
+   */
+  @GetMapping("/hotkeys")
+  @Operation(summary = "Get hot keys", description = "Approximate most accessed keys per cache, from sampled accesses")
+  public Map<String, Object> getHotKeys(@RequestParam(defaultValue = "10") int limit) {
+    Map<String, Object> result = new HashMap<>();
+    for (String cacheName : cacheManager.getCacheNames()) {
+      result.put(cacheName, weatherMetrics.cache(cacheName).hotKeys().topKeys(clampLimit(limit)));
+    }
+    return result;
+  }
+
+  /**
+   * Get the hottest keys of a specific cache
+   */
+  @GetMapping("/hotkeys/{cacheName}")
+  @Operation(summary = "Get hot keys for a specific cache")
+  public Map<String, Object> getHotKeys(@PathVariable String cacheName,
+                                        @RequestParam(defaultValue = "10") int limit) {
+    if (cacheManager.getCache(cacheName) == null) {
+      throw new RuntimeException("Cache not found: " + cacheName);
+    }
+    HotKeyTracker hotKeys = weatherMetrics.cache(cacheName).hotKeys();
+    List<HotKeyTracker.HotKey> topKeys = hotKeys.topKeys(clampLimit(limit));
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("cacheName", cacheName);
+    result.put("hotKeys", topKeys);
+    result.put("topShare", hotKeys.topShare());
+    return result;
+  }
+
+  /**
+   * Get estimated memory held by each cache
+   */
+  @GetMapping("/size")
+  @Operation(summary = "Get estimated cache sizes", description = "Entry counts and estimated bytes per cache")
+  public Map<String, Object> getCacheSizes() {
+    Map<String, Object> sizes = new HashMap<>();
+    long totalBytes = 0;
+    for (String cacheName : cacheManager.getCacheNames()) {
+      Cache cache = cacheManager.getCache(cacheName);
+      if (cache instanceof CaffeineCache) {
+        long bytes = weatherMetrics.cache(cacheName).weightedSizeBytes();
+        totalBytes += bytes;
+        sizes.put(cacheName, Map.of(
+                "entries", ((CaffeineCache) cache).getNativeCache().estimatedSize(),
+                "estimatedBytes", bytes
+        ));
+      }
+    }
+    sizes.put("totalEstimatedBytes", totalBytes);
+    return sizes;
+  }
+
   /**
    * Get cache configuration
    */
@@ -110,4 +174,8 @@ public class SpringCacheController {
 
     return config;
   }
+
+  private static int clampLimit(int limit) {
+    return Math.max(1, Math.min(limit, MAX_HOT_KEYS));
+  }
 }
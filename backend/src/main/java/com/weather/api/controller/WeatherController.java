@@ -3,7 +3,10 @@ package com.weather.api.controller;
 import com.weather.api.dto.response.ApiResponse;
 import com.weather.api.dto.response.CurrentWeatherResponseDto;
 import com.weather.api.dto.response.WeatherForecastResponseDto;
+import com.weather.api.dto.response.WeatherHistoryResponseDto;
 import com.weather.api.mapper.WeatherDtoMapper;
+import com.weather.history.ObservationAggregate;
+import com.weather.history.ObservationStore;
 import com.weather.model.Location;
 import com.weather.model.WeatherData;
 import com.weather.service.WeatherService;
@@ -18,6 +21,8 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -26,6 +31,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
 /**
  * REST controller for weather operations
  */
@@ -39,6 +50,8 @@ public class WeatherController {
 
   private final WeatherService weatherService;
   private final WeatherDtoMapper dtoMapper;
+  private final ObservationStore observationStore;
+  private final Clock clock;
 
   /**
    * Get current weather for a location
@@ -160,4 +173,77 @@ public class WeatherController {
     }
   }
 
+  /**
+   * Get recorded weather history for a location
+   */
+  @GetMapping("/history")
+  @Operation(
+          summary = "Get weather history",
+          description = "Retrieve the weather recorded for a location within a time range, as raw observations or aggregated per step. Steps in whole hours or days are read from hourly or daily rollups, which outlive the raw observations; the range is widened to whole steps"
+  )
+  @ApiResponses(value = {
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "200",
+                  description = "Weather history retrieved successfully",
+                  content = @Content(schema = @Schema(implementation = WeatherHistoryResponseDto.class))
+          ),
+          @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid request parameters or too many points",
+                  content = @Content(schema = @Schema(implementation = ApiResponse.class))
+          )
+  })
+  public ResponseEntity<ApiResponse<WeatherHistoryResponseDto>> getWeatherHistory(
+          @Parameter(description = "City name", example = "Milan", required = true)
+          @RequestParam String city,
+          @Parameter(description = "Country code (ISO 3166-1 alpha-2)", example = "IT", required = true)
+          @RequestParam String country,
+          @Parameter(description = "Start of the range, inclusive (ISO date-time, defaults to 24 hours before the end)", example = "2024-01-01T00:00:00")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+          @Parameter(description = "End of the range, exclusive (ISO date-time, defaults to now)", example = "2024-01-02T00:00:00")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+          @Parameter(description = "Aggregation step such as 15m, 1h or PT6H; raw observations if absent", example = "1h")
+          @RequestParam(required = false) String step,
+          @Parameter(description = "Latitude coordinate", example = "45.4642")
+          @RequestParam(required = false) Double latitude,
+          @Parameter(description = "Longitude coordinate", example = "9.1900")
+          @RequestParam(required = false) Double longitude) {
+
+    try {
+      Location location = dtoMapper.createLocation(city, country, latitude, longitude);
+      ZoneId zone = clock.getZone();
+      LocalDateTime end = to != null ? to : LocalDateTime.now(clock).plusSeconds(1);
+      LocalDateTime start = from != null ? from : end.minusHours(24);
+      if (!start.isBefore(end)) {
+        throw new IllegalArgumentException("'from' must be before 'to'");
+      }
+      Duration stepDuration = step != null && !step.isBlank() ? DurationStyle.detectAndParse(step.trim()) : null;
+
+      String locationKey = Location.searchKey(location.getCity(), location.getCountry());
+      long fromEpoch = start.atZone(zone).toEpochSecond();
+      long toEpoch = end.atZone(zone).toEpochSecond();
+      List<ObservationAggregate> points;
+      String resolution;
+      if (stepDuration != null) {
+        points = observationStore.aggregate(locationKey, fromEpoch, toEpoch, stepDuration.toSeconds());
+        resolution = observationStore.resolutionFor(stepDuration.toSeconds());
+      } else {
+        points = observationStore.observations(locationKey, fromEpoch, toEpoch);
+        resolution = ObservationStore.RAW;
+      }
+
+      WeatherHistoryResponseDto responseDto = dtoMapper.toWeatherHistoryResponseDto(
+              points, location, start, end, stepDuration, resolution);
+      return ResponseEntity.ok(ApiResponse.success(responseDto));
+
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid history request: {}", e.getMessage());
+      return ResponseEntity.badRequest()
+              .body(ApiResponse.error("Invalid parameters", e.getMessage()));
+    } catch (Exception e) {
+      log.error("Unexpected error getting weather history", e);
+      return ResponseEntity.internalServerError()
+              .body(ApiResponse.error("Internal server error", "An unexpected error occurred"));
+    }
+  }
 }
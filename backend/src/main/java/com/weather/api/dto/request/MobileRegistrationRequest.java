@@ -1 +1,46 @@
+package com.weather.api.dto.request;
 
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request DTO for registering a mobile device for push notifications
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mobile device registration request")
+public class MobileRegistrationRequest {
+
+  @NotBlank(message = "Device token is required")
+  @Size(max = 4096, message = "Device token must be at most 4096 characters")
+  @Schema(description = "Push token issued by FCM or APNs", example = "fcm:dGhpcyBpcyBhIHRva2Vu")
+  private String deviceToken;
+
+  @NotNull(message = "Platform is required")
+  @Pattern(regexp = "(?i)ios|android", message = "Platform must be ios or android")
+  @Schema(description = "Device platform", example = "android")
+  private String platform;
+
+  @Size(max = 50, message = "At most 50 locations can be followed")
+  @Schema(description = "Followed locations as City,CC", example = "[\"Milan,IT\", \"London,GB\"]")
+  @Builder.Default
+  private List<@Pattern(regexp = "[^,]+,\\s*[A-Za-z]{2}", message = "Location must be City,CC") String> locations =
+          new ArrayList<>();
+
+  @Size(max = 100, message = "At most 100 alerts can be followed")
+  @Schema(description = "Followed alert ids", example = "[\"3f2b8c1e-5d4a-4c2b-9f1e-7a6b5c4d3e2f\"]")
+  @Builder.Default
+  private List<@NotBlank String> alertIds = new ArrayList<>();
+}
@@ -0,0 +1,39 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for the trigger history of an alert
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Triggers of an alert within a time range")
+public class AlertHistoryResponseDto {
+
+  @Schema(description = "Alert ID", example = "alert-123")
+  private String alertId;
+
+  @Schema(description = "Start of the range, inclusive")
+  private LocalDateTime from;
+
+  @Schema(description = "End of the range, exclusive")
+  private LocalDateTime to;
+
+  @Schema(description = "Number of triggers in the range", example = "42")
+  private Integer total;
+
+  @Schema(description = "Number of triggers returned, the most recent up to the limit", example = "42")
+  private Integer count;
+
+  @Schema(description = "Triggers in chronological order")
+  private List<AlertTriggerDto> triggers;
+}
@@ -0,0 +1,32 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recorded alert trigger DTO for API responses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One recorded trigger of an alert with the observed weather")
+public class AlertTriggerDto {
+
+  @Schema(description = "Time the alert triggered")
+  private LocalDateTime timestamp;
+
+  @Schema(description = "Observed temperature in Celsius, to hundredths", example = "31.25")
+  private Double temperature;
+
+  @Schema(description = "Observed humidity percentage", example = "72")
+  private Integer humidity;
+
+  @Schema(description = "Observed wind speed in km/h, to hundredths", example = "18.5")
+  private Double windSpeed;
+}
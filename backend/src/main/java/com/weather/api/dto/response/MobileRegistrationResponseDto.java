@@ -0,0 +1,39 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for a registered mobile device
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mobile device registration")
+public class MobileRegistrationResponseDto {
+
+  @Schema(description = "Push token of the device", example = "fcm:dGhpcyBpcyBhIHRva2Vu")
+  private String deviceToken;
+
+  @Schema(description = "Device platform", example = "ANDROID")
+  private String platform;
+
+  @Schema(description = "Followed location keys", example = "[\"Milan_IT\"]")
+  private List<String> locations;
+
+  @Schema(description = "Followed alert ids")
+  private List<String> alertIds;
+
+  @Schema(description = "Time of the last registration update")
+  private Instant updatedAt;
+
+  @Schema(description = "Whether the device was newly registered", example = "true")
+  private boolean created;
+}
@@ -0,0 +1,27 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a known place found near a point
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Known place near the requested coordinates")
+public class NearbyLocationDto {
+
+  @Schema(description = "The place")
+  private LocationDto location;
+
+  @Schema(description = "Great-circle distance from the requested coordinates in km", example = "3.2")
+  private Double distanceKm;
+
+  @Schema(description = "Population of the place, 0 if unknown", example = "1371498")
+  private Integer population;
+}
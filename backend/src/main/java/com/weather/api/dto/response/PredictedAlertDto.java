@@ -0,0 +1,29 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicted alert crossing DTO for API responses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Alert predicted to trigger from the forecast")
+public class PredictedAlertDto {
+
+  @Schema(description = "Alert predicted to trigger")
+  private WeatherAlertDto alert;
+
+  @Schema(description = "Earliest forecast time at which the alert condition is met")
+  private LocalDateTime predictedAt;
+
+  @Schema(description = "Forecast that meets the alert condition")
+  private WeatherDataDto forecast;
+}
@@ -0,0 +1,32 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for alerts predicted from a location's forecast
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Alerts predicted to trigger within the forecast period")
+public class PredictedAlertsResponseDto {
+
+  @Schema(description = "Predicted alerts, earliest first")
+  private List<PredictedAlertDto> predictions;
+
+  @Schema(description = "Number of predicted alerts", example = "1")
+  private Integer count;
+
+  @Schema(description = "Location of the alerts")
+  private LocationDto location;
+
+  @Schema(description = "Forecast days examined", example = "3")
+  private Integer days;
+}
@@ -55,4 +55,7 @@ public class WeatherAlertDto {
 
   @Schema(description = "Precipitation conditions (for precipitation alerts only)")
   private List<String> precipitationConditions;
+
+  @Schema(description = "Compound rule (for rule alerts only)", example = "temp > 30 AND humidity > 70 FOR 2 CONSECUTIVE CHECKS")
+  private String rule;
 }
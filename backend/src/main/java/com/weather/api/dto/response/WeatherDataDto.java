@@ -33,9 +33,12 @@ public class WeatherDataDto {
   @Schema(description = "Wind speed in km/h", example = "10.5")
   private Double windSpeed;
 
-  @Schema(description = "Data timestamp")
+  @Schema(description = "Time the data was observed or fetched")
   private LocalDateTime timestamp;
 
+  @Schema(description = "Time a forecast point holds for; absent for current weather")
+  private LocalDateTime validAt;
+
   @Schema(description = "Weather description", example = "Pleasant weather with light clouds")
   private String description;
 
@@ -0,0 +1,53 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Historical weather point DTO: one observation, or the summary of a time step
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Recorded observation, or summary of the observations within one step")
+public class WeatherHistoryPointDto {
+
+  @Schema(description = "Observation time, or start of the step")
+  private LocalDateTime timestamp;
+
+  @Schema(description = "Number of observations summarised", example = "12")
+  private Integer samples;
+
+  @Schema(description = "Average temperature in Celsius", example = "22.5")
+  private Double temperature;
+
+  @Schema(description = "Minimum temperature in Celsius", example = "19.0")
+  private Double temperatureMin;
+
+  @Schema(description = "Maximum temperature in Celsius", example = "25.1")
+  private Double temperatureMax;
+
+  @Schema(description = "Average humidity percentage", example = "65.0")
+  private Double humidity;
+
+  @Schema(description = "Minimum humidity percentage", example = "60")
+  private Integer humidityMin;
+
+  @Schema(description = "Maximum humidity percentage", example = "70")
+  private Integer humidityMax;
+
+  @Schema(description = "Average wind speed in km/h", example = "12.3")
+  private Double windSpeed;
+
+  @Schema(description = "Minimum wind speed in km/h", example = "8.0")
+  private Double windSpeedMin;
+
+  @Schema(description = "Maximum wind speed in km/h", example = "18.4")
+  private Double windSpeedMax;
+}
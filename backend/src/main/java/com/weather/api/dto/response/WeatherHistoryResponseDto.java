@@ -0,0 +1,43 @@
+package com.weather.api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for recorded weather history of a location
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Recorded weather of a location within a time range")
+public class WeatherHistoryResponseDto {
+
+  @Schema(description = "Location of the observations")
+  private LocationDto location;
+
+  @Schema(description = "Start of the range, inclusive")
+  private LocalDateTime from;
+
+  @Schema(description = "End of the range, exclusive")
+  private LocalDateTime to;
+
+  @Schema(description = "Aggregation step (ISO-8601 duration), absent for raw observations", example = "PT1H")
+  private String step;
+
+  @Schema(description = "Resolution the points were read at: raw observations, or hourly or daily rollups",
+          example = "hourly", allowableValues = {"raw", "hourly", "daily"})
+  private String resolution;
+
+  @Schema(description = "Number of points", example = "24")
+  private Integer count;
+
+  @Schema(description = "Points in chronological order; steps without observations are omitted")
+  private List<WeatherHistoryPointDto> points;
+}
@@ -1,10 +1,15 @@
 package com.weather.api.mapper;
 
+import com.weather.alert.PredictedCrossing;
 import com.weather.alert.WeatherAlert;
+import com.weather.alert.history.AlertHistoryStore.TriggerQueryResult;
+import com.weather.alert.history.TriggerEvent;
 import com.weather.api.dto.request.CheckAlertsRequest;
 import com.weather.api.dto.response.AlertCheckResponseDto;
 import com.weather.api.dto.response.AlertCreationResponseDto;
 import com.weather.api.dto.response.AlertDeletionResponseDto;
+import com.weather.api.dto.response.AlertHistoryResponseDto;
+import com.weather.api.dto.response.AlertTriggerDto;
 import com.weather.api.dto.response.AlertsByPriorityResponseDto;
 import com.weather.api.dto.response.CacheClearResponseDto;
 import com.weather.api.dto.response.CacheMetricsDto;
@@ -12,14 +17,29 @@ import com.weather.api.dto.response.CacheStatsResponseDto;
 import com.weather.api.dto.response.ClearAlertsResponseDto;
 import com.weather.api.dto.response.HealthStatusResponseDto;
 import com.weather.api.dto.response.LocationDto;
+import com.weather.api.dto.response.NearbyLocationDto;
+import com.weather.api.dto.response.PredictedAlertDto;
+import com.weather.api.dto.response.PredictedAlertsResponseDto;
 import com.weather.api.dto.response.WeatherAlertDto;
 import com.weather.api.dto.response.WeatherAlertsDto;
 import com.weather.api.dto.response.WeatherDataDto;
 import com.weather.api.dto.response.WeatherForecastResponseDto;
+import com.weather.api.dto.response.WeatherHistoryPointDto;
+import com.weather.api.dto.response.WeatherHistoryResponseDto;
+import com.weather.geo.GazetteerService;
+import com.weather.geo.Place;
+import com.weather.geo.PlaceMatch;
+import com.weather.history.ObservationAggregate;
 import com.weather.model.Location;
 import com.weather.model.WeatherData;
+import com.weather.service.FreshnessPolicy;
+import com.weather.service.FreshnessPolicy.DataKind;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -28,8 +48,12 @@ import java.util.stream.Stream;
  * Mapper class for converting between domain models and DTOs
  */
 @Component
+@RequiredArgsConstructor
 public class WeatherDtoMapper {
 
+  private final FreshnessPolicy freshnessPolicy;
+  private final GazetteerService gazetteerService;
+
   /**
    * Convert Location to LocationDto
    */
@@ -46,10 +70,25 @@ public class WeatherDtoMapper {
             .build();
   }
 
+  /**
+   * Convert PlaceMatch to NearbyLocationDto
+   */
+  public NearbyLocationDto toNearbyLocationDto(PlaceMatch match) {
+    return NearbyLocationDto.builder()
+            .location(toLocationDto(match.getPlace().toLocation()))
+            .distanceKm(Math.round(match.getDistanceKm() * 100) / 100.0)
+            .population(match.getPlace().getPopulation())
+            .build();
+  }
+
   /**
    * Convert WeatherData to WeatherDataDto
    */
   public WeatherDataDto toWeatherDataDto(WeatherData weatherData) {
+    return toWeatherDataDto(weatherData, DataKind.CURRENT, freshnessPolicy.nowEpochSecond());
+  }
+
+  private WeatherDataDto toWeatherDataDto(WeatherData weatherData, DataKind kind, long nowEpochSecond) {
     if (weatherData == null) {
       return null;
     }
@@ -60,9 +99,10 @@ public class WeatherDtoMapper {
             .condition(weatherData.getCondition())
             .humidity(weatherData.getHumidity())
             .windSpeed(weatherData.getWindSpeed())
-            .timestamp(weatherData.getTimestamp())
+            .timestamp(weatherData.getTimestamp(freshnessPolicy.zone()))
+            .validAt(kind == DataKind.FORECAST ? weatherData.getValidAt(freshnessPolicy.zone()) : null)
             .description(weatherData.getDescription())
-            .isFresh(weatherData.isFresh())
+            .isFresh(freshnessPolicy.isFresh(weatherData, kind, nowEpochSecond))
             .build();
   }
 
@@ -87,6 +127,7 @@ public class WeatherDtoMapper {
             .wasRecentlyTriggered(alert.wasRecentlyTriggered())
             .location(toLocationDto(alert.getLocation()))
             .precipitationConditions(alert.getPrecipitationConditions())
+            .rule(alert.getRule() != null ? alert.getRule().getSource() : null)
             .build();
   }
 
@@ -123,15 +164,16 @@ public class WeatherDtoMapper {
   }
 
   /**
-   * Convert WeatherData array to list of WeatherDataDto
+   * Convert forecast WeatherData array to list of WeatherDataDto, judging freshness at one instant
    */
   public List<WeatherDataDto> toWeatherDataDtoList(WeatherData[] weatherDataArray) {
     if (weatherDataArray == null) {
       return List.of();
     }
 
+    long now = freshnessPolicy.nowEpochSecond();
     return Stream.of(weatherDataArray)
-            .map(this::toWeatherDataDto)
+            .map(weatherData -> toWeatherDataDto(weatherData, DataKind.FORECAST, now))
             .collect(Collectors.toList());
   }
 
@@ -204,66 +246,34 @@ public class WeatherDtoMapper {
   }
 
   /**
-   * Create Location from city, country and optional coordinates
+   * Create Location from city, country and optional coordinates.
+   * Without coordinates the place is resolved by name in the gazetteer, ignoring case and accents.
+   *
+   * @throws IllegalArgumentException if no coordinates are given and the place is not known
    */
   public Location createLocation(String city, String country, Double latitude, Double longitude) {
     if (latitude != null && longitude != null) {
       return new Location(city, country, latitude, longitude);
-    } else {
-      // Use approximate coordinates for major cities (simplified geocoding)
-      double[] coords = getApproximateCoordinates(city, country);
-      return new Location(city, country, coords[0], coords[1]);
     }
-  }
-
-  private double[] getApproximateCoordinates(String city, String country) {
-    // Simplified coordinate lookup for demo purposes
-    String key = (city + "_" + country).toLowerCase();
-
-    switch (key) {
-      case "milan_it":
-        return new double[]{45.4642, 9.1900};
-      case "rome_it":
-        return new double[]{41.9028, 12.4964};
-      case "florence_it":
-        return new double[]{43.7696, 11.2558};
-      case "venice_it":
-        return new double[]{45.4408, 12.3155};
-      case "naples_it":
-        return new double[]{40.8518, 14.2681};
-      case "turin_it":
-        return new double[]{45.0703, 7.6869};
-      case "london_gb":
-        return new double[]{51.5074, -0.1278};
-      case "paris_fr":
-        return new double[]{48.8566, 2.3522};
-      case "madrid_es":
-        return new double[]{40.4168, -3.7038};
-      case "berlin_de":
-        return new double[]{52.5200, 13.4050};
-      case "new york_us":
-        return new double[]{40.7128, -74.0060};
-      case "tokyo_jp":
-        return new double[]{35.6762, 139.6503};
-      default:
-        // Generate approximate coordinates based on hash
-        int hash = key.hashCode();
-        double lat = 45.0 + (hash % 40 - 20); // Range roughly 25-65
-        double lon = 9.0 + (hash % 60 - 30);  // Range roughly -21 to 39
-        return new double[]{lat, lon};
+    if (city == null || country == null) {
+      throw new IllegalArgumentException("City and country are required");
     }
+    return gazetteerService.resolve(city, country)
+            .map(Place::toLocation)
+            .orElseThrow(() -> new IllegalArgumentException(
+                    "Unknown location " + city + ", " + country + "; provide latitude and longitude"));
   }
 
   /**
    * Convert CheckAlertsRequest to WeatherData
    */
   public WeatherData toWeatherData(CheckAlertsRequest request) {
-    WeatherData weatherData = new WeatherData();
-    weatherData.setTemperature(request.getTemperature());
-    weatherData.setCondition(request.getCondition());
-    weatherData.setHumidity(request.getHumidity());
-    weatherData.setWindSpeed(request.getWindSpeed());
-    return weatherData;
+    return WeatherData.builder()
+            .temperature(request.getTemperature())
+            .condition(request.getCondition())
+            .humidity(request.getHumidity())
+            .windSpeed(request.getWindSpeed())
+            .build();
   }
 
   /**
@@ -299,6 +309,102 @@ public class WeatherDtoMapper {
             .build();
   }
 
+  /**
+   * Convert PredictedCrossing to PredictedAlertDto
+   */
+  private PredictedAlertDto toPredictedAlertDto(PredictedCrossing crossing, long now) {
+    return PredictedAlertDto.builder()
+            .alert(toWeatherAlertDto(crossing.getAlert()))
+            .predictedAt(crossing.getForecast().getValidAt(freshnessPolicy.zone()))
+            .forecast(toWeatherDataDto(crossing.getForecast(), DataKind.FORECAST, now))
+            .build();
+  }
+
+  /**
+   * Create PredictedAlertsResponseDto, judging forecast freshness at one instant
+   */
+  public PredictedAlertsResponseDto toPredictedAlertsResponseDto(List<PredictedCrossing> crossings,
+                                                                 Location location, int days) {
+    long now = freshnessPolicy.nowEpochSecond();
+    return PredictedAlertsResponseDto.builder()
+            .predictions(crossings.stream()
+                    .map(crossing -> toPredictedAlertDto(crossing, now))
+                    .collect(Collectors.toList()))
+            .count(crossings.size())
+            .location(toLocationDto(location))
+            .days(days)
+            .build();
+  }
+
+  /**
+   * Convert TriggerEvent to AlertTriggerDto
+   */
+  private AlertTriggerDto toAlertTriggerDto(TriggerEvent event) {
+    return AlertTriggerDto.builder()
+            .timestamp(LocalDateTime.ofInstant(Instant.ofEpochSecond(event.getEpochSecond()), freshnessPolicy.zone()))
+            .temperature(event.getTemperature())
+            .humidity(event.getHumidity())
+            .windSpeed(event.getWindSpeed())
+            .build();
+  }
+
+  /**
+   * Create AlertHistoryResponseDto
+   */
+  public AlertHistoryResponseDto toAlertHistoryResponseDto(String alertId, LocalDateTime from, LocalDateTime to,
+                                                           TriggerQueryResult result) {
+    return AlertHistoryResponseDto.builder()
+            .alertId(alertId)
+            .from(from)
+            .to(to)
+            .total(result.getTotal())
+            .count(result.getTriggers().size())
+            .triggers(result.getTriggers().stream()
+                    .map(this::toAlertTriggerDto)
+                    .collect(Collectors.toList()))
+            .build();
+  }
+
+  /**
+   * Convert ObservationAggregate to WeatherHistoryPointDto
+   */
+  private WeatherHistoryPointDto toWeatherHistoryPointDto(ObservationAggregate aggregate) {
+    return WeatherHistoryPointDto.builder()
+            .timestamp(LocalDateTime.ofInstant(Instant.ofEpochSecond(aggregate.getEpochSecond()), freshnessPolicy.zone()))
+            .samples(aggregate.getSamples())
+            .temperature(aggregate.getTemperatureAverage())
+            .temperatureMin(aggregate.getTemperatureMin())
+            .temperatureMax(aggregate.getTemperatureMax())
+            .humidity(aggregate.getHumidityAverage())
+            .humidityMin(aggregate.getHumidityMin())
+            .humidityMax(aggregate.getHumidityMax())
+            .windSpeed(aggregate.getWindSpeedAverage())
+            .windSpeedMin(aggregate.getWindSpeedMin())
+            .windSpeedMax(aggregate.getWindSpeedMax())
+            .build();
+  }
+
+  /**
+   * Create WeatherHistoryResponseDto
+   *
+   * @param step aggregation step, or null for raw observations
+   */
+  public WeatherHistoryResponseDto toWeatherHistoryResponseDto(List<ObservationAggregate> points, Location location,
+                                                               LocalDateTime from, LocalDateTime to, Duration step,
+                                                               String resolution) {
+    return WeatherHistoryResponseDto.builder()
+            .location(toLocationDto(location))
+            .from(from)
+            .to(to)
+            .step(step != null ? step.toString() : null)
+            .resolution(resolution)
+            .count(points.size())
+            .points(points.stream()
+                    .map(this::toWeatherHistoryPointDto)
+                    .collect(Collectors.toList()))
+            .build();
+  }
+
   /**
    * Create AlertsByPriorityResponseDto
    */
@@ -0,0 +1,101 @@
+package com.weather.cache;
+
+import com.weather.model.WeatherData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Compact binary encoding of cached weather values for the disk tier
+ */
+public final class CacheValueCodec {
+
+  // Types 1 to 4 held earlier layouts; such records no longer decode and count as misses
+  private static final byte WEATHER_DATA = 5;
+  private static final byte WEATHER_DATA_ARRAY = 6;
+
+  private CacheValueCodec() {
+  }
+
+  /**
+   * @param value cached value
+   * @return encoded bytes, or null if the value type is not persisted
+   */
+  public static byte[] encode(Object value) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+      DataOutputStream out = new DataOutputStream(bytes);
+
+      if (value instanceof WeatherData) {
+        out.writeByte(WEATHER_DATA);
+        writeWeatherData(out, (WeatherData) value);
+      } else if (value instanceof WeatherData[]) {
+        WeatherData[] array = (WeatherData[]) value;
+        out.writeByte(WEATHER_DATA_ARRAY);
+        out.writeInt(array.length);
+        for (WeatherData item : array) {
+          out.writeBoolean(item != null);
+          if (item != null) {
+            writeWeatherData(out, item);
+          }
+        }
+      } else {
+        return null;
+      }
+
+      out.flush();
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new IllegalStateException("In-memory encoding failed", e);
+    }
+  }
+
+  /**
+   * @param bytes encoded value
+   * @return decoded value, or null if the encoding is not recognised
+   */
+  public static Object decode(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    byte type = in.readByte();
+
+    if (type == WEATHER_DATA) {
+      return readWeatherData(in);
+    }
+    if (type == WEATHER_DATA_ARRAY) {
+      WeatherData[] array = new WeatherData[in.readInt()];
+      for (int i = 0; i < array.length; i++) {
+        array[i] = in.readBoolean() ? readWeatherData(in) : null;
+      }
+      return array;
+    }
+    return null;
+  }
+
+  private static void writeWeatherData(DataOutputStream out, WeatherData data) throws IOException {
+    out.writeShort((int) Math.round(data.getTemperature() * 100));
+    out.writeByte(data.getHumidity());
+    out.writeInt((int) Math.round(data.getWindSpeed() * 100));
+    // Condition codes are process-local, so the name is persisted
+    String condition = data.getCondition();
+    out.writeBoolean(condition != null);
+    if (condition != null) {
+      out.writeUTF(condition);
+    }
+    out.writeLong(data.getEpochSecond());
+    out.writeLong(data.getValidAtEpochSecond());
+  }
+
+  private static WeatherData readWeatherData(DataInputStream in) throws IOException {
+    WeatherData.Builder data = WeatherData.builder()
+            .temperature(in.readShort() / 100.0)
+            .humidity(in.readUnsignedByte())
+            .windSpeed(in.readInt() / 100.0);
+    if (in.readBoolean()) {
+      data.condition(in.readUTF());
+    }
+    return data.epochSecond(in.readLong()).validAt(in.readLong()).build();
+  }
+}
@@ -0,0 +1,185 @@
+package com.weather.cache;
+
+import com.weather.monitoring.RequestCacheState;
+import com.weather.monitoring.WeatherMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Caffeine cache backed by a {@link DiskCacheStore}.
+ * Misses fall through to disk and promote the value; puts are written to disk asynchronously.
+ * Promoted values keep their disk write time, so with the {@link PersistedEntryExpiry} policy
+ * they expire when they would have had they never left memory.
+ * Still a {@link CaffeineCache}, so native statistics keep working.
+ */
+@Slf4j
+public class DiskBackedCaffeineCache extends InstrumentedCaffeineCache {
+
+  private final DiskCacheStore store;
+  private final Executor writer;
+
+  public DiskBackedCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                 boolean allowNullValues, WeatherMetrics.CacheMetrics metrics,
+                                 DiskCacheStore store, Executor writer) {
+    super(name, cache, allowNullValues, metrics);
+    this.store = store;
+    this.writer = writer;
+  }
+
+  @Override
+  protected Object lookup(Object key) {
+    String diskKey = key.toString();
+    store.recordAccess(diskKey);
+
+    Object value = super.lookup(key);
+    if (value != null) {
+      return value;
+    }
+
+    Object persisted = readFromDisk(diskKey);
+    if (persisted != null) {
+      promote(key, diskKey, persisted);
+      log.debug("Cache {} miss served from disk for key {}", getName(), diskKey);
+      RequestCacheState.record(RequestCacheState.STALE);
+    }
+    return persisted;
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    store.recordAccess(key.toString());
+    try {
+      return super.get(key, valueLoader);
+    } finally {
+      PersistedEntryExpiry.clearPromotion();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+    String diskKey = key.toString();
+    long writtenAt = store.writtenAt(diskKey);
+    Object persisted = readFromDisk(diskKey);
+    if (persisted != null && writtenAt >= 0) {
+      log.debug("Cache {} miss served from disk for key {}", getName(), diskKey);
+      RequestCacheState.record(RequestCacheState.STALE);
+      // Caffeine inserts the loaded value on this thread right after the loader returns
+      PersistedEntryExpiry.promoting(writtenAt);
+      return (T) persisted;
+    }
+    T value = valueLoader.call();
+    persist(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    super.put(key, value);
+    persist(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = super.putIfAbsent(key, value);
+    if (existing == null) {
+      persist(key, value);
+    }
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    super.evict(key);
+    store.delete(key.toString());
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    boolean present = super.evictIfPresent(key);
+    store.delete(key.toString());
+    return present;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    store.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean notEmpty = super.invalidate();
+    store.clear();
+    return notEmpty;
+  }
+
+  /**
+   * Loads the hottest unexpired entries from disk into Caffeine
+   *
+   * @return number of entries loaded
+   */
+  public int warmUp(int limit) {
+    int loaded = 0;
+    for (String key : store.hottestKeys(limit)) {
+      Object value = readFromDisk(key);
+      // Bypass put() so warmed entries are not written back to disk
+      if (value != null && promote(key, key, value)) {
+        loaded++;
+      }
+    }
+    log.info("Cache {} warmed up with {} entries from disk", getName(), loaded);
+    return loaded;
+  }
+
+  /**
+   * Inserts a value read from disk with the remainder of its lifetime
+   *
+   * @return false if the disk entry was removed meanwhile
+   */
+  private boolean promote(Object key, String diskKey, Object value) {
+    long writtenAt = store.writtenAt(diskKey);
+    if (writtenAt < 0) {
+      return false;
+    }
+    PersistedEntryExpiry.promoting(writtenAt);
+    try {
+      getNativeCache().put(key, value);
+    } finally {
+      PersistedEntryExpiry.clearPromotion();
+    }
+    return true;
+  }
+
+  private Object readFromDisk(String key) {
+    byte[] bytes = store.read(key);
+    if (bytes == null) {
+      return null;
+    }
+    try {
+      return CacheValueCodec.decode(bytes);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Discarding unreadable disk cache entry {} in {}: {}", key, getName(), e.getMessage());
+      return null;
+    }
+  }
+
+  private void persist(Object key, Object value) {
+    if (value == null) {
+      return;
+    }
+    // Capture the generation now so a clear() racing this write discards it
+    long generation = store.generation();
+    String diskKey = key.toString();
+    writer.execute(() -> {
+      byte[] encoded = CacheValueCodec.encode(value);
+      if (encoded != null) {
+        store.write(diskKey, encoded, generation);
+      }
+    });
+  }
+}
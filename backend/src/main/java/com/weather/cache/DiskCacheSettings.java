@@ -0,0 +1,26 @@
+package com.weather.cache;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Settings for the optional on-disk cache tier behind the Caffeine caches
+ */
+@Data
+public class DiskCacheSettings {
+
+  private boolean enabled = false;
+
+  private String directory = "cache"; // One sub-directory per persisted cache
+
+  private long segmentSizeBytes = 8 * 1024 * 1024; // Roll to a new segment file at this size
+
+  private int maxSegments = 16; // Oldest segments are dropped beyond this count
+
+  private Duration maxAge = Duration.ofMinutes(15); // Older entries are neither served nor warmed up; capped at the cache expiry
+
+  private int warmupKeys = 500; // Hottest keys loaded into Caffeine at startup
+
+  private int writeQueueCapacity = 10_000; // Pending writes beyond this are dropped
+}
@@ -0,0 +1,421 @@
+package com.weather.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only segmented log holding encoded cache values for a single cache.
+ * Each record is {@code [length][crc32][type][writtenAt][hits][key][value]}; the latest
+ * record for a key wins and tombstones remove it. An in-memory index maps keys to record
+ * positions, so reads are a single positional read. Segments roll at a fixed size and are
+ * dropped once every record in them is older than the maximum age, or beyond the segment cap.
+ * Writes are serialised on the store; reads are lock-free.
+ */
+@Slf4j
+public class DiskCacheStore implements Closeable {
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final int HEADER_BYTES = 8; // length + crc
+  private static final int KEY_OFFSET = 13; // type + writtenAt + hits
+  private static final byte RECORD_TOMBSTONE = 0;
+  private static final byte RECORD_VALUE = 1;
+  private static final int MAX_TRACKED_KEYS = 100_000;
+
+  private final Path directory;
+  private final long segmentSizeBytes;
+  private final int maxSegments;
+  private final long maxAgeMillis;
+
+  private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> accessCounts = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  private Segment activeSegment; // guarded by this
+  private boolean closed; // guarded by this
+
+  private DiskCacheStore(Path directory, long segmentSizeBytes, int maxSegments, Duration maxAge) {
+    this.directory = directory;
+    this.segmentSizeBytes = segmentSizeBytes;
+    this.maxSegments = Math.max(2, maxSegments);
+    this.maxAgeMillis = maxAge.toMillis();
+  }
+
+  /**
+   * Opens the store, rebuilding the index from existing segments and starting a fresh one
+   */
+  public static DiskCacheStore open(Path directory, long segmentSizeBytes, int maxSegments, Duration maxAge)
+          throws IOException {
+    DiskCacheStore store = new DiskCacheStore(directory, segmentSizeBytes, maxSegments, maxAge);
+    store.recover();
+    return store;
+  }
+
+  /**
+   * Counts a lookup for the key; counts are persisted with each record and rank warmup
+   */
+  public void recordAccess(String key) {
+    AtomicInteger count = accessCounts.get(key);
+    if (count == null) {
+      if (accessCounts.size() >= MAX_TRACKED_KEYS) {
+        return;
+      }
+      count = accessCounts.computeIfAbsent(key, k -> new AtomicInteger());
+    }
+    count.incrementAndGet();
+  }
+
+  /**
+   * Generation observed by asynchronous writers; writes from an older generation are dropped
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Appends a value for the key unless the store was cleared since {@code expectedGeneration}
+   */
+  public synchronized void write(String key, byte[] value, long expectedGeneration) {
+    if (closed || expectedGeneration != generation.get()) {
+      return;
+    }
+    try {
+      long now = System.currentTimeMillis();
+      int hits = accessCount(key);
+      byte[] payload = encodePayload(RECORD_VALUE, now, hits, key, value);
+      long position = append(payload, now);
+      index.put(key, new IndexEntry(activeSegment.id, position, payload.length, now));
+    } catch (IOException e) {
+      log.warn("Failed to write disk cache entry {} in {}: {}", key, directory, e.getMessage());
+    }
+  }
+
+  /**
+   * @return the value bytes for the key, or null if absent, expired or unreadable
+   */
+  public byte[] read(String key) {
+    IndexEntry entry = index.get(key);
+    if (entry == null || isExpired(entry, System.currentTimeMillis())) {
+      return null;
+    }
+    Segment segment = segments.get(entry.segmentId);
+    if (segment == null) {
+      return null;
+    }
+    try {
+      ByteBuffer payload = ByteBuffer.allocate(entry.length);
+      readFully(segment.channel, payload, entry.position);
+      byte[] bytes = payload.array();
+      int valueOffset = KEY_OFFSET + 2 + (((bytes[KEY_OFFSET] & 0xFF) << 8) | (bytes[KEY_OFFSET + 1] & 0xFF));
+      byte[] value = new byte[bytes.length - valueOffset];
+      System.arraycopy(bytes, valueOffset, value, 0, value.length);
+      return value;
+    } catch (IOException e) {
+      // Segment dropped concurrently or unreadable: treat as a miss
+      log.debug("Disk cache read failed for {}: {}", key, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * @return time the key's value was written in epoch milliseconds, or -1 if absent
+   */
+  public long writtenAt(String key) {
+    IndexEntry entry = index.get(key);
+    return entry == null ? -1 : entry.writtenAt;
+  }
+
+  /**
+   * Removes the key and records a tombstone so it does not reappear after restart
+   */
+  public synchronized void delete(String key) {
+    generation.incrementAndGet();
+    if (closed || index.remove(key) == null) {
+      return;
+    }
+    try {
+      long now = System.currentTimeMillis();
+      append(encodePayload(RECORD_TOMBSTONE, now, 0, key, new byte[0]), now);
+    } catch (IOException e) {
+      log.warn("Failed to write disk cache tombstone {} in {}: {}", key, directory, e.getMessage());
+    }
+  }
+
+  /**
+   * Drops every entry and segment, starting over with an empty segment
+   */
+  public synchronized void clear() {
+    generation.incrementAndGet();
+    if (closed) {
+      return;
+    }
+    index.clear();
+    long nextId = activeSegment.id + 1;
+    for (Segment segment : new ArrayList<>(segments.values())) {
+      drop(segment);
+    }
+    try {
+      activeSegment = createSegment(nextId);
+    } catch (IOException e) {
+      log.warn("Failed to create disk cache segment in {}, disabling writes: {}", directory, e.getMessage());
+      closed = true;
+    }
+  }
+
+  /**
+   * @return up to {@code limit} unexpired keys, most accessed first
+   */
+  public List<String> hottestKeys(int limit) {
+    long now = System.currentTimeMillis();
+    return index.entrySet().stream()
+            .filter(e -> !isExpired(e.getValue(), now))
+            .map(Map.Entry::getKey)
+            .sorted(Comparator.<String>comparingInt(this::accessCount).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+  }
+
+  public int size() {
+    return index.size();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (Segment segment : segments.values()) {
+      try {
+        segment.channel.force(false);
+        segment.channel.close();
+      } catch (IOException e) {
+        log.debug("Failed to close disk cache segment {}: {}", segment.path, e.getMessage());
+      }
+    }
+  }
+
+  private void recover() throws IOException {
+    Files.createDirectories(directory);
+
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+              .filter(p -> segmentId(p) >= 0)
+              .sorted(Comparator.comparingLong(DiskCacheStore::segmentId))
+              .collect(Collectors.toList());
+    }
+
+    long nextId = 0;
+    for (Path file : files) {
+      long id = segmentId(file);
+      Segment segment = new Segment(id, file,
+              FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+      scan(segment);
+      segments.put(id, segment);
+      nextId = id + 1;
+    }
+
+    synchronized (this) {
+      activeSegment = createSegment(nextId);
+      enforceRetention(System.currentTimeMillis());
+    }
+    log.info("Disk cache {} recovered {} entries from {} segments", directory, index.size(), files.size());
+  }
+
+  private void scan(Segment segment) throws IOException {
+    FileChannel channel = segment.channel;
+    long size = channel.size();
+    long position = 0;
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    CRC32 crc = new CRC32();
+
+    while (position + HEADER_BYTES <= size) {
+      header.clear();
+      readFully(channel, header, position);
+      header.flip();
+      int length = header.getInt();
+      int checksum = header.getInt();
+      if (length <= KEY_OFFSET || position + HEADER_BYTES + length > size) {
+        break;
+      }
+
+      ByteBuffer payload = ByteBuffer.allocate(length);
+      readFully(channel, payload, position + HEADER_BYTES);
+      crc.reset();
+      crc.update(payload.array());
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()));
+      byte type = in.readByte();
+      long writtenAt = in.readLong();
+      int hits = in.readInt();
+      String key = in.readUTF();
+
+      if (type == RECORD_VALUE) {
+        index.put(key, new IndexEntry(segment.id, position + HEADER_BYTES, length, writtenAt));
+        if (hits > 0) {
+          accessCounts.computeIfAbsent(key, k -> new AtomicInteger()).accumulateAndGet(hits, Math::max);
+        }
+      } else {
+        index.remove(key);
+      }
+      segment.lastWriteMillis = Math.max(segment.lastWriteMillis, writtenAt);
+      position += HEADER_BYTES + length;
+    }
+
+    if (position < size) {
+      log.warn("Truncating torn tail of disk cache segment {} at {} of {} bytes", segment.path, position, size);
+      channel.truncate(position);
+    }
+    segment.size = position;
+  }
+
+  private long append(byte[] payload, long now) throws IOException {
+    if (activeSegment.size > 0 && activeSegment.size + HEADER_BYTES + payload.length > segmentSizeBytes) {
+      activeSegment = createSegment(activeSegment.id + 1);
+      enforceRetention(now);
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+    buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+
+    long recordStart = activeSegment.size;
+    while (buffer.hasRemaining()) {
+      activeSegment.channel.write(buffer, recordStart + buffer.position());
+    }
+    activeSegment.size += buffer.limit();
+    activeSegment.lastWriteMillis = now;
+    return recordStart + HEADER_BYTES;
+  }
+
+  private void enforceRetention(long now) {
+    for (Segment segment : new ArrayList<>(segments.values())) {
+      if (segment == activeSegment) {
+        continue;
+      }
+      if (now - segment.lastWriteMillis > maxAgeMillis || segments.size() > maxSegments) {
+        drop(segment);
+      }
+    }
+  }
+
+  private void drop(Segment segment) {
+    segments.remove(segment.id);
+    index.values().removeIf(entry -> entry.segmentId == segment.id);
+    try {
+      segment.channel.close();
+      Files.deleteIfExists(segment.path);
+    } catch (IOException e) {
+      log.warn("Failed to delete disk cache segment {}: {}", segment.path, e.getMessage());
+    }
+  }
+
+  private Segment createSegment(long id) throws IOException {
+    Path path = directory.resolve(String.format("%016d%s", id, SEGMENT_SUFFIX));
+    Segment segment = new Segment(id, path, FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING));
+    segment.lastWriteMillis = System.currentTimeMillis();
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private boolean isExpired(IndexEntry entry, long now) {
+    return now - entry.writtenAt > maxAgeMillis;
+  }
+
+  private int accessCount(String key) {
+    AtomicInteger count = accessCounts.get(key);
+    return count == null ? 0 : count.get();
+  }
+
+  private static byte[] encodePayload(byte type, long writtenAt, int hits, String key, byte[] value)
+          throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(KEY_OFFSET + key.length() + 2 + value.length);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(type);
+    out.writeLong(writtenAt);
+    out.writeInt(hits);
+    out.writeUTF(key);
+    out.write(value);
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new EOFException("Unexpected end of segment at " + (position + buffer.position()));
+      }
+    }
+  }
+
+  private static long segmentId(Path file) {
+    String name = file.getFileName().toString();
+    try {
+      return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static final class Segment {
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private volatile long lastWriteMillis;
+    private long size; // guarded by the store
+
+    private Segment(long id, Path path, FileChannel channel) {
+      this.id = id;
+      this.path = path;
+      this.channel = channel;
+    }
+  }
+
+  private static final class IndexEntry {
+
+    private final long segmentId;
+    private final long position;
+    private final int length;
+    private final long writtenAt;
+
+    private IndexEntry(long segmentId, long position, int length, long writtenAt) {
+      this.segmentId = segmentId;
+      this.position = position;
+      this.length = length;
+      this.writtenAt = writtenAt;
+    }
+  }
+}
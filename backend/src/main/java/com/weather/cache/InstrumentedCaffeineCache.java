@@ -0,0 +1,78 @@
+package com.weather.cache;
+
+import com.weather.monitoring.RequestCacheState;
+import com.weather.monitoring.WeatherMetrics;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine cache that times requests by hit/miss and the loads behind misses, and samples
+ * accessed keys for hot-key tracking.
+ * Only the synchronized {@code get(key, loader)} path used by {@code @Cacheable(sync = true)}
+ * is timed; plain lookups are left to Caffeine's own statistics.
+ */
+public class InstrumentedCaffeineCache extends CaffeineCache {
+
+  private final WeatherMetrics.CacheMetrics metrics;
+
+  public InstrumentedCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                   boolean allowNullValues, WeatherMetrics.CacheMetrics metrics) {
+    super(name, cache, allowNullValues);
+    this.metrics = metrics;
+    metrics.bind(cache);
+  }
+
+  @Override
+  protected Object lookup(Object key) {
+    metrics.recordAccess(key);
+    return super.lookup(key);
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    metrics.recordAccess(key);
+    long start = System.nanoTime();
+    MeteredLoader<T> loader = new MeteredLoader<>(key, valueLoader);
+    try {
+      return super.get(key, loader);
+    } finally {
+      // Callers that waited on another caller's load count as hits: they did not load
+      metrics.recordRequest(!loader.invoked, System.nanoTime() - start);
+      RequestCacheState.record(loader.invoked ? RequestCacheState.MISS : RequestCacheState.HIT);
+    }
+  }
+
+  /**
+   * Produces the value for a missing key
+   */
+  protected <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+    return valueLoader.call();
+  }
+
+  private final class MeteredLoader<T> implements Callable<T> {
+
+    private final Object key;
+    private final Callable<T> valueLoader;
+    private boolean invoked;
+
+    private MeteredLoader(Object key, Callable<T> valueLoader) {
+      this.key = key;
+      this.valueLoader = valueLoader;
+    }
+
+    @Override
+    public T call() throws Exception {
+      invoked = true;
+      long start = System.nanoTime();
+      boolean success = false;
+      try {
+        T value = load(key, valueLoader);
+        success = true;
+        return value;
+      } finally {
+        metrics.recordLoad(success, System.nanoTime() - start);
+      }
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.weather.cache;
+
+import com.weather.monitoring.WeatherMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * Caffeine cache manager whose caches record request and load latency
+ */
+public class InstrumentedCaffeineCacheManager extends CaffeineCacheManager {
+
+  private final WeatherMetrics metrics;
+
+  public InstrumentedCaffeineCacheManager(WeatherMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+    return new InstrumentedCaffeineCache(name, cache, isAllowNullValues(), cacheMetrics(name));
+  }
+
+  protected WeatherMetrics.CacheMetrics cacheMetrics(String name) {
+    return metrics.cache(name);
+  }
+}
@@ -0,0 +1,58 @@
+package com.weather.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expire-after-write policy of disk-backed caches that keeps the original write time of values
+ * promoted from disk. A value inserted on the thread that called {@link #promoting} expires
+ * after the remainder of its lifetime rather than a full one, so an entry is never older than
+ * the cache expiry however many times it went through the disk tier.
+ */
+final class PersistedEntryExpiry implements Expiry<Object, Object> {
+
+  private static final ThreadLocal<Long> PROMOTED_WRITTEN_AT = new ThreadLocal<>();
+
+  private final long expirationNanos;
+
+  PersistedEntryExpiry(Duration expiration) {
+    this.expirationNanos = expiration.toNanos();
+  }
+
+  /**
+   * Marks the next insert on this thread as a value written at {@code writtenAtMillis}
+   */
+  static void promoting(long writtenAtMillis) {
+    PROMOTED_WRITTEN_AT.set(writtenAtMillis);
+  }
+
+  /**
+   * Drops a mark left by an insert that did not happen, such as a failed load
+   */
+  static void clearPromotion() {
+    PROMOTED_WRITTEN_AT.remove();
+  }
+
+  @Override
+  public long expireAfterCreate(Object key, Object value, long currentTime) {
+    Long writtenAt = PROMOTED_WRITTEN_AT.get();
+    if (writtenAt == null) {
+      return expirationNanos;
+    }
+    PROMOTED_WRITTEN_AT.remove();
+    long ageNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - writtenAt));
+    return Math.max(0, expirationNanos - ageNanos);
+  }
+
+  @Override
+  public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+    return expireAfterCreate(key, value, currentTime);
+  }
+
+  @Override
+  public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+    return currentDuration;
+  }
+}
@@ -0,0 +1,105 @@
+package com.weather.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.weather.monitoring.WeatherMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine cache manager that backs selected caches with a {@link DiskCacheStore}
+ * and warms them up from disk when they are created. Persisted caches expire entries after
+ * write through {@link PersistedEntryExpiry}, so values promoted from disk keep their age; the disk
+ * tier never serves an entry older than that expiry, whatever its own max age.
+ */
+@Slf4j
+public class TieredCaffeineCacheManager extends InstrumentedCaffeineCacheManager implements DisposableBean {
+
+  private final DiskCacheSettings settings;
+  private final Set<String> persistedCaches;
+  private final Duration expiration;
+  private final long maximumSize;
+  private final Map<String, DiskCacheStore> stores = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor writer;
+
+  public TieredCaffeineCacheManager(WeatherMetrics metrics, DiskCacheSettings settings, Set<String> persistedCaches,
+                                    Duration expiration, long maximumSize) {
+    super(metrics);
+    this.settings = settings;
+    this.persistedCaches = persistedCaches;
+    this.expiration = expiration;
+    this.maximumSize = maximumSize;
+    // Single writer keeps segment appends sequential; overflowing writes are dropped, not queued unbounded
+    this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(settings.getWriteQueueCapacity()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "cache-disk-writer");
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  @Override
+  protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+    if (!persistedCaches.contains(name)) {
+      return super.createNativeCaffeineCache(name);
+    }
+    return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new PersistedEntryExpiry(expiration))
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+    if (!persistedCaches.contains(name)) {
+      return super.adaptCaffeineCache(name, cache);
+    }
+
+    DiskCacheStore store = stores.computeIfAbsent(name, this::openStore);
+    if (store == null) {
+      return super.adaptCaffeineCache(name, cache);
+    }
+
+    DiskBackedCaffeineCache diskBacked = new DiskBackedCaffeineCache(name, cache, isAllowNullValues(),
+            cacheMetrics(name), store, writer);
+    diskBacked.warmUp(settings.getWarmupKeys());
+    return diskBacked;
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    writer.shutdown();
+    if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+      log.warn("Disk cache writer did not drain within 5 seconds, {} writes dropped", writer.getQueue().size());
+      writer.shutdownNow();
+    }
+    stores.values().forEach(DiskCacheStore::close);
+  }
+
+  private DiskCacheStore openStore(String name) {
+    Path directory = Path.of(settings.getDirectory()).resolve(name);
+    // An entry older than the cache expiry would be promoted with no lifetime left,
+    // then read from disk again on every request
+    Duration maxAge = settings.getMaxAge().compareTo(expiration) > 0 ? expiration : settings.getMaxAge();
+    try {
+      return DiskCacheStore.open(directory, settings.getSegmentSizeBytes(), settings.getMaxSegments(), maxAge);
+    } catch (IOException e) {
+      // The disk tier is an optimisation; run memory-only rather than failing startup
+      log.warn("Disk cache for {} unavailable at {}: {}", name, directory, e.getMessage());
+      return null;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for sharded alert evaluation and the background sweep over alert locations
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.alerts.evaluation")
+@Data
+public class AlertEvaluationConfig {
+
+  private int shards;
+  private int shardQueueCapacity;
+  private boolean sweepEnabled;
+  private Duration sweepInterval;
+  private int fetchThreads;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (shards <= 0) {
+      shards = Runtime.getRuntime().availableProcessors();
+    }
+    if (shardQueueCapacity <= 0) {
+      shardQueueCapacity = 64;
+    }
+    if (sweepInterval == null) {
+      sweepInterval = Duration.ofMinutes(5);
+    }
+    if (fetchThreads <= 0) {
+      fetchThreads = 8;
+    }
+  }
+}
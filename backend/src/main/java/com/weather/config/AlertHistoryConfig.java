@@ -0,0 +1,51 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for per-alert trigger history: in-memory retention and spill to local disk
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.alerts.history")
+@Data
+public class AlertHistoryConfig {
+
+  private Duration retention;
+  private Duration bucketDuration;
+  private int maxEventsPerBucket;
+  private Duration rollInterval;
+  private String spillDirectory;
+  private Duration spillFileDuration;
+  private Duration diskRetention;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (retention == null) {
+      retention = Duration.ofDays(7);
+    }
+    if (bucketDuration == null) {
+      bucketDuration = Duration.ofHours(1);
+    }
+    if (maxEventsPerBucket <= 0) {
+      maxEventsPerBucket = 720;
+    }
+    if (rollInterval == null) {
+      rollInterval = Duration.ofMinutes(1);
+    }
+    if (spillDirectory == null || spillDirectory.isEmpty()) {
+      spillDirectory = "data/alert-history";
+    }
+    if (spillFileDuration == null) {
+      spillFileDuration = Duration.ofDays(1);
+    }
+    if (diskRetention == null) {
+      diskRetention = Duration.ofDays(90);
+    }
+  }
+}
@@ -1,10 +1,15 @@
 package com.weather.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.weather.cache.DiskCacheSettings;
+import com.weather.cache.InstrumentedCaffeineCacheManager;
+import com.weather.cache.TieredCaffeineCacheManager;
+import com.weather.monitoring.WeatherMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -13,6 +18,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
 import java.time.Duration;
+import java.util.Set;
 
 /**
  * Spring Cache configuration using Caffeine as the cache provider
@@ -28,6 +34,12 @@ public class CacheConfig {
   private int maximumSize;
   private boolean recordStats;
 
+  @NestedConfigurationProperty
+  private DiskCacheSettings disk = new DiskCacheSettings();
+
+  // Upstream-backed caches worth keeping across restarts
+  private static final Set<String> PERSISTED_CACHES = Set.of("weather-current", "weather-forecast");
+
   @PostConstruct
   public void init() {
     // Set defaults if values are null/empty
@@ -40,12 +52,14 @@ public class CacheConfig {
   }
 
   /**
-   * Primary cache manager using Caffeine
+   * Primary cache manager using Caffeine, optionally backed by a disk tier
    */
   @Bean
   @Primary
-  public CacheManager cacheManager() {
-    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+  public CacheManager cacheManager(WeatherMetrics weatherMetrics) {
+    CaffeineCacheManager cacheManager = disk.isEnabled()
+            ? new TieredCaffeineCacheManager(weatherMetrics, disk, PERSISTED_CACHES, expiration, maximumSize)
+            : new InstrumentedCaffeineCacheManager(weatherMetrics);
 
     cacheManager.setCaffeine(Caffeine.newBuilder()
             .maximumSize(maximumSize)
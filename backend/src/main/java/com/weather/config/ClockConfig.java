@@ -0,0 +1,22 @@
+package com.weather.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configuration for the application clock.
+ * Time-dependent components take the {@link Clock} bean instead of reading the system time, so
+ * tests can replace it with a fixed one. The system zone is resolved once, when the bean is created.
+ */
+@Configuration
+public class ClockConfig {
+
+  @Bean
+  @ConditionalOnMissingBean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+}
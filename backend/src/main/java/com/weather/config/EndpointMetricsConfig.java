@@ -0,0 +1,55 @@
+package com.weather.config;
+
+import com.weather.monitoring.EndpointMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for per-endpoint latency histograms on the REST API
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.metrics")
+@Getter
+@Setter
+public class EndpointMetricsConfig {
+
+  private List<Duration> endpointSlo = new ArrayList<>();
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (endpointSlo.isEmpty()) {
+      endpointSlo = List.of(Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+              Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+              Duration.ofMillis(2500), Duration.ofSeconds(5));
+    }
+  }
+
+  /**
+   * Registers the endpoint latency interceptor for all versioned API controllers
+   */
+  @Bean
+  public WebMvcConfigurer endpointMetricsConfigurer(MeterRegistry meterRegistry) {
+    EndpointMetricsInterceptor interceptor = new EndpointMetricsInterceptor(meterRegistry, endpointSlo);
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        // Streams stay open for minutes and would only skew the latency histograms
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/v1/**")
+                .excludePathPatterns("/api/v1/realtime/**");
+      }
+    };
+  }
+}
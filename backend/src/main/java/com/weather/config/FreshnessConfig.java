@@ -0,0 +1,31 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for how long each kind of weather data is reported as fresh
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.freshness")
+@Data
+public class FreshnessConfig {
+
+  private Duration current;
+  private Duration forecast;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (current == null) {
+      current = Duration.ofHours(1);
+    }
+    if (forecast == null) {
+      forecast = Duration.ofHours(6);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the gazetteer of known places and its spatial index
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.geo")
+@Data
+public class GeoConfig {
+
+  private String gazetteerFile;
+  private int minPopulation;
+  private double maxRadiusKm;
+  private int maxResults;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (gazetteerFile == null || gazetteerFile.isEmpty()) {
+      gazetteerFile = "data/gazetteer.tsv";
+    }
+    if (minPopulation < 0) {
+      minPopulation = 0;
+    }
+    if (maxRadiusKm <= 0) {
+      maxRadiusKm = 500.0;
+    }
+    if (maxResults <= 0) {
+      maxResults = 200;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.weather.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.service.WeatherApiClient;
+import com.weather.service.impl.HedgingWeatherApiClient;
+import com.weather.service.impl.LatencyTracker;
+import com.weather.service.impl.OpenWeatherMapApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Configuration for hedged requests against a secondary OpenWeatherMap-compatible provider
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.hedging")
+@Data
+public class HedgingConfig {
+
+  private boolean enabled;
+  private String secondaryBaseUrl;
+  private String secondaryApiKey;
+  private double percentile;
+  private int windowSize;
+  private Duration initialDelay;
+  private Duration minDelay;
+  private Duration maxDelay;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (percentile <= 0 || percentile > 1) {
+      percentile = 0.95;
+    }
+    if (windowSize <= 0) {
+      windowSize = 512;
+    }
+    if (initialDelay == null) {
+      initialDelay = Duration.ofMillis(500);
+    }
+    if (minDelay == null) {
+      minDelay = Duration.ofMillis(50);
+    }
+    if (maxDelay == null) {
+      maxDelay = Duration.ofSeconds(2);
+    }
+  }
+
+  /**
+   * Composite client used in place of the plain OpenWeatherMap client when hedging is enabled
+   */
+  @Bean
+  @Primary
+  @ConditionalOnProperty(prefix = "weather.hedging", name = "enabled", havingValue = "true")
+  public WeatherApiClient hedgingWeatherApiClient(OpenWeatherMapApiClient primaryClient,
+                                                  WeatherApiProperties weatherProperties,
+                                                  ObjectMapper objectMapper,
+                                                  OkHttpClient httpClient,
+                                                  MeterRegistry meterRegistry) {
+    if (secondaryBaseUrl == null || secondaryBaseUrl.isBlank()) {
+      throw new IllegalStateException("weather.hedging.secondary-base-url is required when hedging is enabled");
+    }
+
+    WeatherApiProperties secondaryProperties = new WeatherApiProperties();
+    BeanUtils.copyProperties(weatherProperties, secondaryProperties);
+    secondaryProperties.setBaseUrl(secondaryBaseUrl);
+    if (secondaryApiKey != null && !secondaryApiKey.isBlank()) {
+      secondaryProperties.setApiKey(secondaryApiKey);
+    }
+
+    WeatherApiClient secondaryClient = new OpenWeatherMapApiClient(secondaryProperties, objectMapper, httpClient);
+    LatencyTracker primaryLatency = new LatencyTracker(windowSize, percentile, initialDelay);
+
+    return new HedgingWeatherApiClient(primaryClient, secondaryClient, primaryLatency,
+            minDelay, maxDelay, meterRegistry);
+  }
+}
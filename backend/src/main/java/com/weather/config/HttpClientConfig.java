@@ -1,11 +1,21 @@
 package com.weather.config;
 
+import com.weather.service.impl.ApiKeyInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -20,15 +30,98 @@ public class HttpClientConfig {
   private long readTimeoutSeconds;
   private long writeTimeoutSeconds;
 
+  private int maxIdleConnections;
+  private long keepAliveSeconds;
+  private int maxRequests;
+  private int maxRequestsPerHost;
+  private boolean preferHttp2;
+  private boolean responseCompression;
+
+  @PostConstruct
+  public void init() {
+    // OkHttp rejects non-positive pool and dispatcher limits, fall back to sane values
+    if (maxIdleConnections <= 0) {
+      maxIdleConnections = 32;
+    }
+    if (keepAliveSeconds <= 0) {
+      keepAliveSeconds = 300;
+    }
+    if (maxRequests <= 0) {
+      maxRequests = 128;
+    }
+    if (maxRequestsPerHost <= 0) {
+      maxRequestsPerHost = 64;
+    }
+  }
+
   /**
    * Creates and configures OkHttpClient bean
    */
   @Bean
-  public OkHttpClient okHttpClient() {
-    return new OkHttpClient.Builder()
+  public OkHttpClient okHttpClient(MeterRegistry meterRegistry) {
+    ConnectionPool connectionPool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+
+    // Same pool as OkHttp's default; its active threads are the asynchronous calls maxRequests limits
+    ThreadPoolExecutor asyncExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), runnable -> {
+              Thread thread = new Thread(runnable, "okhttp-dispatcher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    Dispatcher dispatcher = new Dispatcher(asyncExecutor);
+    dispatcher.setMaxRequests(maxRequests);
+    dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+    OkHttpClient.Builder builder = new OkHttpClient.Builder()
             .connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS)
             .readTimeout(readTimeoutSeconds, TimeUnit.SECONDS)
             .writeTimeout(writeTimeoutSeconds, TimeUnit.SECONDS)
-            .build();
+            .connectionPool(connectionPool)
+            .dispatcher(dispatcher)
+            .addInterceptor(new ApiKeyInterceptor())
+            .protocols(preferHttp2
+                    ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                    : List.of(Protocol.HTTP_1_1));
+
+    if (!responseCompression) {
+      // OkHttp requests gzip transparently unless the caller sets Accept-Encoding itself
+      builder.addNetworkInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+              .header("Accept-Encoding", "identity")
+              .build()));
+    }
+
+    registerMetrics(meterRegistry, connectionPool, dispatcher, asyncExecutor);
+    return builder.build();
+  }
+
+  private void registerMetrics(MeterRegistry meterRegistry, ConnectionPool connectionPool, Dispatcher dispatcher,
+                               ThreadPoolExecutor asyncExecutor) {
+    Gauge.builder("weather.http.client.pool.connections", connectionPool,
+                    pool -> pool.connectionCount() - pool.idleConnectionCount())
+            .description("Upstream connections currently carrying a call")
+            .tag("state", "active")
+            .register(meterRegistry);
+
+    Gauge.builder("weather.http.client.pool.connections", connectionPool, ConnectionPool::idleConnectionCount)
+            .description("Upstream connections idle in the pool")
+            .tag("state", "idle")
+            .register(meterRegistry);
+
+    Gauge.builder("weather.http.client.dispatcher.calls", dispatcher, Dispatcher::runningCallsCount)
+            .description("Upstream calls currently executing, synchronous ones included")
+            .tag("state", "running")
+            .register(meterRegistry);
+
+    Gauge.builder("weather.http.client.dispatcher.calls", dispatcher, Dispatcher::queuedCallsCount)
+            .description("Upstream calls waiting for a dispatcher slot")
+            .tag("state", "queued")
+            .register(meterRegistry);
+
+    // The pool caps idle connections only, so dispatcher slots are the capacity calls compete for.
+    // Synchronous execute() calls bypass that limit, so only the asynchronous ones are counted
+    Gauge.builder("weather.http.client.dispatcher.utilization", asyncExecutor,
+                    executor -> (double) executor.getActiveCount() / dispatcher.getMaxRequests())
+            .description("Executing asynchronous upstream calls relative to the dispatcher limit")
+            .register(meterRegistry);
   }
 }
@@ -0,0 +1,39 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the mobile device registry
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.mobile")
+@Data
+public class MobileConfig {
+
+  private int shards;
+  private int maxDevices;
+  private String snapshotFile;
+  private Duration snapshotInterval;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (shards <= 0) {
+      shards = 64;
+    }
+    if (maxDevices <= 0) {
+      maxDevices = 5_000_000;
+    }
+    if (snapshotFile == null || snapshotFile.isEmpty()) {
+      snapshotFile = "data/devices.snapshot";
+    }
+    if (snapshotInterval == null) {
+      snapshotInterval = Duration.ofMinutes(5);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the asynchronous notification pipeline
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.notifications")
+@Data
+public class NotificationConfig {
+
+  private int ingressCapacity;
+  private Duration coalesceWindow;
+  private int maxPending;
+  private Duration dedupWindow;
+  private int maxTrackedKeys;
+  private int channelQueueCapacity;
+  private int batchSize;
+  private Duration batchLinger;
+  private int workersPerChannel;
+  private String logFile;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (ingressCapacity <= 0) {
+      ingressCapacity = 50_000;
+    }
+    if (coalesceWindow == null) {
+      coalesceWindow = Duration.ofSeconds(1);
+    }
+    if (maxPending <= 0) {
+      maxPending = 20_000;
+    }
+    if (dedupWindow == null) {
+      dedupWindow = Duration.ofMinutes(15);
+    }
+    if (maxTrackedKeys <= 0) {
+      maxTrackedKeys = 100_000;
+    }
+    if (channelQueueCapacity <= 0) {
+      channelQueueCapacity = 20_000;
+    }
+    if (batchSize <= 0) {
+      batchSize = 500;
+    }
+    if (batchLinger == null) {
+      batchLinger = Duration.ofMillis(200);
+    }
+    if (workersPerChannel <= 0) {
+      workersPerChannel = 2;
+    }
+    if (logFile == null || logFile.isEmpty()) {
+      logFile = "logs/notifications.log";
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for real-time weather streaming to connected clients
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.realtime")
+@Data
+public class RealTimeConfig {
+
+  private Duration refreshInterval;
+  private Duration heartbeatInterval;
+  private Duration emitterTimeout;
+  private Duration sendTimeout;
+  private int maxSubscribers;
+  private int maxLocationsPerSubscription;
+  private int subscriberQueueCapacity;
+  private int refreshThreads;
+  private int senderThreads;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (refreshInterval == null) {
+      refreshInterval = Duration.ofSeconds(60);
+    }
+    if (heartbeatInterval == null) {
+      heartbeatInterval = Duration.ofSeconds(30);
+    }
+    if (emitterTimeout == null) {
+      emitterTimeout = Duration.ofMinutes(30);
+    }
+    if (sendTimeout == null) {
+      sendTimeout = Duration.ofSeconds(10);
+    }
+    if (maxSubscribers <= 0) {
+      maxSubscribers = 50_000;
+    }
+    if (maxLocationsPerSubscription <= 0) {
+      maxLocationsPerSubscription = 20;
+    }
+    if (subscriberQueueCapacity <= 0) {
+      subscriberQueueCapacity = 16;
+    }
+    if (refreshThreads <= 0) {
+      refreshThreads = 4;
+    }
+    if (senderThreads <= 0) {
+      senderThreads = 8;
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package com.weather.config;
 
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for Weather API
  */
@@ -21,4 +24,17 @@ public class WeatherApiProperties {
   private int apiTimeoutSeconds;
   private int apiRetryAttempts;
   private boolean enableMockMode;
+  private long maxValidators;
+  private Duration validatorRetention;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (maxValidators <= 0) {
+      maxValidators = 10_000;
+    }
+    if (validatorRetention == null) {
+      validatorRetention = Duration.ofHours(6);
+    }
+  }
 }
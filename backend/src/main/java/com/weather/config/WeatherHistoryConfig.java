@@ -0,0 +1,63 @@
+package com.weather.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the observation time-series store behind historical weather queries
+ */
+@Configuration
+@ConfigurationProperties(prefix = "weather.history")
+@Data
+public class WeatherHistoryConfig {
+
+  private String directory;
+  private long segmentSizeBytes;
+  private Duration blockDuration;
+  private Duration retention;
+  private Duration hourlyRetention;
+  private Duration dailyRetention;
+  private Duration sealInterval;
+  private int queueCapacity;
+  private int maxRawPoints;
+  private int maxBuckets;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (directory == null || directory.isEmpty()) {
+      directory = "data/history";
+    }
+    if (segmentSizeBytes <= 0) {
+      segmentSizeBytes = 64L * 1024 * 1024;
+    }
+    if (blockDuration == null) {
+      blockDuration = Duration.ofHours(2);
+    }
+    if (retention == null) {
+      retention = Duration.ofDays(30);
+    }
+    if (hourlyRetention == null) {
+      hourlyRetention = Duration.ofDays(180);
+    }
+    if (dailyRetention == null) {
+      dailyRetention = Duration.ofDays(1825);
+    }
+    if (sealInterval == null) {
+      sealInterval = Duration.ofMinutes(1);
+    }
+    if (queueCapacity <= 0) {
+      queueCapacity = 10_000;
+    }
+    if (maxRawPoints <= 0) {
+      maxRawPoints = 10_000;
+    }
+    if (maxBuckets <= 0) {
+      maxBuckets = 10_000;
+    }
+  }
+}
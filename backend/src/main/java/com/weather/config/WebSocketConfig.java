@@ -1 +1,81 @@
+package com.weather.config;
 
+import com.weather.realtime.AlertPushHandler;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the WebSocket alert push channel
+ */
+@Configuration
+@EnableWebSocket
+@ConfigurationProperties(prefix = "weather.websocket")
+@Getter
+@Setter
+public class WebSocketConfig {
+
+  private String alertsPath;
+  private String allowedOrigins;
+  private int maxConnections;
+  private int maxTopicsPerConnection;
+  private int sendQueueCapacity;
+  private int maxBatchSize;
+  private int senderThreads;
+  private Duration sendTimeLimit;
+  private DataSize sendBufferSizeLimit;
+
+  @PostConstruct
+  public void init() {
+    // Set defaults if values are null/empty
+    if (alertsPath == null || alertsPath.isEmpty()) {
+      alertsPath = "/ws/alerts";
+    }
+    if (allowedOrigins == null || allowedOrigins.isEmpty()) {
+      allowedOrigins = "*";
+    }
+    if (maxConnections <= 0) {
+      maxConnections = 10_000;
+    }
+    if (maxTopicsPerConnection <= 0) {
+      maxTopicsPerConnection = 100;
+    }
+    if (sendQueueCapacity <= 0) {
+      sendQueueCapacity = 256;
+    }
+    if (maxBatchSize <= 0) {
+      maxBatchSize = 64;
+    }
+    if (senderThreads <= 0) {
+      senderThreads = 4;
+    }
+    if (sendTimeLimit == null) {
+      sendTimeLimit = Duration.ofSeconds(10);
+    }
+    if (sendBufferSizeLimit == null) {
+      sendBufferSizeLimit = DataSize.ofKilobytes(512);
+    }
+  }
+
+  /**
+   * Registers the alert push handler
+   */
+  @Bean
+  public WebSocketConfigurer alertWebSocketConfigurer(AlertPushHandler alertPushHandler) {
+    return new WebSocketConfigurer() {
+      @Override
+      public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(alertPushHandler, alertsPath).setAllowedOriginPatterns(allowedOrigins);
+      }
+    };
+  }
+}
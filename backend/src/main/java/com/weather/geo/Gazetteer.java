@@ -0,0 +1,167 @@
+package com.weather.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable table of places, stored column-wise in parallel arrays so hundreds of thousands of
+ * places cost a few arrays rather than an object per place. Places are addressed by their
+ * position, the id returned by {@link SpatialIndex} queries.
+ * <p>
+ * Two tab-separated formats are read, one place per line, {@code #} starting a comment:
+ * <ul>
+ *   <li>{@code name, country, latitude, longitude[, population]}</li>
+ *   <li>GeoNames dumps such as {@code cities500.txt}, recognised by their 19 columns</li>
+ * </ul>
+ */
+public final class Gazetteer {
+
+  private static final int GEONAMES_COLUMNS = 19;
+
+  private final String[] names;
+  private final String[] countries;
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final int[] populations;
+  private final int skipped;
+
+  private Gazetteer(String[] names, String[] countries, double[] latitudes, double[] longitudes,
+                    int[] populations, int skipped) {
+    this.names = names;
+    this.countries = countries;
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+    this.populations = populations;
+    this.skipped = skipped;
+  }
+
+  /**
+   * Reads places, skipping malformed lines and places below {@code minPopulation}
+   */
+  public static Gazetteer read(BufferedReader reader, int minPopulation) throws IOException {
+    int capacity = 1024;
+    String[] names = new String[capacity];
+    String[] countries = new String[capacity];
+    double[] latitudes = new double[capacity];
+    double[] longitudes = new double[capacity];
+    int[] populations = new int[capacity];
+    Map<String, String> countryCodes = new HashMap<>(); // A few hundred distinct codes shared by every place
+    int size = 0;
+    int skipped = 0;
+
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+      String[] fields = line.split("\t", -1);
+      boolean geoNames = fields.length >= GEONAMES_COLUMNS;
+      if (!geoNames && fields.length < 4) {
+        skipped++;
+        continue;
+      }
+      try {
+        String name = (geoNames ? fields[1] : fields[0]).trim();
+        String country = (geoNames ? fields[8] : fields[1]).trim().toUpperCase(Locale.ROOT);
+        double latitude = Double.parseDouble(geoNames ? fields[4] : fields[2]);
+        double longitude = Double.parseDouble(geoNames ? fields[5] : fields[3]);
+        String populationField = geoNames ? fields[14] : fields.length > 4 ? fields[4] : "";
+        int population = populationField.isBlank() ? 0 : (int) Math.min(Integer.MAX_VALUE, Long.parseLong(populationField.trim()));
+        if (name.isEmpty() || !isCountryCode(country)
+                || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+          skipped++;
+          continue;
+        }
+        if (population < minPopulation) {
+          continue;
+        }
+
+        if (size == capacity) {
+          capacity = capacity + (capacity >> 1);
+          names = Arrays.copyOf(names, capacity);
+          countries = Arrays.copyOf(countries, capacity);
+          latitudes = Arrays.copyOf(latitudes, capacity);
+          longitudes = Arrays.copyOf(longitudes, capacity);
+          populations = Arrays.copyOf(populations, capacity);
+        }
+        names[size] = name;
+        countries[size] = countryCodes.computeIfAbsent(country, code -> code);
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        populations[size] = population;
+        size++;
+      } catch (NumberFormatException e) {
+        skipped++;
+      }
+    }
+
+    return new Gazetteer(Arrays.copyOf(names, size), Arrays.copyOf(countries, size),
+            Arrays.copyOf(latitudes, size), Arrays.copyOf(longitudes, size),
+            Arrays.copyOf(populations, size), skipped);
+  }
+
+  private static boolean isCountryCode(String country) {
+    return country.length() == 2
+            && country.charAt(0) >= 'A' && country.charAt(0) <= 'Z'
+            && country.charAt(1) >= 'A' && country.charAt(1) <= 'Z';
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * @return number of malformed lines ignored while reading
+   */
+  public int skipped() {
+    return skipped;
+  }
+
+  public String name(int id) {
+    return names[id];
+  }
+
+  public String country(int id) {
+    return countries[id];
+  }
+
+  public double latitude(int id) {
+    return latitudes[id];
+  }
+
+  public double longitude(int id) {
+    return longitudes[id];
+  }
+
+  public int population(int id) {
+    return populations[id];
+  }
+
+  /**
+   * @return approximate heap size of the table in bytes, names included
+   */
+  public long estimatedBytes() {
+    long bytes = (8L + 8L + 4L + 4L + 4L) * names.length; // Coordinates, population and two references
+    for (String name : names) {
+      bytes += 40 + name.length(); // String header and array of a Latin-1 name; others take two bytes per char
+    }
+    return bytes;
+  }
+
+  public Place place(int id) {
+    return new Place(names[id], countries[id], latitudes[id], longitudes[id], populations[id]);
+  }
+
+  // Shared with the indexes built over this table, never modified
+  double[] latitudes() {
+    return latitudes;
+  }
+
+  double[] longitudes() {
+    return longitudes;
+  }
+}
@@ -0,0 +1,213 @@
+package com.weather.geo;
+
+import com.weather.config.GeoConfig;
+import com.weather.model.GeoPoints;
+import com.weather.model.Location;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Known places, with lookups by coordinates and by name.
+ * The gazetteer is loaded at startup from the configured file, typically a GeoNames dump with
+ * hundreds of thousands of places; without one, a small bundled list of major cities is used.
+ * Load time and the memory taken by the places and their indexes are logged and exported as gauges.
+ */
+@Slf4j
+@Service
+public class GazetteerService {
+
+  static final String BUNDLED_GAZETTEER = "/gazetteer/cities.tsv";
+
+  private final GeoConfig config;
+  private volatile Places places;
+  private volatile long loadMillis;
+
+  public GazetteerService(GeoConfig config, MeterRegistry meterRegistry) {
+    this.config = config;
+    Gauge.builder("weather.geo.places", this, GazetteerService::size)
+            .description("Places in the gazetteer")
+            .register(meterRegistry);
+    Gauge.builder("weather.geo.memory", this, service -> service.places == null ? 0 : service.places.estimatedBytes())
+            .description("Estimated heap taken by the gazetteer and its indexes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    Gauge.builder("weather.geo.load.duration", this, service -> service.loadMillis / 1000.0)
+            .description("Time taken to load the gazetteer and build its indexes at startup")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void load() {
+    long start = System.nanoTime();
+    Path file = Paths.get(config.getGazetteerFile());
+    String source = file.toString();
+    Gazetteer loaded = null;
+    if (Files.isReadable(file)) {
+      try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        loaded = Gazetteer.read(reader, config.getMinPopulation());
+      } catch (IOException | RuntimeException e) {
+        log.warn("Cannot read gazetteer {}, using bundled cities: {}", file, e.getMessage());
+      }
+    }
+    if (loaded == null) {
+      source = "classpath:" + BUNDLED_GAZETTEER;
+      loaded = readBundled(config.getMinPopulation());
+    }
+    use(loaded);
+    loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    log.info("Loaded {} places from {} in {} ms, using about {} MB ({} malformed lines skipped)",
+            loaded.size(), source, loadMillis, places.estimatedBytes() >> 20, loaded.skipped());
+  }
+
+  /**
+   * Replaces the places served by this service
+   */
+  void use(Gazetteer gazetteer) {
+    this.places = new Places(gazetteer,
+            GeoPoints.fromDegrees(gazetteer.latitudes(), gazetteer.longitudes()),
+            new SpatialIndex(gazetteer.latitudes(), gazetteer.longitudes()),
+            new PlaceNameIndex(gazetteer));
+  }
+
+  public int size() {
+    Places current = places;
+    return current == null ? 0 : current.gazetteer.size();
+  }
+
+  /**
+   * Resolves a place by name and country, ignoring case and accents
+   *
+   * @return the most populous place with that name in the country, if known
+   */
+  public Optional<Place> resolve(String city, String country) {
+    Places current = places;
+    int id = current.names.find(city, country);
+    return id < 0 ? Optional.empty() : Optional.of(current.gazetteer.place(id));
+  }
+
+  /**
+   * Suggests places whose name starts with a prefix, most populous first
+   *
+   * @param country country code to restrict suggestions to, or null for any country
+   */
+  public List<Place> autocomplete(String prefix, String country, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+    Places current = places;
+    int[] ids = current.names.complete(prefix, country, Math.min(limit, config.getMaxResults()));
+    List<Place> suggestions = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      suggestions.add(current.gazetteer.place(id));
+    }
+    return suggestions;
+  }
+
+  /**
+   * @return the place closest to the given coordinates, if any place is known
+   */
+  public Optional<PlaceMatch> nearest(double latitude, double longitude) {
+    Places current = places;
+    int id = current.index.nearest(latitude, longitude);
+    return id < 0 ? Optional.empty() : Optional.of(match(current, id, latitude, longitude));
+  }
+
+  /**
+   * @param limit maximum number of places returned, nearest first
+   * @return places within {@code radiusKm} of the given coordinates, nearest first
+   * @throws IllegalArgumentException if the radius exceeds the configured maximum
+   */
+  public List<PlaceMatch> within(double latitude, double longitude, double radiusKm, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+    Places current = places;
+    int[] ids = current.index.withinRadius(latitude, longitude, checkRadius(radiusKm));
+    List<PlaceMatch> matches = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      matches.add(match(current, id, latitude, longitude));
+    }
+    matches.sort(Comparator.comparingDouble(PlaceMatch::getDistanceKm));
+    int max = Math.min(limit, config.getMaxResults());
+    return matches.size() > max ? List.copyOf(matches.subList(0, max)) : matches;
+  }
+
+  /**
+   * @return {@link Location#searchKey search keys} of the places within {@code radiusKm} of the given coordinates
+   * @throws IllegalArgumentException if the radius exceeds the configured maximum
+   */
+  public Set<String> locationKeysWithin(double latitude, double longitude, double radiusKm) {
+    Places current = places;
+    int[] ids = current.index.withinRadius(latitude, longitude, checkRadius(radiusKm));
+    Set<String> keys = new HashSet<>(ids.length * 2);
+    for (int id : ids) {
+      keys.add(Location.searchKey(current.gazetteer.name(id), current.gazetteer.country(id)));
+    }
+    return keys;
+  }
+
+  private double checkRadius(double radiusKm) {
+    if (radiusKm < 0 || radiusKm > config.getMaxRadiusKm()) {
+      throw new IllegalArgumentException("Radius must be between 0 and " + config.getMaxRadiusKm() + " km");
+    }
+    return radiusKm;
+  }
+
+  private static PlaceMatch match(Places places, int id, double latitude, double longitude) {
+    return new PlaceMatch(places.gazetteer.place(id), places.points.distanceKm(id, latitude, longitude));
+  }
+
+  private static Gazetteer readBundled(int minPopulation) {
+    InputStream in = GazetteerService.class.getResourceAsStream(BUNDLED_GAZETTEER);
+    if (in == null) {
+      throw new IllegalStateException("Bundled gazetteer " + BUNDLED_GAZETTEER + " is missing");
+    }
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      return Gazetteer.read(reader, minPopulation);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read bundled gazetteer", e);
+    }
+  }
+
+  /**
+   * A gazetteer with the indexes built over it, swapped together so ids always match
+   */
+  private static final class Places {
+
+    private final Gazetteer gazetteer;
+    private final GeoPoints points;
+    private final SpatialIndex index;
+    private final PlaceNameIndex names;
+
+    private Places(Gazetteer gazetteer, GeoPoints points, SpatialIndex index, PlaceNameIndex names) {
+      this.gazetteer = gazetteer;
+      this.points = points;
+      this.index = index;
+      this.names = names;
+    }
+
+    private long estimatedBytes() {
+      return gazetteer.estimatedBytes() + 3L * 8 * points.size() + index.estimatedBytes() + names.estimatedBytes();
+    }
+  }
+}
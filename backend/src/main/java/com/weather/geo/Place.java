@@ -0,0 +1,21 @@
+package com.weather.geo;
+
+import com.weather.model.Location;
+import lombok.Value;
+
+/**
+ * A named place of the gazetteer
+ */
+@Value
+public class Place {
+
+  String name;
+  String country;
+  double latitude;
+  double longitude;
+  int population;
+
+  public Location toLocation() {
+    return new Location(name, country, latitude, longitude);
+  }
+}
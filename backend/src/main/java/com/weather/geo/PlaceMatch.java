@@ -0,0 +1,13 @@
+package com.weather.geo;
+
+import lombok.Value;
+
+/**
+ * A place found by a spatial query, with its distance from the query point
+ */
+@Value
+public class PlaceMatch {
+
+  Place place;
+  double distanceKm;
+}
@@ -0,0 +1,241 @@
+package com.weather.geo;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sorted index from place name and country to gazetteer ids, for exact resolution and prefix
+ * autocomplete. Names are folded (lower case, accents stripped, hyphens as spaces) into one shared
+ * {@code char[]} and entries are ordered by name, country and descending population, so a lookup
+ * is a binary search that folds the query as it compares, without creating strings, and the first
+ * match of a name is the most populous place of that name.
+ */
+public final class PlaceNameIndex {
+
+  private static final char[] FOLD = foldTable();
+
+  private final char[] names;       // Folded names of all entries, back to back
+  private final int[] nameStarts;   // Entry i spans names[nameStarts[i], nameStarts[i + 1])
+  private final short[] countries;  // Country code of each entry, see countryCode
+  private final int[] ids;          // Gazetteer id of each entry
+  private final int[] populations;
+
+  public PlaceNameIndex(Gazetteer gazetteer) {
+    int size = gazetteer.size();
+    String[] folded = new String[size];
+    Integer[] order = new Integer[size];
+    int totalLength = 0;
+    for (int id = 0; id < size; id++) {
+      folded[id] = fold(gazetteer.name(id));
+      order[id] = id;
+      totalLength += folded[id].length();
+    }
+    Arrays.sort(order, Comparator.<Integer, String>comparing(id -> folded[id])
+            .thenComparingInt(id -> countryCode(gazetteer.country(id)))
+            .thenComparingInt(id -> -gazetteer.population(id)));
+
+    this.names = new char[totalLength];
+    this.nameStarts = new int[size + 1];
+    this.countries = new short[size];
+    this.ids = new int[size];
+    this.populations = new int[size];
+    int offset = 0;
+    for (int entry = 0; entry < size; entry++) {
+      int id = order[entry];
+      String name = folded[id];
+      name.getChars(0, name.length(), names, offset);
+      nameStarts[entry] = offset;
+      offset += name.length();
+      countries[entry] = countryCode(gazetteer.country(id));
+      ids[entry] = id;
+      populations[entry] = gazetteer.population(id);
+    }
+    nameStarts[size] = offset;
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * Finds a place by name and country, ignoring case, accents and surrounding whitespace
+   *
+   * @return gazetteer id of the most populous matching place, or -1 if none matches
+   */
+  public int find(CharSequence name, CharSequence country) {
+    short code = countryCode(country);
+    if (code < 0) {
+      return -1;
+    }
+    int from = trimStart(name);
+    int to = trimEnd(name, from);
+    int low = 0;
+    int high = ids.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      int order = compareName(mid, name, from, to, false);
+      if (order == 0) {
+        order = Short.compare(countries[mid], code);
+      }
+      if (order < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    if (low < ids.length && compareName(low, name, from, to, false) == 0 && countries[low] == code) {
+      return ids[low];
+    }
+    return -1;
+  }
+
+  /**
+   * Finds the most populous places whose name starts with a prefix
+   *
+   * @param country country code to restrict matches to, or null for any country
+   * @param limit   maximum number of results
+   * @return gazetteer ids, most populous first
+   */
+  public int[] complete(CharSequence prefix, CharSequence country, int limit) {
+    int from = trimStart(prefix);
+    int to = trimEnd(prefix, from);
+    short code = country == null ? -1 : countryCode(country);
+    if (from == to || limit <= 0 || (country != null && code < 0)) {
+      return new int[0];
+    }
+
+    // The entries starting with the prefix are contiguous from the first entry not below it
+    int low = 0;
+    int high = ids.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareName(mid, prefix, from, to, false) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    // Keep the top matches by population in a small sorted buffer
+    int[] best = new int[limit];
+    int count = 0;
+    for (int entry = low; entry < ids.length && compareName(entry, prefix, from, to, true) == 0; entry++) {
+      if (code >= 0 && countries[entry] != code) {
+        continue;
+      }
+      if (count == limit && populations[entry] <= populations[best[count - 1]]) {
+        continue;
+      }
+      int position = count == limit ? count - 1 : count++;
+      while (position > 0 && populations[best[position - 1]] < populations[entry]) {
+        best[position] = best[position - 1];
+        position--;
+      }
+      best[position] = entry;
+    }
+
+    int[] result = new int[count];
+    for (int i = 0; i < count; i++) {
+      result[i] = ids[best[i]];
+    }
+    return result;
+  }
+
+  /**
+   * @return approximate heap size of the index in bytes
+   */
+  public long estimatedBytes() {
+    return 2L * names.length + 4L * nameStarts.length + 2L * countries.length
+            + 4L * ids.length + 4L * populations.length;
+  }
+
+  /**
+   * Compares the folded name of an entry with {@code query[from, to)}, folding the query on the fly
+   *
+   * @param prefix whether an entry extending the query counts as equal
+   */
+  private int compareName(int entry, CharSequence query, int from, int to, boolean prefix) {
+    int start = nameStarts[entry];
+    int length = nameStarts[entry + 1] - start;
+    int queryLength = to - from;
+    int common = Math.min(length, queryLength);
+    for (int i = 0; i < common; i++) {
+      char a = names[start + i];
+      char b = fold(query.charAt(from + i));
+      if (a != b) {
+        return a - b;
+      }
+    }
+    if (prefix && length >= queryLength) {
+      return 0;
+    }
+    return length - queryLength;
+  }
+
+  static String fold(String name) {
+    int from = trimStart(name);
+    int to = trimEnd(name, from);
+    StringBuilder folded = new StringBuilder(to - from);
+    for (int i = from; i < to; i++) {
+      folded.append(fold(name.charAt(i)));
+    }
+    return folded.toString();
+  }
+
+  private static char fold(char c) {
+    return c < FOLD.length ? FOLD[c] : Character.toLowerCase(c);
+  }
+
+  /**
+   * Folding for Latin characters, computed once: the lower-case base letter of accented letters
+   */
+  private static char[] foldTable() {
+    char[] table = new char[0x250];
+    for (char c = 0; c < table.length; c++) {
+      char folded = Character.toLowerCase(c);
+      String decomposed = Normalizer.normalize(String.valueOf(folded), Normalizer.Form.NFD);
+      if (decomposed.length() > 1 && Character.isLetter(decomposed.charAt(0))) {
+        folded = decomposed.charAt(0);
+      }
+      table[c] = folded == '-' || folded == '_' ? ' ' : folded;
+    }
+    return table;
+  }
+
+  /**
+   * @return the code packed into a short, or -1 if it is not two ASCII letters
+   */
+  private static short countryCode(CharSequence country) {
+    if (country == null) {
+      return -1;
+    }
+    int from = trimStart(country);
+    int to = trimEnd(country, from);
+    if (to - from != 2) {
+      return -1;
+    }
+    int first = Character.toUpperCase(country.charAt(from)) - 'A';
+    int second = Character.toUpperCase(country.charAt(from + 1)) - 'A';
+    if (first < 0 || first >= 26 || second < 0 || second >= 26) {
+      return -1;
+    }
+    return (short) (first * 26 + second);
+  }
+
+  private static int trimStart(CharSequence text) {
+    int from = 0;
+    while (from < text.length() && Character.isWhitespace(text.charAt(from))) {
+      from++;
+    }
+    return from;
+  }
+
+  private static int trimEnd(CharSequence text, int from) {
+    int to = text.length();
+    while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+      to--;
+    }
+    return to;
+  }
+}
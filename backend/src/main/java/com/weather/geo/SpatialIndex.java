@@ -0,0 +1,228 @@
+package com.weather.geo;
+
+import com.weather.model.GeoPoints;
+
+import java.util.Arrays;
+
+/**
+ * Static k-d tree over points on the sphere, answering nearest-neighbour and radius queries.
+ * Points are stored as unit vectors, where straight-line (chord) distance grows monotonically with
+ * great-circle distance, so the tree needs no special cases at the antimeridian or the poles.
+ * The tree is implicit: each range of the arrays is split at its median, which is the node, so it
+ * costs four primitive arrays and no node objects. Queries visit O(log n) nodes plus the results.
+ */
+public final class SpatialIndex {
+
+  private final int[] ids;
+  private final double[] xs;
+  private final double[] ys;
+  private final double[] zs;
+
+  /**
+   * Indexes points given as parallel coordinate arrays; query results are positions in those arrays
+   */
+  public SpatialIndex(double[] latitudes, double[] longitudes) {
+    if (latitudes.length != longitudes.length) {
+      throw new IllegalArgumentException("Latitude and longitude arrays must have the same length");
+    }
+    int size = latitudes.length;
+    double[][] axes = new double[3][size];
+    int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+      double latitude = Math.toRadians(latitudes[i]);
+      double longitude = Math.toRadians(longitudes[i]);
+      axes[0][i] = Math.cos(latitude) * Math.cos(longitude);
+      axes[1][i] = Math.cos(latitude) * Math.sin(longitude);
+      axes[2][i] = Math.sin(latitude);
+    }
+    build(order, axes, 0, size, 0);
+
+    this.ids = order;
+    this.xs = new double[size];
+    this.ys = new double[size];
+    this.zs = new double[size];
+    for (int i = 0; i < size; i++) {
+      xs[i] = axes[0][order[i]];
+      ys[i] = axes[1][order[i]];
+      zs[i] = axes[2][order[i]];
+    }
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * @return approximate heap size of the index in bytes
+   */
+  public long estimatedBytes() {
+    return (4L + 3 * 8L) * ids.length;
+  }
+
+  /**
+   * @return id of the point closest to the given coordinates, or -1 if the index is empty
+   */
+  public int nearest(double latitude, double longitude) {
+    if (ids.length == 0) {
+      return -1;
+    }
+    Query query = new Query(latitude, longitude, Double.POSITIVE_INFINITY);
+    nearest(query, 0, ids.length, 0);
+    return ids[query.nearest];
+  }
+
+  /**
+   * @return ids of the points within {@code radiusKm} of the given coordinates, in no particular order
+   */
+  public int[] withinRadius(double latitude, double longitude, double radiusKm) {
+    if (radiusKm < 0) {
+      throw new IllegalArgumentException("Radius cannot be negative");
+    }
+    double chord = 2 * Math.sin(Math.min(radiusKm / GeoPoints.EARTH_RADIUS_KM, Math.PI) / 2);
+    Query query = new Query(latitude, longitude, chord * chord);
+    within(query, 0, ids.length, 0);
+    return Arrays.copyOf(query.hits, query.hitCount);
+  }
+
+  private void nearest(Query query, int from, int to, int depth) {
+    if (from >= to) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    double dx = query.x - xs[mid];
+    double dy = query.y - ys[mid];
+    double dz = query.z - zs[mid];
+    double distance = dx * dx + dy * dy + dz * dz;
+    if (distance < query.limit) {
+      query.limit = distance;
+      query.nearest = mid;
+    }
+    double split = axisDelta(depth, dx, dy, dz);
+    if (split < 0) {
+      nearest(query, from, mid, depth + 1);
+      if (split * split < query.limit) {
+        nearest(query, mid + 1, to, depth + 1);
+      }
+    } else {
+      nearest(query, mid + 1, to, depth + 1);
+      if (split * split < query.limit) {
+        nearest(query, from, mid, depth + 1);
+      }
+    }
+  }
+
+  private void within(Query query, int from, int to, int depth) {
+    if (from >= to) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    double dx = query.x - xs[mid];
+    double dy = query.y - ys[mid];
+    double dz = query.z - zs[mid];
+    if (dx * dx + dy * dy + dz * dz <= query.limit) {
+      query.hit(ids[mid]);
+    }
+    double split = axisDelta(depth, dx, dy, dz);
+    boolean reachesOtherSide = split * split <= query.limit;
+    if (split <= 0 || reachesOtherSide) {
+      within(query, from, mid, depth + 1);
+    }
+    if (split >= 0 || reachesOtherSide) {
+      within(query, mid + 1, to, depth + 1);
+    }
+  }
+
+  private static double axisDelta(int depth, double dx, double dy, double dz) {
+    switch (depth % 3) {
+      case 0:
+        return dx;
+      case 1:
+        return dy;
+      default:
+        return dz;
+    }
+  }
+
+  /**
+   * Arranges {@code order[from, to)} so every range is split at its median along the axis of its depth
+   */
+  private static void build(int[] order, double[][] axes, int from, int to, int depth) {
+    if (to - from <= 1) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    select(order, axes[depth % 3], from, to - 1, mid);
+    build(order, axes, from, mid, depth + 1);
+    build(order, axes, mid + 1, to, depth + 1);
+  }
+
+  /**
+   * Quickselect: places the k-th smallest coordinate at {@code k}, smaller ones before and larger ones after it
+   */
+  private static void select(int[] order, double[] axis, int left, int right, int k) {
+    while (right > left) {
+      double pivot = axis[order[(left + right) >>> 1]];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (axis[order[i]] < pivot) {
+          i++;
+        }
+        while (axis[order[j]] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          int swap = order[i];
+          order[i] = order[j];
+          order[j] = swap;
+          i++;
+          j--;
+        }
+      }
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Query point and results of one search
+   */
+  private static final class Query {
+
+    private final double x;
+    private final double y;
+    private final double z;
+    private double limit; // Squared chord: the radius, or the closest distance found so far
+    private int nearest;
+    private int[] hits = new int[16];
+    private int hitCount;
+
+    private Query(double latitude, double longitude, double limit) {
+      if (latitude < -90 || latitude > 90) {
+        throw new IllegalArgumentException("Latitude must be between -90 and 90 degrees");
+      }
+      if (longitude < -180 || longitude > 180) {
+        throw new IllegalArgumentException("Longitude must be between -180 and 180 degrees");
+      }
+      double lat = Math.toRadians(latitude);
+      double lon = Math.toRadians(longitude);
+      this.x = Math.cos(lat) * Math.cos(lon);
+      this.y = Math.cos(lat) * Math.sin(lon);
+      this.z = Math.sin(lat);
+      this.limit = limit;
+    }
+
+    private void hit(int id) {
+      if (hitCount == hits.length) {
+        hits = Arrays.copyOf(hits, hitCount << 1);
+      }
+      hits[hitCount++] = id;
+    }
+  }
+}
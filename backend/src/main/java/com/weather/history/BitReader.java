@@ -0,0 +1,44 @@
+package com.weather.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads bits most significant first from the remaining bytes of a buffer, without moving its position
+ */
+final class BitReader {
+
+  private final ByteBuffer buffer;
+  private final long end;
+  private long position;
+
+  BitReader(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.position = (long) buffer.position() << 3;
+    this.end = (long) buffer.limit() << 3;
+  }
+
+  boolean readBit() {
+    return readBits(1) != 0;
+  }
+
+  /**
+   * @param count 1 to 64
+   * @throws IllegalStateException if fewer bits remain
+   */
+  long readBits(int count) {
+    if (position + count > end) {
+      throw new IllegalStateException("Read past the end of the block");
+    }
+    long value = 0;
+    int remaining = count;
+    while (remaining > 0) {
+      int current = buffer.get((int) (position >>> 3)) & 0xFF;
+      int offset = (int) (position & 7);
+      int take = Math.min(8 - offset, remaining);
+      value = (value << take) | ((current >>> (8 - offset - take)) & ((1 << take) - 1));
+      position += take;
+      remaining -= take;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,55 @@
+package com.weather.history;
+
+import java.util.Arrays;
+
+/**
+ * Appends bits most significant first into a growable array of longs
+ */
+final class BitWriter {
+
+  private long[] words = new long[4];
+  private int bits;
+
+  void writeBit(boolean bit) {
+    writeBits(bit ? 1 : 0, 1);
+  }
+
+  /**
+   * Writes the low {@code count} bits of {@code value}, most significant first
+   *
+   * @param count 1 to 64
+   */
+  void writeBits(long value, int count) {
+    if (count < 64) {
+      value &= (1L << count) - 1;
+    }
+    int word = bits >>> 6;
+    int used = bits & 63;
+    if (word + 1 >= words.length) {
+      words = Arrays.copyOf(words, words.length * 2);
+    }
+    int free = 64 - used;
+    if (count <= free) {
+      words[word] |= value << (free - count);
+    } else {
+      words[word] |= value >>> (count - free);
+      words[word + 1] |= value << (64 - (count - free));
+    }
+    bits += count;
+  }
+
+  int bitCount() {
+    return bits;
+  }
+
+  /**
+   * @return the bits written, zero-padded to a whole byte
+   */
+  byte[] toByteArray() {
+    byte[] bytes = new byte[(bits + 7) >>> 3];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3)));
+    }
+    return bytes;
+  }
+}
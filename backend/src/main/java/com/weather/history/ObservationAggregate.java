@@ -0,0 +1,134 @@
+package com.weather.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Summary of the observations of one location within one time bucket.
+ * A raw observation is an aggregate of one sample, whose minimum, maximum and average coincide.
+ * Aggregates of adjacent buckets merge into the aggregate of the wider bucket, which is how
+ * rollups and steps coarser than the stored resolution are built.
+ */
+public final class ObservationAggregate {
+
+  /**
+   * Size of an aggregate {@link #write written} in fixed-width form
+   */
+  static final int BYTES = 8 + 4 + 3 * (4 + 4 + 8);
+
+  private final long epochSecond;
+  private int samples;
+  private int temperatureMin = Integer.MAX_VALUE;
+  private int temperatureMax = Integer.MIN_VALUE;
+  private long temperatureSum;
+  private int humidityMin = Integer.MAX_VALUE;
+  private int humidityMax = Integer.MIN_VALUE;
+  private long humiditySum;
+  private int windSpeedMin = Integer.MAX_VALUE;
+  private int windSpeedMax = Integer.MIN_VALUE;
+  private long windSpeedSum;
+
+  ObservationAggregate(long epochSecond) {
+    this.epochSecond = epochSecond;
+  }
+
+  void add(int temperatureCenti, int humidity, int windSpeedCenti) {
+    samples++;
+    temperatureMin = Math.min(temperatureMin, temperatureCenti);
+    temperatureMax = Math.max(temperatureMax, temperatureCenti);
+    temperatureSum += temperatureCenti;
+    humidityMin = Math.min(humidityMin, humidity);
+    humidityMax = Math.max(humidityMax, humidity);
+    humiditySum += humidity;
+    windSpeedMin = Math.min(windSpeedMin, windSpeedCenti);
+    windSpeedMax = Math.max(windSpeedMax, windSpeedCenti);
+    windSpeedSum += windSpeedCenti;
+  }
+
+  void merge(ObservationAggregate other) {
+    samples += other.samples;
+    temperatureMin = Math.min(temperatureMin, other.temperatureMin);
+    temperatureMax = Math.max(temperatureMax, other.temperatureMax);
+    temperatureSum += other.temperatureSum;
+    humidityMin = Math.min(humidityMin, other.humidityMin);
+    humidityMax = Math.max(humidityMax, other.humidityMax);
+    humiditySum += other.humiditySum;
+    windSpeedMin = Math.min(windSpeedMin, other.windSpeedMin);
+    windSpeedMax = Math.max(windSpeedMax, other.windSpeedMax);
+    windSpeedSum += other.windSpeedSum;
+  }
+
+  ObservationAggregate copy() {
+    ObservationAggregate copy = new ObservationAggregate(epochSecond);
+    copy.merge(this);
+    return copy;
+  }
+
+  void write(ByteBuffer buffer) {
+    buffer.putLong(epochSecond).putInt(samples)
+            .putInt(temperatureMin).putInt(temperatureMax).putLong(temperatureSum)
+            .putInt(humidityMin).putInt(humidityMax).putLong(humiditySum)
+            .putInt(windSpeedMin).putInt(windSpeedMax).putLong(windSpeedSum);
+  }
+
+  static ObservationAggregate read(ByteBuffer buffer) {
+    ObservationAggregate aggregate = new ObservationAggregate(buffer.getLong());
+    aggregate.samples = buffer.getInt();
+    aggregate.temperatureMin = buffer.getInt();
+    aggregate.temperatureMax = buffer.getInt();
+    aggregate.temperatureSum = buffer.getLong();
+    aggregate.humidityMin = buffer.getInt();
+    aggregate.humidityMax = buffer.getInt();
+    aggregate.humiditySum = buffer.getLong();
+    aggregate.windSpeedMin = buffer.getInt();
+    aggregate.windSpeedMax = buffer.getInt();
+    aggregate.windSpeedSum = buffer.getLong();
+    return aggregate;
+  }
+
+  /**
+   * @return start of the bucket, or time of the observation, in seconds since the epoch
+   */
+  public long getEpochSecond() {
+    return epochSecond;
+  }
+
+  public int getSamples() {
+    return samples;
+  }
+
+  public double getTemperatureMin() {
+    return temperatureMin / 100.0;
+  }
+
+  public double getTemperatureMax() {
+    return temperatureMax / 100.0;
+  }
+
+  public double getTemperatureAverage() {
+    return temperatureSum / 100.0 / samples;
+  }
+
+  public int getHumidityMin() {
+    return humidityMin;
+  }
+
+  public int getHumidityMax() {
+    return humidityMax;
+  }
+
+  public double getHumidityAverage() {
+    return (double) humiditySum / samples;
+  }
+
+  public double getWindSpeedMin() {
+    return windSpeedMin / 100.0;
+  }
+
+  public double getWindSpeedMax() {
+    return windSpeedMax / 100.0;
+  }
+
+  public double getWindSpeedAverage() {
+    return windSpeedSum / 100.0 / samples;
+  }
+}
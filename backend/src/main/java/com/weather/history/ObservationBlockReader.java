@@ -0,0 +1,96 @@
+package com.weather.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes a block written by {@link ObservationBlockWriter}, one observation at a time
+ */
+final class ObservationBlockReader {
+
+  private final BitReader bits;
+  private final int count;
+  private final int[] values = new int[ObservationBlockWriter.COLUMNS];
+  private final int[] leading = new int[ObservationBlockWriter.COLUMNS];
+  private final int[] trailing = new int[ObservationBlockWriter.COLUMNS];
+  private long epochSecond;
+  private long lastDelta;
+  private int read;
+
+  ObservationBlockReader(ByteBuffer payload, long firstEpoch, int count) {
+    this.bits = new BitReader(payload);
+    this.epochSecond = firstEpoch;
+    this.count = count;
+  }
+
+  /**
+   * Advances to the next observation
+   *
+   * @return false once every observation has been read
+   */
+  boolean next() {
+    if (read == count) {
+      return false;
+    }
+    if (read > 0) {
+      lastDelta += readDeltaOfDelta();
+      epochSecond += lastDelta;
+    }
+    for (int column = 0; column < values.length; column++) {
+      readValue(column);
+    }
+    read++;
+    return true;
+  }
+
+  long epochSecond() {
+    return epochSecond;
+  }
+
+  int temperatureCenti() {
+    return values[0];
+  }
+
+  int humidity() {
+    return values[1];
+  }
+
+  int windSpeedCenti() {
+    return values[2];
+  }
+
+  private long readDeltaOfDelta() {
+    if (!bits.readBit()) {
+      return 0;
+    }
+    if (!bits.readBit()) {
+      return signed(bits.readBits(7), 7);
+    }
+    if (!bits.readBit()) {
+      return signed(bits.readBits(9), 9);
+    }
+    if (!bits.readBit()) {
+      return signed(bits.readBits(12), 12);
+    }
+    return bits.readBits(64);
+  }
+
+  private void readValue(int column) {
+    if (read == 0) {
+      values[column] = (int) bits.readBits(32);
+      return;
+    }
+    if (!bits.readBit()) {
+      return;
+    }
+    if (bits.readBit()) {
+      leading[column] = (int) bits.readBits(5);
+      trailing[column] = 32 - leading[column] - ((int) bits.readBits(5) + 1);
+    }
+    int meaningful = 32 - leading[column] - trailing[column];
+    values[column] ^= (int) (bits.readBits(meaningful) << trailing[column]);
+  }
+
+  private static long signed(long value, int width) {
+    return (value << (64 - width)) >> (64 - width);
+  }
+}
@@ -0,0 +1,110 @@
+package com.weather.history;
+
+/**
+ * Compresses the observations of one location within one block, Gorilla style.
+ * Timestamps are stored as delta-of-delta in variable-width buckets, so regularly fetched series
+ * cost one bit per timestamp. Temperature, humidity and wind speed are XORed with the previous
+ * value of their column and only the meaningful bits are written, reusing the previous window
+ * of leading and trailing zeros when it fits; an unchanged value costs one bit.
+ * <p>
+ * Values are XORed as the fixed-point integers {@link com.weather.model.WeatherData} already
+ * stores (hundredths for temperature and wind speed) rather than as IEEE doubles, whose
+ * mantissas would differ in most bits for decimal values.
+ */
+final class ObservationBlockWriter {
+
+  static final int COLUMNS = 3;
+
+  private final BitWriter bits = new BitWriter();
+  private final long firstEpoch;
+  private final int[] previous = new int[COLUMNS];
+  private final int[] leading = new int[COLUMNS];
+  private final int[] trailing = new int[COLUMNS];
+  private long lastEpoch;
+  private long lastDelta;
+  private int count;
+
+  ObservationBlockWriter(long firstEpoch) {
+    this.firstEpoch = firstEpoch;
+    this.lastEpoch = firstEpoch;
+  }
+
+  /**
+   * @param epochSecond not before the last appended observation
+   */
+  void append(long epochSecond, int temperatureCenti, int humidity, int windSpeedCenti) {
+    if (count > 0) {
+      long delta = epochSecond - lastEpoch;
+      writeTimestamp(delta - lastDelta);
+      lastDelta = delta;
+    }
+    lastEpoch = epochSecond;
+    writeValue(0, temperatureCenti);
+    writeValue(1, humidity);
+    writeValue(2, windSpeedCenti);
+    count++;
+  }
+
+  long firstEpoch() {
+    return firstEpoch;
+  }
+
+  long lastEpoch() {
+    return lastEpoch;
+  }
+
+  int count() {
+    return count;
+  }
+
+  byte[] toByteArray() {
+    return bits.toByteArray();
+  }
+
+  private void writeTimestamp(long deltaOfDelta) {
+    if (deltaOfDelta == 0) {
+      bits.writeBit(false);
+    } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+      bits.writeBits(0b10, 2);
+      bits.writeBits(deltaOfDelta, 7);
+    } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+      bits.writeBits(0b110, 3);
+      bits.writeBits(deltaOfDelta, 9);
+    } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+      bits.writeBits(0b1110, 4);
+      bits.writeBits(deltaOfDelta, 12);
+    } else {
+      bits.writeBits(0b1111, 4);
+      bits.writeBits(deltaOfDelta, 64);
+    }
+  }
+
+  private void writeValue(int column, int value) {
+    if (count == 0) {
+      bits.writeBits(value, 32);
+      previous[column] = value;
+      leading[column] = -1;
+      return;
+    }
+    int xor = value ^ previous[column];
+    previous[column] = value;
+    if (xor == 0) {
+      bits.writeBit(false);
+      return;
+    }
+    int lead = Math.min(Integer.numberOfLeadingZeros(xor), 31);
+    int trail = Integer.numberOfTrailingZeros(xor);
+    if (leading[column] >= 0 && lead >= leading[column] && trail >= trailing[column]) {
+      bits.writeBits(0b10, 2);
+      bits.writeBits(xor >>> trailing[column], 32 - leading[column] - trailing[column]);
+    } else {
+      int meaningful = 32 - lead - trail;
+      bits.writeBits(0b11, 2);
+      bits.writeBits(lead, 5);
+      bits.writeBits(meaningful - 1, 5);
+      bits.writeBits(xor >>> trail, meaningful);
+      leading[column] = lead;
+      trailing[column] = trail;
+    }
+  }
+}
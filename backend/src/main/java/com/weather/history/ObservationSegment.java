@@ -0,0 +1,128 @@
+package com.weather.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-size segment file mapped into memory, holding sealed blocks back to back.
+ * The file is allocated at its full size and zero-filled, so a zero length marks the end of the
+ * written records. Writes are serialised by the store; blocks are immutable once written, so
+ * readers slice the mapping without locking.
+ */
+final class ObservationSegment {
+
+  static final int MAGIC = 0x54534731; // "TSG1"
+  static final int HEADER_BYTES = 4;
+
+  private final long id;
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private int size;
+  private volatile long maxEpoch = Long.MIN_VALUE;
+
+  private ObservationSegment(long id, Path path, MappedByteBuffer buffer, int size) {
+    this.id = id;
+    this.path = path;
+    this.buffer = buffer;
+    this.size = size;
+  }
+
+  /**
+   * Creates a new segment file of {@code capacity} bytes, replacing any file at the path
+   */
+  static ObservationSegment create(long id, Path path, int capacity) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+      buffer.putInt(0, MAGIC);
+      return new ObservationSegment(id, path, buffer, HEADER_BYTES);
+    }
+  }
+
+  /**
+   * Maps an existing segment file; records are scanned by the caller
+   *
+   * @throws IOException if the file is not a segment
+   */
+  static ObservationSegment open(long id, Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Unexpected segment size " + channel.size());
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      if (buffer.getInt(0) != MAGIC) {
+        throw new IOException("Not an observation segment");
+      }
+      return new ObservationSegment(id, path, buffer, HEADER_BYTES);
+    }
+  }
+
+  long id() {
+    return id;
+  }
+
+  Path path() {
+    return path;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int capacity() {
+    return buffer.capacity();
+  }
+
+  long maxEpoch() {
+    return maxEpoch;
+  }
+
+  /**
+   * @return true if {@code bytes} more fit in the segment
+   */
+  boolean fits(int bytes) {
+    return size + bytes <= buffer.capacity();
+  }
+
+  /**
+   * Copies a record to the end of the segment
+   *
+   * @return position of the record
+   */
+  int append(byte[] record, long lastEpoch) {
+    int position = size;
+    buffer.put(position, record);
+    size += record.length;
+    maxEpoch = Math.max(maxEpoch, lastEpoch);
+    return position;
+  }
+
+  /**
+   * Marks {@code position} as the end of the written records, after recovery
+   */
+  void recovered(int position, long recoveredMaxEpoch) {
+    size = position;
+    maxEpoch = recoveredMaxEpoch;
+  }
+
+  /**
+   * @return read-only view of {@code length} bytes at {@code position}
+   */
+  ByteBuffer slice(int position, int length) {
+    return buffer.slice(position, length).asReadOnlyBuffer();
+  }
+
+  void force() {
+    buffer.force();
+  }
+
+  void delete() throws IOException {
+    // The mapping itself is released once no longer referenced
+    Files.deleteIfExists(path);
+  }
+}
@@ -0,0 +1,126 @@
+package com.weather.history;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Observations of one location: sealed blocks in segment files, in chronological order, blocks
+ * whose window has passed but that are not written yet, the block still being filled in memory,
+ * and the rollups of each {@link RollupTier}. Callers synchronise on the series.
+ */
+final class ObservationSeries {
+
+  final String locationKey;
+  final List<BlockRef> blocks = new ArrayList<>();
+  final Rollup[] rollups;
+  final List<ObservationBlockWriter> closed = new ArrayList<>();
+  ObservationBlockWriter open;
+  long openUntil;
+  long lastEpoch = Long.MIN_VALUE;
+
+  ObservationSeries(String locationKey, int tiers) {
+    this.locationKey = locationKey;
+    this.rollups = new Rollup[tiers];
+    for (int i = 0; i < tiers; i++) {
+      rollups[i] = new Rollup();
+    }
+  }
+
+  boolean isEmpty() {
+    for (Rollup rollup : rollups) {
+      if (!rollup.blocks.isEmpty() || !rollup.pending.isEmpty()) {
+        return false;
+      }
+    }
+    return blocks.isEmpty() && closed.isEmpty() && open == null;
+  }
+
+  /**
+   * Sealed block: its payload lies in a segment
+   */
+  static final class BlockRef {
+
+    final ObservationSegment segment;
+    final int position;
+    final int length;
+    final long firstEpoch;
+    final long lastEpoch;
+    final int count;
+
+    BlockRef(ObservationSegment segment, int position, int length, long firstEpoch, long lastEpoch, int count) {
+      this.segment = segment;
+      this.position = position;
+      this.length = length;
+      this.firstEpoch = firstEpoch;
+      this.lastEpoch = lastEpoch;
+      this.count = count;
+    }
+
+    ByteBuffer payload() {
+      return segment.slice(position, length);
+    }
+
+    ObservationBlockReader reader() {
+      return new ObservationBlockReader(payload(), firstEpoch, count);
+    }
+  }
+
+  /**
+   * Rollup buckets of one tier: written blocks and the buckets not written yet, oldest first,
+   * the last of which may still be filling
+   */
+  static final class Rollup {
+
+    final List<BlockRef> blocks = new ArrayList<>();
+    final List<ObservationAggregate> pending = new ArrayList<>();
+  }
+
+  /**
+   * Copies the blocks overlapping {@code [from, to)} for reading outside the lock
+   *
+   * @param readers receives readers of the blocks, oldest first
+   */
+  synchronized void snapshot(long from, long to, List<ObservationBlockReader> readers) {
+    for (BlockRef block : blocks) {
+      if (block.firstEpoch < to && block.lastEpoch >= from) {
+        readers.add(block.reader());
+      }
+    }
+    for (ObservationBlockWriter block : closed) {
+      addUnwritten(block, from, to, readers);
+    }
+    if (open != null) {
+      addUnwritten(open, from, to, readers);
+    }
+  }
+
+  private static void addUnwritten(ObservationBlockWriter block, long from, long to,
+                                   List<ObservationBlockReader> readers) {
+    if (block.firstEpoch() < to && block.lastEpoch() >= from) {
+      readers.add(new ObservationBlockReader(ByteBuffer.wrap(block.toByteArray()), block.firstEpoch(),
+              block.count()));
+    }
+  }
+
+  /**
+   * Copies the rollup blocks and buckets of a tier starting within {@code [from, to)}
+   *
+   * @param written receives the overlapping blocks, oldest first
+   * @param pending receives copies of the unwritten buckets, oldest first
+   */
+  synchronized void snapshot(int tier, long from, long to, List<BlockRef> written,
+                             List<ObservationAggregate> pending) {
+    Rollup rollup = rollups[tier];
+    for (BlockRef block : rollup.blocks) {
+      if (block.firstEpoch < to && block.lastEpoch >= from) {
+        written.add(block);
+      }
+    }
+    for (ObservationAggregate bucket : rollup.pending) {
+      if (bucket.getEpochSecond() >= from && bucket.getEpochSecond() < to) {
+        pending.add(bucket.copy());
+      }
+    }
+  }
+}
@@ -0,0 +1,633 @@
+package com.weather.history;
+
+import com.weather.config.WeatherHistoryConfig;
+import com.weather.history.ObservationSeries.BlockRef;
+import com.weather.history.ObservationSeries.Rollup;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.WeatherObservationListener;
+import com.weather.service.WeatherService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded, append-only time-series store of every current weather observation fetched upstream.
+ * Each location's observations are compressed into blocks covering a fixed time window (2h by
+ * default, see {@link ObservationBlockWriter}); the block being filled lives in memory and is
+ * sealed into a memory-mapped segment file once its window has passed. Observations fetched
+ * upstream are queued and recorded on the history-seal thread, which also does every segment
+ * write, so neither the fetching thread nor the cache loader it runs in waits for disk or for a
+ * new segment to be mapped. Segments are rescanned
+ * into the in-memory block index at startup and dropped whole once all their observations are
+ * older than the retention. Observations not after the last one recorded for their location,
+ * such as the same observation fetched again, are skipped.
+ * <p>
+ * Every recorded observation is also folded into hourly and daily {@link RollupTier rollups},
+ * kept in segments of their own for far longer than the raw observations. Aggregations read the
+ * coarsest tier whose resolution divides the step, so a chart of months reads hundreds of daily
+ * buckets rather than every observation. Rollup buckets not yet written are rebuilt from the raw
+ * blocks at startup.
+ * <p>
+ * Observations of open blocks and of the queue are lost if the process dies before they are sealed.
+ */
+@Slf4j
+@Component
+public class ObservationStore implements WeatherObservationListener {
+
+  /**
+   * Resolution of raw observations
+   */
+  public static final String RAW = "raw";
+  private static final long HOUR = 60 * 60;
+  private static final long DAY = 24 * HOUR;
+  private static final int MIN_SEGMENT_BYTES = 1 << 20;
+
+  private final WeatherService weatherService;
+  private final WeatherHistoryConfig config;
+  private final Clock clock;
+  private final long blockSeconds;
+  private final SegmentLog raw;
+  private final List<RollupTier> tiers; // finest first
+  private final Map<String, ObservationSeries> series = new ConcurrentHashMap<>();
+  private final BlockingQueue<QueuedObservation> queue;
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final Counter recorded;
+  private final Counter skipped;
+  private final Counter dropped;
+  private final Counter sealedBlocks;
+  private final Counter[] rolledUp;
+
+  private ScheduledExecutorService sealer;
+
+  public ObservationStore(WeatherService weatherService, WeatherHistoryConfig config, Clock clock,
+                          MeterRegistry meterRegistry) {
+    this.weatherService = weatherService;
+    this.config = config;
+    this.clock = clock;
+    Path directory = Paths.get(config.getDirectory());
+    int segmentBytes = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_SEGMENT_BYTES, config.getSegmentSizeBytes()));
+    this.blockSeconds = Math.max(1, config.getBlockDuration().toSeconds());
+    this.raw = new SegmentLog(directory, segmentBytes);
+    // A day of hourly buckets and a week of daily buckets per block
+    this.tiers = List.of(
+            new RollupTier("hourly", HOUR, 24, config.getHourlyRetention().toSeconds(),
+                    new SegmentLog(directory.resolve("hourly"), segmentBytes)),
+            new RollupTier("daily", DAY, 7, config.getDailyRetention().toSeconds(),
+                    new SegmentLog(directory.resolve("daily"), segmentBytes)));
+    this.queue = new LinkedBlockingQueue<>(config.getQueueCapacity());
+    this.recorded = Counter.builder("weather.history.points")
+            .description("Observations offered to the history store")
+            .tag("result", "recorded")
+            .register(meterRegistry);
+    this.skipped = Counter.builder("weather.history.points")
+            .description("Observations offered to the history store")
+            .tag("result", "skipped")
+            .register(meterRegistry);
+    this.dropped = Counter.builder("weather.history.points")
+            .description("Observations offered to the history store")
+            .tag("result", "dropped")
+            .register(meterRegistry);
+    this.sealedBlocks = Counter.builder("weather.history.blocks.sealed")
+            .description("Compressed blocks written to segment files")
+            .register(meterRegistry);
+    this.rolledUp = new Counter[tiers.size()];
+    registerLogGauges(meterRegistry, RAW, raw);
+    for (int i = 0; i < tiers.size(); i++) {
+      RollupTier tier = tiers.get(i);
+      rolledUp[i] = Counter.builder("weather.history.rollups.written")
+              .description("Rollup buckets written to segment files")
+              .tag("resolution", tier.name)
+              .register(meterRegistry);
+      registerLogGauges(meterRegistry, tier.name, tier.log);
+    }
+    Gauge.builder("weather.history.series", series, Map::size)
+            .description("Locations with recorded observations")
+            .register(meterRegistry);
+    Gauge.builder("weather.history.queued", queue, BlockingQueue::size)
+            .description("Observations waiting to be recorded")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    recover();
+    weatherService.addObservationListener(this);
+    sealer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "history-seal");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long intervalMillis = config.getSealInterval().toMillis();
+    sealer.scheduleWithFixedDelay(this::sealSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (sealer != null) {
+      sealer.shutdown();
+      if (!sealer.awaitTermination(5, TimeUnit.SECONDS)) {
+        log.warn("History seal thread did not finish within 5 seconds");
+        sealer.shutdownNow();
+      }
+    }
+    // Observations queued after the seal thread stopped
+    drainQueue();
+    long now = clock.instant().getEpochSecond();
+    for (ObservationSeries entry : series.values()) {
+      synchronized (entry) {
+        close(entry);
+        writeCompleted(entry);
+        // Buckets still filling are rebuilt from the raw blocks at startup
+        for (int i = 0; i < tiers.size(); i++) {
+          List<ObservationAggregate> pending = entry.rollups[i].pending;
+          long resolution = tiers.get(i).resolutionSeconds;
+          int completed = 0;
+          while (completed < pending.size() && pending.get(completed).getEpochSecond() + resolution <= now) {
+            completed++;
+          }
+          if (completed > 0) {
+            flush(entry, i, completed);
+          }
+        }
+      }
+    }
+    raw.forceAll();
+    tiers.forEach(tier -> tier.log.forceAll());
+  }
+
+  /**
+   * Queues an observation for the history-seal thread; called inside the cache loader, so it
+   * neither records nor writes here
+   */
+  @Override
+  public void onObserved(Location location, WeatherData weatherData) {
+    String locationKey = Location.searchKey(location.getCity(), location.getCountry());
+    if (!queue.offer(new QueuedObservation(locationKey, weatherData))) {
+      dropped.increment();
+      return;
+    }
+    if (draining.compareAndSet(false, true)) {
+      try {
+        sealer.execute(this::drain);
+      } catch (RuntimeException e) {
+        // Shutting down: stop() records what is left in the queue
+        draining.set(false);
+      }
+    }
+  }
+
+  /**
+   * Records an observation of a location in memory. Blocks and rollup buckets it completes are
+   * written to segments by the history-seal thread, never inside this call.
+   *
+   * @param locationKey {@link Location#searchKey search key} of the location
+   * @return false if skipped as not after the last observation of the location
+   */
+  public boolean record(String locationKey, WeatherData weatherData) {
+    long epochSecond = weatherData.getEpochSecond();
+    int temperatureCenti = (int) Math.round(weatherData.getTemperature() * 100);
+    int windSpeedCenti = (int) Math.round(weatherData.getWindSpeed() * 100);
+    boolean[] appended = new boolean[1];
+    // Appended inside compute so retention cannot drop the series between lookup and append
+    series.compute(locationKey, (key, entry) -> {
+      ObservationSeries target = entry != null ? entry : newSeries(key);
+      synchronized (target) {
+        appended[0] = append(target, epochSecond, temperatureCenti, weatherData.getHumidity(), windSpeedCenti);
+        if (appended[0]) {
+          for (int i = 0; i < tiers.size(); i++) {
+            rollUp(target, i, epochSecond, temperatureCenti, weatherData.getHumidity(), windSpeedCenti);
+          }
+        }
+      }
+      return target;
+    });
+    (appended[0] ? recorded : skipped).increment();
+    return appended[0];
+  }
+
+  /**
+   * Raw observations of a location within {@code [fromEpochSecond, toEpochSecond)}
+   *
+   * @return one single-sample aggregate per observation, oldest first
+   * @throws IllegalArgumentException if the range holds more than the configured maximum
+   */
+  public List<ObservationAggregate> observations(String locationKey, long fromEpochSecond, long toEpochSecond) {
+    int maxPoints = config.getMaxRawPoints();
+    List<ObservationAggregate> points = new ArrayList<>();
+    for (ObservationBlockReader reader : readers(locationKey, fromEpochSecond, toEpochSecond)) {
+      while (reader.next() && reader.epochSecond() < toEpochSecond) {
+        if (reader.epochSecond() < fromEpochSecond) {
+          continue;
+        }
+        if (points.size() == maxPoints) {
+          throw new IllegalArgumentException("Range holds more than " + maxPoints
+                  + " observations, request an aggregation step");
+        }
+        ObservationAggregate point = new ObservationAggregate(reader.epochSecond());
+        point.add(reader.temperatureCenti(), reader.humidity(), reader.windSpeedCenti());
+        points.add(point);
+      }
+    }
+    return points;
+  }
+
+  /**
+   * Aggregates the observations of a location into buckets of {@code stepSeconds}, aligned to
+   * the epoch, within {@code [fromEpochSecond, toEpochSecond)} widened to whole steps. Read from
+   * the rollup tier {@link #resolutionFor named} for the step.
+   *
+   * @return non-empty buckets, oldest first
+   * @throws IllegalArgumentException if the step is not positive or yields too many buckets
+   */
+  public List<ObservationAggregate> aggregate(String locationKey, long fromEpochSecond, long toEpochSecond,
+                                              long stepSeconds) {
+    if (stepSeconds <= 0) {
+      throw new IllegalArgumentException("Step must be positive");
+    }
+    if ((toEpochSecond - fromEpochSecond) / stepSeconds >= config.getMaxBuckets()) {
+      throw new IllegalArgumentException("Range spans more than " + config.getMaxBuckets()
+              + " steps, request a longer step");
+    }
+    long from = Math.floorDiv(fromEpochSecond, stepSeconds) * stepSeconds;
+    long to = -Math.floorDiv(-toEpochSecond, stepSeconds) * stepSeconds;
+    int tier = tierFor(stepSeconds);
+    return tier < 0 ? aggregateRaw(locationKey, from, to, stepSeconds)
+            : aggregateRollup(locationKey, tier, from, to, stepSeconds);
+  }
+
+  /**
+   * Resolution aggregations of {@code stepSeconds} are read at: the coarsest rollup tier whose
+   * resolution divides the step, or the raw observations
+   *
+   * @return "daily", "hourly" or "raw"
+   */
+  public String resolutionFor(long stepSeconds) {
+    int tier = tierFor(stepSeconds);
+    return tier < 0 ? RAW : tiers.get(tier).name;
+  }
+
+  /**
+   * Seals blocks whose window has passed, writes completed blocks and rollups, and drops segments
+   * past the retention of their tier
+   */
+  public void seal() {
+    long now = clock.instant().getEpochSecond();
+    for (ObservationSeries entry : series.values()) {
+      synchronized (entry) {
+        if (entry.open != null && now >= entry.openUntil) {
+          close(entry);
+        }
+        writeCompleted(entry);
+      }
+    }
+    enforceRetention(raw, now - config.getRetention().toSeconds());
+    for (RollupTier tier : tiers) {
+      enforceRetention(tier.log, now - tier.retentionSeconds);
+    }
+    raw.forceActive();
+    tiers.forEach(tier -> tier.log.forceActive());
+  }
+
+  private int tierFor(long stepSeconds) {
+    for (int i = tiers.size() - 1; i >= 0; i--) {
+      if (tiers.get(i).serves(stepSeconds)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private List<ObservationAggregate> aggregateRaw(String locationKey, long from, long to, long stepSeconds) {
+    List<ObservationAggregate> buckets = new ArrayList<>();
+    ObservationAggregate current = null;
+    for (ObservationBlockReader reader : readers(locationKey, from, to)) {
+      while (reader.next() && reader.epochSecond() < to) {
+        if (reader.epochSecond() < from) {
+          continue;
+        }
+        long bucket = Math.floorDiv(reader.epochSecond(), stepSeconds) * stepSeconds;
+        if (current == null || current.getEpochSecond() != bucket) {
+          current = new ObservationAggregate(bucket);
+          buckets.add(current);
+        }
+        current.add(reader.temperatureCenti(), reader.humidity(), reader.windSpeedCenti());
+      }
+    }
+    return buckets;
+  }
+
+  private List<ObservationAggregate> aggregateRollup(String locationKey, int tier, long from, long to,
+                                                     long stepSeconds) {
+    List<ObservationAggregate> buckets = new ArrayList<>();
+    ObservationSeries entry = series.get(locationKey);
+    if (entry == null || from >= to) {
+      return buckets;
+    }
+    List<BlockRef> written = new ArrayList<>();
+    List<ObservationAggregate> rollups = new ArrayList<>();
+    entry.snapshot(tier, from, to, written, rollups);
+    List<ObservationAggregate> decoded = new ArrayList<>();
+    for (BlockRef block : written) {
+      RollupTier.decode(block, decoded);
+    }
+    decoded.addAll(rollups);
+
+    ObservationAggregate current = null;
+    for (ObservationAggregate rollup : decoded) {
+      if (rollup.getEpochSecond() < from || rollup.getEpochSecond() >= to) {
+        continue;
+      }
+      long bucket = Math.floorDiv(rollup.getEpochSecond(), stepSeconds) * stepSeconds;
+      if (current == null || current.getEpochSecond() != bucket) {
+        current = new ObservationAggregate(bucket);
+        buckets.add(current);
+      }
+      current.merge(rollup);
+    }
+    return buckets;
+  }
+
+  private List<ObservationBlockReader> readers(String locationKey, long fromEpochSecond, long toEpochSecond) {
+    List<ObservationBlockReader> readers = new ArrayList<>();
+    ObservationSeries entry = series.get(locationKey);
+    if (entry != null && fromEpochSecond < toEpochSecond) {
+      entry.snapshot(fromEpochSecond, toEpochSecond, readers);
+    }
+    return readers;
+  }
+
+  private ObservationSeries newSeries(String locationKey) {
+    return new ObservationSeries(locationKey, tiers.size());
+  }
+
+  private boolean append(ObservationSeries entry, long epochSecond, int temperatureCenti, int humidity,
+                         int windSpeedCenti) {
+    if (epochSecond <= entry.lastEpoch) {
+      return false;
+    }
+    if (entry.open != null && epochSecond >= entry.openUntil) {
+      close(entry);
+    }
+    if (entry.open == null) {
+      entry.open = new ObservationBlockWriter(epochSecond);
+      entry.openUntil = Math.floorDiv(epochSecond, blockSeconds) * blockSeconds + blockSeconds;
+    }
+    entry.open.append(epochSecond, temperatureCenti, humidity, windSpeedCenti);
+    entry.lastEpoch = epochSecond;
+    return true;
+  }
+
+  /**
+   * Folds an observation into the bucket of a tier; the caller holds the series lock
+   */
+  private void rollUp(ObservationSeries entry, int tier, long epochSecond, int temperatureCenti, int humidity,
+                      int windSpeedCenti) {
+    List<ObservationAggregate> pending = entry.rollups[tier].pending;
+    long bucket = tiers.get(tier).bucketOf(epochSecond);
+    ObservationAggregate current = pending.isEmpty() ? null : pending.get(pending.size() - 1);
+    if (current == null || current.getEpochSecond() != bucket) {
+      current = new ObservationAggregate(bucket);
+      pending.add(current);
+    }
+    current.add(temperatureCenti, humidity, windSpeedCenti);
+  }
+
+  /**
+   * Writes the oldest pending buckets of a tier as one block; the caller holds the series lock
+   *
+   * @return false if the write failed and the buckets were kept pending
+   */
+  private boolean flush(ObservationSeries entry, int tier, int count) {
+    Rollup rollup = entry.rollups[tier];
+    List<ObservationAggregate> buckets = rollup.pending.subList(0, count);
+    try {
+      rollup.blocks.add(tiers.get(tier).log.append(entry.locationKey, buckets.get(0).getEpochSecond(),
+              buckets.get(count - 1).getEpochSecond(), count, RollupTier.encode(buckets)));
+      buckets.clear();
+      rolledUp[tier].increment(count);
+      return true;
+    } catch (IOException e) {
+      // Kept pending for the next flush
+      log.warn("Failed to write {} {} rollups of {}: {}", count, tiers.get(tier).name, entry.locationKey,
+              e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Queues the open block of a series for writing; the caller holds the series lock
+   */
+  private static void close(ObservationSeries entry) {
+    if (entry.open != null) {
+      entry.closed.add(entry.open);
+      entry.open = null;
+    }
+  }
+
+  /**
+   * Writes the closed blocks of a series and every block's worth of completed rollup buckets;
+   * the caller holds the series lock
+   */
+  private void writeCompleted(ObservationSeries entry) {
+    for (ObservationBlockWriter block : entry.closed) {
+      write(entry, block);
+    }
+    entry.closed.clear();
+    for (int i = 0; i < tiers.size(); i++) {
+      int blockBuckets = tiers.get(i).blockBuckets;
+      List<ObservationAggregate> pending = entry.rollups[i].pending;
+      // Only buckets followed by a newer one are complete
+      while (pending.size() > blockBuckets) {
+        if (!flush(entry, i, blockBuckets)) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes a closed block to the active segment; the caller holds the series lock
+   */
+  private void write(ObservationSeries entry, ObservationBlockWriter block) {
+    try {
+      entry.blocks.add(raw.append(entry.locationKey, block.firstEpoch(), block.lastEpoch(), block.count(),
+              block.toByteArray()));
+      sealedBlocks.increment();
+    } catch (IOException e) {
+      log.warn("Failed to write {} observations of {}: {}", block.count(), entry.locationKey, e.getMessage());
+    }
+  }
+
+  private void enforceRetention(SegmentLog segmentLog, long cutoffEpochSecond) {
+    List<ObservationSegment> expired = segmentLog.expire(cutoffEpochSecond);
+    if (expired.isEmpty()) {
+      return;
+    }
+    for (String locationKey : series.keySet()) {
+      series.computeIfPresent(locationKey, (key, entry) -> {
+        synchronized (entry) {
+          entry.blocks.removeIf(block -> expired.contains(block.segment));
+          for (Rollup rollup : entry.rollups) {
+            rollup.blocks.removeIf(block -> expired.contains(block.segment));
+          }
+          return entry.isEmpty() ? null : entry;
+        }
+      });
+    }
+    segmentLog.delete(expired);
+    log.debug("Dropped {} history segments of {} past the retention", expired.size(), segmentLog.directory());
+  }
+
+  private void recover() throws IOException {
+    long blocks = raw.recover((locationKey, block) -> {
+      ObservationSeries entry = series.computeIfAbsent(locationKey, this::newSeries);
+      synchronized (entry) {
+        entry.blocks.add(block);
+        entry.lastEpoch = Math.max(entry.lastEpoch, block.lastEpoch);
+      }
+    });
+    long rollupBlocks = 0;
+    for (int i = 0; i < tiers.size(); i++) {
+      int tier = i;
+      rollupBlocks += tiers.get(tier).log.recover((locationKey, block) -> {
+        ObservationSeries entry = series.computeIfAbsent(locationKey, this::newSeries);
+        synchronized (entry) {
+          entry.rollups[tier].blocks.add(block);
+        }
+      });
+    }
+    long replayed = 0;
+    for (ObservationSeries entry : series.values()) {
+      synchronized (entry) {
+        replayed += replayRollups(entry);
+        writeCompleted(entry);
+      }
+    }
+    log.info("Observation history {} recovered {} blocks and {} rollup blocks of {} locations, "
+            + "replaying {} observations into rollups", raw.directory(), blocks, rollupBlocks, series.size(), replayed);
+  }
+
+  /**
+   * Rebuilds the unwritten rollup buckets of a series from its raw blocks after the last written
+   * bucket of each tier; the caller holds the series lock
+   *
+   * @return number of observations replayed
+   */
+  private long replayRollups(ObservationSeries entry) {
+    long[] resumeAt = new long[tiers.size()];
+    long earliest = Long.MAX_VALUE;
+    for (int i = 0; i < tiers.size(); i++) {
+      List<BlockRef> written = entry.rollups[i].blocks;
+      resumeAt[i] = written.isEmpty() ? Long.MIN_VALUE
+              : written.get(written.size() - 1).lastEpoch + tiers.get(i).resolutionSeconds;
+      earliest = Math.min(earliest, resumeAt[i]);
+    }
+    long replayed = 0;
+    for (BlockRef block : entry.blocks) {
+      if (block.lastEpoch < earliest) {
+        continue;
+      }
+      ObservationBlockReader reader = block.reader();
+      while (reader.next()) {
+        if (reader.epochSecond() < earliest) {
+          continue;
+        }
+        for (int i = 0; i < tiers.size(); i++) {
+          if (reader.epochSecond() >= resumeAt[i]) {
+            rollUp(entry, i, reader.epochSecond(), reader.temperatureCenti(), reader.humidity(),
+                    reader.windSpeedCenti());
+          }
+        }
+        replayed++;
+      }
+    }
+    return replayed;
+  }
+
+  private void drain() {
+    do {
+      try {
+        drainQueue();
+      } finally {
+        draining.set(false);
+      }
+      // Re-check: an observation may have been queued after the last poll but before the flag was cleared
+    } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+  }
+
+  /**
+   * Records the queued observations, then writes what they completed outside {@code series.compute}
+   */
+  private void drainQueue() {
+    Set<String> touched = new HashSet<>();
+    QueuedObservation observation;
+    while ((observation = queue.poll()) != null) {
+      if (record(observation.locationKey, observation.weatherData)) {
+        touched.add(observation.locationKey);
+      }
+    }
+    for (String locationKey : touched) {
+      ObservationSeries entry = series.get(locationKey);
+      if (entry != null) {
+        synchronized (entry) {
+          writeCompleted(entry);
+        }
+      }
+    }
+  }
+
+  private void sealSafely() {
+    try {
+      seal();
+    } catch (RuntimeException e) {
+      log.warn("Observation history seal failed: {}", e.getMessage());
+    }
+  }
+
+  private static void registerLogGauges(MeterRegistry meterRegistry, String resolution, SegmentLog segmentLog) {
+    Gauge.builder("weather.history.bytes", segmentLog, SegmentLog::bytes)
+            .description("Bytes written to segment files")
+            .tag("resolution", resolution)
+            .register(meterRegistry);
+    Gauge.builder("weather.history.segments", segmentLog, SegmentLog::segmentCount)
+            .description("Segment files")
+            .tag("resolution", resolution)
+            .register(meterRegistry);
+  }
+
+  /**
+   * Observation waiting for the history-seal thread
+   */
+  private static final class QueuedObservation {
+
+    private final String locationKey;
+    private final WeatherData weatherData;
+
+    private QueuedObservation(String locationKey, WeatherData weatherData) {
+      this.locationKey = locationKey;
+      this.weatherData = weatherData;
+    }
+  }
+}
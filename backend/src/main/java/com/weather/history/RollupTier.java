@@ -0,0 +1,54 @@
+package com.weather.history;
+
+import com.weather.history.ObservationSeries.BlockRef;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Resolution at which observations are rolled up into aggregates, aligned to the epoch, so daily
+ * buckets follow UTC days. Completed buckets are written in blocks of {@code blockBuckets}
+ * fixed-width {@link ObservationAggregate aggregates} to their own segment log.
+ */
+final class RollupTier {
+
+  final String name;
+  final long resolutionSeconds;
+  final int blockBuckets;
+  final long retentionSeconds;
+  final SegmentLog log;
+
+  RollupTier(String name, long resolutionSeconds, int blockBuckets, long retentionSeconds, SegmentLog log) {
+    this.name = name;
+    this.resolutionSeconds = resolutionSeconds;
+    this.blockBuckets = blockBuckets;
+    this.retentionSeconds = retentionSeconds;
+    this.log = log;
+  }
+
+  long bucketOf(long epochSecond) {
+    return Math.floorDiv(epochSecond, resolutionSeconds) * resolutionSeconds;
+  }
+
+  /**
+   * @return true if steps of {@code stepSeconds} are whole multiples of this resolution
+   */
+  boolean serves(long stepSeconds) {
+    return stepSeconds % resolutionSeconds == 0;
+  }
+
+  static byte[] encode(List<ObservationAggregate> buckets) {
+    ByteBuffer buffer = ByteBuffer.allocate(buckets.size() * ObservationAggregate.BYTES);
+    for (ObservationAggregate bucket : buckets) {
+      bucket.write(buffer);
+    }
+    return buffer.array();
+  }
+
+  static void decode(BlockRef block, List<ObservationAggregate> buckets) {
+    ByteBuffer buffer = block.payload();
+    for (int i = 0; i < block.count; i++) {
+      buckets.add(ObservationAggregate.read(buffer));
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package com.weather.history;
+
+import com.weather.history.ObservationSeries.BlockRef;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Directory of {@link ObservationSegment segments} holding the blocks of one resolution, appended
+ * to the active segment and rolled over when it is full. Each record is
+ * {@code [length][crc32][location key][first][last][count][payload]}, so segments are rescanned
+ * into block references at startup.
+ */
+@Slf4j
+final class SegmentLog {
+
+  private static final String SEGMENT_SUFFIX = ".tsdb";
+  private static final int RECORD_HEADER_BYTES = 8; // length + crc
+  private static final int BLOCK_HEADER_BYTES = 20; // first + last + count
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final ConcurrentSkipListMap<Long, ObservationSegment> segments = new ConcurrentSkipListMap<>();
+
+  private ObservationSegment activeSegment; // guarded by this
+  private long nextSegmentId; // guarded by this
+
+  SegmentLog(Path directory, int segmentBytes) {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+  }
+
+  Path directory() {
+    return directory;
+  }
+
+  int segmentCount() {
+    return segments.size();
+  }
+
+  double bytes() {
+    return segments.values().stream().mapToDouble(ObservationSegment::size).sum();
+  }
+
+  /**
+   * Appends a block to the active segment, starting a new one if it does not fit
+   *
+   * @return reference to the payload of the written block
+   */
+  synchronized BlockRef append(String locationKey, long firstEpoch, long lastEpoch, int count, byte[] payload)
+          throws IOException {
+    byte[] key = locationKey.getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_BYTES + 2 + key.length
+            + BLOCK_HEADER_BYTES + payload.length);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeLong(0); // length and crc, filled below
+    out.writeShort(key.length);
+    out.write(key);
+    out.writeLong(firstEpoch);
+    out.writeLong(lastEpoch);
+    out.writeInt(count);
+    int payloadOffset = bytes.size();
+    out.write(payload);
+    out.flush();
+    byte[] record = bytes.toByteArray();
+
+    CRC32 crc = new CRC32();
+    crc.update(record, RECORD_HEADER_BYTES, record.length - RECORD_HEADER_BYTES);
+    ByteBuffer.wrap(record).putInt(record.length - RECORD_HEADER_BYTES).putInt((int) crc.getValue());
+
+    if (activeSegment == null || !activeSegment.fits(record.length)) {
+      if (record.length > segmentBytes - ObservationSegment.HEADER_BYTES) {
+        throw new IOException("Block of " + record.length + " bytes exceeds the segment size");
+      }
+      if (activeSegment != null) {
+        activeSegment.force();
+      }
+      Files.createDirectories(directory);
+      long id = nextSegmentId++;
+      activeSegment = ObservationSegment.create(id, segmentPath(id), segmentBytes);
+      segments.put(id, activeSegment);
+    }
+    int position = activeSegment.append(record, lastEpoch);
+    return new BlockRef(activeSegment, position + payloadOffset, payload.length, firstEpoch, lastEpoch, count);
+  }
+
+  /**
+   * Removes the segments, other than the active one, whose blocks all end before the cutoff.
+   * The caller drops its references to their blocks, then {@link #delete deletes} them.
+   */
+  synchronized List<ObservationSegment> expire(long cutoffEpochSecond) {
+    List<ObservationSegment> expired = new ArrayList<>();
+    for (ObservationSegment segment : segments.values()) {
+      if (segment != activeSegment && segment.maxEpoch() < cutoffEpochSecond) {
+        segments.remove(segment.id());
+        expired.add(segment);
+      }
+    }
+    return expired;
+  }
+
+  void delete(List<ObservationSegment> expired) {
+    for (ObservationSegment segment : expired) {
+      try {
+        segment.delete();
+      } catch (IOException e) {
+        log.warn("Failed to delete history segment {}: {}", segment.path(), e.getMessage());
+      }
+    }
+  }
+
+  void forceActive() {
+    ObservationSegment active;
+    synchronized (this) {
+      active = activeSegment;
+    }
+    if (active != null) {
+      active.force();
+    }
+  }
+
+  void forceAll() {
+    segments.values().forEach(ObservationSegment::force);
+  }
+
+  /**
+   * Opens the segments of the directory in order and passes each block to the consumer
+   *
+   * @return number of blocks recovered
+   */
+  long recover(BiConsumer<String, BlockRef> consumer) throws IOException {
+    Files.createDirectories(directory);
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+              .filter(path -> segmentId(path) >= 0)
+              .sorted(Comparator.comparingLong(SegmentLog::segmentId))
+              .collect(Collectors.toList());
+    }
+
+    long blocks = 0;
+    for (Path file : files) {
+      long id = segmentId(file);
+      try {
+        ObservationSegment segment = ObservationSegment.open(id, file);
+        blocks += scan(segment, consumer);
+        segments.put(id, segment);
+      } catch (IOException e) {
+        log.warn("Skipping unreadable history segment {}: {}", file, e.getMessage());
+      }
+      synchronized (this) {
+        nextSegmentId = id + 1;
+      }
+    }
+    return blocks;
+  }
+
+  /**
+   * Reads the records of a recovered segment, stopping at the first torn or empty one
+   *
+   * @return number of blocks read
+   */
+  private int scan(ObservationSegment segment, BiConsumer<String, BlockRef> consumer) {
+    ByteBuffer buffer = segment.slice(0, segment.capacity());
+    CRC32 crc = new CRC32();
+    int position = ObservationSegment.HEADER_BYTES;
+    long maxEpoch = Long.MIN_VALUE;
+    int blocks = 0;
+    while (position + RECORD_HEADER_BYTES <= buffer.capacity()) {
+      int length = buffer.getInt(position);
+      int checksum = buffer.getInt(position + 4);
+      int start = position + RECORD_HEADER_BYTES;
+      if (length <= BLOCK_HEADER_BYTES + 2 || start + length > buffer.capacity()) {
+        break;
+      }
+      crc.reset();
+      crc.update(buffer.slice(start, length));
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+
+      int keyLength = buffer.getShort(start) & 0xFFFF;
+      byte[] key = new byte[keyLength];
+      buffer.get(start + 2, key);
+      int header = start + 2 + keyLength;
+      long firstEpoch = buffer.getLong(header);
+      long lastEpoch = buffer.getLong(header + 8);
+      int count = buffer.getInt(header + 16);
+      int payload = header + BLOCK_HEADER_BYTES;
+
+      consumer.accept(new String(key, StandardCharsets.UTF_8),
+              new BlockRef(segment, payload, start + length - payload, firstEpoch, lastEpoch, count));
+      maxEpoch = Math.max(maxEpoch, lastEpoch);
+      blocks++;
+      position = start + length;
+    }
+    segment.recovered(position, maxEpoch);
+    return blocks;
+  }
+
+  private Path segmentPath(long id) {
+    return directory.resolve(String.format("%016d%s", id, SEGMENT_SUFFIX));
+  }
+
+  private static long segmentId(Path file) {
+    String name = file.getFileName().toString();
+    try {
+      return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.weather.mobile;
+
+/**
+ * Push platform of a registered device
+ */
+public enum DevicePlatform {
+  IOS,
+  ANDROID
+}
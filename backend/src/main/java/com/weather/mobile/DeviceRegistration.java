@@ -0,0 +1,36 @@
+package com.weather.mobile;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Immutable registration of one device: its push token and what it follows.
+ * Location keys are {@link com.weather.model.Location#searchKey search keys}, as used by the alert
+ * push topics and the notification pipeline.
+ */
+@Value
+public class DeviceRegistration {
+
+  String token;
+  DevicePlatform platform;
+  Set<String> locationKeys;
+  Set<String> alertIds;
+  Instant updatedAt;
+
+  public DeviceRegistration(String token, DevicePlatform platform, Set<String> locationKeys,
+                            Set<String> alertIds, Instant updatedAt) {
+    if (token == null || token.isBlank()) {
+      throw new IllegalArgumentException("Device token cannot be null or empty");
+    }
+    if (platform == null) {
+      throw new IllegalArgumentException("Platform cannot be null");
+    }
+    this.token = token;
+    this.platform = platform;
+    this.locationKeys = locationKeys == null ? Set.of() : Set.copyOf(locationKeys);
+    this.alertIds = alertIds == null ? Set.of() : Set.copyOf(alertIds);
+    this.updatedAt = updatedAt;
+  }
+}
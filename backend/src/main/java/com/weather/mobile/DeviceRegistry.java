@@ -0,0 +1,330 @@
+package com.weather.mobile;
+
+import com.weather.config.MobileConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory registry of mobile devices for push notifications.
+ * Devices are spread over shards by token hash; each shard holds its devices plus secondary
+ * indexes from location key and alert id to device tokens, all guarded by one read-write lock,
+ * so a registration and its index entries always change together. Resolving recipients reads
+ * each shard's index once, costing O(shards + recipients) rather than a scan of all devices.
+ * The registry is snapshotted to local disk periodically when it changed, and restored on start.
+ */
+@Slf4j
+@Component
+public class DeviceRegistry {
+
+  private static final int SNAPSHOT_MAGIC = 0x44455631; // "DEV1"
+
+  private final Shard[] shards;
+  private final int shardMask;
+  private final int maxDevices;
+  private final Path snapshotFile;
+  private final long snapshotIntervalMillis;
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicLong mutations = new AtomicLong();
+  private volatile long snapshotMutations;
+
+  private ScheduledExecutorService snapshotter;
+
+  public DeviceRegistry(MobileConfig config) {
+    int shardCount = Integer.highestOneBit(Math.max(1, config.getShards() - 1) << 1); // next power of two
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard();
+    }
+    this.shardMask = shardCount - 1;
+    this.maxDevices = config.getMaxDevices();
+    this.snapshotFile = Paths.get(config.getSnapshotFile());
+    this.snapshotIntervalMillis = config.getSnapshotInterval().toMillis();
+  }
+
+  @PostConstruct
+  public void start() {
+    restoreSnapshot();
+    snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "device-snapshot");
+      thread.setDaemon(true);
+      return thread;
+    });
+    snapshotter.scheduleWithFixedDelay(this::snapshotIfChanged,
+            snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (snapshotter != null) {
+      snapshotter.shutdownNow();
+    }
+    snapshotIfChanged();
+  }
+
+  /**
+   * Registers a device or replaces its previous registration
+   *
+   * @return true if the device was not registered before
+   * @throws IllegalStateException if the registry is full
+   */
+  public boolean register(DeviceRegistration registration) {
+    Shard shard = shard(registration.getToken());
+    boolean created;
+    shard.lock.writeLock().lock();
+    try {
+      DeviceRegistration previous = shard.devices.get(registration.getToken());
+      created = previous == null;
+      if (created) {
+        // Reserve a slot first so concurrent registrations on other shards cannot overshoot the limit
+        if (size.incrementAndGet() > maxDevices) {
+          size.decrementAndGet();
+          throw new IllegalStateException("Device registry is full");
+        }
+      } else {
+        shard.unindex(previous);
+      }
+      shard.devices.put(registration.getToken(), registration);
+      shard.index(registration);
+    } finally {
+      shard.lock.writeLock().unlock();
+    }
+    mutations.incrementAndGet();
+    return created;
+  }
+
+  /**
+   * Removes a device
+   *
+   * @return true if the device was registered
+   */
+  public boolean unregister(String token) {
+    Shard shard = shard(token);
+    shard.lock.writeLock().lock();
+    try {
+      DeviceRegistration previous = shard.devices.remove(token);
+      if (previous == null) {
+        return false;
+      }
+      shard.unindex(previous);
+      size.decrementAndGet();
+    } finally {
+      shard.lock.writeLock().unlock();
+    }
+    mutations.incrementAndGet();
+    return true;
+  }
+
+  public Optional<DeviceRegistration> find(String token) {
+    Shard shard = shard(token);
+    shard.lock.readLock().lock();
+    try {
+      return Optional.ofNullable(shard.devices.get(token));
+    } finally {
+      shard.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Resolves the devices following a location or an alert, each at most once
+   *
+   * @param locationKey {@link com.weather.model.Location#searchKey search key} of the location, may be null
+   * @param alertId     alert id, may be null
+   */
+  public List<DeviceRegistration> recipients(String locationKey, String alertId) {
+    List<DeviceRegistration> recipients = new ArrayList<>();
+    for (Shard shard : shards) {
+      shard.lock.readLock().lock();
+      try {
+        Set<String> byLocation = locationKey == null ? null : shard.byLocation.get(locationKey);
+        Set<String> byAlert = alertId == null ? null : shard.byAlert.get(alertId);
+        if (byLocation != null) {
+          for (String token : byLocation) {
+            recipients.add(shard.devices.get(token));
+          }
+        }
+        if (byAlert != null) {
+          for (String token : byAlert) {
+            if (byLocation == null || !byLocation.contains(token)) {
+              recipients.add(shard.devices.get(token));
+            }
+          }
+        }
+      } finally {
+        shard.lock.readLock().unlock();
+      }
+    }
+    return recipients;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Writes a snapshot if the registry changed since the last one
+   */
+  public synchronized void snapshotIfChanged() {
+    long observed = mutations.get();
+    if (observed == snapshotMutations) {
+      return;
+    }
+    try {
+      writeSnapshot();
+      snapshotMutations = observed;
+    } catch (IOException e) {
+      log.warn("Failed to snapshot device registry to {}: {}", snapshotFile, e.getMessage());
+    }
+  }
+
+  private void writeSnapshot() throws IOException {
+    Path parent = snapshotFile.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+    int written = 0;
+    try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temp), 1 << 20))) {
+      out.writeInt(SNAPSHOT_MAGIC);
+      for (Shard shard : shards) {
+        // Copy references under the lock; registrations are immutable, so encode after releasing it
+        List<DeviceRegistration> devices;
+        shard.lock.readLock().lock();
+        try {
+          devices = new ArrayList<>(shard.devices.values());
+        } finally {
+          shard.lock.readLock().unlock();
+        }
+        for (DeviceRegistration device : devices) {
+          out.writeBoolean(true);
+          writeDevice(out, device);
+          written++;
+        }
+      }
+      out.writeBoolean(false);
+    }
+    Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    log.debug("Snapshotted {} devices to {}", written, snapshotFile);
+  }
+
+  private void restoreSnapshot() {
+    if (!Files.exists(snapshotFile)) {
+      return;
+    }
+    int restored = 0;
+    try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 20))) {
+      if (in.readInt() != SNAPSHOT_MAGIC) {
+        log.warn("Ignoring device snapshot {} with unknown format", snapshotFile);
+        return;
+      }
+      while (in.readBoolean()) {
+        register(readDevice(in));
+        restored++;
+      }
+      snapshotMutations = mutations.get();
+      log.info("Restored {} devices from {}", restored, snapshotFile);
+    } catch (IOException | RuntimeException e) {
+      // A truncated snapshot still restores every complete record before the damage
+      log.warn("Device snapshot {} is damaged, restored {} devices: {}", snapshotFile, restored, e.getMessage());
+    }
+  }
+
+  private static void writeDevice(DataOutputStream out, DeviceRegistration device) throws IOException {
+    out.writeUTF(device.getToken());
+    out.writeByte(device.getPlatform().ordinal());
+    out.writeLong(device.getUpdatedAt() == null ? 0 : device.getUpdatedAt().toEpochMilli());
+    writeStrings(out, device.getLocationKeys());
+    writeStrings(out, device.getAlertIds());
+  }
+
+  private static DeviceRegistration readDevice(DataInputStream in) throws IOException {
+    String token = in.readUTF();
+    DevicePlatform platform = DevicePlatform.values()[in.readByte()];
+    long updatedAt = in.readLong();
+    Set<String> locationKeys = readStrings(in);
+    Set<String> alertIds = readStrings(in);
+    return new DeviceRegistration(token, platform, locationKeys, alertIds,
+            updatedAt == 0 ? null : Instant.ofEpochMilli(updatedAt));
+  }
+
+  private static void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+    out.writeShort(values.size());
+    for (String value : values) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static Set<String> readStrings(DataInputStream in) throws IOException {
+    int count = in.readUnsignedShort();
+    Set<String> values = new HashSet<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      values.add(in.readUTF());
+    }
+    return values;
+  }
+
+  private Shard shard(String token) {
+    int hash = token.hashCode();
+    return shards[(hash ^ (hash >>> 16)) & shardMask];
+  }
+
+  private static final class Shard {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, DeviceRegistration> devices = new HashMap<>();
+    private final Map<String, Set<String>> byLocation = new HashMap<>();
+    private final Map<String, Set<String>> byAlert = new HashMap<>();
+
+    private void index(DeviceRegistration device) {
+      for (String locationKey : device.getLocationKeys()) {
+        byLocation.computeIfAbsent(locationKey, key -> new HashSet<>()).add(device.getToken());
+      }
+      for (String alertId : device.getAlertIds()) {
+        byAlert.computeIfAbsent(alertId, key -> new HashSet<>()).add(device.getToken());
+      }
+    }
+
+    private void unindex(DeviceRegistration device) {
+      for (String locationKey : device.getLocationKeys()) {
+        remove(byLocation, locationKey, device.getToken());
+      }
+      for (String alertId : device.getAlertIds()) {
+        remove(byAlert, alertId, device.getToken());
+      }
+    }
+
+    private static void remove(Map<String, Set<String>> index, String key, String token) {
+      Set<String> tokens = index.get(key);
+      if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+}
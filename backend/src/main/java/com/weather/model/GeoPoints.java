@@ -0,0 +1,187 @@
+package com.weather.model;
+
+import java.util.List;
+
+/**
+ * Batch of coordinates prepared for repeated distance computations.
+ * Coordinates are converted to radians once and the cosine of each latitude is precomputed, so a
+ * distance costs two sines and a square root per point instead of a dozen trigonometric calls, and
+ * radius filters compare haversine values directly without any inverse function.
+ * <p>
+ * The equirectangular variants treat the sphere as flat around the query point. They are within
+ * 0.1% of the great-circle distance up to a few hundred kilometers away from the poles, and should
+ * be used only for short ranges.
+ */
+public final class GeoPoints {
+
+  public static final double EARTH_RADIUS_KM = 6371.0;
+
+  private final double[] latitudes;    // Radians
+  private final double[] longitudes;   // Radians
+  private final double[] cosLatitudes;
+
+  private GeoPoints(double[] latitudes, double[] longitudes) {
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+    this.cosLatitudes = new double[latitudes.length];
+    for (int i = 0; i < latitudes.length; i++) {
+      cosLatitudes[i] = Math.cos(latitudes[i]);
+    }
+  }
+
+  /**
+   * @param latitudes  latitudes in degrees
+   * @param longitudes longitudes in degrees, same length as latitudes
+   */
+  public static GeoPoints fromDegrees(double[] latitudes, double[] longitudes) {
+    if (latitudes.length != longitudes.length) {
+      throw new IllegalArgumentException("Latitude and longitude arrays must have the same length");
+    }
+    double[] latitudeRadians = new double[latitudes.length];
+    double[] longitudeRadians = new double[longitudes.length];
+    for (int i = 0; i < latitudes.length; i++) {
+      latitudeRadians[i] = Math.toRadians(latitudes[i]);
+      longitudeRadians[i] = Math.toRadians(longitudes[i]);
+    }
+    return new GeoPoints(latitudeRadians, longitudeRadians);
+  }
+
+  public static GeoPoints of(List<Location> locations) {
+    double[] latitudes = new double[locations.size()];
+    double[] longitudes = new double[locations.size()];
+    for (int i = 0; i < latitudes.length; i++) {
+      latitudes[i] = locations.get(i).getLatitude();
+      longitudes[i] = locations.get(i).getLongitude();
+    }
+    return fromDegrees(latitudes, longitudes);
+  }
+
+  public int size() {
+    return latitudes.length;
+  }
+
+  /**
+   * Great-circle distance between two coordinates given in degrees
+   *
+   * @return distance in kilometers
+   */
+  public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+    double lat1 = Math.toRadians(latitude1);
+    double lat2 = Math.toRadians(latitude2);
+    return toKm(haversine(lat1, Math.toRadians(longitude1), Math.cos(lat1), lat2, Math.toRadians(longitude2), Math.cos(lat2)));
+  }
+
+  /**
+   * Great-circle distance from point {@code index} to the given coordinates
+   *
+   * @return distance in kilometers
+   */
+  public double distanceKm(int index, double latitude, double longitude) {
+    double lat = Math.toRadians(latitude);
+    return toKm(haversine(lat, Math.toRadians(longitude), Math.cos(lat),
+            latitudes[index], longitudes[index], cosLatitudes[index]));
+  }
+
+  /**
+   * Great-circle distances from the given coordinates to every point
+   *
+   * @param distances receives the distance to point i in kilometers at index i
+   */
+  public void distancesKm(double latitude, double longitude, double[] distances) {
+    checkCapacity(distances.length);
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double cosLat = Math.cos(lat);
+    for (int i = 0; i < latitudes.length; i++) {
+      distances[i] = toKm(haversine(lat, lon, cosLat, latitudes[i], longitudes[i], cosLatitudes[i]));
+    }
+  }
+
+  /**
+   * Equirectangular approximation of {@link #distancesKm}, for points close to the given coordinates
+   */
+  public void approximateDistancesKm(double latitude, double longitude, double[] distances) {
+    checkCapacity(distances.length);
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double cosLat = Math.cos(lat);
+    for (int i = 0; i < latitudes.length; i++) {
+      distances[i] = EARTH_RADIUS_KM * Math.sqrt(equirectangular(lat, lon, cosLat, i));
+    }
+  }
+
+  /**
+   * Collects the points within a radius, comparing haversine values so no distance is computed
+   *
+   * @param matches receives the indexes of the matching points, in ascending order
+   * @return number of matches written
+   */
+  public int within(double latitude, double longitude, double radiusKm, int[] matches) {
+    checkCapacity(matches.length);
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double cosLat = Math.cos(lat);
+    double halfAngle = Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+    double limit = halfAngle * halfAngle;
+    int count = 0;
+    for (int i = 0; i < latitudes.length; i++) {
+      if (haversine(lat, lon, cosLat, latitudes[i], longitudes[i], cosLatitudes[i]) <= limit) {
+        matches[count++] = i;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Equirectangular approximation of {@link #within}, for radii of up to a few hundred kilometers
+   */
+  public int withinApproximate(double latitude, double longitude, double radiusKm, int[] matches) {
+    checkCapacity(matches.length);
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double cosLat = Math.cos(lat);
+    double angle = radiusKm / EARTH_RADIUS_KM;
+    double limit = angle * angle;
+    int count = 0;
+    for (int i = 0; i < latitudes.length; i++) {
+      if (equirectangular(lat, lon, cosLat, i) <= limit) {
+        matches[count++] = i;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return haversine of the central angle between two points, from 0 (same point) to 1 (antipodes)
+   */
+  static double haversine(double lat1, double lon1, double cosLat1, double lat2, double lon2, double cosLat2) {
+    double sinLat = Math.sin((lat2 - lat1) / 2);
+    double sinLon = Math.sin((lon2 - lon1) / 2);
+    return sinLat * sinLat + cosLat1 * cosLat2 * sinLon * sinLon;
+  }
+
+  private static double toKm(double haversine) {
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(haversine)));
+  }
+
+  /**
+   * @return squared central angle between the query and point i on a plane tangent at the query
+   */
+  private double equirectangular(double lat, double lon, double cosLat, int i) {
+    double deltaLon = longitudes[i] - lon;
+    if (deltaLon > Math.PI) {
+      deltaLon -= 2 * Math.PI;
+    } else if (deltaLon < -Math.PI) {
+      deltaLon += 2 * Math.PI;
+    }
+    double x = deltaLon * (cosLat + cosLatitudes[i]) / 2; // Mean cosine stands in for the cosine of the mean latitude
+    double y = latitudes[i] - lat;
+    return x * x + y * y;
+  }
+
+  private void checkCapacity(int length) {
+    if (length < latitudes.length) {
+      throw new IllegalArgumentException("Output array must hold " + latitudes.length + " values");
+    }
+  }
+}
@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import java.util.Locale;
+
 /**
  * Represents a geographical location with city, country, and coordinates
  */
@@ -19,7 +21,6 @@ public class Location {
   private static final double MIN_LONGITUDE = -180.0;
   private static final double MAX_LONGITUDE = 180.0;
   private static final int COUNTRY_CODE_LENGTH = 2;
-  private static final double EARTH_RADIUS_KM = 6371.0;
   private String city;
   private String country;
   private double latitude;
@@ -67,7 +68,8 @@ public class Location {
   }
 
   /**
-   * Calculates the distance to another location using the Haversine formula
+   * Calculates the distance to another location using the Haversine formula.
+   * For many distances from one point, use {@link GeoPoints}.
    *
    * @param other the other location
    * @return distance in kilometers
@@ -76,28 +78,18 @@ public class Location {
     if (other == null) {
       throw new IllegalArgumentException("Other location cannot be null");
     }
-
-    if (this.equals(other)) {
-      return 0.0;
-    }
-
-    double currentLatitudeRadians = Math.toRadians(this.latitude);
-    double haversineValue = getHaversineValue(other, currentLatitudeRadians);
-
-    double angularDistance = 2 * Math.atan2(Math.sqrt(haversineValue), Math.sqrt(1 - haversineValue));
-
-    return EARTH_RADIUS_KM * angularDistance;
+    return GeoPoints.distanceKm(latitude, longitude, other.latitude, other.longitude);
   }
 
-  private double getHaversineValue(Location other, double currentLatitudeRadians) {
-    double otherLatitudeRadians = Math.toRadians(other.latitude);
-    double latitudeDifferenceRadians = Math.toRadians(other.latitude - this.latitude);
-    double longitudeDifferenceRadians = Math.toRadians(other.longitude - this.longitude);
-
-    // Haversine formula
-    return Math.sin(latitudeDifferenceRadians / 2) * Math.sin(latitudeDifferenceRadians / 2) +
-            Math.cos(currentLatitudeRadians) * Math.cos(otherLatitudeRadians) *
-                    Math.sin(longitudeDifferenceRadians / 2) * Math.sin(longitudeDifferenceRadians / 2);
+  /**
+   * Case-insensitive key for matching locations by name, e.g. {@code milan_IT}
+   *
+   * @param city    city name
+   * @param country country code
+   * @return key of the lower-cased city and upper-cased country code
+   */
+  public static String searchKey(String city, String country) {
+    return city.trim().toLowerCase(Locale.ROOT) + "_" + country.trim().toUpperCase(Locale.ROOT);
   }
 
   /**
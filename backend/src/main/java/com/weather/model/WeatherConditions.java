@@ -0,0 +1,57 @@
+package com.weather.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide table of canonical weather condition names.
+ * Upstream providers report a small vocabulary of conditions, so every {@link WeatherData}
+ * shares one String per name instead of holding its own copy from each parsed response.
+ * The table is bounded: once full, unknown names are used as given rather than interned, so an
+ * unexpectedly large vocabulary costs memory per instance but never fails a request.
+ */
+public final class WeatherConditions {
+
+  private static final int MAX_NAMES = 4_096;
+  private static final String[] COMMON = {
+          "Clear", "Clouds", "Rain", "Drizzle", "Thunderstorm", "Snow", "Mist", "Fog", "Haze",
+          "Smoke", "Dust", "Sand", "Ash", "Squall", "Tornado", "Sunny", "Partly Cloudy", "Cloudy",
+          "Overcast", "Light Rain", "Heavy Rain", "Showers", "Windy"
+  };
+  private static final WeatherConditions SHARED = new WeatherConditions(MAX_NAMES);
+
+  private final int maxNames;
+  private final Map<String, String> names = new ConcurrentHashMap<>();
+
+  WeatherConditions(int maxNames) {
+    this.maxNames = maxNames;
+    for (String name : COMMON) {
+      canonical(name);
+    }
+  }
+
+  /**
+   * @param name trimmed condition name
+   * @return the shared instance of the name, or the name itself if the table is full
+   */
+  public static String intern(String name) {
+    return SHARED.canonical(name);
+  }
+
+  String canonical(String name) {
+    String canonical = names.get(name);
+    if (canonical != null) {
+      return canonical;
+    }
+    // Racing inserts may overshoot the bound by a few names, which is harmless
+    if (names.size() >= maxNames) {
+      return name;
+    }
+    canonical = names.putIfAbsent(name, name);
+    return canonical != null ? canonical : name;
+  }
+
+  int size() {
+    return names.size();
+  }
+}
@@ -1,104 +1,266 @@
 package com.weather.model;
 
 import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.Setter;
-import lombok.ToString;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 import static java.time.ZoneId.systemDefault;
 
 /**
- * Weather data model with validation and unit conversion capabilities.
+ * Immutable weather data with validation and unit conversion capabilities.
  * Temperature is stored in Celsius, timestamp tracks data freshness.
+ * Fields are kept compact because instances fill the caches and forecasts: temperature and
+ * wind speed in hundredths, the condition as a shared {@link WeatherConditions} name and the
+ * timestamp as epoch seconds. Accessors convert back to the usual units.
+ * The timestamp is always the observation or fetch time; forecast points carry the time their
+ * values hold for separately, as their valid time.
+ * Instances are shared as-is from the caches, so they are built once through {@link #builder()},
+ * which validates every value, and never change afterwards.
  */
-@Getter
-@EqualsAndHashCode(exclude = "timestamp")
-@ToString
-public class WeatherData {
+@EqualsAndHashCode(exclude = {"epochSecond", "validAtEpochSecond"})
+public final class WeatherData {
 
   private static final double ABSOLUTE_ZERO_CELSIUS = -273.15;
   private static final double MAX_RECORDED_TEMPERATURE = 100.0;
-  private double temperature;
-  private String condition;
-  private int humidity;
-  private double windSpeed;
-  @Setter
-  private LocalDateTime timestamp;
+  private static final double MAX_WIND_SPEED = 20_000_000.0; // Keeps hundredths within an int
+  private static final long FRESHNESS_SECONDS = 60 * 60;
 
-  public WeatherData() {
-    this.timestamp = LocalDateTime.now();
-  }
+  private final short temperatureCenti;
+  private final String condition; // null if unset
+  private final byte humidity;
+  private final int windSpeedCenti;
+  private final long epochSecond;
+  private final long validAtEpochSecond; // Same as epochSecond unless a forecast point
 
   public WeatherData(double temperature, String condition, int humidity, double windSpeed) {
-    this();
-    setTemperature(temperature);
-    setCondition(condition);
-    setHumidity(humidity);
-    setWindSpeed(windSpeed);
+    this(builder().temperature(temperature).condition(condition).humidity(humidity).windSpeed(windSpeed));
   }
 
-  /**
-   * @param temperature in Celsius, must be above absolute zero (-273.15°C) and below 100°C
-   */
-  public void setTemperature(double temperature) {
+  private WeatherData(Builder builder) {
+    double temperature = builder.temperature;
     if (temperature < ABSOLUTE_ZERO_CELSIUS) {
       throw new IllegalArgumentException("Temperature cannot be below absolute zero (-273.15°C)");
     }
     if (temperature > MAX_RECORDED_TEMPERATURE) {
       throw new IllegalArgumentException("Temperature exceeds reasonable maximum (" + MAX_RECORDED_TEMPERATURE + "°C)");
     }
-    this.temperature = temperature;
-  }
-
-  public void setCondition(String condition) {
-    if (condition == null) {
-      throw new IllegalArgumentException("Weather condition cannot be null");
+    if (builder.conditionSet) {
+      if (builder.condition == null) {
+        throw new IllegalArgumentException("Weather condition cannot be null");
+      }
+      if (builder.condition.trim().isEmpty()) {
+        throw new IllegalArgumentException("Weather condition cannot be empty");
+      }
     }
-    if (condition.trim().isEmpty()) {
-      throw new IllegalArgumentException("Weather condition cannot be empty");
+    if (builder.humidity < 0 || builder.humidity > 100) {
+      throw new IllegalArgumentException("Humidity must be between 0 and 100 percent");
+    }
+    if (builder.windSpeed < 0) {
+      throw new IllegalArgumentException("Wind speed cannot be negative");
     }
-    this.condition = condition.trim();
+    if (builder.windSpeed > MAX_WIND_SPEED) {
+      throw new IllegalArgumentException("Wind speed exceeds reasonable maximum");
+    }
+
+    this.temperatureCenti = (short) Math.round(temperature * 100);
+    this.condition = builder.conditionSet ? WeatherConditions.intern(builder.condition.trim()) : null;
+    this.humidity = (byte) builder.humidity;
+    this.windSpeedCenti = (int) Math.round(builder.windSpeed * 100);
+    this.epochSecond = builder.epochSecond != null ? builder.epochSecond : Instant.now().getEpochSecond();
+    this.validAtEpochSecond = builder.validAtEpochSecond != null ? builder.validAtEpochSecond : epochSecond;
+  }
+
+  public static Builder builder() {
+    return new Builder();
   }
 
   /**
-   * @param humidity percentage value between 0-100
+   * @return a builder initialised with this instance's values, for deriving a modified copy
    */
-  public void setHumidity(int humidity) {
-    if (humidity < 0 || humidity > 100) {
-      throw new IllegalArgumentException("Humidity must be between 0 and 100 percent");
+  public Builder toBuilder() {
+    Builder builder = builder()
+            .temperature(getTemperature())
+            .humidity(humidity)
+            .windSpeed(getWindSpeed())
+            .epochSecond(epochSecond);
+    if (validAtEpochSecond != epochSecond) {
+      builder.validAt(validAtEpochSecond);
     }
-    this.humidity = humidity;
+    return condition == null ? builder : builder.condition(condition);
   }
 
-  public void setWindSpeed(double windSpeed) {
-    if (windSpeed < 0) {
-      throw new IllegalArgumentException("Wind speed cannot be negative");
-    }
-    this.windSpeed = windSpeed;
+  /**
+   * @return temperature in Celsius, to hundredths of a degree
+   */
+  public double getTemperature() {
+    return temperatureCenti / 100.0;
   }
 
-  public double getTemperatureInFahrenheit() {
-    return (temperature * 9.0 / 5.0) + 32.0;
+  public String getCondition() {
+    return condition;
+  }
+
+  public int getHumidity() {
+    return humidity;
+  }
+
+  /**
+   * @return wind speed in km/h, to hundredths
+   */
+  public double getWindSpeed() {
+    return windSpeedCenti / 100.0;
+  }
+
+  /**
+   * @return observation time in the system time zone, to the second
+   */
+  public LocalDateTime getTimestamp() {
+    return getTimestamp(systemDefault());
+  }
+
+  /**
+   * @return observation time in the given time zone, to the second
+   */
+  public LocalDateTime getTimestamp(ZoneId zone) {
+    return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone);
+  }
+
+  /**
+   * @return observation time in seconds since the epoch
+   */
+  public long getEpochSecond() {
+    return epochSecond;
+  }
+
+  /**
+   * @return time the values hold for in seconds since the epoch: the valid time of a forecast
+   * point, the observation time otherwise
+   */
+  public long getValidAtEpochSecond() {
+    return validAtEpochSecond;
+  }
+
+  /**
+   * @return time the values hold for in the given time zone, to the second
+   */
+  public LocalDateTime getValidAt(ZoneId zone) {
+    return LocalDateTime.ofInstant(Instant.ofEpochSecond(validAtEpochSecond), zone);
   }
 
-  public void setTemperatureFromFahrenheit(double fahrenheit) {
-    double celsius = (fahrenheit - 32.0) * 5.0 / 9.0;
-    setTemperature(celsius);
+  public double getTemperatureInFahrenheit() {
+    return (getTemperature() * 9.0 / 5.0) + 32.0;
   }
 
   /**
    * @return true if data is less than 1 hour old
    */
   public boolean isFresh() {
-    long oneHourInMillis = 60 * 60 * 1000;
-    long timestampInMillis = timestamp.atZone(systemDefault()).toInstant().toEpochMilli();
-    return (System.currentTimeMillis() - timestampInMillis) < oneHourInMillis;
+    return isFresh(Instant.now().getEpochSecond(), FRESHNESS_SECONDS);
+  }
+
+  /**
+   * Zone-free freshness check against a clock reading taken by the caller
+   *
+   * @return true if data is less than {@code windowSeconds} old at {@code nowEpochSecond}
+   */
+  public boolean isFresh(long nowEpochSecond, long windowSeconds) {
+    return nowEpochSecond - epochSecond < windowSeconds;
   }
 
   public String getDescription() {
     return String.format("%.1f°C, %s, %d%% humidity, %.1f km/h wind",
-            temperature, condition, humidity, windSpeed);
+            getTemperature(), getCondition(), humidity, getWindSpeed());
+  }
+
+  @Override
+  public String toString() {
+    return "WeatherData(temperature=" + getTemperature() + ", condition=" + getCondition()
+            + ", humidity=" + humidity + ", windSpeed=" + getWindSpeed() + ", timestamp=" + getTimestamp() + ")";
+  }
+
+  /**
+   * Collects values for a {@link WeatherData}; validation runs once in {@link #build()}.
+   * The timestamp defaults to the time of building.
+   */
+  public static final class Builder {
+
+    private double temperature;
+    private String condition;
+    private boolean conditionSet;
+    private int humidity;
+    private double windSpeed;
+    private Long epochSecond;
+    private Long validAtEpochSecond;
+
+    private Builder() {
+    }
+
+    /**
+     * @param temperature in Celsius, must be above absolute zero (-273.15°C) and below 100°C
+     */
+    public Builder temperature(double temperature) {
+      this.temperature = temperature;
+      return this;
+    }
+
+    public Builder temperatureFromFahrenheit(double fahrenheit) {
+      this.temperature = (fahrenheit - 32.0) * 5.0 / 9.0;
+      return this;
+    }
+
+    public Builder condition(String condition) {
+      this.condition = condition;
+      this.conditionSet = true;
+      return this;
+    }
+
+    /**
+     * @param humidity percentage value between 0-100
+     */
+    public Builder humidity(int humidity) {
+      this.humidity = humidity;
+      return this;
+    }
+
+    /**
+     * @param windSpeed in km/h
+     */
+    public Builder windSpeed(double windSpeed) {
+      this.windSpeed = windSpeed;
+      return this;
+    }
+
+    public Builder timestamp(LocalDateTime timestamp) {
+      if (timestamp == null) {
+        throw new IllegalArgumentException("Timestamp cannot be null");
+      }
+      this.epochSecond = timestamp.atZone(systemDefault()).toEpochSecond();
+      return this;
+    }
+
+    /**
+     * @param epochSecond observation or fetch time, never the valid time of a forecast
+     */
+    public Builder epochSecond(long epochSecond) {
+      this.epochSecond = epochSecond;
+      return this;
+    }
+
+    /**
+     * @param validAtEpochSecond time a forecast point holds for; defaults to the observation time
+     */
+    public Builder validAt(long validAtEpochSecond) {
+      this.validAtEpochSecond = validAtEpochSecond;
+      return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if any value is out of range
+     */
+    public WeatherData build() {
+      return new WeatherData(this);
+    }
   }
 }
@@ -0,0 +1,63 @@
+package com.weather.monitoring;
+
+import com.weather.model.WeatherData;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Estimates the heap held by a Caffeine cache by sizing a sample of entries.
+ * Sizes are shallow heuristics for a 64-bit JVM with compressed oops, not measurements.
+ */
+public final class CacheSizeEstimator {
+
+  private static final int SAMPLE_SIZE = 32;
+  private static final long ENTRY_OVERHEAD = 64; // Caffeine node plus hash table slot
+  private static final long STRING_OVERHEAD = 40; // String object plus byte[] header
+  private static final long WEATHER_DATA_BYTES = 40; // header, packed primitives, two times and a shared condition name
+  private static final long UNKNOWN_VALUE_BYTES = 64;
+
+  private CacheSizeEstimator() {
+  }
+
+  /**
+   * @return estimated bytes held by the cache's keys and values
+   */
+  public static long estimateBytes(com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+    long entries = cache.estimatedSize();
+    if (entries == 0) {
+      return 0;
+    }
+
+    long sampledBytes = 0;
+    int sampled = 0;
+    Iterator<Map.Entry<Object, Object>> iterator = cache.asMap().entrySet().iterator();
+    while (iterator.hasNext() && sampled < SAMPLE_SIZE) {
+      Map.Entry<Object, Object> entry = iterator.next();
+      sampledBytes += ENTRY_OVERHEAD + objectBytes(entry.getKey()) + objectBytes(entry.getValue());
+      sampled++;
+    }
+    return sampled == 0 ? 0 : sampledBytes / sampled * entries;
+  }
+
+  static long objectBytes(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return STRING_OVERHEAD + ((String) value).length();
+    }
+    if (value instanceof WeatherData) {
+      return WEATHER_DATA_BYTES;
+    }
+    if (value instanceof Object[]) {
+      Object[] array = (Object[]) value;
+      long bytes = 16 + 4L * array.length;
+      for (Object item : array) {
+        bytes += objectBytes(item);
+      }
+      return bytes;
+    }
+    return UNKNOWN_VALUE_BYTES;
+  }
+}
@@ -0,0 +1,107 @@
+package com.weather.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records per-endpoint latency histograms with SLO buckets, tagged by outcome and cache state.
+ * Endpoints are identified by their mapping pattern, so tag cardinality stays bounded.
+ * Timers are registered on first use of each (endpoint, outcome, cache) and reused afterwards.
+ */
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+
+  private static final String START_ATTRIBUTE = EndpointMetricsInterceptor.class.getName() + ".start";
+  private static final String UNMAPPED = "UNMAPPED";
+
+  private final MeterRegistry meterRegistry;
+  private final Duration[] serviceLevelObjectives;
+  private final Map<String, AtomicReferenceArray<Timer>> timers = new ConcurrentHashMap<>();
+
+  public EndpointMetricsInterceptor(MeterRegistry meterRegistry, List<Duration> serviceLevelObjectives) {
+    this.meterRegistry = meterRegistry;
+    this.serviceLevelObjectives = serviceLevelObjectives.toArray(new Duration[0]);
+  }
+
+  /**
+   * Response outcome classes reported on the endpoint histogram
+   */
+  enum Outcome {
+    SUCCESS("2xx"), REDIRECT("3xx"), CLIENT_ERROR("4xx"), UNAVAILABLE("503"), SERVER_ERROR("5xx");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+
+    static Outcome of(int status) {
+      if (status == 503) {
+        return UNAVAILABLE;
+      }
+      if (status >= 500) {
+        return SERVER_ERROR;
+      }
+      if (status >= 400) {
+        return CLIENT_ERROR;
+      }
+      return status >= 300 ? REDIRECT : SUCCESS;
+    }
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    RequestCacheState.reset();
+    request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                              Exception ex) {
+    Object start = request.getAttribute(START_ATTRIBUTE);
+    if (!(start instanceof Long)) {
+      return;
+    }
+    long elapsed = System.nanoTime() - (Long) start;
+    int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+
+    timer(endpoint(request), Outcome.of(status), RequestCacheState.current())
+            .record(elapsed, TimeUnit.NANOSECONDS);
+    RequestCacheState.reset();
+  }
+
+  private Timer timer(String endpoint, Outcome outcome, RequestCacheState cacheState) {
+    AtomicReferenceArray<Timer> endpointTimers = timers.computeIfAbsent(endpoint,
+            e -> new AtomicReferenceArray<>(Outcome.values().length * RequestCacheState.values().length));
+    int slot = outcome.ordinal() * RequestCacheState.values().length + cacheState.ordinal();
+    Timer timer = endpointTimers.get(slot);
+    if (timer == null) {
+      // Benign race: registration is idempotent, so concurrent callers get the same meter
+      timer = Timer.builder("weather.endpoint.duration")
+              .description("REST endpoint latency by outcome and cache state")
+              .tag("endpoint", endpoint)
+              .tag("outcome", outcome.tag)
+              .tag("cache", cacheState.tag())
+              .serviceLevelObjectives(serviceLevelObjectives) // Only SLO buckets, to bound series per endpoint
+              .register(meterRegistry);
+      endpointTimers.set(slot, timer);
+    }
+    return timer;
+  }
+
+  private static String endpoint(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern != null ? request.getMethod() + " " + pattern : UNMAPPED;
+  }
+}
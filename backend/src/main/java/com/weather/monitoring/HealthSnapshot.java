@@ -0,0 +1,33 @@
+package com.weather.monitoring;
+
+import com.weather.monitoring.circuit.CircuitBreakerState;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable view of passive health signals at a point in time
+ */
+@Value
+@Builder
+public class HealthSnapshot {
+  Status status;
+  boolean healthy; // false only when DOWN; a degraded service still serves cached data
+  String reason;
+  CircuitBreakerState circuitBreakerState;
+  long windowCalls;
+  double upstreamSuccessRate;
+  double upstreamMeanLatencyMillis;
+  double upstreamMaxLatencyMillis;
+  long lastSuccessAgeMillis; // -1 if no successful fetch yet
+  long cachedEntries;
+  double cacheHitRate;
+  boolean cacheFresh;
+  long takenAtMillis;
+
+  /**
+   * Service status: DEGRADED while upstream trouble is hidden by fresh cached data
+   */
+  public enum Status {
+    UP, DEGRADED, DOWN
+  }
+}
@@ -0,0 +1,213 @@
+package com.weather.monitoring;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate top-K heavy hitters over sampled cache accesses.
+ * A count-min sketch estimates per-key frequency without per-key state; keys whose estimate
+ * beats the smallest tracked count enter a bounded candidate set, kept as an indexed min-heap
+ * so admission and eviction cost O(log capacity). Accesses below the published admission
+ * threshold never take the lock. Counters are halved periodically so the ranking follows
+ * recent load.
+ */
+public class HotKeyTracker {
+
+  private static final int DEPTH = 4;
+  private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+  private final int widthBits;
+  private final int width;
+  private final AtomicIntegerArray counters;
+  private final int capacity;
+  private final int sampleMask;
+  private final long decayInterval;
+  private final AtomicLong samples = new AtomicLong();
+
+  // Min-heap of candidates by count, with each key's heap slot; guarded by this
+  private final String[] heapKeys;
+  private final long[] heapCounts;
+  private final Map<String, Integer> slots = new HashMap<>();
+  private int size;
+  private volatile long admissionThreshold;
+
+  /**
+   * @param capacity   number of hot keys retained
+   * @param widthBits  log2 of the sketch width
+   * @param sampleBits log2 of the sampling interval (0 samples every access)
+   */
+  public HotKeyTracker(int capacity, int widthBits, int sampleBits) {
+    this.capacity = capacity;
+    this.heapKeys = new String[capacity];
+    this.heapCounts = new long[capacity];
+    this.widthBits = widthBits;
+    this.width = 1 << widthBits;
+    this.counters = new AtomicIntegerArray(DEPTH * width);
+    this.sampleMask = (1 << sampleBits) - 1;
+    this.decayInterval = 10L * width;
+  }
+
+  /**
+   * Records an access, sampled
+   */
+  public void record(Object key) {
+    if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+      return;
+    }
+    String name = key.toString();
+    int hash = spread(name.hashCode());
+
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      estimate = Math.min(estimate, counters.incrementAndGet(index(row, hash)));
+    }
+
+    if (estimate >= admissionThreshold) {
+      offer(name, estimate);
+    }
+    if (samples.incrementAndGet() % decayInterval == 0) {
+      decay();
+    }
+  }
+
+  /**
+   * @return up to {@code limit} hottest keys, estimated access counts scaled by the sampling rate
+   */
+  public synchronized List<HotKey> topKeys(int limit) {
+    List<HotKey> result = new ArrayList<>(size);
+    long scale = sampleMask + 1L;
+    for (int i = 0; i < size; i++) {
+      result.add(new HotKey(heapKeys[i], heapCounts[i] * scale));
+    }
+    result.sort(Comparator.comparingLong(HotKey::getEstimatedAccesses).reversed());
+    return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+  }
+
+  /**
+   * @return share of sampled accesses since the last decay that went to the tracked keys
+   */
+  public synchronized double topShare() {
+    long sampledSinceDecay = samples.get() % decayInterval;
+    if (sampledSinceDecay == 0) {
+      return 0.0;
+    }
+    long tracked = 0;
+    for (int i = 0; i < size; i++) {
+      tracked += heapCounts[i];
+    }
+    return Math.min(1.0, (double) tracked / sampledSinceDecay);
+  }
+
+  private synchronized void offer(String key, long estimate) {
+    if (estimate < admissionThreshold) {
+      return; // Raised by another thread since the unlocked check
+    }
+    Integer slot = slots.get(key);
+    if (slot != null) {
+      heapCounts[slot] = estimate;
+      siftDown(siftUp(slot)); // Estimates only grow between decays, but a racing decay may have halved it
+    } else if (size < capacity) {
+      place(size++, key, estimate);
+      siftUp(size - 1);
+    } else if (estimate > heapCounts[0]) {
+      slots.remove(heapKeys[0]);
+      place(0, key, estimate);
+      siftDown(0);
+    }
+    updateThreshold();
+  }
+
+  private synchronized void decay() {
+    for (int i = 0; i < counters.length(); i++) {
+      // Racing increments may be halved too; the sketch only needs to be approximate
+      counters.set(i, counters.get(i) >>> 1);
+    }
+    // Halving keeps the heap order; keys that reach zero are at the root
+    for (int i = 0; i < size; i++) {
+      heapCounts[i] >>>= 1;
+    }
+    while (size > 0 && heapCounts[0] == 0) {
+      slots.remove(heapKeys[0]);
+      size--;
+      if (size > 0) {
+        place(0, heapKeys[size], heapCounts[size]);
+        siftDown(0);
+      }
+      heapKeys[size] = null;
+    }
+    updateThreshold();
+  }
+
+  private void updateThreshold() {
+    admissionThreshold = size < capacity ? 0 : heapCounts[0];
+  }
+
+  private int siftUp(int slot) {
+    while (slot > 0) {
+      int parent = (slot - 1) >>> 1;
+      if (heapCounts[parent] <= heapCounts[slot]) {
+        break;
+      }
+      swap(slot, parent);
+      slot = parent;
+    }
+    return slot;
+  }
+
+  private void siftDown(int slot) {
+    while (true) {
+      int child = 2 * slot + 1;
+      if (child >= size) {
+        return;
+      }
+      if (child + 1 < size && heapCounts[child + 1] < heapCounts[child]) {
+        child++;
+      }
+      if (heapCounts[slot] <= heapCounts[child]) {
+        return;
+      }
+      swap(slot, child);
+      slot = child;
+    }
+  }
+
+  private void swap(int a, int b) {
+    String key = heapKeys[a];
+    long count = heapCounts[a];
+    place(a, heapKeys[b], heapCounts[b]);
+    place(b, key, count);
+  }
+
+  private void place(int slot, String key, long count) {
+    heapKeys[slot] = key;
+    heapCounts[slot] = count;
+    slots.put(key, slot);
+  }
+
+  private int index(int row, int hash) {
+    return row * width + ((hash * SEEDS[row]) >>> (32 - widthBits));
+  }
+
+  private static int spread(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x45D9F3B;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * A tracked key with its estimated access count
+   */
+  @Value
+  public static class HotKey {
+    String key;
+    long estimatedAccesses;
+  }
+}
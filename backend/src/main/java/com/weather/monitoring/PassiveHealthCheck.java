@@ -0,0 +1,108 @@
+package com.weather.monitoring;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.weather.config.CacheConfig;
+import com.weather.monitoring.circuit.CircuitBreaker;
+import com.weather.monitoring.circuit.CircuitBreakerState;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Derives service health from passive signals only: circuit breaker state, the upstream
+ * outcome window, cache statistics and the age of the last successful fetch.
+ * The service is DOWN when the breaker is open or no fresh data is left, and DEGRADED when
+ * upstream trouble is still covered by fresh cached data.
+ * Never calls the upstream provider. The snapshot is recomputed at most once per second
+ * and published through an atomic reference, so probes cost microseconds.
+ */
+@Component
+public class PassiveHealthCheck {
+
+  private static final long SNAPSHOT_TTL_MILLIS = 1_000;
+  private static final long MIN_WINDOW_CALLS = 5;
+  private static final double MIN_SUCCESS_RATE = 0.5;
+  private static final String CURRENT_WEATHER_CACHE = "weather-current";
+
+  private final CircuitBreaker circuitBreaker;
+  private final UpstreamHealthWindow upstreamHealth;
+  private final CacheManager cacheManager;
+  private final long staleAfterMillis;
+  private final AtomicReference<HealthSnapshot> snapshot = new AtomicReference<>();
+
+  public PassiveHealthCheck(CircuitBreaker circuitBreaker, WeatherMetrics weatherMetrics,
+                            CacheManager cacheManager, CacheConfig cacheConfig) {
+    this.circuitBreaker = circuitBreaker;
+    this.upstreamHealth = weatherMetrics.upstreamHealth();
+    this.cacheManager = cacheManager;
+    // Once no fetch has succeeded for a full cache lifetime, cached data can no longer be fresh
+    this.staleAfterMillis = cacheConfig.getExpiration().toMillis();
+  }
+
+  /**
+   * @return the latest snapshot, recomputed if older than a second
+   */
+  public HealthSnapshot snapshot() {
+    long now = System.currentTimeMillis();
+    HealthSnapshot current = snapshot.get();
+    if (current != null && now - current.getTakenAtMillis() < SNAPSHOT_TTL_MILLIS) {
+      return current;
+    }
+    HealthSnapshot fresh = compute(now);
+    // Losing the race just means another probe published an equally recent snapshot
+    snapshot.compareAndSet(current, fresh);
+    return fresh;
+  }
+
+  private HealthSnapshot compute(long now) {
+    CircuitBreakerState breakerState = circuitBreaker.getState();
+    UpstreamHealthWindow.Totals totals = upstreamHealth.totals();
+
+    long lastSuccessAge = totals.getLastSuccessMillis() == 0 ? -1 : now - totals.getLastSuccessMillis();
+    boolean failingSinceSuccess = totals.getLastFailureMillis() > totals.getLastSuccessMillis();
+    boolean cacheFresh = lastSuccessAge >= 0 && lastSuccessAge <= staleAfterMillis;
+
+    HealthSnapshot.Status status = HealthSnapshot.Status.UP;
+    String reason = "ok";
+    if (breakerState == CircuitBreakerState.OPEN) {
+      status = HealthSnapshot.Status.DOWN;
+      reason = "circuit-breaker-open";
+    } else if (totals.calls() >= MIN_WINDOW_CALLS && totals.successRate() < MIN_SUCCESS_RATE) {
+      // Fresh cached data still answers most requests while refreshes fail
+      status = cacheFresh ? HealthSnapshot.Status.DEGRADED : HealthSnapshot.Status.DOWN;
+      reason = "upstream-failing";
+    } else if (failingSinceSuccess && !cacheFresh) {
+      // Refreshes are failing and everything cached has expired
+      status = HealthSnapshot.Status.DOWN;
+      reason = "data-stale";
+    } else if (breakerState == CircuitBreakerState.HALF_OPEN) {
+      status = HealthSnapshot.Status.DEGRADED;
+      reason = "circuit-breaker-half-open";
+    }
+
+    HealthSnapshot.HealthSnapshotBuilder builder = HealthSnapshot.builder()
+            .status(status)
+            .healthy(status != HealthSnapshot.Status.DOWN)
+            .reason(reason)
+            .circuitBreakerState(breakerState)
+            .windowCalls(totals.calls())
+            .upstreamSuccessRate(totals.successRate())
+            .upstreamMeanLatencyMillis(totals.meanLatencyMillis())
+            .upstreamMaxLatencyMillis(totals.getMaxLatencyNanos() / 1_000_000.0)
+            .lastSuccessAgeMillis(lastSuccessAge)
+            .cacheFresh(cacheFresh)
+            .takenAtMillis(now);
+
+    Cache cache = cacheManager.getCache(CURRENT_WEATHER_CACHE);
+    if (cache instanceof CaffeineCache) {
+      com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+      CacheStats stats = nativeCache.stats();
+      builder.cachedEntries(nativeCache.estimatedSize())
+              .cacheHitRate(stats.hitRate());
+    }
+    return builder.build();
+  }
+}
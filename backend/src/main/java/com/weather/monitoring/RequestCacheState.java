@@ -0,0 +1,37 @@
+package com.weather.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Cache state observed while serving the current request thread.
+ * Caches record what they did; the endpoint metrics interceptor reads and resets it.
+ * When a request touches several caches the most significant state wins.
+ */
+public enum RequestCacheState {
+  NONE, HIT, MISS, STALE;
+
+  private static final ThreadLocal<RequestCacheState> CURRENT = ThreadLocal.withInitial(() -> NONE);
+
+  private final String tag = name().toLowerCase(Locale.ROOT);
+
+  public String tag() {
+    return tag;
+  }
+
+  /**
+   * Records a cache outcome for the current thread, keeping the most significant one
+   */
+  public static void record(RequestCacheState state) {
+    if (state.ordinal() > CURRENT.get().ordinal()) {
+      CURRENT.set(state);
+    }
+  }
+
+  public static RequestCacheState current() {
+    return CURRENT.get();
+  }
+
+  public static void reset() {
+    CURRENT.remove();
+  }
+}
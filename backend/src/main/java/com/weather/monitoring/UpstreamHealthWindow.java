@@ -0,0 +1,102 @@
+package com.weather.monitoring;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding window of upstream call outcomes and latency.
+ * The window is a ring of time buckets; a bucket is reset by the first writer of a new period.
+ * Samples racing a bucket reset may be lost, which is acceptable for health signals.
+ */
+public class UpstreamHealthWindow {
+
+  private static final int BUCKETS = 12;
+  private static final long BUCKET_MILLIS = 5_000; // 60 second window
+
+  private final AtomicLongArray periods = new AtomicLongArray(BUCKETS);
+  private final AtomicLongArray successes = new AtomicLongArray(BUCKETS);
+  private final AtomicLongArray failures = new AtomicLongArray(BUCKETS);
+  private final AtomicLongArray latencyNanos = new AtomicLongArray(BUCKETS);
+  private final AtomicLongArray maxLatencyNanos = new AtomicLongArray(BUCKETS);
+  private final AtomicLong lastSuccessMillis = new AtomicLong();
+  private final AtomicLong lastFailureMillis = new AtomicLong();
+
+  /**
+   * Records an upstream call outcome
+   */
+  public void record(boolean success, long nanos) {
+    long now = System.currentTimeMillis();
+    int bucket = bucket(now);
+
+    (success ? successes : failures).incrementAndGet(bucket);
+    latencyNanos.addAndGet(bucket, nanos);
+    maxLatencyNanos.accumulateAndGet(bucket, nanos, Math::max);
+    (success ? lastSuccessMillis : lastFailureMillis).set(now);
+  }
+
+  /**
+   * Sums the buckets of the current window
+   */
+  public Totals totals() {
+    long now = System.currentTimeMillis();
+    long currentPeriod = now / BUCKET_MILLIS;
+    long ok = 0;
+    long failed = 0;
+    long latency = 0;
+    long maxLatency = 0;
+
+    for (int i = 0; i < BUCKETS; i++) {
+      if (currentPeriod - periods.get(i) < BUCKETS) {
+        ok += successes.get(i);
+        failed += failures.get(i);
+        latency += latencyNanos.get(i);
+        maxLatency = Math.max(maxLatency, maxLatencyNanos.get(i));
+      }
+    }
+    return new Totals(ok, failed, latency, maxLatency, lastSuccessMillis.get(), lastFailureMillis.get());
+  }
+
+  private int bucket(long now) {
+    long period = now / BUCKET_MILLIS;
+    int bucket = (int) (period % BUCKETS);
+    long previous = periods.get(bucket);
+    if (previous != period && periods.compareAndSet(bucket, previous, period)) {
+      successes.set(bucket, 0);
+      failures.set(bucket, 0);
+      latencyNanos.set(bucket, 0);
+      maxLatencyNanos.set(bucket, 0);
+    }
+    return bucket;
+  }
+
+  /**
+   * Window totals; timestamps are epoch millis, or 0 if never recorded
+   */
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class Totals {
+
+    private final long successes;
+    private final long failures;
+    private final long latencyNanos;
+    private final long maxLatencyNanos;
+    private final long lastSuccessMillis;
+    private final long lastFailureMillis;
+
+    public long calls() {
+      return successes + failures;
+    }
+
+    public double successRate() {
+      return calls() == 0 ? 1.0 : (double) successes / calls();
+    }
+
+    public double meanLatencyMillis() {
+      return calls() == 0 ? 0.0 : latencyNanos / 1_000_000.0 / calls();
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.weather.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pre-registered meters for weather operations and caches.
+ * Meters are registered once per (operation, status) and (cache, result), so the request
+ * path only records into existing meters. Upstream latency and latency through the cache
+ * are separate timers, both publishing percentile histograms.
+ */
+@Component
+public class WeatherMetrics {
+
+  public static final String CURRENT_WEATHER = "getCurrentWeather";
+  public static final String WEATHER_FORECAST = "getWeatherForecast";
+
+  private static final List<String> OPERATIONS = List.of(CURRENT_WEATHER, WEATHER_FORECAST);
+  private static final List<String> CACHES = List.of("weather-current", "weather-forecast", "weather-alerts");
+  private static final int HOT_KEY_CAPACITY = 50;
+  private static final int HOT_KEY_SKETCH_BITS = 11; // 2048 counters per row
+  private static final int HOT_KEY_SAMPLE_BITS = 2; // sample one access in four
+
+  private final MeterRegistry meterRegistry;
+  private final UpstreamHealthWindow upstreamHealth = new UpstreamHealthWindow();
+  private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+  private final Map<String, CacheMetrics> caches = new ConcurrentHashMap<>();
+
+  public WeatherMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    OPERATIONS.forEach(this::operation);
+    CACHES.forEach(this::cache);
+  }
+
+  /**
+   * @return meters for an upstream operation; callers should keep the handle
+   */
+  public OperationMetrics operation(String name) {
+    return operations.computeIfAbsent(name, n -> new OperationMetrics(meterRegistry, n, upstreamHealth));
+  }
+
+  /**
+   * @return recent upstream outcomes across all operations, for passive health checks
+   */
+  public UpstreamHealthWindow upstreamHealth() {
+    return upstreamHealth;
+  }
+
+  /**
+   * @return meters for a cache; callers should keep the handle
+   */
+  public CacheMetrics cache(String name) {
+    return caches.computeIfAbsent(name, n -> new CacheMetrics(meterRegistry, n));
+  }
+
+  /**
+   * Outcome of an upstream call
+   */
+  public enum CallStatus {
+    SUCCESS, FAILURE, ERROR;
+
+    private String tag() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  /**
+   * Meters for one upstream operation
+   */
+  public static final class OperationMetrics {
+
+    private final Timer upstream;
+    private final Counter[] calls = new Counter[CallStatus.values().length];
+    private final UpstreamHealthWindow health;
+
+    private OperationMetrics(MeterRegistry registry, String operation, UpstreamHealthWindow health) {
+      this.health = health;
+      this.upstream = Timer.builder("weather.api.calls.duration")
+              .description("Weather API call duration")
+              .tag("operation", operation)
+              .publishPercentileHistogram()
+              .minimumExpectedValue(Duration.ofMillis(1))
+              .maximumExpectedValue(Duration.ofSeconds(30))
+              .register(registry);
+      for (CallStatus status : CallStatus.values()) {
+        calls[status.ordinal()] = Counter.builder("weather.api.calls.total")
+                .description("Total weather API calls")
+                .tag("operation", operation)
+                .tag("status", status.tag())
+                .register(registry);
+      }
+    }
+
+    public Timer upstream() {
+      return upstream;
+    }
+
+    public void record(CallStatus status) {
+      calls[status.ordinal()].increment();
+    }
+
+    /**
+     * Records an upstream call that reached the provider, feeding the health window
+     */
+    public void recordUpstream(boolean success, long nanos) {
+      record(success ? CallStatus.SUCCESS : CallStatus.FAILURE);
+      health.record(success, nanos);
+    }
+  }
+
+  /**
+   * Meters for one cache: latency of requests served through it by result, loads on miss,
+   * hot keys and estimated weighted size
+   */
+  public static final class CacheMetrics {
+
+    private final Timer hit;
+    private final Timer miss;
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+    private final HotKeyTracker hotKeys = new HotKeyTracker(HOT_KEY_CAPACITY, HOT_KEY_SKETCH_BITS, HOT_KEY_SAMPLE_BITS);
+    private final AtomicReference<com.github.benmanes.caffeine.cache.Cache<Object, Object>> nativeCache =
+            new AtomicReference<>();
+
+    private CacheMetrics(MeterRegistry registry, String cache) {
+      this.hit = requestTimer(registry, cache, "hit");
+      this.miss = requestTimer(registry, cache, "miss");
+      this.loadSuccess = loadTimer(registry, cache, "success");
+      this.loadFailure = loadTimer(registry, cache, "failure");
+
+      Gauge.builder("weather.cache.weighted.size", this, CacheMetrics::weightedSizeBytes)
+              .description("Estimated heap held by cache keys and values")
+              .baseUnit("bytes")
+              .tag("cache", cache)
+              .register(registry);
+      Gauge.builder("weather.cache.hotkeys.share", hotKeys, HotKeyTracker::topShare)
+              .description("Share of sampled accesses going to the tracked hot keys")
+              .tag("cache", cache)
+              .register(registry);
+    }
+
+    /**
+     * Binds the Caffeine cache whose size is estimated; rebinding replaces it
+     */
+    public void bind(com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+      nativeCache.set(cache);
+    }
+
+    public void recordAccess(Object key) {
+      hotKeys.record(key);
+    }
+
+    public HotKeyTracker hotKeys() {
+      return hotKeys;
+    }
+
+    public long weightedSizeBytes() {
+      com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache.get();
+      return cache == null ? 0 : CacheSizeEstimator.estimateBytes(cache);
+    }
+
+    public void recordRequest(boolean cacheHit, long nanos) {
+      (cacheHit ? hit : miss).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLoad(boolean success, long nanos) {
+      (success ? loadSuccess : loadFailure).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer requestTimer(MeterRegistry registry, String cache, String result) {
+      return Timer.builder("weather.cache.request.duration")
+              .description("Latency of requests served through the cache, including loads on miss")
+              .tag("cache", cache)
+              .tag("result", result)
+              .publishPercentileHistogram()
+              .minimumExpectedValue(Duration.ofNanos(1_000))
+              .maximumExpectedValue(Duration.ofSeconds(30))
+              .register(registry);
+    }
+
+    private static Timer loadTimer(MeterRegistry registry, String cache, String outcome) {
+      return Timer.builder("weather.cache.load.duration")
+              .description("Latency of loading a missing cache entry")
+              .tag("cache", cache)
+              .tag("outcome", outcome)
+              .publishPercentileHistogram()
+              .minimumExpectedValue(Duration.ofMillis(1))
+              .maximumExpectedValue(Duration.ofSeconds(30))
+              .register(registry);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.weather.notification;
+
+import com.weather.mobile.DeviceRegistration;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A notification flowing through the notification pipeline.
+ * Notifications with the same {@code key} arriving within the coalescing window are merged into one
+ * carrying the latest content and the number of occurrences. The devices to push to are resolved
+ * once the notification leaves the coalescing window, so a burst of triggers looks them up once.
+ */
+@Value
+@Builder(toBuilder = true)
+public class Notification {
+
+  String key;
+  String alertId;
+  String location;
+  String locationKey;
+  int priority;
+  String title;
+  String message;
+  Instant createdAt;
+
+  @Builder.Default
+  int occurrences = 1;
+
+  @Builder.Default
+  List<DeviceRegistration> recipients = List.of();
+
+  /**
+   * @return the newer notification carrying the occurrences of both
+   */
+  public Notification coalesce(Notification newer) {
+    return newer.toBuilder().occurrences(occurrences + newer.occurrences).build();
+  }
+}
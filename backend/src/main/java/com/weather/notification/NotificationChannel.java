@@ -0,0 +1,24 @@
+package com.weather.notification;
+
+import java.util.List;
+
+/**
+ * Delivery adapter for one notification platform.
+ * Implementations are discovered as Spring beans; each gets its own queue and workers,
+ * so a slow channel does not hold back the others.
+ */
+public interface NotificationChannel {
+
+  /**
+   * @return channel name, used for logging and metric tags
+   */
+  String name();
+
+  /**
+   * Delivers a batch of notifications. Called concurrently by the channel's workers.
+   *
+   * @param batch notifications to deliver, never empty
+   * @throws Exception if the batch could not be delivered
+   */
+  void deliver(List<Notification> batch) throws Exception;
+}
@@ -1 +1,23 @@
+package com.weather.notification;
 
+import java.util.Map;
+
+/**
+ * Asynchronous notification delivery.
+ * Submission never blocks: when the pipeline is saturated the notification is rejected and counted.
+ */
+public interface NotificationService {
+
+  /**
+   * Queues a notification for delivery on every channel
+   *
+   * @param notification the notification to send
+   * @return false if it was rejected because the pipeline is full
+   */
+  boolean submit(Notification notification);
+
+  /**
+   * @return queue depths by stage: ingress, pending window and each channel
+   */
+  Map<String, Integer> queueDepths();
+}
@@ -0,0 +1,85 @@
+package com.weather.notification.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.config.NotificationConfig;
+import com.weather.notification.Notification;
+import com.weather.notification.NotificationChannel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Notification channel appending one JSON line per notification to a local file.
+ * Stands in for push and messaging platforms in development and tests; if the file cannot be
+ * opened, notifications are written to the application log instead.
+ */
+@Slf4j
+@Component
+public class LogFileNotificationChannel implements NotificationChannel {
+
+  private final ObjectMapper objectMapper;
+  private final BufferedWriter writer; // guarded by this
+
+  public LogFileNotificationChannel(ObjectMapper objectMapper, NotificationConfig config) {
+    this.objectMapper = objectMapper;
+    this.writer = open(Paths.get(config.getLogFile()));
+  }
+
+  @Override
+  public String name() {
+    return "log-file";
+  }
+
+  @Override
+  public void deliver(List<Notification> batch) throws IOException {
+    if (writer == null) {
+      for (Notification notification : batch) {
+        log.info("Notification: {}", objectMapper.writeValueAsString(notification));
+      }
+      return;
+    }
+    // Serialise outside the lock, write the whole batch under it
+    StringBuilder lines = new StringBuilder(batch.size() * 256);
+    for (Notification notification : batch) {
+      lines.append(objectMapper.writeValueAsString(notification)).append('\n');
+    }
+    synchronized (this) {
+      writer.write(lines.toString());
+      writer.flush();
+    }
+  }
+
+  @PreDestroy
+  public synchronized void close() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        log.warn("Failed to close notification log: {}", e.getMessage());
+      }
+    }
+  }
+
+  private static BufferedWriter open(Path file) {
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+              StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      log.warn("Cannot open notification log {}, logging notifications instead: {}", file, e.getMessage());
+      return null;
+    }
+  }
+}
@@ -1 +1,346 @@
+package com.weather.notification.impl;
 
+import com.weather.alert.AlertTriggerListener;
+import com.weather.alert.WeatherAlert;
+import com.weather.alert.WeatherAlertSystem;
+import com.weather.config.NotificationConfig;
+import com.weather.mobile.DeviceRegistry;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.notification.Notification;
+import com.weather.notification.NotificationChannel;
+import com.weather.notification.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Staged asynchronous notification pipeline.
+ * <ol>
+ *   <li>Ingress: a bounded queue; {@link #submit} never blocks and rejects when it is full.</li>
+ *   <li>Coalescer: one thread merges notifications with the same key over a short window,
+ *       suppresses keys already delivered within the dedup window and resolves the devices
+ *       following each notification's alert or location from the {@link DeviceRegistry}.</li>
+ *   <li>Channels: each {@link NotificationChannel} has its own bounded queue and workers that
+ *       deliver in batches, so a slow platform only backs up its own queue.</li>
+ * </ol>
+ * Every buffer is bounded, so a trigger storm costs dropped notifications, counted in metrics,
+ * rather than blocked evaluators or unbounded memory.
+ */
+@Slf4j
+@Service
+public class MultiPlatformNotificationService implements NotificationService, AlertTriggerListener {
+
+  private final NotificationConfig config;
+  private final WeatherAlertSystem alertSystem;
+  private final DeviceRegistry deviceRegistry;
+  private final BlockingQueue<Notification> ingress;
+  private final List<ChannelLane> lanes = new ArrayList<>();
+
+  // Coalescer state, confined to the coalescer thread
+  private final Map<String, Notification> pending = new LinkedHashMap<>();
+  private final Map<String, Long> lastDelivered;
+  private final AtomicInteger pendingSize = new AtomicInteger();
+
+  private final Counter submitted;
+  private final Counter rejected;
+  private final Counter coalesced;
+  private final Counter deduplicated;
+
+  private ExecutorService coalescer;
+  private volatile boolean running;
+
+  public MultiPlatformNotificationService(NotificationConfig config, List<NotificationChannel> channels,
+                                          WeatherAlertSystem alertSystem, DeviceRegistry deviceRegistry,
+                                          MeterRegistry meterRegistry) {
+    this.config = config;
+    this.alertSystem = alertSystem;
+    this.deviceRegistry = deviceRegistry;
+    this.ingress = new ArrayBlockingQueue<>(config.getIngressCapacity());
+    int maxTrackedKeys = config.getMaxTrackedKeys();
+    this.lastDelivered = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > maxTrackedKeys;
+      }
+    };
+
+    this.submitted = Counter.builder("weather.notifications.submitted")
+            .description("Notifications submitted to the pipeline")
+            .register(meterRegistry);
+    this.rejected = stageCounter(meterRegistry, "weather.notifications.rejected",
+            "Notifications dropped because a queue was full", "ingress");
+    this.coalesced = Counter.builder("weather.notifications.coalesced")
+            .description("Notifications merged into a pending one with the same key")
+            .register(meterRegistry);
+    this.deduplicated = Counter.builder("weather.notifications.deduplicated")
+            .description("Notifications suppressed because their key was delivered within the dedup window")
+            .register(meterRegistry);
+    Gauge.builder("weather.notifications.queue.depth", ingress, BlockingQueue::size)
+            .description("Notifications waiting in a pipeline stage")
+            .tag("stage", "ingress")
+            .register(meterRegistry);
+    Gauge.builder("weather.notifications.queue.depth", pendingSize, AtomicInteger::get)
+            .description("Notifications waiting in a pipeline stage")
+            .tag("stage", "coalescing")
+            .register(meterRegistry);
+
+    for (NotificationChannel channel : channels) {
+      lanes.add(new ChannelLane(channel, config.getChannelQueueCapacity(), meterRegistry));
+    }
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    coalescer = Executors.newSingleThreadExecutor(daemonThreads("notification-coalescer"));
+    coalescer.execute(this::coalesceLoop);
+    for (ChannelLane lane : lanes) {
+      lane.workers = Executors.newFixedThreadPool(config.getWorkersPerChannel(),
+              daemonThreads("notification-" + lane.channel.name()));
+      for (int i = 0; i < config.getWorkersPerChannel(); i++) {
+        lane.workers.execute(() -> deliverLoop(lane));
+      }
+    }
+    alertSystem.addTriggerListener(this);
+    log.info("Notification pipeline started with channels {}", lanes.stream().map(lane -> lane.channel.name()).toList());
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (coalescer != null) {
+      coalescer.shutdownNow();
+      lanes.forEach(lane -> lane.workers.shutdownNow());
+    }
+  }
+
+  @Override
+  public boolean submit(Notification notification) {
+    if (notification == null || notification.getKey() == null) {
+      throw new IllegalArgumentException("Notification and its key cannot be null");
+    }
+    submitted.increment();
+    if (!ingress.offer(notification)) {
+      rejected.increment();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public Map<String, Integer> queueDepths() {
+    Map<String, Integer> depths = new LinkedHashMap<>();
+    depths.put("ingress", ingress.size());
+    depths.put("coalescing", pendingSize.get());
+    for (ChannelLane lane : lanes) {
+      depths.put(lane.channel.name(), lane.queue.size());
+    }
+    return depths;
+  }
+
+  @Override
+  public void onTriggered(List<WeatherAlert> alerts, WeatherData weatherData) {
+    Instant now = Instant.now();
+    for (WeatherAlert alert : alerts) {
+      submit(Notification.builder()
+              .key(alert.getId())
+              .alertId(alert.getId())
+              .location(alert.getLocation().getFullName())
+              .locationKey(Location.searchKey(alert.getLocation().getCity(), alert.getLocation().getCountry()))
+              .priority(alert.getPriority())
+              .title(alert.getAlertType().getDisplayName() + " - " + alert.getLocation().getFullName())
+              .message(alert.getDescription() + " (now " + weatherData.getTemperature() + "°C, "
+                      + weatherData.getCondition() + ", wind " + weatherData.getWindSpeed() + " km/h)")
+              .createdAt(now)
+              .build());
+    }
+  }
+
+  private void coalesceLoop() {
+    long windowNanos = config.getCoalesceWindow().toNanos();
+    long dedupMillis = config.getDedupWindow().toMillis();
+    long flushAt = System.nanoTime() + windowNanos;
+    List<Notification> drained = new ArrayList<>(1024);
+
+    while (running) {
+      try {
+        Notification first = ingress.poll(Math.max(0, flushAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+        if (first != null) {
+          merge(first);
+          ingress.drainTo(drained, 1024);
+          drained.forEach(this::merge);
+          drained.clear();
+        }
+        if (System.nanoTime() >= flushAt || pending.size() >= config.getMaxPending()) {
+          flush(dedupMillis);
+          flushAt = System.nanoTime() + windowNanos;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Notification coalescer failed, continuing", e);
+      }
+    }
+  }
+
+  private void merge(Notification notification) {
+    Notification existing = pending.get(notification.getKey());
+    if (existing != null) {
+      coalesced.increment();
+      pending.put(notification.getKey(), existing.coalesce(notification));
+    } else {
+      pending.put(notification.getKey(), notification);
+      pendingSize.set(pending.size());
+    }
+  }
+
+  private void flush(long dedupMillis) {
+    long now = System.currentTimeMillis();
+    for (Notification notification : pending.values()) {
+      Long delivered = lastDelivered.get(notification.getKey());
+      if (delivered != null && now - delivered < dedupMillis) {
+        deduplicated.increment(notification.getOccurrences());
+        continue;
+      }
+      Notification addressed = notification.toBuilder()
+              .recipients(deviceRegistry.recipients(notification.getLocationKey(), notification.getAlertId()))
+              .build();
+      boolean accepted = false;
+      for (ChannelLane lane : lanes) {
+        if (lane.queue.offer(addressed)) {
+          accepted = true;
+        } else {
+          lane.rejected.increment();
+        }
+      }
+      // Only a notification some lane took may suppress repeats; a fully rejected one can be retried
+      if (accepted) {
+        lastDelivered.put(notification.getKey(), now);
+      }
+    }
+    pending.clear();
+    pendingSize.set(0);
+  }
+
+  private void deliverLoop(ChannelLane lane) {
+    int batchSize = config.getBatchSize();
+    long lingerNanos = config.getBatchLinger().toNanos();
+    List<Notification> batch = new ArrayList<>(batchSize);
+
+    while (running) {
+      try {
+        Notification first = lane.queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        // Linger briefly so a burst leaves as a few large batches instead of many small ones
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+          if (lane.queue.drainTo(batch, batchSize - batch.size()) == 0) {
+            Notification next = lane.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+              break;
+            }
+            batch.add(next);
+          }
+        }
+        deliver(lane, batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void deliver(ChannelLane lane, List<Notification> batch) {
+    long start = System.nanoTime();
+    try {
+      lane.channel.deliver(List.copyOf(batch));
+      lane.delivered.increment(batch.size());
+    } catch (Exception e) {
+      lane.failed.increment(batch.size());
+      log.warn("Channel {} failed to deliver {} notifications: {}", lane.channel.name(), batch.size(), e.getMessage());
+    } finally {
+      lane.batchDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static Counter stageCounter(MeterRegistry registry, String name, String description, String stage) {
+    return Counter.builder(name)
+            .description(description)
+            .tag("stage", stage)
+            .register(registry);
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Queue, workers and meters of one channel
+   */
+  private static final class ChannelLane {
+
+    private final NotificationChannel channel;
+    private final BlockingQueue<Notification> queue;
+    private final Counter rejected;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Timer batchDuration;
+    private ExecutorService workers;
+
+    private ChannelLane(NotificationChannel channel, int capacity, MeterRegistry registry) {
+      this.channel = channel;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+      this.rejected = stageCounter(registry, "weather.notifications.rejected",
+              "Notifications dropped because a queue was full", channel.name());
+      this.delivered = channelCounter(registry, "weather.notifications.delivered",
+              "Notifications delivered", channel.name());
+      this.failed = channelCounter(registry, "weather.notifications.failed",
+              "Notifications whose delivery failed", channel.name());
+      this.batchDuration = Timer.builder("weather.notifications.batch.duration")
+              .description("Time to deliver one batch")
+              .tag("channel", channel.name())
+              .register(registry);
+      Gauge.builder("weather.notifications.queue.depth", queue, BlockingQueue::size)
+              .description("Notifications waiting in a pipeline stage")
+              .tag("stage", channel.name())
+              .register(registry);
+    }
+
+    private static Counter channelCounter(MeterRegistry registry, String name, String description, String channel) {
+      return Counter.builder(name)
+              .description(description)
+              .tag("channel", channel)
+              .register(registry);
+    }
+  }
+}
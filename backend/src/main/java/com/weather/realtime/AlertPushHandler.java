@@ -0,0 +1,82 @@
+package com.weather.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebSocket handler for the alert push channel.
+ * Clients send {@code {"action":"subscribe","topics":["priority:1","location:Milan,IT"]}} or
+ * {@code "unsubscribe"} and receive an acknowledgement, then batched alert frames.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlertPushHandler extends TextWebSocketHandler {
+
+  private final AlertPushHub alertPushHub;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  public void afterConnectionEstablished(WebSocketSession session) {
+    if (alertPushHub.open(session)) {
+      log.debug("Alert push connection {} opened", session.getId());
+    }
+  }
+
+  @Override
+  protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+    Map<String, Object> reply = new LinkedHashMap<>();
+    try {
+      SubscriptionRequest request = objectMapper.readValue(message.getPayload(), SubscriptionRequest.class);
+      if (request.getTopics() == null || request.getTopics().isEmpty()) {
+        throw new IllegalArgumentException("Topics cannot be null or empty");
+      }
+      if ("subscribe".equals(request.getAction())) {
+        reply.put("type", "subscribed");
+        reply.put("topics", alertPushHub.subscribe(session, request.getTopics()));
+      } else if ("unsubscribe".equals(request.getAction())) {
+        reply.put("type", "unsubscribed");
+        reply.put("topics", alertPushHub.unsubscribe(session, request.getTopics()));
+      } else {
+        throw new IllegalArgumentException("Action must be subscribe or unsubscribe");
+      }
+    } catch (JsonProcessingException | IllegalArgumentException | IllegalStateException e) {
+      reply.clear();
+      reply.put("type", "error");
+      reply.put("message", e instanceof JsonProcessingException ? "Malformed message" : e.getMessage());
+    }
+    alertPushHub.reply(session, objectMapper.writeValueAsString(reply));
+  }
+
+  @Override
+  public void handleTransportError(WebSocketSession session, Throwable exception) {
+    log.debug("Alert push transport error on {}: {}", session.getId(), exception.getMessage());
+  }
+
+  @Override
+  public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+    alertPushHub.closed(session);
+    log.debug("Alert push connection {} closed: {}", session.getId(), status);
+  }
+
+  /**
+   * Client message changing topic subscriptions
+   */
+  @Data
+  static class SubscriptionRequest {
+    private String action;
+    private List<String> topics;
+  }
+}
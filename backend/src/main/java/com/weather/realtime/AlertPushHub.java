@@ -0,0 +1,454 @@
+package com.weather.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.alert.AlertTriggerListener;
+import com.weather.alert.WeatherAlert;
+import com.weather.alert.WeatherAlertSystem;
+import com.weather.config.WebSocketConfig;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Topic-based fan-out of triggered alerts to WebSocket connections.
+ * Connections subscribe to {@code alert:<id>}, {@code location:<City>_<CC>} or {@code priority:<1-5>};
+ * location topics are keyed by {@link Location#searchKey}, so they match whatever case the city
+ * was given in.
+ * The topic index is a concurrent map of concurrent sets, so publishing never takes a lock;
+ * each event is serialised once and queued on every matching connection at most once.
+ * Per-connection queues are bounded: when one is full the event is dropped for that connection
+ * and counted. A sender pool drains each queue into batched frames, one writer per connection;
+ * a client that cannot keep up with the writes is disconnected and its batch counted as dropped.
+ */
+@Slf4j
+@Component
+public class AlertPushHub implements AlertTriggerListener {
+
+  static final String ALERT_TOPIC = "alert:";
+  static final String LOCATION_TOPIC = "location:";
+  static final String PRIORITY_TOPIC = "priority:";
+
+  private final WeatherAlertSystem alertSystem;
+  private final ObjectMapper objectMapper;
+  private final WebSocketConfig config;
+
+  private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+  private final Map<String, Set<Connection>> topics = new ConcurrentHashMap<>();
+  private final AtomicInteger openConnections = new AtomicInteger(); // slots reserved before registering
+
+  private final Counter published;
+  private final Counter delivered;
+  private final Counter dropped;
+  private final Counter frames;
+  private final Counter rejected;
+  private final Timer deliveryLatency;
+
+  private ExecutorService senders;
+
+  public AlertPushHub(WeatherAlertSystem alertSystem, ObjectMapper objectMapper, WebSocketConfig config,
+                      MeterRegistry meterRegistry) {
+    this.alertSystem = alertSystem;
+    this.objectMapper = objectMapper;
+    this.config = config;
+
+    Gauge.builder("weather.alerts.push.connections", connections, Map::size)
+            .description("Open alert push connections")
+            .register(meterRegistry);
+    Gauge.builder("weather.alerts.push.topics", topics, Map::size)
+            .description("Alert topics with at least one subscriber")
+            .register(meterRegistry);
+    Gauge.builder("weather.alerts.push.queue.depth", this, AlertPushHub::queuedEvents)
+            .description("Events waiting in per-connection send queues")
+            .register(meterRegistry);
+    this.published = Counter.builder("weather.alerts.push.published")
+            .description("Triggered alerts published to the push channel")
+            .register(meterRegistry);
+    this.delivered = Counter.builder("weather.alerts.push.delivered")
+            .description("Alert events written to connections")
+            .register(meterRegistry);
+    this.dropped = Counter.builder("weather.alerts.push.dropped")
+            .description("Alert events dropped because a connection's send queue was full or its client was too slow")
+            .register(meterRegistry);
+    this.frames = Counter.builder("weather.alerts.push.frames")
+            .description("WebSocket frames sent, each carrying a batch of alert events")
+            .register(meterRegistry);
+    this.rejected = Counter.builder("weather.alerts.push.rejected")
+            .description("Connections refused because the connection limit was reached")
+            .register(meterRegistry);
+    this.deliveryLatency = Timer.builder("weather.alerts.push.delivery")
+            .description("Time from alert trigger to the frame carrying it being written")
+            .serviceLevelObjectives(Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(25),
+                    Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(2))
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    AtomicInteger sequence = new AtomicInteger();
+    senders = Executors.newFixedThreadPool(config.getSenderThreads(), runnable -> {
+      Thread thread = new Thread(runnable, "alert-push-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    alertSystem.addTriggerListener(this);
+  }
+
+  @PreDestroy
+  public void stop() {
+    senders.shutdownNow();
+    connections.values().forEach(connection -> close(connection, CloseStatus.GOING_AWAY));
+  }
+
+  /**
+   * Registers a new connection
+   *
+   * @return false if the connection limit is reached; the session is then closed
+   */
+  public boolean open(WebSocketSession session) {
+    // Reserve a slot first so concurrent handshakes cannot overshoot the limit
+    if (openConnections.incrementAndGet() > config.getMaxConnections()) {
+      openConnections.decrementAndGet();
+      rejected.increment();
+      closeQuietly(session, CloseStatus.SERVICE_OVERLOAD);
+      return false;
+    }
+    WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(session,
+            (int) config.getSendTimeLimit().toMillis(), (int) config.getSendBufferSizeLimit().toBytes());
+    Connection previous = connections.put(session.getId(), new Connection(decorated, config.getSendQueueCapacity()));
+    if (previous != null) {
+      // Re-opened session id: it keeps the slot it already held
+      openConnections.decrementAndGet();
+      unsubscribeAll(previous);
+    }
+    return true;
+  }
+
+  /**
+   * Removes a closed connection and its subscriptions
+   */
+  public void closed(WebSocketSession session) {
+    Connection connection = connections.remove(session.getId());
+    if (connection != null) {
+      openConnections.decrementAndGet();
+      unsubscribeAll(connection);
+    }
+  }
+
+  /**
+   * Adds topic subscriptions to a connection
+   *
+   * @return the normalised topics now subscribed
+   * @throws IllegalArgumentException for malformed topics or too many subscriptions
+   */
+  public List<String> subscribe(WebSocketSession session, List<String> requested) {
+    Connection connection = connection(session);
+    List<String> normalised = new ArrayList<>(requested.size());
+    for (String topic : requested) {
+      normalised.add(normaliseTopic(topic));
+    }
+    synchronized (connection) {
+      if (connection.closed.get()) {
+        throw new IllegalStateException("Connection " + session.getId() + " is closed");
+      }
+      long added = normalised.stream().filter(topic -> !connection.topics.contains(topic)).distinct().count();
+      if (connection.topics.size() + added > config.getMaxTopicsPerConnection()) {
+        throw new IllegalArgumentException("At most " + config.getMaxTopicsPerConnection()
+                + " topics per connection");
+      }
+      for (String topic : normalised) {
+        if (connection.topics.add(topic)) {
+          topics.compute(topic, (key, subscribers) -> {
+            Set<Connection> target = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            target.add(connection);
+            return target;
+          });
+        }
+      }
+    }
+    return normalised;
+  }
+
+  /**
+   * Removes topic subscriptions from a connection
+   */
+  public List<String> unsubscribe(WebSocketSession session, List<String> requested) {
+    Connection connection = connection(session);
+    List<String> normalised = new ArrayList<>(requested.size());
+    for (String topic : requested) {
+      normalised.add(normaliseTopic(topic));
+    }
+    synchronized (connection) {
+      for (String topic : normalised) {
+        if (connection.topics.remove(topic)) {
+          removeFromTopic(topic, connection);
+        }
+      }
+    }
+    return normalised;
+  }
+
+  /**
+   * Sends a control message, such as a subscription acknowledgement, to a connection.
+   * Goes through the same session decorator as alert frames so writes never overlap.
+   */
+  public void reply(WebSocketSession session, String payload) throws IOException {
+    Connection connection = connections.get(session.getId());
+    if (connection != null && !connection.closed.get()) {
+      connection.session.sendMessage(new TextMessage(payload));
+    }
+  }
+
+  @Override
+  public void onTriggered(List<WeatherAlert> alerts, WeatherData weatherData) {
+    long triggeredAt = System.nanoTime();
+    for (WeatherAlert alert : alerts) {
+      published.increment();
+      Set<Connection> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (String topic : topicsFor(alert)) {
+        Set<Connection> subscribers = topics.get(topic);
+        if (subscribers != null) {
+          targets.addAll(subscribers);
+        }
+      }
+      if (targets.isEmpty()) {
+        continue;
+      }
+
+      PendingEvent event;
+      try {
+        event = new PendingEvent(serialise(alert, weatherData), triggeredAt);
+      } catch (JsonProcessingException e) {
+        log.warn("Could not serialise alert {}: {}", alert.getId(), e.getMessage());
+        continue;
+      }
+      for (Connection connection : targets) {
+        enqueue(connection, event);
+      }
+    }
+  }
+
+  /**
+   * @return topics an alert is published to
+   */
+  static List<String> topicsFor(WeatherAlert alert) {
+    return List.of(
+            ALERT_TOPIC + alert.getId(),
+            LOCATION_TOPIC + locationKey(alert.getLocation()),
+            PRIORITY_TOPIC + alert.getPriority());
+  }
+
+  /**
+   * Validates a topic and normalises location topics to the {@link Location#searchKey} form
+   */
+  static String normaliseTopic(String topic) {
+    if (topic == null) {
+      throw new IllegalArgumentException("Topic cannot be null");
+    }
+    String trimmed = topic.trim();
+    if (trimmed.startsWith(ALERT_TOPIC) && trimmed.length() > ALERT_TOPIC.length()) {
+      return trimmed;
+    }
+    if (trimmed.startsWith(PRIORITY_TOPIC)) {
+      String priority = trimmed.substring(PRIORITY_TOPIC.length());
+      if (priority.length() == 1 && priority.charAt(0) >= '1' && priority.charAt(0) <= '5') {
+        return trimmed;
+      }
+    }
+    if (trimmed.startsWith(LOCATION_TOPIC)) {
+      String[] parts = trimmed.substring(LOCATION_TOPIC.length()).split("[,_]");
+      if (parts.length == 2 && !parts[0].isBlank() && !parts[1].isBlank()) {
+        return LOCATION_TOPIC + Location.searchKey(parts[0], parts[1]);
+      }
+    }
+    throw new IllegalArgumentException("Invalid topic: " + topic);
+  }
+
+  private void enqueue(Connection connection, PendingEvent event) {
+    if (connection.closed.get()) {
+      return;
+    }
+    if (!connection.queue.offer(event)) {
+      dropped.increment();
+      return;
+    }
+    if (connection.draining.compareAndSet(false, true)) {
+      try {
+        senders.execute(() -> drain(connection));
+      } catch (RuntimeException e) {
+        connection.draining.set(false);
+      }
+    }
+  }
+
+  private void drain(Connection connection) {
+    List<PendingEvent> batch = new ArrayList<>(config.getMaxBatchSize());
+    do {
+      while (connection.queue.drainTo(batch, config.getMaxBatchSize()) > 0) {
+        if (connection.closed.get()) {
+          return;
+        }
+        try {
+          connection.session.sendMessage(new TextMessage(frame(batch)));
+        } catch (SessionLimitExceededException e) {
+          // The decorator's send time or buffer limit was hit: the client is too slow
+          log.debug("Alert push to {} exceeded its limits: {}", connection.session.getId(), e.getMessage());
+          dropped.increment(batch.size());
+          close(connection, e.getStatus());
+          return;
+        } catch (IOException | IllegalStateException e) {
+          log.debug("Alert push to {} failed: {}", connection.session.getId(), e.getMessage());
+          close(connection, CloseStatus.SERVER_ERROR);
+          return;
+        }
+        long now = System.nanoTime();
+        for (PendingEvent event : batch) {
+          deliveryLatency.record(now - event.triggeredAtNanos, TimeUnit.NANOSECONDS);
+        }
+        delivered.increment(batch.size());
+        frames.increment();
+        batch.clear();
+      }
+      connection.draining.set(false);
+      // Re-check: an event may have been queued after the last drain but before the flag was cleared
+    } while (!connection.queue.isEmpty() && connection.draining.compareAndSet(false, true));
+  }
+
+  private String serialise(WeatherAlert alert, WeatherData weatherData) throws JsonProcessingException {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("alertId", alert.getId());
+    event.put("alertType", alert.getAlertType().name());
+    event.put("location", locationKey(alert.getLocation()));
+    event.put("priority", alert.getPriority());
+    event.put("description", alert.getDescription());
+    event.put("triggeredAt", alert.getLastTriggered());
+    event.put("temperature", weatherData.getTemperature());
+    event.put("condition", weatherData.getCondition());
+    event.put("humidity", weatherData.getHumidity());
+    event.put("windSpeed", weatherData.getWindSpeed());
+    return objectMapper.writeValueAsString(event);
+  }
+
+  private static String frame(List<PendingEvent> batch) {
+    int length = 32;
+    for (PendingEvent event : batch) {
+      length += event.json.length() + 1;
+    }
+    StringBuilder frame = new StringBuilder(length).append("{\"type\":\"alerts\",\"alerts\":[");
+    for (int i = 0; i < batch.size(); i++) {
+      if (i > 0) {
+        frame.append(',');
+      }
+      frame.append(batch.get(i).json);
+    }
+    return frame.append("]}").toString();
+  }
+
+  private Connection connection(WebSocketSession session) {
+    Connection connection = connections.get(session.getId());
+    if (connection == null) {
+      throw new IllegalStateException("Unknown connection " + session.getId());
+    }
+    return connection;
+  }
+
+  private void close(Connection connection, CloseStatus status) {
+    if (connection.closed.compareAndSet(false, true)) {
+      connection.queue.clear();
+      closeQuietly(connection.session, status);
+    }
+  }
+
+  private void unsubscribeAll(Connection connection) {
+    connection.closed.set(true);
+    connection.queue.clear();
+    synchronized (connection) {
+      for (String topic : connection.topics) {
+        removeFromTopic(topic, connection);
+      }
+      connection.topics.clear();
+    }
+  }
+
+  private void removeFromTopic(String topic, Connection connection) {
+    topics.computeIfPresent(topic, (key, subscribers) -> {
+      subscribers.remove(connection);
+      return subscribers.isEmpty() ? null : subscribers;
+    });
+  }
+
+  private long queuedEvents() {
+    long queued = 0;
+    for (Connection connection : connections.values()) {
+      queued += connection.queue.size();
+    }
+    return queued;
+  }
+
+  private static String locationKey(Location location) {
+    return Location.searchKey(location.getCity(), location.getCountry());
+  }
+
+  private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+    try {
+      session.close(status);
+    } catch (IOException e) {
+      log.debug("Error closing alert push session {}: {}", session.getId(), e.getMessage());
+    }
+  }
+
+  private static final class PendingEvent {
+
+    private final String json;
+    private final long triggeredAtNanos;
+
+    private PendingEvent(String json, long triggeredAtNanos) {
+      this.json = json;
+      this.triggeredAtNanos = triggeredAtNanos;
+    }
+  }
+
+  private static final class Connection {
+
+    private final WebSocketSession session;
+    private final BlockingQueue<PendingEvent> queue;
+    private final Set<String> topics = ConcurrentHashMap.newKeySet(); // mutated under the connection lock
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Connection(WebSocketSession session, int queueCapacity) {
+      this.session = session;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+  }
+}
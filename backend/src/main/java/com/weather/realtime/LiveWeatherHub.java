@@ -0,0 +1,464 @@
+package com.weather.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.config.RealTimeConfig;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.WeatherService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans out live weather updates to Server-Sent Events subscribers.
+ * Each subscribed location has one channel refreshed on a fixed schedule through the cached
+ * {@link WeatherService}, however many clients follow it. An event is serialised once per
+ * change and shared by every subscriber; only changed fields are sent after the initial snapshot.
+ * Every subscriber has a bounded queue drained by a small sender pool: a client whose queue
+ * fills up is evicted rather than buffered without limit, and a client whose write blocks past
+ * the send timeout is evicted and its sender interrupted, so a stalled connection cannot hold
+ * a sender thread. An emitter evicted mid-write is completed by its sender once the write
+ * returns, as completing it elsewhere would wait on the emitter's lock.
+ */
+@Slf4j
+@Component
+public class LiveWeatherHub {
+
+  private static final String EVENT_NAME = "weather";
+
+  private final WeatherService weatherService;
+  private final ObjectMapper objectMapper;
+  private final RealTimeConfig config;
+
+  private final Map<String, LocationChannel> channels = new ConcurrentHashMap<>();
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+  private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("keepalive").build();
+
+  private final Counter eventsSent;
+  private final Counter slowEvictions;
+  private final Counter timeoutEvictions;
+  private final Counter errorEvictions;
+  private final Counter refreshChanged;
+  private final Counter refreshUnchanged;
+  private final Counter refreshFailed;
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService refreshers;
+  private ExecutorService senders;
+
+  public LiveWeatherHub(WeatherService weatherService, ObjectMapper objectMapper, RealTimeConfig config,
+                        MeterRegistry meterRegistry) {
+    this.weatherService = weatherService;
+    this.objectMapper = objectMapper;
+    this.config = config;
+
+    Gauge.builder("weather.realtime.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Connected real-time subscribers")
+            .register(meterRegistry);
+    Gauge.builder("weather.realtime.locations", channels, Map::size)
+            .description("Locations with at least one real-time subscriber")
+            .register(meterRegistry);
+    this.eventsSent = Counter.builder("weather.realtime.events.sent")
+            .description("Events written to real-time subscribers")
+            .register(meterRegistry);
+    this.slowEvictions = evictionCounter(meterRegistry, "slow-consumer");
+    this.timeoutEvictions = evictionCounter(meterRegistry, "send-timeout");
+    this.errorEvictions = evictionCounter(meterRegistry, "error");
+    this.refreshChanged = refreshCounter(meterRegistry, "changed");
+    this.refreshUnchanged = refreshCounter(meterRegistry, "unchanged");
+    this.refreshFailed = refreshCounter(meterRegistry, "failed");
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("realtime-scheduler"));
+    refreshers = Executors.newFixedThreadPool(config.getRefreshThreads(), daemonThreads("realtime-refresh"));
+    senders = Executors.newFixedThreadPool(config.getSenderThreads(), daemonThreads("realtime-send"));
+
+    long refreshMillis = config.getRefreshInterval().toMillis();
+    long heartbeatMillis = config.getHeartbeatInterval().toMillis();
+    scheduler.scheduleAtFixedRate(this::refreshAll, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    scheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    long sendCheckMillis = Math.max(10, config.getSendTimeout().toMillis() / 2);
+    scheduler.scheduleAtFixedRate(this::evictStalledSenders, sendCheckMillis, sendCheckMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    scheduler.shutdownNow();
+    refreshers.shutdownNow();
+    senders.shutdownNow();
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+  }
+
+  /**
+   * Subscribes a new client to live updates for the given locations
+   *
+   * @throws IllegalArgumentException if no or too many locations are requested
+   * @throws IllegalStateException    if the subscriber limit is reached
+   */
+  public SseEmitter subscribe(List<Location> locations) {
+    if (locations.isEmpty() || locations.size() > config.getMaxLocationsPerSubscription()) {
+      throw new IllegalArgumentException("Between 1 and " + config.getMaxLocationsPerSubscription()
+              + " locations must be requested");
+    }
+    if (subscriberCount.incrementAndGet() > config.getMaxSubscribers()) {
+      subscriberCount.decrementAndGet();
+      throw new IllegalStateException("Real-time subscriber limit reached");
+    }
+
+    SseEmitter emitter = newEmitter(config.getEmitterTimeout().toMillis());
+    // The keys are fixed before the subscriber joins any channel, so remove() always sees all of them
+    Subscriber subscriber = new Subscriber(emitter, config.getSubscriberQueueCapacity(),
+            locations.stream().map(LiveWeatherHub::key).toList());
+    List<LocationChannel> joined = new ArrayList<>(locations.size());
+    for (Location location : locations) {
+      joined.add(channels.compute(key(location), (k, existing) -> {
+        LocationChannel target = existing != null ? existing : new LocationChannel(k, location);
+        target.subscribers.add(subscriber);
+        return target;
+      }));
+    }
+    subscribers.add(subscriber);
+
+    emitter.onCompletion(() -> remove(subscriber));
+    emitter.onTimeout(() -> remove(subscriber));
+    emitter.onError(error -> remove(subscriber));
+
+    if (subscriber.closed.get()) {
+      // Evicted by a publish while joining: undo whatever the removal could not see yet
+      subscribers.remove(subscriber);
+      leaveChannels(subscriber);
+      return emitter;
+    }
+    for (LocationChannel channel : joined) {
+      Set<DataWithMediaType> snapshot = channel.snapshotEvent;
+      if (snapshot != null) {
+        offer(subscriber, snapshot);
+      } else {
+        // First subscriber for this location: fetch now instead of waiting for the next tick
+        scheduleRefresh(channel);
+      }
+    }
+    log.debug("Real-time subscriber added for {} locations ({} connected)", locations.size(), subscriberCount.get());
+    return emitter;
+  }
+
+  /**
+   * @return number of connected subscribers
+   */
+  public int getSubscriberCount() {
+    return subscriberCount.get();
+  }
+
+  /**
+   * Creates the emitter of a new subscriber
+   */
+  SseEmitter newEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  private void refreshAll() {
+    channels.values().forEach(this::scheduleRefresh);
+  }
+
+  private void scheduleRefresh(LocationChannel channel) {
+    // Skip locations whose previous refresh is still running
+    if (channel.refreshing.compareAndSet(false, true)) {
+      try {
+        refreshers.execute(() -> refresh(channel));
+      } catch (RuntimeException e) {
+        channel.refreshing.set(false);
+        log.debug("Real-time refresh rejected for {}: {}", channel.key, e.getMessage());
+      }
+    }
+  }
+
+  private void refresh(LocationChannel channel) {
+    try {
+      publish(channel, weatherService.getCurrentWeather(channel.location));
+    } catch (Exception e) {
+      refreshFailed.increment();
+      log.debug("Real-time refresh failed for {}: {}", channel.key, e.getMessage());
+    } finally {
+      channel.refreshing.set(false);
+    }
+  }
+
+  private void publish(LocationChannel channel, WeatherData data) throws JsonProcessingException {
+    WeatherData previous = channel.lastData;
+    if (data == null || data.equals(previous)) {
+      refreshUnchanged.increment();
+      return;
+    }
+    refreshChanged.increment();
+
+    channel.lastData = data;
+    channel.snapshotEvent = event(channel, "snapshot", fields(null, data), data);
+    Set<DataWithMediaType> payload = previous == null
+            ? channel.snapshotEvent
+            : event(channel, "delta", fields(previous, data), data);
+
+    for (Subscriber subscriber : channel.subscribers) {
+      offer(subscriber, payload);
+    }
+  }
+
+  private void sendHeartbeats() {
+    subscribers.forEach(subscriber -> offer(subscriber, heartbeat));
+  }
+
+  private void offer(Subscriber subscriber, Set<DataWithMediaType> payload) {
+    if (subscriber.closed.get()) {
+      return;
+    }
+    if (!subscriber.queue.offer(payload)) {
+      log.debug("Evicting slow real-time subscriber ({} queued events)", subscriber.queue.size());
+      if (evict(subscriber)) {
+        slowEvictions.increment();
+      }
+      return;
+    }
+    if (subscriber.draining.compareAndSet(false, true)) {
+      try {
+        senders.execute(() -> drain(subscriber));
+      } catch (RuntimeException e) {
+        subscriber.draining.set(false);
+      }
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    do {
+      Set<DataWithMediaType> payload;
+      while ((payload = subscriber.queue.poll()) != null) {
+        if (!subscriber.beginSend()) {
+          return;
+        }
+        boolean delivered = false;
+        boolean evictedDuringSend;
+        try {
+          subscriber.emitter.send(payload);
+          delivered = true;
+        } catch (IOException | IllegalStateException e) {
+          log.debug("Real-time write failed: {}", e.getMessage());
+        } finally {
+          evictedDuringSend = subscriber.endSend();
+        }
+        if (evictedDuringSend) {
+          // Completion was left to this thread, which no longer holds the emitter's lock
+          subscriber.emitter.complete();
+          return;
+        }
+        if (!delivered) {
+          if (evict(subscriber)) {
+            errorEvictions.increment();
+          }
+          return;
+        }
+        eventsSent.increment();
+      }
+      subscriber.draining.set(false);
+      // Re-check: an event may have been queued after the last poll but before the flag was cleared
+    } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+  }
+
+  private void evictStalledSenders() {
+    long now = System.nanoTime();
+    long limit = config.getSendTimeout().toNanos();
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.sendStalled(now, limit) && evict(subscriber)) {
+        timeoutEvictions.increment();
+        log.debug("Evicting real-time subscriber whose write exceeded {}", config.getSendTimeout());
+      }
+    }
+  }
+
+  /**
+   * @return true if this call removed the subscriber
+   */
+  private boolean evict(Subscriber subscriber) {
+    if (!remove(subscriber)) {
+      return false;
+    }
+    if (!subscriber.interruptSender()) {
+      subscriber.emitter.complete();
+    }
+    return true;
+  }
+
+  private boolean remove(Subscriber subscriber) {
+    if (!subscriber.closed.compareAndSet(false, true)) {
+      return false;
+    }
+    subscribers.remove(subscriber);
+    subscriberCount.decrementAndGet();
+    subscriber.queue.clear();
+    leaveChannels(subscriber);
+    return true;
+  }
+
+  private void leaveChannels(Subscriber subscriber) {
+    for (String key : subscriber.channelKeys) {
+      channels.computeIfPresent(key, (k, channel) -> {
+        channel.subscribers.remove(subscriber);
+        return channel.subscribers.isEmpty() ? null : channel;
+      });
+    }
+  }
+
+  private Set<DataWithMediaType> event(LocationChannel channel, String type, Map<String, Object> fields,
+                                       WeatherData data) throws JsonProcessingException {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("location", channel.key);
+    body.put("type", type);
+    body.put("data", fields);
+    body.put("timestamp", data.getTimestamp());
+    return SseEmitter.event()
+            .name(EVENT_NAME)
+            .data(objectMapper.writeValueAsString(body), MediaType.APPLICATION_JSON)
+            .build();
+  }
+
+  /**
+   * @return all fields when there is no previous value, otherwise only the changed ones
+   */
+  static Map<String, Object> fields(WeatherData previous, WeatherData current) {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    if (previous == null || Double.compare(previous.getTemperature(), current.getTemperature()) != 0) {
+      fields.put("temperature", current.getTemperature());
+    }
+    if (previous == null || !Objects.equals(previous.getCondition(), current.getCondition())) {
+      fields.put("condition", current.getCondition());
+    }
+    if (previous == null || previous.getHumidity() != current.getHumidity()) {
+      fields.put("humidity", current.getHumidity());
+    }
+    if (previous == null || Double.compare(previous.getWindSpeed(), current.getWindSpeed()) != 0) {
+      fields.put("windSpeed", current.getWindSpeed());
+    }
+    return fields;
+  }
+
+  private static String key(Location location) {
+    return location.getCity() + "_" + location.getCountry();
+  }
+
+  private static Counter evictionCounter(MeterRegistry registry, String reason) {
+    return Counter.builder("weather.realtime.evictions")
+            .description("Real-time subscribers disconnected by the server")
+            .tag("reason", reason)
+            .register(registry);
+  }
+
+  private static Counter refreshCounter(MeterRegistry registry, String outcome) {
+    return Counter.builder("weather.realtime.refreshes")
+            .description("Shared per-location refreshes")
+            .tag("outcome", outcome)
+            .register(registry);
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger sequence = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static final class LocationChannel {
+
+    private final String key;
+    private final Location location;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile WeatherData lastData;
+    private volatile Set<DataWithMediaType> snapshotEvent;
+
+    private LocationChannel(String key, Location location) {
+      this.key = key;
+      this.location = location;
+    }
+  }
+
+  private static final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> queue;
+    private final List<String> channelKeys;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private Thread sender; // guarded by this
+    private long sendStartedNanos; // guarded by this
+
+    private Subscriber(SseEmitter emitter, int queueCapacity, List<String> channelKeys) {
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+      this.channelKeys = channelKeys;
+    }
+
+    /**
+     * @return false if the subscriber was evicted and nothing should be written
+     */
+    private synchronized boolean beginSend() {
+      if (closed.get()) {
+        return false;
+      }
+      sender = Thread.currentThread();
+      sendStartedNanos = System.nanoTime();
+      return true;
+    }
+
+    /**
+     * @return true if the subscriber was evicted during the write, leaving completion to the sender
+     */
+    private synchronized boolean endSend() {
+      sender = null;
+      Thread.interrupted(); // Consume an interrupt aimed at the write that just finished
+      return closed.get();
+    }
+
+    private synchronized boolean sendStalled(long nowNanos, long limitNanos) {
+      return sender != null && nowNanos - sendStartedNanos >= limitNanos;
+    }
+
+    /**
+     * @return true if a write was in progress; its sender completes the emitter when it returns
+     */
+    private synchronized boolean interruptSender() {
+      if (sender == null) {
+        return false;
+      }
+      sender.interrupt();
+      return true;
+    }
+  }
+}
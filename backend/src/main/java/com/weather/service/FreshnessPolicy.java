@@ -0,0 +1,58 @@
+package com.weather.service;
+
+import com.weather.config.FreshnessConfig;
+import com.weather.model.WeatherData;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Decides whether weather data is fresh, against the application {@link Clock} and a configured
+ * window per kind of data. Callers mapping many items read {@link #nowEpochSecond()} once and
+ * reuse it, so a whole response is judged against the same instant.
+ */
+@Component
+public class FreshnessPolicy {
+
+  /**
+   * Kinds of weather data with their own freshness window
+   */
+  public enum DataKind {
+    CURRENT,
+    FORECAST
+  }
+
+  private final Clock clock;
+  private final long currentWindowSeconds;
+  private final long forecastWindowSeconds;
+
+  public FreshnessPolicy(Clock clock, FreshnessConfig config) {
+    this.clock = clock;
+    this.currentWindowSeconds = config.getCurrent().getSeconds();
+    this.forecastWindowSeconds = config.getForecast().getSeconds();
+  }
+
+  public boolean isFresh(WeatherData weatherData, DataKind kind) {
+    return isFresh(weatherData, kind, nowEpochSecond());
+  }
+
+  public boolean isFresh(WeatherData weatherData, DataKind kind, long nowEpochSecond) {
+    return weatherData.isFresh(nowEpochSecond, windowSeconds(kind));
+  }
+
+  public long windowSeconds(DataKind kind) {
+    return kind == DataKind.FORECAST ? forecastWindowSeconds : currentWindowSeconds;
+  }
+
+  public long nowEpochSecond() {
+    return Math.floorDiv(clock.millis(), 1000L);
+  }
+
+  /**
+   * @return zone for presenting timestamps, resolved once with the clock
+   */
+  public ZoneId zone() {
+    return clock.getZone();
+  }
+}
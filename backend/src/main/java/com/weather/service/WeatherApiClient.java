@@ -3,6 +3,8 @@ package com.weather.service;
 import com.weather.model.Location;
 import com.weather.model.WeatherData;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for weather API client implementations
  */
@@ -24,4 +26,27 @@ public interface WeatherApiClient {
    * @return array of weather data for each day
    */
   WeatherData[] getWeatherForecast(Location location, int days);
+
+  /**
+   * Fetches current weather data without blocking the caller.
+   * Implementations backed by a cancellable transport should abort the
+   * underlying request when the returned future is cancelled.
+   *
+   * @param location the location to get weather for
+   * @return future completed with current weather data
+   */
+  default CompletableFuture<WeatherData> getCurrentWeatherAsync(Location location) {
+    return CompletableFuture.supplyAsync(() -> getCurrentWeather(location));
+  }
+
+  /**
+   * Fetches a weather forecast without blocking the caller.
+   *
+   * @param location the location to get forecast for
+   * @param days     number of days to forecast
+   * @return future completed with weather data for each day
+   */
+  default CompletableFuture<WeatherData[]> getWeatherForecastAsync(Location location, int days) {
+    return CompletableFuture.supplyAsync(() -> getWeatherForecast(location, days));
+  }
 }
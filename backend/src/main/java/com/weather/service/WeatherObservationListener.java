@@ -0,0 +1,20 @@
+package com.weather.service;
+
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+
+/**
+ * Callback for current weather fetched from the upstream API.
+ * Invoked on the fetching thread for every successful fetch, not for cache hits. The fetch runs
+ * inside the cache loader, which holds the lock of the cache entry, so implementations must not
+ * block or do I/O; hand heavier work to a thread of their own.
+ */
+@FunctionalInterface
+public interface WeatherObservationListener {
+
+  /**
+   * @param location    the location the weather was fetched for
+   * @param weatherData the fetched weather data
+   */
+  void onObserved(Location location, WeatherData weatherData);
+}
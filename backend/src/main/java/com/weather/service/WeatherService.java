@@ -1,34 +1,67 @@
 package com.weather.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.weather.model.Location;
 import com.weather.model.WeatherData;
+import com.weather.monitoring.WeatherMetrics;
+import com.weather.monitoring.WeatherMetrics.CallStatus;
+import com.weather.monitoring.WeatherMetrics.OperationMetrics;
 import com.weather.monitoring.circuit.CircuitBreaker;
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Spring Boot service for weather operations with caching, circuit breaker and monitoring
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WeatherService {
 
   private static final int MAX_FORECAST_DAYS = 14;
+  private static final int HOT_KEYS_IN_STATISTICS = 5;
   private final WeatherApiClient apiClient;
   private final CacheManager cacheManager;
   private final CircuitBreaker circuitBreaker;
-  private final MeterRegistry meterRegistry;
+  private final WeatherMetrics weatherMetrics;
+  private final OperationMetrics currentWeatherMetrics;
+  private final OperationMetrics forecastMetrics;
+  private final List<WeatherObservationListener> observationListeners = new CopyOnWriteArrayList<>();
+
+  public WeatherService(WeatherApiClient apiClient, CacheManager cacheManager,
+                        CircuitBreaker circuitBreaker, WeatherMetrics weatherMetrics) {
+    this.apiClient = apiClient;
+    this.cacheManager = cacheManager;
+    this.circuitBreaker = circuitBreaker;
+    this.weatherMetrics = weatherMetrics;
+    this.currentWeatherMetrics = weatherMetrics.operation(WeatherMetrics.CURRENT_WEATHER);
+    this.forecastMetrics = weatherMetrics.operation(WeatherMetrics.WEATHER_FORECAST);
+  }
+
+  /**
+   * Registers a listener notified of current weather fetched from the upstream API
+   *
+   * @param listener the listener to add
+   */
+  public void addObservationListener(WeatherObservationListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null");
+    }
+    observationListeners.add(listener);
+  }
 
   /**
-   * Gets current weather for a location with Spring caching and monitoring
+   * Gets current weather for a location with Spring caching and monitoring.
+   * Synchronized caching lets one caller load a missing key while others wait,
+   * and lets the cache time hits and misses.
    *
    * @param location the location to get weather for
    * @return current weather data
@@ -36,39 +69,24 @@ public class WeatherService {
    * @throws WeatherServiceException  if API call fails
    */
   @Cacheable(value = "weather-current",
-          key = "#location.city + '_' + #location.country")
+          key = "#location.city + '_' + #location.country", sync = true)
   public WeatherData getCurrentWeather(Location location) {
     if (location == null) {
       throw new IllegalArgumentException("Location cannot be null");
     }
 
-    // Record metrics
-    Timer apiTimer = Timer.builder("weather.api.calls.duration")
-            .description("Weather API call duration")
-            .tag("operation", "getCurrentWeather")
-            .register(meterRegistry);
-
     try {
-      return apiTimer.recordCallable(() -> {
+      return currentWeatherMetrics.upstream().recordCallable(() -> {
         try {
           return circuitBreaker.execute(() -> {
+            long start = System.nanoTime();
             try {
               WeatherData data = apiClient.getCurrentWeather(location);
-              // Record success
-              Counter.builder("weather.api.calls.total")
-                      .description("Total weather API calls")
-                      .tag("operation", "getCurrentWeather")
-                      .tag("status", "success")
-                      .register(meterRegistry)
-                      .increment();
+              currentWeatherMetrics.recordUpstream(true, System.nanoTime() - start);
+              notifyObserved(location, data);
               return data;
             } catch (RuntimeException e) {
-              Counter.builder("weather.api.calls.total")
-                      .description("Total weather API calls")
-                      .tag("operation", "getCurrentWeather")
-                      .tag("status", "failure")
-                      .register(meterRegistry)
-                      .increment();
+              currentWeatherMetrics.recordUpstream(false, System.nanoTime() - start);
               if (e instanceof NetworkException) {
                 throw new WeatherServiceException(
                         "Network error while fetching weather data", e);
@@ -79,12 +97,7 @@ public class WeatherService {
           });
 
         } catch (Exception e) {
-          Counter.builder("weather.api.calls.total")
-                  .description("Total weather API calls")
-                  .tag("operation", "getCurrentWeather")
-                  .tag("status", "error")
-                  .register(meterRegistry)
-                  .increment();
+          currentWeatherMetrics.record(CallStatus.ERROR);
           throw e;
         }
       });
@@ -106,7 +119,7 @@ public class WeatherService {
    * @throws WeatherServiceException  if API call fails
    */
   @Cacheable(value = "weather-forecast",
-          key = "#location.city + '_' + #location.country + '_' + #days")
+          key = "#location.city + '_' + #location.country + '_' + #days", sync = true)
   public WeatherData[] getWeatherForecast(Location location, int days) {
     if (location == null) {
       throw new IllegalArgumentException("Location cannot be null");
@@ -118,16 +131,22 @@ public class WeatherService {
 
     int requestDays = Math.min(days, MAX_FORECAST_DAYS);
 
+    long start = System.nanoTime();
     try {
-      return apiClient.getWeatherForecast(location, requestDays);
+      WeatherData[] forecast = apiClient.getWeatherForecast(location, requestDays);
+      forecastMetrics.recordUpstream(true, System.nanoTime() - start);
+      return forecast;
 
     } catch (RuntimeException e) {
+      forecastMetrics.recordUpstream(false, System.nanoTime() - start);
       if (e instanceof NetworkException) {
         throw new WeatherServiceException(
                 "Network error while fetching forecast", e);
       }
       throw new WeatherServiceException(
               "Error fetching forecast: " + e.getMessage(), e);
+    } finally {
+      forecastMetrics.upstream().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
   }
 
@@ -141,7 +160,7 @@ public class WeatherService {
   }
 
   /**
-   * Gets cache statistics
+   * Gets cache statistics: entries, hit rate, evictions, estimated size and hottest keys
    *
    * @return cache statistics string
    */
@@ -151,7 +170,19 @@ public class WeatherService {
 
     cacheManager.getCacheNames().forEach(cacheName -> {
       org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
-      if (cache != null) {
+      if (cache instanceof CaffeineCache) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        CacheStats cacheStats = nativeCache.stats();
+        WeatherMetrics.CacheMetrics cacheMetrics = weatherMetrics.cache(cacheName);
+
+        stats.append("Cache: ").append(cacheName)
+                .append(" - entries=").append(nativeCache.estimatedSize())
+                .append(String.format(Locale.ROOT, ", hitRate=%.3f", cacheStats.hitRate()))
+                .append(", evictions=").append(cacheStats.evictionCount())
+                .append(", estimatedBytes=").append(cacheMetrics.weightedSizeBytes())
+                .append(", hotKeys=").append(cacheMetrics.hotKeys().topKeys(HOT_KEYS_IN_STATISTICS))
+                .append("\n");
+      } else if (cache != null) {
         stats.append("Cache: ").append(cacheName).append(" - Active\n");
       }
     });
@@ -159,19 +190,16 @@ public class WeatherService {
     return stats.toString();
   }
 
-  /**
-   * Checks if the service is healthy by testing API connectivity
-   *
-   * @return true if service is healthy
-   */
-  public boolean isHealthy() {
-    try {
-      // Try to fetch weather for a test location
-      Location testLocation = new Location("London", "GB", 51.5074, -0.1278);
-      getCurrentWeather(testLocation);
-      return true;
-    } catch (Exception e) {
-      return false;
+  private void notifyObserved(Location location, WeatherData data) {
+    if (data == null) {
+      return;
+    }
+    for (WeatherObservationListener listener : observationListeners) {
+      try {
+        listener.onObserved(location, data);
+      } catch (RuntimeException e) {
+        log.warn("Observation listener failed for {}: {}", location.getFullName(), e.getMessage());
+      }
     }
   }
 }
@@ -0,0 +1,70 @@
+package com.weather.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * OkHttp interceptor that appends the upstream API key at dispatch time.
+ * Clients attach the key as a request tag, so it never appears in the URLs they
+ * build or log; the request line logged here has the key redacted.
+ */
+@Slf4j
+public class ApiKeyInterceptor implements Interceptor {
+
+  public static final String API_KEY_PARAMETER = "appid";
+  private static final String REDACTED = "REDACTED";
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    ApiKey apiKey = request.tag(ApiKey.class);
+    if (apiKey == null) {
+      return chain.proceed(request);
+    }
+
+    HttpUrl url = request.url().newBuilder()
+            .setQueryParameter(API_KEY_PARAMETER, apiKey.value)
+            .build();
+
+    if (log.isDebugEnabled()) {
+      log.debug("--> {} {}", request.method(), redact(url));
+    }
+    return chain.proceed(request.newBuilder().url(url).build());
+  }
+
+  /**
+   * @param url upstream URL
+   * @return URL string with the API key replaced by a placeholder
+   */
+  public static String redact(HttpUrl url) {
+    if (url.queryParameter(API_KEY_PARAMETER) == null) {
+      return url.toString();
+    }
+    return url.newBuilder()
+            .setQueryParameter(API_KEY_PARAMETER, REDACTED)
+            .build()
+            .toString();
+  }
+
+  /**
+   * Request tag carrying the API key for a single upstream call
+   */
+  public static final class ApiKey {
+
+    private final String value;
+
+    public ApiKey(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String toString() {
+      return REDACTED;
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package com.weather.service.impl;
+
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.NetworkException;
+import com.weather.service.WeatherApiClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Composite WeatherApiClient that hedges slow primary calls against a secondary provider.
+ * When the primary has not answered within its recent latency percentile, the same
+ * request is sent to the secondary; the first successful answer wins and the other
+ * call is cancelled. A failed primary call falls over to the secondary immediately.
+ * Every answered or outrun primary call is sampled, the latter with its elapsed time at
+ * cancellation as a lower bound, so slow primaries keep raising the hedge delay.
+ */
+@Slf4j
+public class HedgingWeatherApiClient implements WeatherApiClient {
+
+  private final WeatherApiClient primary;
+  private final WeatherApiClient secondary;
+  private final LatencyTracker primaryLatency;
+  private final Duration minDelay;
+  private final Duration maxDelay;
+  private final Counter hedgedCalls;
+  private final Counter primaryWins;
+  private final Counter secondaryWins;
+
+  public HedgingWeatherApiClient(WeatherApiClient primary, WeatherApiClient secondary,
+                                 LatencyTracker primaryLatency, Duration minDelay, Duration maxDelay,
+                                 MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.secondary = secondary;
+    this.primaryLatency = primaryLatency;
+    this.minDelay = minDelay;
+    this.maxDelay = maxDelay;
+    this.hedgedCalls = Counter.builder("weather.api.hedge.requests")
+            .description("Requests sent to the secondary provider")
+            .register(meterRegistry);
+    this.primaryWins = Counter.builder("weather.api.hedge.winner")
+            .description("Upstream answers used, by provider")
+            .tag("provider", "primary")
+            .register(meterRegistry);
+    this.secondaryWins = Counter.builder("weather.api.hedge.winner")
+            .description("Upstream answers used, by provider")
+            .tag("provider", "secondary")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public WeatherData getCurrentWeather(Location location) {
+    return await(getCurrentWeatherAsync(location));
+  }
+
+  @Override
+  public WeatherData[] getWeatherForecast(Location location, int days) {
+    return await(getWeatherForecastAsync(location, days));
+  }
+
+  @Override
+  public CompletableFuture<WeatherData> getCurrentWeatherAsync(Location location) {
+    return hedge(client -> client.getCurrentWeatherAsync(location));
+  }
+
+  @Override
+  public CompletableFuture<WeatherData[]> getWeatherForecastAsync(Location location, int days) {
+    return hedge(client -> client.getWeatherForecastAsync(location, days));
+  }
+
+  /**
+   * @return delay after which an unanswered primary call is hedged
+   */
+  public Duration getHedgeDelay() {
+    Duration estimate = primaryLatency.getPercentile();
+    if (estimate.compareTo(minDelay) < 0) {
+      return minDelay;
+    }
+    return estimate.compareTo(maxDelay) > 0 ? maxDelay : estimate;
+  }
+
+  private <T> CompletableFuture<T> hedge(Function<WeatherApiClient, CompletableFuture<T>> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    AtomicBoolean secondaryLaunched = new AtomicBoolean();
+    AtomicReference<CompletableFuture<T>> secondaryCall = new AtomicReference<>();
+    AtomicBoolean primarySampled = new AtomicBoolean();
+
+    long startNanos = System.nanoTime();
+    CompletableFuture<T> primaryCall = invoke(call, primary);
+
+    Runnable launchSecondary = () -> {
+      if (result.isDone() || !secondaryLaunched.compareAndSet(false, true)) {
+        return;
+      }
+      hedgedCalls.increment();
+      CompletableFuture<T> hedged = invoke(call, secondary);
+      secondaryCall.set(hedged);
+      if (result.isDone()) {
+        hedged.cancel(true);
+        return;
+      }
+      hedged.whenComplete((value, error) -> {
+        if (error == null) {
+          if (result.complete(value)) {
+            secondaryWins.increment();
+          }
+        } else if (primaryCall.isCompletedExceptionally()) {
+          result.completeExceptionally(unwrap(primaryCall));
+        }
+      });
+    };
+
+    primaryCall.whenComplete((value, error) -> {
+      if (error == null) {
+        if (primarySampled.compareAndSet(false, true)) {
+          primaryLatency.record(System.nanoTime() - startNanos);
+        }
+        if (result.complete(value)) {
+          primaryWins.increment();
+        }
+        return;
+      }
+      if (!secondaryLaunched.get()) {
+        log.debug("Primary provider failed, failing over to secondary: {}", error.getMessage());
+        launchSecondary.run();
+      } else {
+        CompletableFuture<T> hedged = secondaryCall.get();
+        if (hedged != null && hedged.isCompletedExceptionally()) {
+          result.completeExceptionally(unwrap(primaryCall));
+        }
+      }
+    });
+
+    if (!primaryCall.isDone()) {
+      CompletableFuture.delayedExecutor(getHedgeDelay().toNanos(), TimeUnit.NANOSECONDS)
+              .execute(launchSecondary);
+    }
+
+    // The loser is cancelled as soon as a winner is known
+    result.whenComplete((value, error) -> {
+      if (!primaryCall.isDone() && primarySampled.compareAndSet(false, true)) {
+        // A primary that lost the race took at least this long; dropping it would bias the percentile low
+        primaryLatency.record(System.nanoTime() - startNanos);
+      }
+      primaryCall.cancel(true);
+      CompletableFuture<T> hedged = secondaryCall.get();
+      if (hedged != null) {
+        hedged.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  private static <T> CompletableFuture<T> invoke(Function<WeatherApiClient, CompletableFuture<T>> call,
+                                                 WeatherApiClient client) {
+    try {
+      return call.apply(client);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static Throwable unwrap(CompletableFuture<?> failed) {
+    try {
+      failed.join();
+      return new IllegalStateException("Future completed normally");
+    } catch (CompletionException e) {
+      return e.getCause() != null ? e.getCause() : e;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new NetworkException("Upstream call failed", cause);
+    }
+  }
+}
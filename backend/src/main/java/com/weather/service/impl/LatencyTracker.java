@@ -0,0 +1,65 @@
+package com.weather.service.impl;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of recent call latencies used to estimate a latency percentile.
+ * Recording is lock-free; the percentile is recomputed every few samples so
+ * readers only see a cached value.
+ */
+public class LatencyTracker {
+
+  private static final int RECOMPUTE_INTERVAL = 32;
+
+  private final AtomicLongArray samples;
+  private final AtomicLong recorded = new AtomicLong();
+  private final double percentile;
+  private volatile long percentileNanos;
+
+  public LatencyTracker(int windowSize, double percentile, Duration initialEstimate) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("Window size must be positive");
+    }
+    if (percentile <= 0 || percentile > 1) {
+      throw new IllegalArgumentException("Percentile must be in (0, 1]");
+    }
+    this.samples = new AtomicLongArray(windowSize);
+    this.percentile = percentile;
+    this.percentileNanos = initialEstimate.toNanos();
+  }
+
+  /**
+   * Records the latency of a completed call
+   *
+   * @param nanos call latency in nanoseconds
+   */
+  public void record(long nanos) {
+    long sequence = recorded.getAndIncrement();
+    samples.lazySet((int) (sequence % samples.length()), nanos);
+
+    long count = sequence + 1;
+    if (count % RECOMPUTE_INTERVAL == 0) {
+      recompute((int) Math.min(count, samples.length()));
+    }
+  }
+
+  /**
+   * @return latest percentile estimate, or the initial estimate until enough samples exist
+   */
+  public Duration getPercentile() {
+    return Duration.ofNanos(percentileNanos);
+  }
+
+  private void recompute(int count) {
+    long[] window = new long[count];
+    for (int i = 0; i < count; i++) {
+      window[i] = samples.get(i);
+    }
+    Arrays.sort(window);
+    int index = Math.max(0, (int) Math.ceil(percentile * count) - 1);
+    percentileNanos = window[index];
+  }
+}
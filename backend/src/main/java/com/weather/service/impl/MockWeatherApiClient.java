@@ -16,6 +16,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class MockWeatherApiClient implements WeatherApiClient {
 
+  private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
   private final Random random = new Random();
   private final Map<String, WeatherData> mockResponses = new ConcurrentHashMap<>();
   private boolean simulateNetworkError = false;
@@ -97,12 +99,12 @@ public class MockWeatherApiClient implements WeatherApiClient {
   }
 
   private WeatherData createWeatherData(double temp, String condition, int humidity, double windSpeed) {
-    WeatherData data = new WeatherData();
-    data.setTemperature(temp);
-    data.setCondition(condition);
-    data.setHumidity(humidity);
-    data.setWindSpeed(windSpeed);
-    return data;
+    return WeatherData.builder()
+            .temperature(temp)
+            .condition(condition)
+            .humidity(humidity)
+            .windSpeed(windSpeed)
+            .build();
   }
 
   private WeatherData generateRealisticWeatherData(Location location) {
@@ -146,6 +148,13 @@ public class MockWeatherApiClient implements WeatherApiClient {
     String[] forecastConditions = {"Sunny", "Partly Cloudy", "Cloudy", "Rainy", "Clear", "Thunderstorm"};
     String condition = forecastConditions[random.nextInt(forecastConditions.length)];
 
-    return createWeatherData(newTemp, condition, newHumidity, newWindSpeed);
+    return WeatherData.builder()
+            .temperature(newTemp)
+            .condition(condition)
+            .humidity(newHumidity)
+            .windSpeed(newWindSpeed)
+            .epochSecond(baseWeather.getEpochSecond())
+            .validAt(baseWeather.getEpochSecond() + dayOffset * SECONDS_PER_DAY)
+            .build();
   }
 }
@@ -9,12 +9,17 @@ import com.weather.service.NetworkException;
 import com.weather.service.WeatherApiClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * OpenWeatherMap API implementation of WeatherApiClient
@@ -28,24 +33,15 @@ public class OpenWeatherMapApiClient implements WeatherApiClient {
   private final WeatherApiProperties weatherProperties;
   private final ObjectMapper objectMapper;
   private final OkHttpClient httpClient;
+  private volatile OpenWeatherMapUrls urls;
+  private volatile UpstreamValidatorStore validators;
 
   @Override
   public WeatherData getCurrentWeather(Location location) {
-    String url = String.format("%s/weather?lat=%f&lon=%f&appid=%s&units=metric",
-            weatherProperties.getBaseUrl(), location.getLatitude(), location.getLongitude(), weatherProperties.getApiKey());
+    HttpUrl url = currentWeatherUrl(location);
 
-    Request request = new Request.Builder()
-            .url(url)
-            .get()
-            .build();
-
-    try (Response response = httpClient.newCall(request).execute()) {
-      if (!response.isSuccessful()) {
-        throw new RuntimeException("API call failed with code: " + response.code());
-      }
-
-      String responseBody = response.body().string();
-      return parseCurrentWeather(responseBody);
+    try {
+      return execute(url, response -> readCurrentWeather(response, url));
 
     } catch (IOException e) {
       throw new NetworkException("Network error while fetching current weather", e);
@@ -56,22 +52,10 @@ public class OpenWeatherMapApiClient implements WeatherApiClient {
 
   @Override
   public WeatherData[] getWeatherForecast(Location location, int days) {
-    String url = String.format("%s/forecast?lat=%f&lon=%f&appid=%s&units=metric&cnt=%d",
-            weatherProperties.getBaseUrl(), location.getLatitude(), location.getLongitude(), weatherProperties.getApiKey(), days * 8); // 8 forecasts per day (3-hour intervals)
+    HttpUrl url = forecastUrl(location, days);
 
-    Request request = new Request.Builder()
-            .url(url)
-            .get()
-            .build();
-
-    try (Response response = httpClient.newCall(request).execute()) {
-      if (!response.isSuccessful()) {
-        throw new RuntimeException("API call failed with code: " + response.code());
-      }
-
-      assert response.body() != null;
-      String responseBody = response.body().string();
-      return parseForecastWeather(responseBody, days);
+    try {
+      return execute(url, response -> readForecast(response, url, days));
 
     } catch (IOException e) {
       throw new NetworkException("Network error while fetching forecast", e);
@@ -80,20 +64,198 @@ public class OpenWeatherMapApiClient implements WeatherApiClient {
     }
   }
 
+  @Override
+  public CompletableFuture<WeatherData> getCurrentWeatherAsync(Location location) {
+    HttpUrl url = currentWeatherUrl(location);
+    return enqueue(url, response -> readCurrentWeather(response, url),
+            "Network error while fetching current weather", "Error parsing weather data");
+  }
+
+  @Override
+  public CompletableFuture<WeatherData[]> getWeatherForecastAsync(Location location, int days) {
+    HttpUrl url = forecastUrl(location, days);
+    return enqueue(url, response -> readForecast(response, url, days),
+            "Network error while fetching forecast", "Error parsing forecast data");
+  }
+
+  private HttpUrl currentWeatherUrl(Location location) {
+    return urls().currentWeather(location.getLatitude(), location.getLongitude());
+  }
+
+  private HttpUrl forecastUrl(Location location, int days) {
+    return urls().forecast(location.getLatitude(), location.getLongitude(), days);
+  }
+
+  private Request request(HttpUrl url, boolean conditional) {
+    Request.Builder builder = new Request.Builder()
+            .url(url)
+            .get();
+    if (conditional) {
+      validators().applyValidators(url, builder);
+    }
+
+    // The key is appended by ApiKeyInterceptor so it stays out of built and logged URLs
+    String apiKey = weatherProperties.getApiKey();
+    if (apiKey != null && !apiKey.isEmpty()) {
+      builder.tag(ApiKeyInterceptor.ApiKey.class, new ApiKeyInterceptor.ApiKey(apiKey));
+    }
+    return builder.build();
+  }
+
+  private OpenWeatherMapUrls urls() {
+    OpenWeatherMapUrls current = urls;
+    if (current == null) {
+      current = new OpenWeatherMapUrls(weatherProperties.getBaseUrl());
+      urls = current;
+    }
+    return current;
+  }
+
+  UpstreamValidatorStore validators() {
+    UpstreamValidatorStore current = validators;
+    if (current == null) {
+      synchronized (this) {
+        current = validators;
+        if (current == null) {
+          current = new UpstreamValidatorStore(weatherProperties.getMaxValidators(),
+                  weatherProperties.getValidatorRetention());
+          validators = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Sends a conditional request, repeated without validators if upstream answers 304 for an
+   * entry evicted in the meantime
+   */
+  private <T> T execute(HttpUrl url, ResponseReader<T> reader) throws Exception {
+    try (Response response = httpClient.newCall(request(url, true)).execute()) {
+      T result = reader.read(response);
+      if (result != null) {
+        return result;
+      }
+    }
+    try (Response response = httpClient.newCall(request(url, false)).execute()) {
+      return requireResult(reader.read(response), response);
+    }
+  }
+
+  /**
+   * Dispatches the request asynchronously, repeated without validators like {@link #execute};
+   * cancelling the returned future cancels the HTTP call
+   */
+  private <T> CompletableFuture<T> enqueue(HttpUrl url, ResponseReader<T> reader,
+                                           String networkErrorMessage, String parseErrorMessage) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    AtomicReference<Call> inFlight = new AtomicReference<>();
+    future.whenComplete((result, error) -> {
+      Call call = inFlight.get();
+      if (future.isCancelled() && call != null) {
+        call.cancel();
+      }
+    });
+    dispatch(url, true, reader, future, inFlight, networkErrorMessage, parseErrorMessage);
+    return future;
+  }
+
+  private <T> void dispatch(HttpUrl url, boolean conditional, ResponseReader<T> reader, CompletableFuture<T> future,
+                            AtomicReference<Call> inFlight, String networkErrorMessage, String parseErrorMessage) {
+    Call call = httpClient.newCall(request(url, conditional));
+    inFlight.set(call);
+    if (future.isCancelled()) {
+      return;
+    }
+
+    call.enqueue(new Callback() {
+      @Override
+      public void onFailure(Call failedCall, IOException e) {
+        future.completeExceptionally(new NetworkException(networkErrorMessage, e));
+      }
+
+      @Override
+      public void onResponse(Call completedCall, Response response) {
+        try (response) {
+          T result = reader.read(response);
+          if (result == null && conditional) {
+            dispatch(url, false, reader, future, inFlight, networkErrorMessage, parseErrorMessage);
+            return;
+          }
+          future.complete(requireResult(result, response));
+        } catch (IOException e) {
+          future.completeExceptionally(new NetworkException(networkErrorMessage, e));
+        } catch (Exception e) {
+          future.completeExceptionally(new RuntimeException(parseErrorMessage, e));
+        }
+      }
+    });
+  }
+
+  private static <T> T requireResult(T result, Response response) {
+    if (result == null) {
+      throw new RuntimeException("API call failed with code: " + response.code());
+    }
+    return result;
+  }
+
+  /**
+   * @return the parsed response, or null for a 304 with nothing stored to reuse
+   */
+  private WeatherData readCurrentWeather(Response response, HttpUrl url) throws Exception {
+    if (response.code() == 304) {
+      return validators().notModified(url, response);
+    }
+    if (!response.isSuccessful()) {
+      throw new RuntimeException("API call failed with code: " + response.code());
+    }
+
+    String responseBody = response.body().string();
+
+    // Observations refresh every ~10 minutes; an unchanged dt means the previous parse is still valid
+    long observationTime = UpstreamValidatorStore.readObservationTime(objectMapper, responseBody);
+    WeatherData unchanged = validators().unchanged(url, observationTime, response);
+    if (unchanged != null) {
+      return unchanged;
+    }
+
+    WeatherData weatherData = parseCurrentWeather(responseBody);
+    validators().store(url, observationTime, response, weatherData);
+    return weatherData;
+  }
+
+  /**
+   * @return the parsed response, or null for a 304 with nothing stored to reuse
+   */
+  private WeatherData[] readForecast(Response response, HttpUrl url, int days) throws Exception {
+    if (response.code() == 304) {
+      return validators().notModified(url, response);
+    }
+    if (!response.isSuccessful()) {
+      throw new RuntimeException("API call failed with code: " + response.code());
+    }
+
+    assert response.body() != null;
+    String responseBody = response.body().string();
+    WeatherData[] forecast = parseForecastWeather(responseBody, days);
+    validators().store(url, UpstreamValidatorStore.NO_OBSERVATION_TIME, response, forecast);
+    return forecast;
+  }
+
   private WeatherData parseCurrentWeather(String json) throws Exception {
     JsonNode root = objectMapper.readTree(json);
 
-    WeatherData weatherData = new WeatherData();
-    weatherData.setTemperature(root.path("main").path("temp").asDouble());
-    weatherData.setHumidity(root.path("main").path("humidity").asInt());
-    weatherData.setWindSpeed(root.path("wind").path("speed").asDouble() * 3.6); // Convert m/s to km/h
+    WeatherData.Builder weatherData = WeatherData.builder()
+            .temperature(root.path("main").path("temp").asDouble())
+            .humidity(root.path("main").path("humidity").asInt())
+            .windSpeed(root.path("wind").path("speed").asDouble() * 3.6); // Convert m/s to km/h
 
     JsonNode weatherArray = root.path("weather");
     if (weatherArray.isArray() && !weatherArray.isEmpty()) {
-      weatherData.setCondition(weatherArray.get(0).path("main").asText());
+      weatherData.condition(weatherArray.get(0).path("main").asText());
     }
 
-    return weatherData;
+    return weatherData.build();
   }
 
   private WeatherData[] parseForecastWeather(String json, int days) throws Exception {
@@ -106,19 +268,27 @@ public class OpenWeatherMapApiClient implements WeatherApiClient {
     for (int i = 0; i < Math.min(days, listNode.size() / 8); i++) {
       JsonNode dayForecast = listNode.get(i * 8); // Take every 8th forecast (24 hours apart)
 
-      WeatherData weatherData = new WeatherData();
-      weatherData.setTemperature(dayForecast.path("main").path("temp").asDouble());
-      weatherData.setHumidity(dayForecast.path("main").path("humidity").asInt());
-      weatherData.setWindSpeed(dayForecast.path("wind").path("speed").asDouble() * 3.6);
+      WeatherData.Builder weatherData = WeatherData.builder()
+              .temperature(dayForecast.path("main").path("temp").asDouble())
+              .humidity(dayForecast.path("main").path("humidity").asInt())
+              .windSpeed(dayForecast.path("wind").path("speed").asDouble() * 3.6);
+      if (dayForecast.hasNonNull("dt")) {
+        weatherData.validAt(dayForecast.path("dt").asLong()); // Used for predicted alerts
+      }
 
       JsonNode weatherArray = dayForecast.path("weather");
       if (weatherArray.isArray() && !weatherArray.isEmpty()) {
-        weatherData.setCondition(weatherArray.get(0).path("main").asText());
+        weatherData.condition(weatherArray.get(0).path("main").asText());
       }
 
-      forecast[i] = weatherData;
+      forecast[i] = weatherData.build();
     }
 
     return forecast;
   }
+
+  @FunctionalInterface
+  private interface ResponseReader<T> {
+    T read(Response response) throws Exception;
+  }
 }
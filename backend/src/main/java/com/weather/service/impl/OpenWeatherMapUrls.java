@@ -0,0 +1,83 @@
+package com.weather.service.impl;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Precomputed OpenWeatherMap endpoint URLs.
+ * The base URL and constant query parameters are parsed once; per-request
+ * coordinates are appended with a locale-independent fixed-point formatter.
+ */
+public class OpenWeatherMapUrls {
+
+  private static final int COORDINATE_DECIMALS = 6;
+  private static final double COORDINATE_SCALE = 1_000_000.0;
+  private static final int READINGS_PER_DAY = 8; // 3-hour intervals
+
+  private final HttpUrl currentWeatherTemplate;
+  private final HttpUrl forecastTemplate;
+
+  public OpenWeatherMapUrls(String baseUrl) {
+    if (baseUrl == null || baseUrl.isBlank()) {
+      throw new IllegalArgumentException("Base URL cannot be null or empty");
+    }
+    HttpUrl base = HttpUrl.get(baseUrl);
+    this.currentWeatherTemplate = endpoint(base, "weather");
+    this.forecastTemplate = endpoint(base, "forecast");
+  }
+
+  /**
+   * Builds the current weather URL for the given coordinates
+   */
+  public HttpUrl currentWeather(double latitude, double longitude) {
+    return currentWeatherTemplate.newBuilder()
+            .addEncodedQueryParameter("lat", formatCoordinate(latitude))
+            .addEncodedQueryParameter("lon", formatCoordinate(longitude))
+            .build();
+  }
+
+  /**
+   * Builds the forecast URL for the given coordinates and number of days
+   */
+  public HttpUrl forecast(double latitude, double longitude, int days) {
+    return forecastTemplate.newBuilder()
+            .addEncodedQueryParameter("lat", formatCoordinate(latitude))
+            .addEncodedQueryParameter("lon", formatCoordinate(longitude))
+            .addEncodedQueryParameter("cnt", Integer.toString(days * READINGS_PER_DAY))
+            .build();
+  }
+
+  /**
+   * Formats a coordinate with six decimals and a dot separator, regardless of default locale
+   *
+   * @param value coordinate in degrees
+   * @return fixed-point representation, e.g. "-0.127800"
+   */
+  public static String formatCoordinate(double value) {
+    long scaled = Math.round(value * COORDINATE_SCALE);
+    boolean negative = scaled < 0;
+    long remaining = Math.abs(scaled);
+
+    char[] buffer = new char[24];
+    int position = buffer.length;
+    for (int i = 0; i < COORDINATE_DECIMALS; i++) {
+      buffer[--position] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    buffer[--position] = '.';
+    do {
+      buffer[--position] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining != 0);
+    if (negative) {
+      buffer[--position] = '-';
+    }
+    return new String(buffer, position, buffer.length - position);
+  }
+
+  private static HttpUrl endpoint(HttpUrl base, String path) {
+    return base.newBuilder()
+            .addPathSegment(path)
+            .addQueryParameter("units", "metric")
+            .build();
+  }
+}
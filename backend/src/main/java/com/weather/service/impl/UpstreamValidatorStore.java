@@ -0,0 +1,160 @@
+package com.weather.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Remembers upstream validators (ETag, Last-Modified and the payload's observation time)
+ * together with the parsed result, so that an expired cache entry can be revalidated
+ * with a conditional request, or re-used without parsing when the observation is unchanged.
+ * Entries outlive the Spring cache entries they back and are bounded separately.
+ */
+@Slf4j
+public class UpstreamValidatorStore {
+
+  /**
+   * Observation time value used when a payload carries no top-level {@code dt} field
+   */
+  public static final long NO_OBSERVATION_TIME = -1;
+
+  private final Cache<String, Entry> entries;
+
+  public UpstreamValidatorStore(long maximumSize, Duration retention) {
+    this(maximumSize, retention, Ticker.systemTicker(), ForkJoinPool.commonPool());
+  }
+
+  UpstreamValidatorStore(long maximumSize, Duration retention, Ticker ticker, Executor executor) {
+    this.entries = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(retention)
+            .ticker(ticker)
+            .executor(executor)
+            .build();
+  }
+
+  /**
+   * Adds conditional headers for a previously seen URL
+   */
+  public Request.Builder applyValidators(HttpUrl url, Request.Builder builder) {
+    Entry entry = entries.getIfPresent(key(url));
+    if (entry != null) {
+      if (entry.etag != null) {
+        builder.header("If-None-Match", entry.etag);
+      }
+      if (entry.lastModified != null) {
+        builder.header("If-Modified-Since", entry.lastModified);
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * @return the result stored for the URL when upstream answered 304 Not Modified, otherwise null,
+   * also for a 304 whose entry was evicted while the conditional request was in flight
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T notModified(HttpUrl url, Response response) {
+    if (response.code() != 304) {
+      return null;
+    }
+    Entry entry = entries.getIfPresent(key(url));
+    if (entry == null) {
+      return null;
+    }
+    log.debug("Upstream revalidated {} (304)", url.encodedPath());
+    return (T) entry.result;
+  }
+
+  /**
+   * @return the stored result when the payload reports the same observation time, otherwise null
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T unchanged(HttpUrl url, long observationTime, Response response) {
+    if (observationTime == NO_OBSERVATION_TIME) {
+      return null;
+    }
+    String key = key(url);
+    Entry entry = entries.getIfPresent(key);
+    if (entry == null || entry.observationTime != observationTime) {
+      return null;
+    }
+    entries.put(key, new Entry(response.header("ETag"), response.header("Last-Modified"),
+            observationTime, entry.result));
+    log.debug("Upstream observation unchanged for {}, skipped parsing", url.encodedPath());
+    return (T) entry.result;
+  }
+
+  /**
+   * Records validators and the parsed result of a full response
+   */
+  public void store(HttpUrl url, long observationTime, Response response, Object result) {
+    entries.put(key(url), new Entry(response.header("ETag"), response.header("Last-Modified"),
+            observationTime, result));
+  }
+
+  /**
+   * Forgets the validators of a URL, so its next request is unconditional
+   */
+  public void invalidate(HttpUrl url) {
+    entries.invalidate(key(url));
+  }
+
+  public long size() {
+    return entries.estimatedSize();
+  }
+
+  /**
+   * Reads the top-level {@code dt} field with a streaming parser, skipping every other subtree
+   *
+   * @return observation epoch seconds, or {@link #NO_OBSERVATION_TIME} if absent
+   */
+  public static long readObservationTime(ObjectMapper objectMapper, String json) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return NO_OBSERVATION_TIME;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        JsonToken value = parser.nextToken();
+        if ("dt".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+          return parser.getLongValue();
+        }
+        parser.skipChildren();
+      }
+    }
+    return NO_OBSERVATION_TIME;
+  }
+
+  private static String key(HttpUrl url) {
+    // Request URLs are built without the API key, so they identify the resource directly
+    return url.toString();
+  }
+
+  private static final class Entry {
+
+    private final String etag;
+    private final String lastModified;
+    private final long observationTime;
+    private final Object result;
+
+    private Entry(String etag, String lastModified, long observationTime, Object result) {
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.observationTime = observationTime;
+      this.result = result;
+    }
+  }
+}
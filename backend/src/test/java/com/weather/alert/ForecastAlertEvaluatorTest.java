@@ -0,0 +1,130 @@
+package com.weather.alert;
+
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.WeatherService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Forecast Alert Evaluator Tests")
+public class ForecastAlertEvaluatorTest {
+
+  private static final long DAY = 24 * 60 * 60;
+  private static final long START = 1_700_000_000L;
+
+  private WeatherAlertSystem alertSystem;
+  private WeatherService weatherService;
+  private ForecastAlertEvaluator evaluator;
+  private Location milan;
+
+  @BeforeEach
+  void setUp() {
+    alertSystem = new WeatherAlertSystem();
+    weatherService = mock(WeatherService.class);
+    evaluator = new ForecastAlertEvaluator(alertSystem, weatherService, new SimpleMeterRegistry());
+    milan = new Location("Milan", "IT", 45.4642, 9.1900);
+  }
+
+  @Test
+  @DisplayName("Should report the earliest forecast crossing of each alert")
+  void shouldReportEarliestCrossing() {
+    // Given
+    WeatherAlert heat = alertSystem.createTemperatureAlert(milan, 30.0, AlertType.HIGH_TEMPERATURE);
+    WeatherAlert wind = alertSystem.createWindSpeedAlert(milan, 40.0);
+    WeatherAlert frost = alertSystem.createTemperatureAlert(milan, 0.0, AlertType.LOW_TEMPERATURE);
+    alertSystem.addAlert(heat);
+    alertSystem.addAlert(wind);
+    alertSystem.addAlert(frost);
+    WeatherData[] forecast = {
+            forecastDay(0, 25.0, 10.0),
+            forecastDay(1, 28.0, 45.0),
+            forecastDay(2, 33.0, 50.0),
+            forecastDay(3, 36.0, 10.0)
+    };
+    when(weatherService.getWeatherForecast(milan, 4)).thenReturn(forecast);
+
+    // When
+    List<PredictedCrossing> crossings = evaluator.predict(milan, 4);
+
+    // Then
+    assertEquals(2, crossings.size());
+    assertSame(wind, crossings.get(0).getAlert());
+    assertEquals(START + DAY, crossings.get(0).getEpochSecond());
+    assertSame(heat, crossings.get(1).getAlert());
+    assertEquals(START + 2 * DAY, crossings.get(1).getEpochSecond());
+  }
+
+  @Test
+  @DisplayName("Should reuse predictions until the forecast or the alerts change")
+  void shouldReusePredictionsUntilInputsChange() {
+    // Given
+    alertSystem.addAlert(alertSystem.createTemperatureAlert(milan, 30.0, AlertType.HIGH_TEMPERATURE));
+    WeatherData[] forecast = {forecastDay(0, 35.0, 10.0)};
+    when(weatherService.getWeatherForecast(milan, 1)).thenReturn(forecast);
+    List<PredictedCrossing> first = evaluator.predict(milan, 1);
+
+    // When
+    List<PredictedCrossing> repeated = evaluator.predict(milan, 1);
+    when(weatherService.getWeatherForecast(milan, 1)).thenReturn(new WeatherData[]{forecastDay(0, 35.0, 10.0)});
+    List<PredictedCrossing> refreshed = evaluator.predict(milan, 1);
+    alertSystem.addAlert(alertSystem.createWindSpeedAlert(milan, 5.0));
+    List<PredictedCrossing> withNewAlert = evaluator.predict(milan, 1);
+
+    // Then
+    assertSame(first, repeated);
+    assertNotSame(first, refreshed);
+    assertEquals(2, withNewAlert.size());
+  }
+
+  @Test
+  @DisplayName("Should skip the forecast for locations without alerts")
+  void shouldSkipLocationsWithoutAlerts() {
+    // When
+    List<PredictedCrossing> crossings = evaluator.predict(milan, 3);
+
+    // Then
+    assertTrue(crossings.isEmpty());
+    verify(weatherService, never()).getWeatherForecast(milan, 3);
+  }
+
+  @Test
+  @DisplayName("Should drop predictions once a location has no alerts")
+  void shouldPrunePredictionsOfRemovedAlerts() {
+    // Given
+    WeatherAlert alert = alertSystem.createTemperatureAlert(milan, 30.0, AlertType.HIGH_TEMPERATURE);
+    alertSystem.addAlert(alert);
+    when(weatherService.getWeatherForecast(milan, 1)).thenReturn(new WeatherData[]{forecastDay(0, 35.0, 10.0)});
+    evaluator.predict(milan, 1);
+
+    // When
+    alertSystem.removeAlert(alert);
+    evaluator.prune();
+
+    // Then
+    assertEquals(0, evaluator.cachedLocations());
+  }
+
+  private WeatherData forecastDay(int day, double temperature, double windSpeed) {
+    return WeatherData.builder()
+            .temperature(temperature)
+            .condition("Clear")
+            .humidity(50)
+            .windSpeed(windSpeed)
+            .epochSecond(START)
+            .validAt(START + day * DAY)
+            .build();
+  }
+}
@@ -0,0 +1,119 @@
+package com.weather.alert;
+
+import com.weather.config.AlertEvaluationConfig;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Sharded Alert Evaluator Tests")
+public class ShardedAlertEvaluatorTest {
+
+  private WeatherAlertSystem alertSystem;
+  private SimpleMeterRegistry meterRegistry;
+  private ShardedAlertEvaluator evaluator;
+
+  @BeforeEach
+  void setUp() {
+    alertSystem = new WeatherAlertSystem();
+    meterRegistry = new SimpleMeterRegistry();
+    AlertEvaluationConfig config = new AlertEvaluationConfig();
+    config.setShards(4);
+    config.init();
+    evaluator = new ShardedAlertEvaluator(alertSystem, config, meterRegistry);
+    evaluator.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    evaluator.stop();
+  }
+
+  @Test
+  @DisplayName("Should trigger only the alerts of locations whose weather crosses the threshold")
+  void shouldTriggerAlertsPerLocation() {
+    // Given
+    Map<String, WeatherData> observations = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      Location location = new Location("City" + i, "IT", 45.0, 9.0);
+      alertSystem.addAlert(alertSystem.createTemperatureAlert(location, 30.0, AlertType.HIGH_TEMPERATURE));
+      observations.put(Location.searchKey(location.getCity(), location.getCountry()),
+              createWeatherDataWithTemperature(i % 2 == 0 ? 35.0 : 20.0));
+    }
+
+    // When
+    List<WeatherAlert> triggered = evaluator.evaluate(observations).join();
+
+    // Then
+    assertEquals(50, triggered.size());
+    assertTrue(triggered.stream().allMatch(alert -> alert.getLastTriggered() != null));
+    assertEquals(100.0, meterRegistry.find("weather.alerts.evaluation.evaluated").counters().stream()
+            .mapToDouble(counter -> counter.count()).sum());
+    assertEquals(50.0, meterRegistry.find("weather.alerts.evaluation.triggered").counters().stream()
+            .mapToDouble(counter -> counter.count()).sum());
+  }
+
+  @Test
+  @DisplayName("Should evaluate each location on the worker of its shard")
+  void shouldEvaluateLocationOnItsShard() {
+    // Given
+    Map<String, String> threadByLocation = new ConcurrentHashMap<>();
+    alertSystem.addTriggerListener((alerts, weatherData) -> alerts.forEach(alert ->
+            threadByLocation.put(Location.searchKey(alert.getLocation().getCity(), alert.getLocation().getCountry()),
+                    Thread.currentThread().getName())));
+    Map<String, WeatherData> observations = new HashMap<>();
+    for (int i = 0; i < 40; i++) {
+      Location location = new Location("City" + i, "FR", 48.0, 2.0);
+      alertSystem.addAlert(alertSystem.createTemperatureAlert(location, 30.0, AlertType.HIGH_TEMPERATURE));
+      observations.put(Location.searchKey(location.getCity(), location.getCountry()),
+              createWeatherDataWithTemperature(35.0));
+    }
+
+    // When
+    evaluator.evaluate(observations).join();
+
+    // Then
+    assertEquals(40, threadByLocation.size());
+    threadByLocation.forEach((key, thread) ->
+            assertEquals("alert-shard-" + evaluator.shardOf(key), thread));
+  }
+
+  @Test
+  @DisplayName("Should ignore locations without alerts or observations")
+  void shouldIgnoreUnknownLocations() {
+    // Given
+    AtomicInteger notifications = new AtomicInteger();
+    alertSystem.addTriggerListener((alerts, weatherData) -> notifications.incrementAndGet());
+    Map<String, WeatherData> observations = new HashMap<>();
+    observations.put("nowhere_XX", createWeatherDataWithTemperature(50.0));
+    observations.put("milan_IT", null);
+
+    // When
+    List<WeatherAlert> triggered = evaluator.evaluate(observations).join();
+
+    // Then
+    assertTrue(triggered.isEmpty());
+    assertEquals(0, notifications.get());
+  }
+
+  private WeatherData createWeatherDataWithTemperature(double temperature) {
+    return WeatherData.builder()
+            .temperature(temperature)
+            .condition("Clear")
+            .humidity(50)
+            .windSpeed(10.0)
+            .build();
+  }
+}
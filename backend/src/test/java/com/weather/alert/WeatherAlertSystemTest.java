@@ -6,7 +6,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -191,6 +193,23 @@ public class WeatherAlertSystemTest {
     assertTrue(activeAlerts.contains(alert));
   }
 
+  @Test
+  @DisplayName("Should find alert locations within a radius by their own coordinates")
+  void shouldFindAlertLocationsWithinRadius() {
+    // Given
+    alertSystem.addAlert(alertSystem.createTemperatureAlert(testLocation, 30.0, AlertType.HIGH_TEMPERATURE));
+    alertSystem.addAlert(alertSystem.createTemperatureAlert(
+            new Location("Monza", "IT", 45.5845, 9.2744), 30.0, AlertType.HIGH_TEMPERATURE));
+    alertSystem.addAlert(alertSystem.createTemperatureAlert(
+            new Location("Rome", "IT", 41.9028, 12.4964), 30.0, AlertType.HIGH_TEMPERATURE));
+
+    // When
+    Set<String> keys = alertSystem.getAlertLocationKeysWithin(45.4642, 9.1900, 50);
+
+    // Then
+    assertEquals(Set.of("milan_IT", "monza_IT"), keys);
+  }
+
   @Test
   @DisplayName("Should remove alert from active alerts list")
   void shouldRemoveAlertFromActiveAlertsList() {
@@ -236,11 +255,12 @@ public class WeatherAlertSystemTest {
     alertSystem.addAlert(tempAlert);
     alertSystem.addAlert(windAlert);
 
-    WeatherData extremeWeather = new WeatherData();
-    extremeWeather.setTemperature(35.0);
-    extremeWeather.setWindSpeed(50.0);
-    extremeWeather.setCondition("Hot and Windy");
-    extremeWeather.setHumidity(30);
+    WeatherData extremeWeather = WeatherData.builder()
+            .temperature(35.0)
+            .windSpeed(50.0)
+            .condition("Hot and Windy")
+            .humidity(30)
+            .build();
 
     // When
     List<WeatherAlert> triggeredAlerts = alertSystem.checkAlerts(extremeWeather);
@@ -251,6 +271,27 @@ public class WeatherAlertSystemTest {
     assertTrue(triggeredAlerts.contains(windAlert));
   }
 
+  @Test
+  @DisplayName("Should notify trigger listeners of triggered alerts")
+  void shouldNotifyTriggerListenersOfTriggeredAlerts() {
+    // Given
+    WeatherAlert alert = alertSystem.createTemperatureAlert(testLocation, 30.0, AlertType.HIGH_TEMPERATURE);
+    alertSystem.addAlert(alert);
+    List<WeatherAlert> notified = new ArrayList<>();
+    alertSystem.addTriggerListener((alerts, weatherData) -> {
+      throw new IllegalStateException("listener failure");
+    });
+    alertSystem.addTriggerListener((alerts, weatherData) -> notified.addAll(alerts));
+
+    // When
+    List<WeatherAlert> triggered = alertSystem.checkAlerts(createWeatherDataWithTemperature(35.0));
+    alertSystem.checkAlerts(createWeatherDataWithTemperature(20.0));
+
+    // Then
+    assertEquals(List.of(alert), triggered);
+    assertEquals(List.of(alert), notified);
+  }
+
   @Test
   @DisplayName("Should throw exception for invalid alert threshold")
   void shouldThrowExceptionForInvalidAlertThreshold() {
@@ -275,30 +316,113 @@ public class WeatherAlertSystemTest {
     assertFalse(alertSystem.getActiveAlerts().contains(alert));
   }
 
+  @Test
+  @DisplayName("Should trigger rule alert only after the required consecutive checks")
+  void shouldTriggerRuleAlertAfterConsecutiveChecks() {
+    // Given
+    WeatherAlert alert = alertSystem.createRuleAlert(testLocation,
+            "temp > 30 AND humidity > 40 FOR 2 CONSECUTIVE CHECKS");
+    alertSystem.addAlert(alert);
+    String locationKey = Location.searchKey(testLocation.getCity(), testLocation.getCountry());
+
+    // When
+    List<WeatherAlert> first = alertSystem.checkLocation(locationKey, observation(35.0, 1_000));
+    List<WeatherAlert> second = alertSystem.checkLocation(locationKey, observation(35.0, 2_000));
+    List<WeatherAlert> afterCooling = alertSystem.checkLocation(locationKey, observation(20.0, 3_000));
+    List<WeatherAlert> afterReset = alertSystem.checkLocation(locationKey, observation(35.0, 4_000));
+
+    // Then
+    assertTrue(first.isEmpty());
+    assertEquals(List.of(alert), second);
+    assertTrue(afterCooling.isEmpty());
+    assertTrue(afterReset.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should count a re-checked observation only once")
+  void shouldCountReCheckedObservationOnce() {
+    // Given
+    WeatherAlert alert = alertSystem.createRuleAlert(testLocation,
+            "temp > 30 AND humidity > 40 FOR 2 CONSECUTIVE CHECKS");
+    alertSystem.addAlert(alert);
+    String locationKey = Location.searchKey(testLocation.getCity(), testLocation.getCountry());
+    WeatherData cached = observation(35.0, 1_000);
+
+    // When
+    List<WeatherAlert> first = alertSystem.checkLocation(locationKey, cached);
+    List<WeatherAlert> recheck = alertSystem.checkLocation(locationKey, cached);
+    List<WeatherAlert> older = alertSystem.checkLocation(locationKey, observation(20.0, 500));
+    List<WeatherAlert> next = alertSystem.checkLocation(locationKey, observation(35.0, 2_000));
+    List<WeatherAlert> nextRecheck = alertSystem.checkLocation(locationKey, observation(35.0, 2_000));
+
+    // Then
+    assertTrue(first.isEmpty());
+    assertTrue(recheck.isEmpty());
+    assertTrue(older.isEmpty());
+    assertEquals(List.of(alert), next);
+    assertTrue(nextRecheck.isEmpty());
+    assertEquals(2, alert.getConsecutiveMatches());
+  }
+
+  @Test
+  @DisplayName("Should leave consecutive counts untouched when checking location-less data")
+  void shouldNotTouchConsecutiveCountsOnAdHocChecks() {
+    // Given
+    WeatherAlert rule = alertSystem.createRuleAlert(testLocation,
+            "temp > 30 AND humidity > 40 FOR 2 CONSECUTIVE CHECKS");
+    WeatherAlert threshold = alertSystem.createTemperatureAlert(testLocation, 30.0, AlertType.HIGH_TEMPERATURE);
+    alertSystem.addAlert(rule);
+    alertSystem.addAlert(threshold);
+    String locationKey = Location.searchKey(testLocation.getCity(), testLocation.getCountry());
+    alertSystem.checkLocation(locationKey, observation(35.0, 1_000));
+
+    // When
+    List<WeatherAlert> adHocHot = alertSystem.checkAlerts(observation(35.0, 1_500));
+    List<WeatherAlert> adHocCool = alertSystem.checkAlerts(observation(20.0, 1_600));
+    List<WeatherAlert> second = alertSystem.checkLocation(locationKey, observation(35.0, 2_000));
+
+    // Then
+    assertEquals(List.of(threshold), adHocHot);
+    assertTrue(adHocCool.isEmpty());
+    assertEquals(List.of(rule, threshold), second);
+  }
+
+  @Test
+  @DisplayName("Should reject malformed rule alerts")
+  void shouldRejectMalformedRuleAlerts() {
+    // When & Then
+    assertThrows(IllegalArgumentException.class,
+            () -> alertSystem.createRuleAlert(testLocation, "temp >> 30"));
+  }
+
+  private WeatherData observation(double temperature, long epochSecond) {
+    return createWeatherDataWithTemperature(temperature).toBuilder().epochSecond(epochSecond).build();
+  }
+
   private WeatherData createWeatherDataWithTemperature(double temperature) {
-    WeatherData weatherData = new WeatherData();
-    weatherData.setTemperature(temperature);
-    weatherData.setCondition("Clear");
-    weatherData.setHumidity(50);
-    weatherData.setWindSpeed(10.0);
-    return weatherData;
+    return WeatherData.builder()
+            .temperature(temperature)
+            .condition("Clear")
+            .humidity(50)
+            .windSpeed(10.0)
+            .build();
   }
 
   private WeatherData createWeatherDataWithCondition(String condition) {
-    WeatherData weatherData = new WeatherData();
-    weatherData.setTemperature(20.0);
-    weatherData.setCondition(condition);
-    weatherData.setHumidity(60);
-    weatherData.setWindSpeed(15.0);
-    return weatherData;
+    return WeatherData.builder()
+            .temperature(20.0)
+            .condition(condition)
+            .humidity(60)
+            .windSpeed(15.0)
+            .build();
   }
 
   private WeatherData createWeatherDataWithWindSpeed() {
-    WeatherData weatherData = new WeatherData();
-    weatherData.setTemperature(22.0);
-    weatherData.setCondition("Windy");
-    weatherData.setHumidity(45);
-    weatherData.setWindSpeed(60.0);
-    return weatherData;
+    return WeatherData.builder()
+            .temperature(22.0)
+            .condition("Windy")
+            .humidity(45)
+            .windSpeed(60.0)
+            .build();
   }
 }
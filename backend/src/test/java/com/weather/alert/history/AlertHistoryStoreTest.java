@@ -0,0 +1,207 @@
+package com.weather.alert.history;
+
+import com.weather.alert.WeatherAlertSystem;
+import com.weather.alert.history.AlertHistoryStore.TriggerQueryResult;
+import com.weather.config.AlertHistoryConfig;
+import com.weather.model.WeatherData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Alert History Store Tests")
+public class AlertHistoryStoreTest {
+
+  private static final long HOUR = 60 * 60;
+  private static final long DAY = 24 * HOUR;
+  private static final long START = 1_700_000_000L;
+
+  @TempDir
+  Path tempDir;
+
+  private AlertHistoryConfig config;
+
+  @BeforeEach
+  void setUp() {
+    config = new AlertHistoryConfig();
+    config.setSpillDirectory(tempDir.toString());
+    config.setMaxEventsPerBucket(3);
+    config.init();
+  }
+
+  @Test
+  @DisplayName("Should return triggers within the range in chronological order")
+  void shouldQueryTriggersInRange() {
+    // Given
+    AlertHistoryStore store = storeAt(START + DAY);
+    store.record("alert-1", START + 2 * HOUR, observation(31.25, 72, 18.5));
+    store.record("alert-1", START, observation(30.0, 70, 10.0));
+    store.record("alert-1", START + 5 * HOUR, observation(33.0, 75, 20.0));
+    store.record("alert-2", START + HOUR, observation(20.0, 50, 5.0));
+
+    // When
+    TriggerQueryResult result = store.query("alert-1", START, START + 5 * HOUR, 10);
+
+    // Then
+    assertEquals(2, result.getTotal());
+    assertEquals(START, result.getTriggers().get(0).getEpochSecond());
+    TriggerEvent second = result.getTriggers().get(1);
+    assertEquals(START + 2 * HOUR, second.getEpochSecond());
+    assertEquals(31.25, second.getTemperature(), 0.001);
+    assertEquals(72, second.getHumidity());
+    assertEquals(18.5, second.getWindSpeed(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Should keep the most recent triggers when the limit is exceeded")
+  void shouldKeepMostRecentTriggersWithinLimit() {
+    // Given
+    AlertHistoryStore store = storeAt(START + DAY);
+    for (int i = 0; i < 5; i++) {
+      store.record("alert-1", START + i * HOUR, observation(30.0 + i, 70, 10.0));
+    }
+
+    // When
+    TriggerQueryResult result = store.query("alert-1", START, START + DAY, 2);
+
+    // Then
+    assertEquals(5, result.getTotal());
+    assertEquals(2, result.getTriggers().size());
+    assertEquals(START + 3 * HOUR, result.getTriggers().get(0).getEpochSecond());
+    assertEquals(START + 4 * HOUR, result.getTriggers().get(1).getEpochSecond());
+  }
+
+  @Test
+  @DisplayName("Should drop triggers beyond the bucket capacity")
+  void shouldDropTriggersOfFullBucket() {
+    // Given
+    AlertHistoryStore store = storeAt(START + DAY);
+
+    // When
+    for (int i = 0; i < 5; i++) {
+      store.record("alert-1", START + i, observation(30.0, 70, 10.0));
+    }
+
+    // Then
+    assertEquals(3, store.query("alert-1", START, START + HOUR, 10).getTotal());
+    assertEquals(3, store.eventsInMemory());
+  }
+
+  @Test
+  @DisplayName("Should spill triggers past the retention to disk and still find them")
+  void shouldSpillExpiredBucketsToDisk() {
+    // Given
+    AlertHistoryStore store = storeAt(START + 8 * DAY);
+    store.record("alert-1", START, observation(30.0, 70, 10.0));
+    store.record("alert-1", START + 7 * DAY + HOUR, observation(32.0, 71, 12.0));
+
+    // When
+    store.roll();
+
+    // Then
+    assertEquals(1, store.eventsInMemory());
+    TriggerQueryResult result = store.query("alert-1", START, START + 8 * DAY, 10);
+    assertEquals(2, result.getTotal());
+    assertEquals(30.0, result.getTriggers().get(0).getTemperature(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Should merge spills of the same period into one file")
+  void shouldMergeSpillsIntoOneFilePerPeriod() throws Exception {
+    // Given
+    AlertHistoryStore store = storeAt(START + 8 * DAY);
+    store.record("alert-1", START, observation(30.0, 70, 10.0));
+    store.record("alert-2", START, observation(20.0, 50, 5.0));
+    store.roll();
+
+    // When
+    store.record("alert-1", START + 60, observation(31.0, 71, 11.0));
+    store.roll();
+
+    // Then
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertEquals(1, files.filter(file -> file.toString().endsWith(".hist")).count());
+    }
+    TriggerQueryResult result = store.query("alert-1", START, START + DAY, 10);
+    assertEquals(2, result.getTotal());
+    assertEquals(31.0, result.getTriggers().get(1).getTemperature(), 0.001);
+    assertEquals(1, store.query("alert-2", START, START + DAY, 10).getTotal());
+  }
+
+  @Test
+  @DisplayName("Should find a bucket displaced by a newer trigger exactly once")
+  void shouldFindDisplacedBucketOnce() {
+    // Given
+    config.setRetention(Duration.ofHours(2));
+    AlertHistoryStore store = storeAt(START + DAY);
+    store.record("alert-1", START, observation(30.0, 70, 10.0));
+
+    // When
+    store.record("alert-1", START + 3 * HOUR, observation(32.0, 71, 12.0));
+
+    // Then
+    assertEquals(1, store.eventsInMemory());
+    assertEquals(2, store.query("alert-1", START, START + DAY, 10).getTotal());
+    store.roll();
+    assertEquals(2, store.query("alert-1", START, START + DAY, 10).getTotal());
+  }
+
+  @Test
+  @DisplayName("Should delete spilled triggers past the disk retention")
+  void shouldDeleteExpiredSpillFiles() {
+    // Given
+    AlertHistoryStore spilling = storeAt(START + 8 * DAY);
+    spilling.record("alert-1", START, observation(30.0, 70, 10.0));
+    spilling.roll();
+
+    // When
+    AlertHistoryStore later = storeAt(START + 91 * DAY);
+    later.roll();
+
+    // Then
+    assertEquals(0, later.query("alert-1", START, START + DAY, 10).getTotal());
+  }
+
+  @Test
+  @DisplayName("Should spill everything on shutdown for the next instance to read")
+  void shouldSpillOnShutdown() {
+    // Given
+    AlertHistoryStore store = storeAt(START + DAY);
+    store.record("alert-1", START + HOUR, observation(30.0, 70, 10.0));
+    store.record("alert-2", START + HOUR, observation(20.0, 50, 5.0));
+
+    // When
+    store.stop();
+    AlertHistoryStore restarted = storeAt(START + DAY);
+
+    // Then
+    assertEquals(0, store.eventsInMemory());
+    assertEquals(1, restarted.query("alert-1", START, START + DAY, 10).getTotal());
+    assertEquals(1, restarted.query("alert-2", START, START + DAY, 10).getTotal());
+  }
+
+  private AlertHistoryStore storeAt(long epochSecond) {
+    Clock clock = Clock.fixed(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    return new AlertHistoryStore(new WeatherAlertSystem(), config, clock, new SimpleMeterRegistry());
+  }
+
+  private WeatherData observation(double temperature, int humidity, double windSpeed) {
+    return WeatherData.builder()
+            .temperature(temperature)
+            .condition("Clear")
+            .humidity(humidity)
+            .windSpeed(windSpeed)
+            .build();
+  }
+}
@@ -0,0 +1,149 @@
+package com.weather.alert.rule;
+
+import com.weather.model.WeatherData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Compiled Rule Tests")
+public class CompiledRuleTest {
+
+  @Test
+  @DisplayName("Should combine comparisons with AND, OR and NOT by precedence")
+  void shouldCombineComparisons() {
+    // Given
+    CompiledRule rule = CompiledRule.compile("temp > 30 AND humidity > 70 OR NOT wind < 50");
+
+    // When / Then
+    assertTrue(rule.matches(weather(31, 71, 10, "Clear")));
+    assertFalse(rule.matches(weather(31, 60, 10, "Clear")));
+    assertTrue(rule.matches(weather(20, 60, 50, "Clear")));
+    assertEquals(1, rule.getConsecutiveChecks());
+  }
+
+  @Test
+  @DisplayName("Should respect parentheses and condition comparisons")
+  void shouldRespectParenthesesAndConditions() {
+    // Given
+    CompiledRule rule = CompiledRule.compile(
+            "(condition contains 'storm' OR condition = Rain) and (wind >= 40 or temp <= -5)");
+
+    // When / Then
+    assertTrue(rule.matches(weather(20, 50, 45, "Thunderstorm")));
+    assertTrue(rule.matches(weather(-6, 50, 0, "rain")));
+    assertFalse(rule.matches(weather(20, 50, 45, "Light Rain")));
+    assertFalse(rule.matches(weather(20, 50, 10, "Thunderstorm")));
+  }
+
+  @Test
+  @DisplayName("Should parse the consecutive check clause")
+  void shouldParseConsecutiveChecks() {
+    // When
+    CompiledRule rule = CompiledRule.compile("temp > 30 AND humidity > 70 for 2 consecutive checks");
+
+    // Then
+    assertEquals(2, rule.getConsecutiveChecks());
+    assertTrue(rule.matches(weather(35, 80, 0, "Clear")));
+  }
+
+  @Test
+  @DisplayName("Should store each distinct comparison once")
+  void shouldDeduplicateComparisons() {
+    // When
+    CompiledRule rule = CompiledRule.compile("temp > 30 AND (temp > 30 OR TEMPERATURE > 30.0)");
+
+    // Then
+    assertEquals(1, rule.comparisons().length);
+  }
+
+  @Test
+  @DisplayName("Should reject malformed rules with their position")
+  void shouldRejectMalformedRules() {
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile(""));
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile("pressure > 1000"));
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile("temp > hot"));
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile("temp contains 3"));
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile("condition > 'Rain'"));
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile("(temp > 30"));
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile("temp > 30 FOR 0 CHECKS"));
+
+    RuleSyntaxException error = assertThrows(RuleSyntaxException.class,
+            () -> CompiledRule.compile("temp > 30 humidity > 70"));
+    assertEquals(10, error.getPosition());
+  }
+
+  @Test
+  @DisplayName("Should reject rules exceeding the comparison limit")
+  void shouldRejectTooManyComparisons() {
+    // Given
+    String[] comparisons = new String[CompiledRule.MAX_COMPARISONS + 1];
+    Arrays.setAll(comparisons, i -> "humidity > " + i);
+
+    // When / Then
+    assertThrows(RuleSyntaxException.class, () -> CompiledRule.compile(String.join(" OR ", comparisons)));
+  }
+
+  @Test
+  @DisplayName("Should share comparisons across the rules of a location")
+  void shouldShareComparisonsInRuleSet() {
+    // Given
+    CompiledRule hotAndHumid = CompiledRule.compile("temp > 30 AND humidity > 70");
+    CompiledRule hotAndWindy = CompiledRule.compile("temp > 30 AND wind > 40");
+    RuleSet rules = RuleSet.of(Arrays.asList(hotAndHumid, null, hotAndWindy));
+    WeatherData weatherData = weather(32, 75, 10, "Clear");
+
+    // When
+    long outcomes = rules.evaluateGroup(rules.groupOf(0), weatherData);
+
+    // Then
+    assertEquals(3, rules.comparisonCount());
+    assertEquals(-1, rules.groupOf(1));
+    assertEquals(rules.groupOf(0), rules.groupOf(2));
+    assertTrue(rules.matches(0, outcomes));
+    assertFalse(rules.matches(2, outcomes));
+  }
+
+  @Test
+  @DisplayName("Should split comparisons into groups of at most 64")
+  void shouldSplitLargeRuleSets() {
+    // Given
+    CompiledRule[] compiled = new CompiledRule[40];
+    Arrays.setAll(compiled, i -> CompiledRule.compile("humidity > " + i + " AND wind > " + i));
+    RuleSet rules = RuleSet.of(Arrays.asList(compiled));
+    WeatherData weatherData = weather(20, 20, 30, "Clear");
+
+    // When
+    int matching = 0;
+    long outcomes = 0;
+    int evaluated = -1;
+    for (int i = 0; i < rules.size(); i++) {
+      if (rules.groupOf(i) != evaluated) {
+        evaluated = rules.groupOf(i);
+        outcomes = rules.evaluateGroup(evaluated, weatherData);
+      }
+      if (rules.matches(i, outcomes)) {
+        matching++;
+      }
+    }
+
+    // Then
+    assertEquals(80, rules.comparisonCount());
+    assertEquals(1, rules.groupOf(rules.size() - 1));
+    assertEquals(20, matching);
+  }
+
+  private WeatherData weather(double temperature, int humidity, double windSpeed, String condition) {
+    return WeatherData.builder()
+            .temperature(temperature)
+            .humidity(humidity)
+            .windSpeed(windSpeed)
+            .condition(condition)
+            .build();
+  }
+}
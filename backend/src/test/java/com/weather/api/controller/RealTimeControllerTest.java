@@ -0,0 +1,60 @@
+package com.weather.api.controller;
+
+import com.weather.api.mapper.WeatherDtoMapper;
+import com.weather.realtime.LiveWeatherHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Real-Time Controller Tests")
+public class RealTimeControllerTest {
+
+  private LiveWeatherHub liveWeatherHub;
+  private WeatherDtoMapper dtoMapper;
+  private RealTimeController controller;
+
+  @BeforeEach
+  void setUp() {
+    liveWeatherHub = mock(LiveWeatherHub.class);
+    dtoMapper = mock(WeatherDtoMapper.class);
+    controller = new RealTimeController(liveWeatherHub, dtoMapper);
+  }
+
+  @Test
+  @DisplayName("Should reject a location the gazetteer cannot resolve with 400")
+  void shouldRejectUnknownLocation() {
+    // Given
+    when(dtoMapper.createLocation("Atlantis", "XX", null, null))
+            .thenThrow(new IllegalArgumentException("Unknown location Atlantis, XX; provide latitude and longitude"));
+
+    // When
+    ResponseEntity<SseEmitter> response = controller.streamWeather(List.of("Atlantis,xx"));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    verify(liveWeatherHub, never()).subscribe(any());
+  }
+
+  @Test
+  @DisplayName("Should reject a location not given as City,CC with 400")
+  void shouldRejectMalformedLocation() {
+    // When
+    ResponseEntity<SseEmitter> response = controller.streamWeather(List.of("Milan"));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    verify(liveWeatherHub, never()).subscribe(any());
+  }
+}
@@ -0,0 +1,116 @@
+package com.weather.cache;
+
+import com.weather.model.WeatherData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Disk Cache Store Tests")
+public class DiskCacheStoreTest {
+
+  @TempDir
+  Path directory;
+
+  private DiskCacheStore open() throws Exception {
+    return DiskCacheStore.open(directory, 256, 16, Duration.ofMinutes(15));
+  }
+
+  @Test
+  @DisplayName("Should recover entries after reopening")
+  void shouldRecoverEntriesAfterReopening() throws Exception {
+    // Given
+    DiskCacheStore store = open();
+    store.write("London", new byte[]{1, 2, 3}, store.generation());
+    store.write("Milan", new byte[]{4, 5}, store.generation());
+    store.write("London", new byte[]{6}, store.generation());
+    store.close();
+
+    // When
+    DiskCacheStore reopened = open();
+
+    // Then
+    assertEquals(2, reopened.size());
+    assertArrayEquals(new byte[]{6}, reopened.read("London"));
+    assertArrayEquals(new byte[]{4, 5}, reopened.read("Milan"));
+    reopened.close();
+  }
+
+  @Test
+  @DisplayName("Should not resurrect deleted or cleared entries")
+  void shouldNotResurrectDeletedOrClearedEntries() throws Exception {
+    // Given
+    DiskCacheStore store = open();
+    store.write("London", new byte[]{1}, store.generation());
+    store.write("Milan", new byte[]{2}, store.generation());
+    long staleGeneration = store.generation();
+
+    // When
+    store.delete("London");
+    store.write("Paris", new byte[]{3}, staleGeneration); // raced with the delete, must be dropped
+    store.close();
+    DiskCacheStore reopened = open();
+
+    // Then
+    assertNull(reopened.read("London"));
+    assertNull(reopened.read("Paris"));
+    assertArrayEquals(new byte[]{2}, reopened.read("Milan"));
+
+    reopened.clear();
+    assertNull(reopened.read("Milan"));
+    reopened.close();
+  }
+
+  @Test
+  @DisplayName("Should rank warmup keys by access count")
+  void shouldRankWarmupKeysByAccessCount() throws Exception {
+    // Given
+    DiskCacheStore store = open();
+    for (String key : List.of("London", "Milan", "Paris")) {
+      store.write(key, new byte[]{1}, store.generation());
+    }
+    store.recordAccess("Paris");
+    store.recordAccess("Paris");
+    store.recordAccess("Milan");
+    store.write("Paris", new byte[]{1}, store.generation()); // persists the access count
+    store.write("Milan", new byte[]{1}, store.generation());
+    store.close();
+
+    // When
+    DiskCacheStore reopened = open();
+
+    // Then
+    assertEquals(List.of("Paris", "Milan"), reopened.hottestKeys(2));
+    reopened.close();
+  }
+
+  @Test
+  @DisplayName("Should round-trip weather data through the codec")
+  void shouldRoundTripWeatherDataThroughTheCodec() throws Exception {
+    // Given
+    WeatherData data = WeatherData.builder()
+            .temperature(21.5)
+            .condition("Clear")
+            .humidity(40)
+            .windSpeed(12.6)
+            .validAt(1_700_086_400L)
+            .build();
+
+    // When
+    Object decoded = CacheValueCodec.decode(CacheValueCodec.encode(new WeatherData[]{data, null}));
+
+    // Then
+    WeatherData[] forecast = (WeatherData[]) decoded;
+    assertEquals(data, forecast[0]);
+    assertEquals(data.getTimestamp(), forecast[0].getTimestamp());
+    assertEquals(1_700_086_400L, forecast[0].getValidAtEpochSecond());
+    assertNull(forecast[1]);
+  }
+}
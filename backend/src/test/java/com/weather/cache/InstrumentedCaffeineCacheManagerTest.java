@@ -0,0 +1,109 @@
+package com.weather.cache;
+
+import com.weather.monitoring.RequestCacheState;
+import com.weather.monitoring.WeatherMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Instrumented Caffeine Cache Manager Tests")
+public class InstrumentedCaffeineCacheManagerTest {
+
+  private static final String CACHE = "weather-current";
+
+  private SimpleMeterRegistry registry;
+  private Cache cache;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    InstrumentedCaffeineCacheManager manager = new InstrumentedCaffeineCacheManager(new WeatherMetrics(registry));
+    cache = manager.getCache(CACHE);
+    RequestCacheState.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestCacheState.reset();
+  }
+
+  @Test
+  @DisplayName("Should adapt caches into instrumented caches")
+  void shouldAdaptInstrumentedCaches() {
+    // Then
+    assertInstanceOf(InstrumentedCaffeineCache.class, cache);
+  }
+
+  @Test
+  @DisplayName("Should time a miss and its successful load")
+  void shouldRecordMissAndLoad() {
+    // When
+    String value = cache.get("Milan", () -> "sunny");
+
+    // Then
+    assertEquals("sunny", value);
+    assertEquals(1, timerCount("weather.cache.request.duration", "result", "miss"));
+    assertEquals(0, timerCount("weather.cache.request.duration", "result", "hit"));
+    assertEquals(1, timerCount("weather.cache.load.duration", "outcome", "success"));
+    assertEquals(0, timerCount("weather.cache.load.duration", "outcome", "failure"));
+    assertEquals(RequestCacheState.MISS, RequestCacheState.current());
+  }
+
+  @Test
+  @DisplayName("Should time a hit without a load")
+  void shouldRecordHitWithoutLoad() {
+    // Given
+    AtomicInteger loads = new AtomicInteger();
+    cache.get("Milan", () -> "sunny-" + loads.incrementAndGet());
+    RequestCacheState.reset();
+
+    // When
+    String value = cache.get("Milan", () -> "sunny-" + loads.incrementAndGet());
+
+    // Then
+    assertEquals("sunny-1", value);
+    assertEquals(1, timerCount("weather.cache.request.duration", "result", "hit"));
+    assertEquals(1, timerCount("weather.cache.request.duration", "result", "miss"));
+    assertEquals(1, timerCount("weather.cache.load.duration", "outcome", "success"));
+    assertEquals(RequestCacheState.HIT, RequestCacheState.current());
+  }
+
+  @Test
+  @DisplayName("Should time a miss whose load failed")
+  void shouldRecordFailedLoad() {
+    // When
+    assertThrows(Cache.ValueRetrievalException.class, () -> cache.get("Milan", () -> {
+      throw new IllegalStateException("upstream down");
+    }));
+
+    // Then
+    assertEquals(1, timerCount("weather.cache.request.duration", "result", "miss"));
+    assertEquals(0, timerCount("weather.cache.load.duration", "outcome", "success"));
+    assertEquals(1, timerCount("weather.cache.load.duration", "outcome", "failure"));
+    assertEquals(RequestCacheState.MISS, RequestCacheState.current());
+  }
+
+  @Test
+  @DisplayName("Should leave plain lookups to Caffeine statistics")
+  void shouldNotTimePlainLookups() {
+    // When
+    cache.get("Milan");
+
+    // Then
+    assertEquals(0, timerCount("weather.cache.request.duration", "result", "hit"));
+    assertEquals(0, timerCount("weather.cache.request.duration", "result", "miss"));
+  }
+
+  private long timerCount(String name, String tag, String value) {
+    return registry.get(name).tag("cache", CACHE).tag(tag, value).timer().count();
+  }
+}
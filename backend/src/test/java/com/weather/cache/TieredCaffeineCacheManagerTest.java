@@ -0,0 +1,125 @@
+package com.weather.cache;
+
+import com.weather.model.WeatherData;
+import com.weather.monitoring.WeatherMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tiered Caffeine Cache Manager Tests")
+public class TieredCaffeineCacheManagerTest {
+
+  private static final String CACHE = "weather-current";
+  private static final Duration EXPIRATION = Duration.ofSeconds(2);
+
+  @TempDir
+  Path directory;
+
+  private TieredCaffeineCacheManager manager;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    DiskCacheStore store = DiskCacheStore.open(directory.resolve(CACHE), 1 << 20, 4, Duration.ofMinutes(15));
+    store.write("Milan", CacheValueCodec.encode(new WeatherData(21.5, "Clear", 40, 12.6)), store.generation());
+    store.close();
+    // Let the persisted entry age before it is promoted
+    Thread.sleep(500);
+
+    DiskCacheSettings settings = new DiskCacheSettings();
+    settings.setDirectory(directory.toString());
+    manager = new TieredCaffeineCacheManager(new WeatherMetrics(new SimpleMeterRegistry()), settings,
+            Set.of(CACHE), EXPIRATION, 100);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    manager.destroy();
+  }
+
+  @Test
+  @DisplayName("Should keep the disk write time of entries warmed up at startup")
+  void shouldKeepAgeOfWarmedUpEntries() {
+    // When
+    DiskBackedCaffeineCache cache = (DiskBackedCaffeineCache) manager.getCache(CACHE);
+
+    // Then
+    assertNotNull(cache.getNativeCache().getIfPresent("Milan"));
+    assertTrue(expiresAfter(cache, "Milan").compareTo(EXPIRATION.minusMillis(400)) <= 0);
+  }
+
+  @Test
+  @DisplayName("Should keep the disk write time of entries promoted on a miss")
+  void shouldKeepAgeOfEntriesPromotedOnMiss() {
+    // Given
+    DiskBackedCaffeineCache cache = (DiskBackedCaffeineCache) manager.getCache(CACHE);
+    cache.getNativeCache().invalidate("Milan");
+
+    // When
+    Cache.ValueWrapper value = cache.get("Milan");
+    Object loaded = cache.get("Milan", () -> new WeatherData(30.0, "Clear", 40, 12.6));
+
+    // Then
+    assertNotNull(value);
+    assertEquals(21.5, ((WeatherData) loaded).getTemperature(), 0.001);
+    assertTrue(expiresAfter(cache, "Milan").compareTo(EXPIRATION.minusMillis(400)) <= 0);
+  }
+
+  @Test
+  @DisplayName("Should keep the disk write time of entries loaded from disk")
+  void shouldKeepAgeOfEntriesLoadedFromDisk() {
+    // Given
+    DiskBackedCaffeineCache cache = (DiskBackedCaffeineCache) manager.getCache(CACHE);
+    cache.getNativeCache().invalidate("Milan");
+
+    // When
+    WeatherData loaded = cache.get("Milan", () -> new WeatherData(30.0, "Clear", 40, 12.6));
+    cache.put("London", new WeatherData(10.0, "Rain", 80, 20.0));
+
+    // Then
+    assertEquals(21.5, loaded.getTemperature(), 0.001);
+    assertTrue(expiresAfter(cache, "Milan").compareTo(EXPIRATION.minusMillis(400)) <= 0);
+    assertTrue(expiresAfter(cache, "London").compareTo(EXPIRATION.minusMillis(400)) > 0);
+  }
+
+  @Test
+  @DisplayName("Should not serve disk entries older than the cache expiry")
+  void shouldNotServeDiskEntriesOlderThanTheExpiry() throws Exception {
+    // Given a cache whose entries expire before the persisted one's current age
+    DiskCacheSettings settings = new DiskCacheSettings();
+    settings.setDirectory(directory.toString());
+    TieredCaffeineCacheManager shortLived = new TieredCaffeineCacheManager(
+            new WeatherMetrics(new SimpleMeterRegistry()), settings, Set.of(CACHE), Duration.ofMillis(200), 100);
+    try {
+      DiskBackedCaffeineCache cache = (DiskBackedCaffeineCache) shortLived.getCache(CACHE);
+
+      // When
+      Cache.ValueWrapper value = cache.get("Milan");
+      WeatherData loaded = cache.get("Milan", () -> new WeatherData(30.0, "Clear", 40, 12.6));
+
+      // Then
+      assertNull(value);
+      assertEquals(30.0, loaded.getTemperature(), 0.001);
+      assertTrue(expiresAfter(cache, "Milan").compareTo(Duration.ZERO) > 0);
+    } finally {
+      shortLived.destroy();
+    }
+  }
+
+  private static Duration expiresAfter(DiskBackedCaffeineCache cache, String key) {
+    return cache.getNativeCache().policy().expireVariably().orElseThrow()
+            .getExpiresAfter(key).orElseThrow();
+  }
+}
@@ -0,0 +1,154 @@
+package com.weather.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("HTTP Client Config Tests")
+public class HttpClientConfigTest {
+
+  @Test
+  @DisplayName("Should wire the dispatcher limits, timeouts and protocols into the client")
+  void shouldWireDispatcherAndProtocols() {
+    // Given
+    HttpClientConfig config = new HttpClientConfig();
+    config.setConnectTimeoutSeconds(3);
+    config.setReadTimeoutSeconds(7);
+    config.setMaxRequests(40);
+    config.setMaxRequestsPerHost(20);
+    config.setPreferHttp2(true);
+    config.init();
+
+    // When
+    OkHttpClient client = config.okHttpClient(new SimpleMeterRegistry());
+
+    // Then
+    assertEquals(40, client.dispatcher().getMaxRequests());
+    assertEquals(20, client.dispatcher().getMaxRequestsPerHost());
+    assertEquals(3_000, client.connectTimeoutMillis());
+    assertEquals(7_000, client.readTimeoutMillis());
+    assertEquals(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1), client.protocols());
+    assertEquals(0, client.connectionPool().connectionCount());
+  }
+
+  @Test
+  @DisplayName("Should fall back to valid pool and dispatcher limits and HTTP/1.1 only")
+  void shouldDefaultInvalidLimits() {
+    // Given
+    HttpClientConfig config = new HttpClientConfig();
+    config.init();
+
+    // When
+    OkHttpClient client = config.okHttpClient(new SimpleMeterRegistry());
+
+    // Then
+    assertEquals(32, config.getMaxIdleConnections());
+    assertEquals(300, config.getKeepAliveSeconds());
+    assertEquals(128, client.dispatcher().getMaxRequests());
+    assertEquals(64, client.dispatcher().getMaxRequestsPerHost());
+    assertEquals(List.of(Protocol.HTTP_1_1), client.protocols());
+  }
+
+  @Test
+  @DisplayName("Should publish pool counts and dispatcher utilization against the dispatcher limit")
+  void shouldRegisterPoolAndDispatcherGauges() {
+    // Given
+    HttpClientConfig config = new HttpClientConfig();
+    config.init();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // When
+    config.okHttpClient(registry);
+
+    // Then
+    assertNotNull(registry.find("weather.http.client.pool.connections").tag("state", "active").gauge());
+    assertNotNull(registry.find("weather.http.client.pool.connections").tag("state", "idle").gauge());
+    assertNotNull(registry.find("weather.http.client.dispatcher.calls").tag("state", "queued").gauge());
+    assertEquals(0.0, registry.get("weather.http.client.dispatcher.utilization").gauge().value());
+    assertNull(registry.find("weather.http.client.pool.utilization").gauge());
+  }
+
+  @Test
+  @DisplayName("Should count only asynchronous calls against the dispatcher limit")
+  void shouldCountOnlyAsyncCallsInDispatcherUtilization() throws Exception {
+    // Given an upstream that accepts connections but never answers
+    HttpClientConfig config = new HttpClientConfig();
+    config.setMaxRequests(4);
+    config.init();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    OkHttpClient client = config.okHttpClient(registry);
+    List<Socket> accepted = new CopyOnWriteArrayList<>();
+    try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+      Thread acceptor = new Thread(() -> {
+        try {
+          while (true) {
+            accepted.add(server.accept());
+          }
+        } catch (IOException e) {
+          // Server closed
+        }
+      });
+      acceptor.setDaemon(true);
+      acceptor.start();
+      Request request = new Request.Builder().url("http://127.0.0.1:" + server.getLocalPort() + "/").build();
+      Thread syncCaller = new Thread(() -> {
+        try {
+          client.newCall(request).execute().close();
+        } catch (IOException e) {
+          // Cancelled below
+        }
+      });
+      syncCaller.setDaemon(true);
+
+      // When
+      syncCaller.start();
+      client.newCall(request).enqueue(new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+          response.close();
+        }
+      });
+      awaitTrue(() -> accepted.size() == 2 && client.dispatcher().runningCallsCount() == 2);
+
+      // Then
+      assertEquals(2.0, registry.get("weather.http.client.dispatcher.calls").tag("state", "running").gauge().value());
+      assertEquals(0.25, registry.get("weather.http.client.dispatcher.utilization").gauge().value());
+    } finally {
+      client.dispatcher().cancelAll();
+      for (Socket socket : accepted) {
+        socket.close();
+      }
+    }
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+}
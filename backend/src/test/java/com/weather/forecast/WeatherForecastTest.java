@@ -86,8 +86,7 @@ public class WeatherForecastTest {
     // Given
     LocalDate date = LocalDate.now().plusDays(1);
     WeatherData weather1 = createSampleWeatherData();
-    WeatherData weather2 = createSampleWeatherData();
-    weather2.setTemperature(30.0);
+    WeatherData weather2 = createSampleWeatherData().toBuilder().temperature(30.0).build();
 
     // When
     weatherForecast.addDailyForecast(date, weather1);
@@ -223,17 +222,15 @@ public class WeatherForecastTest {
   }
 
   private WeatherData createSampleWeatherData() {
-    WeatherData weatherData = new WeatherData();
-    weatherData.setTemperature(22.5);
-    weatherData.setCondition("Partly Cloudy");
-    weatherData.setHumidity(65);
-    weatherData.setWindSpeed(10.5);
-    return weatherData;
+    return WeatherData.builder()
+            .temperature(22.5)
+            .condition("Partly Cloudy")
+            .humidity(65)
+            .windSpeed(10.5)
+            .build();
   }
 
   private WeatherData createWeatherDataWithTemperature(double temperature) {
-    WeatherData weatherData = createSampleWeatherData();
-    weatherData.setTemperature(temperature);
-    return weatherData;
+    return createSampleWeatherData().toBuilder().temperature(temperature).build();
   }
 }
@@ -0,0 +1,77 @@
+package com.weather.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Place Name Index Tests")
+public class PlaceNameIndexTest {
+
+  private Gazetteer gazetteer;
+  private PlaceNameIndex index;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String places = String.join("\n",
+            "Milan\tIT\t45.4642\t9.1900\t1371498",
+            "Milano Marittima\tIT\t44.2786\t12.3500\t5000",
+            "Milan\tUS\t35.9198\t-88.7589\t7851",
+            "Milan\tUS\t40.2026\t-92.1738\t1700",
+            "Mílos\tGR\t36.7449\t24.4293\t4977",
+            "Zürich\tCH\t47.3769\t8.5417\t415367",
+            "Saint-Étienne\tFR\t45.4397\t4.3872\t171057",
+            "Rome\tIT\t41.9028\t12.4964\t2872800");
+    gazetteer = Gazetteer.read(new BufferedReader(new StringReader(places)), 0);
+    index = new PlaceNameIndex(gazetteer);
+  }
+
+  @Test
+  @DisplayName("Should resolve names ignoring case, accents and whitespace")
+  void shouldResolveNamesIgnoringCaseAccentsAndWhitespace() {
+    // When & Then
+    assertEquals("Milan", gazetteer.name(index.find("  milan ", "it")));
+    assertEquals("IT", gazetteer.country(index.find("MILAN", "IT")));
+    assertEquals("Zürich", gazetteer.name(index.find("Zurich", "CH")));
+    assertEquals("Saint-Étienne", gazetteer.name(index.find("saint etienne", "FR")));
+  }
+
+  @Test
+  @DisplayName("Should prefer the most populous place sharing a name")
+  void shouldPreferMostPopulousPlaceSharingName() {
+    // When
+    int id = index.find("Milan", "US");
+
+    // Then
+    assertEquals(7851, gazetteer.population(id));
+  }
+
+  @Test
+  @DisplayName("Should not resolve unknown names or countries")
+  void shouldNotResolveUnknownNamesOrCountries() {
+    // When & Then
+    assertEquals(-1, index.find("Mila", "IT"));
+    assertEquals(-1, index.find("Milan", "FR"));
+    assertEquals(-1, index.find("Milan", "ITA"));
+    assertEquals(-1, index.find("Atlantis", "GR"));
+  }
+
+  @Test
+  @DisplayName("Should complete prefixes by population and filter by country")
+  void shouldCompletePrefixesByPopulationAndFilterByCountry() {
+    // When
+    int[] any = index.complete("mil", null, 3);
+    int[] italian = index.complete("Mil", "it", 10);
+
+    // Then
+    assertArrayEquals(new int[]{0, 2, 1}, any);
+    assertArrayEquals(new int[]{0, 1}, italian);
+    assertEquals(0, index.complete("  ", null, 10).length);
+    assertEquals(0, index.complete("x", null, 10).length);
+  }
+}
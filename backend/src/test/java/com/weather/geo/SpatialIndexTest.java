@@ -0,0 +1,139 @@
+package com.weather.geo;
+
+import com.weather.model.GeoPoints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Spatial Index Tests")
+public class SpatialIndexTest {
+
+  private static final int POINTS = 20_000;
+
+  private double[] latitudes;
+  private double[] longitudes;
+  private SpatialIndex index;
+
+  @BeforeEach
+  void setUp() {
+    Random random = new Random(42);
+    latitudes = new double[POINTS];
+    longitudes = new double[POINTS];
+    for (int i = 0; i < POINTS; i++) {
+      latitudes[i] = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1)); // Uniform over the sphere
+      longitudes[i] = random.nextDouble() * 360 - 180;
+    }
+    index = new SpatialIndex(latitudes, longitudes);
+  }
+
+  @Test
+  @DisplayName("Should find the same nearest point as a linear scan")
+  void shouldFindSameNearestPointAsLinearScan() {
+    // Given
+    Random random = new Random(7);
+
+    for (int query = 0; query < 500; query++) {
+      double latitude = random.nextDouble() * 180 - 90;
+      double longitude = random.nextDouble() * 360 - 180;
+
+      // When
+      int nearest = index.nearest(latitude, longitude);
+
+      // Then
+      assertEquals(bruteForceNearestDistance(latitude, longitude),
+              GeoPoints.distanceKm(latitude, longitude, latitudes[nearest], longitudes[nearest]), 1e-6);
+    }
+  }
+
+  @Test
+  @DisplayName("Should find the same points within a radius as a linear scan")
+  void shouldFindSamePointsWithinRadiusAsLinearScan() {
+    // Given
+    Random random = new Random(11);
+
+    for (int query = 0; query < 200; query++) {
+      double latitude = random.nextDouble() * 180 - 90;
+      double longitude = random.nextDouble() * 360 - 180;
+      double radiusKm = random.nextDouble() * 800;
+
+      // When
+      int[] found = index.withinRadius(latitude, longitude, radiusKm);
+
+      // Then
+      Arrays.sort(found);
+      assertArrayEquals(bruteForceWithin(latitude, longitude, radiusKm), found);
+    }
+  }
+
+  @Test
+  @DisplayName("Should search across the antimeridian")
+  void shouldSearchAcrossAntimeridian() {
+    // Given
+    SpatialIndex pacific = new SpatialIndex(new double[]{-18.1248, 0.0}, new double[]{178.4501, 0.0});
+
+    // When
+    int nearest = pacific.nearest(-18.0, -179.9);
+    int[] within = pacific.withinRadius(-18.0, -179.9, 200);
+
+    // Then
+    assertEquals(0, nearest);
+    assertArrayEquals(new int[]{0}, within);
+  }
+
+  @Test
+  @DisplayName("Should handle empty index and reject invalid queries")
+  void shouldHandleEmptyIndexAndRejectInvalidQueries() {
+    // Given
+    SpatialIndex empty = new SpatialIndex(new double[0], new double[0]);
+
+    // When & Then
+    assertEquals(-1, empty.nearest(45.0, 9.0));
+    assertEquals(0, empty.withinRadius(45.0, 9.0, 100).length);
+    assertThrows(IllegalArgumentException.class, () -> index.nearest(91.0, 0.0));
+    assertThrows(IllegalArgumentException.class, () -> index.withinRadius(0.0, 0.0, -1));
+  }
+
+  @Test
+  @DisplayName("Should read simple and GeoNames gazetteer lines")
+  void shouldReadSimpleAndGeoNamesGazetteerLines() throws Exception {
+    // Given
+    String lines = "# comment\n"
+            + "Milan\tit\t45.4642\t9.1900\t1371498\n"
+            + "Broken\tIT\tnot-a-number\t9.0\n"
+            + "3169070\tRome\tRome\tRoma\t41.89193\t12.51133\tP\tPPLC\tIT\t\t07\tRM\t058091\t\t2318895\t20\t28\tEurope/Rome\t2023-01-01\n";
+
+    // When
+    Gazetteer gazetteer = Gazetteer.read(new BufferedReader(new StringReader(lines)), 0);
+
+    // Then
+    assertEquals(2, gazetteer.size());
+    assertEquals(1, gazetteer.skipped());
+    assertEquals("IT", gazetteer.country(0));
+    assertEquals("Rome", gazetteer.name(1));
+    assertEquals(2318895, gazetteer.population(1));
+  }
+
+  private double bruteForceNearestDistance(double latitude, double longitude) {
+    double best = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < POINTS; i++) {
+      best = Math.min(best, GeoPoints.distanceKm(latitude, longitude, latitudes[i], longitudes[i]));
+    }
+    return best;
+  }
+
+  private int[] bruteForceWithin(double latitude, double longitude, double radiusKm) {
+    return IntStream.range(0, POINTS)
+            .filter(i -> GeoPoints.distanceKm(latitude, longitude, latitudes[i], longitudes[i]) <= radiusKm)
+            .toArray();
+  }
+}
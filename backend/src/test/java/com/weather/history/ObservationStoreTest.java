@@ -0,0 +1,323 @@
+package com.weather.history;
+
+import com.weather.config.WeatherHistoryConfig;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.WeatherService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Observation Store Tests")
+public class ObservationStoreTest {
+
+  private static final long HOUR = 60 * 60;
+  private static final long DAY = 24 * HOUR;
+  private static final long START = 1_700_000_000L - 1_700_000_000L % DAY;
+  private static final String MILAN = "milan_IT";
+
+  @TempDir
+  Path tempDir;
+
+  private WeatherHistoryConfig config;
+
+  @BeforeEach
+  void setUp() {
+    config = new WeatherHistoryConfig();
+    config.setDirectory(tempDir.toString());
+    config.setSegmentSizeBytes(1 << 20);
+    config.init();
+  }
+
+  @Test
+  @DisplayName("Should return recorded observations unchanged across sealed and open blocks")
+  void shouldRoundTripObservations() {
+    // Given
+    ObservationStore store = storeAt(START + DAY);
+    Random random = new Random(7);
+    double[] temperatures = new double[300];
+    for (int i = 0; i < temperatures.length; i++) {
+      temperatures[i] = Math.round((-5 + random.nextDouble() * 40) * 100) / 100.0;
+      store.record(MILAN, observation(START + i * 60L + random.nextInt(5), temperatures[i], i % 101, i * 0.25));
+    }
+
+    // When
+    List<ObservationAggregate> points = store.observations(MILAN, START, START + DAY);
+
+    // Then
+    assertEquals(temperatures.length, points.size());
+    for (int i = 0; i < temperatures.length; i++) {
+      assertEquals(temperatures[i], points.get(i).getTemperatureAverage(), 1e-9);
+      assertEquals(i % 101, points.get(i).getHumidityMin());
+      assertEquals(i * 0.25, points.get(i).getWindSpeedMax(), 1e-9);
+    }
+  }
+
+  @Test
+  @DisplayName("Should compress a regular series to a few bytes per observation")
+  void shouldCompressRegularSeries() {
+    // Given
+    ObservationBlockWriter writer = new ObservationBlockWriter(START);
+    int count = 720;
+    for (int i = 0; i < count; i++) {
+      int temperatureCenti = 2000 + (int) Math.round(300 * Math.sin(i / 60.0));
+      writer.append(START + i * 10L, temperatureCenti, 60 + (i / 120), 1200 + (i % 7) * 10);
+    }
+
+    // When
+    byte[] payload = writer.toByteArray();
+    ObservationBlockReader reader = new ObservationBlockReader(ByteBuffer.wrap(payload), START, count);
+
+    // Then
+    assertTrue(payload.length < count * 4, "Expected under 4 bytes per observation, got " + payload.length);
+    for (int i = 0; i < count; i++) {
+      assertTrue(reader.next());
+      assertEquals(START + i * 10L, reader.epochSecond());
+      assertEquals(2000 + (int) Math.round(300 * Math.sin(i / 60.0)), reader.temperatureCenti());
+    }
+    assertFalse(reader.next());
+  }
+
+  @Test
+  @DisplayName("Should aggregate observations into steps")
+  void shouldAggregateIntoSteps() {
+    // Given
+    ObservationStore store = storeAt(START + DAY);
+    store.record(MILAN, observation(START, 10.0, 50, 5.0));
+    store.record(MILAN, observation(START + 1800, 14.0, 70, 15.0));
+    store.record(MILAN, observation(START + 3 * HOUR, 20.0, 40, 10.0));
+
+    // When
+    List<ObservationAggregate> hourly = store.aggregate(MILAN, START, START + DAY, HOUR);
+
+    // Then
+    assertEquals(2, hourly.size());
+    ObservationAggregate first = hourly.get(0);
+    assertEquals(START, first.getEpochSecond());
+    assertEquals(2, first.getSamples());
+    assertEquals(12.0, first.getTemperatureAverage(), 1e-9);
+    assertEquals(10.0, first.getTemperatureMin(), 1e-9);
+    assertEquals(14.0, first.getTemperatureMax(), 1e-9);
+    assertEquals(60.0, first.getHumidityAverage(), 1e-9);
+    assertEquals(15.0, first.getWindSpeedMax(), 1e-9);
+    assertEquals(START + 3 * HOUR, hourly.get(1).getEpochSecond());
+    assertThrows(IllegalArgumentException.class, () -> store.aggregate(MILAN, START, START + 365 * DAY, 60));
+  }
+
+  @Test
+  @DisplayName("Should skip observations not after the last one recorded")
+  void shouldSkipRepeatedObservations() {
+    // Given
+    ObservationStore store = storeAt(START + DAY);
+    store.record(MILAN, observation(START + 60, 10.0, 50, 5.0));
+
+    // When
+    boolean repeated = store.record(MILAN, observation(START + 60, 10.0, 50, 5.0));
+    boolean older = store.record(MILAN, observation(START, 9.0, 50, 5.0));
+
+    // Then
+    assertFalse(repeated);
+    assertFalse(older);
+    assertEquals(1, store.observations(MILAN, START, START + DAY).size());
+  }
+
+  @Test
+  @DisplayName("Should write completed blocks when sealing rather than when recording")
+  void shouldWriteCompletedBlocksOnSeal() {
+    // Given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ObservationStore store = new ObservationStore(mock(WeatherService.class), config,
+            Clock.fixed(Instant.ofEpochSecond(START + DAY), ZoneOffset.UTC), registry);
+    store.record(MILAN, observation(START, 10.0, 50, 5.0));
+    store.record(MILAN, observation(START + 3 * HOUR, 12.0, 50, 5.0));
+    double sealedBeforeSeal = registry.get("weather.history.blocks.sealed").counter().count();
+    int readableBeforeSeal = store.observations(MILAN, START, START + DAY).size();
+
+    // When
+    store.seal();
+
+    // Then
+    assertEquals(0, sealedBeforeSeal);
+    assertEquals(2, readableBeforeSeal);
+    assertEquals(2, registry.get("weather.history.blocks.sealed").counter().count());
+    assertEquals(2, store.observations(MILAN, START, START + DAY).size());
+  }
+
+  @Test
+  @DisplayName("Should record fetched observations on the seal thread")
+  void shouldRecordObservedWeatherOnSealThread() throws Exception {
+    // Given
+    ObservationStore store = storeAt(START + DAY);
+    store.start();
+    Location milan = new Location("Milan", "IT", 45.4642, 9.1900);
+
+    // When
+    store.onObserved(milan, observation(START, 10.0, 50, 5.0));
+    store.onObserved(milan, observation(START + 60, 11.0, 50, 5.0));
+
+    // Then
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (store.observations(MILAN, START, START + DAY).size() < 2 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(2, store.observations(MILAN, START, START + DAY).size());
+    store.stop();
+  }
+
+  @Test
+  @DisplayName("Should recover sealed blocks from segment files after a restart")
+  void shouldRecoverAfterRestart() throws Exception {
+    // Given
+    ObservationStore store = storeAt(START + DAY);
+    store.start();
+    for (int i = 0; i < 50; i++) {
+      store.record(MILAN, observation(START + i * 10 * 60L, 15.0 + i * 0.1, 60, 8.0));
+    }
+    store.stop();
+
+    // When
+    ObservationStore restarted = storeAt(START + DAY);
+    restarted.start();
+
+    // Then
+    List<ObservationAggregate> points = restarted.observations(MILAN, START, START + DAY);
+    assertEquals(50, points.size());
+    assertEquals(19.9, points.get(49).getTemperatureAverage(), 1e-9);
+    assertFalse(restarted.record(MILAN, observation(START, 15.0, 60, 8.0)));
+    restarted.stop();
+  }
+
+  @Test
+  @DisplayName("Should drop segments past the retention")
+  void shouldDropExpiredSegments() throws Exception {
+    // Given
+    ObservationStore store = storeAt(START + DAY);
+    store.start();
+    store.record(MILAN, observation(START, 15.0, 60, 8.0));
+    store.stop();
+
+    // When
+    config.setRetention(Duration.ofDays(7));
+    ObservationStore later = storeAt(START + 10 * DAY);
+    later.start();
+    later.seal();
+
+    // Then
+    assertTrue(later.observations(MILAN, START, START + DAY).isEmpty());
+    later.stop();
+  }
+
+  @Test
+  @DisplayName("Should read long ranges from the coarsest rollup that divides the step")
+  void shouldReadLongRangesFromRollups() {
+    // Given
+    ObservationStore store = storeAt(START + 100 * DAY);
+    for (int i = 0; i < 100 * 144; i++) {
+      store.record(MILAN, observation(START + i * 10 * 60L, (i % 144) / 10.0, 40 + i % 20, 5.0));
+    }
+
+    // When
+    List<ObservationAggregate> daily = store.aggregate(MILAN, START, START + 100 * DAY, DAY);
+    List<ObservationAggregate> sixHourly = store.aggregate(MILAN, START + 90 * DAY, START + 91 * DAY, 6 * HOUR);
+
+    // Then
+    assertEquals("daily", store.resolutionFor(DAY));
+    assertEquals("hourly", store.resolutionFor(6 * HOUR));
+    assertEquals("raw", store.resolutionFor(15 * 60));
+    assertEquals(100, daily.size());
+    ObservationAggregate last = daily.get(99);
+    assertEquals(START + 99 * DAY, last.getEpochSecond());
+    assertEquals(144, last.getSamples());
+    assertEquals(0.0, last.getTemperatureMin(), 1e-9);
+    assertEquals(14.3, last.getTemperatureMax(), 1e-9);
+    assertEquals(7.15, last.getTemperatureAverage(), 1e-9);
+    assertEquals(4, sixHourly.size());
+    assertEquals(36, sixHourly.get(3).getSamples());
+    assertEquals(10.8, sixHourly.get(3).getTemperatureMin(), 1e-9);
+  }
+
+  @Test
+  @DisplayName("Should rebuild unwritten rollups from raw blocks after a restart")
+  void shouldRebuildRollupsAfterRestart() throws Exception {
+    // Given
+    ObservationStore store = storeAt(START + 2 * DAY + 21 * HOUR);
+    store.start();
+    for (int i = 0; i < 3 * 48 - 6; i++) {
+      store.record(MILAN, observation(START + i * 30 * 60L, 10.0, 50, 5.0));
+    }
+    store.stop();
+
+    // When
+    ObservationStore restarted = storeAt(START + 3 * DAY);
+    restarted.start();
+    for (int i = 3 * 48 - 6; i < 3 * 48; i++) {
+      restarted.record(MILAN, observation(START + i * 30 * 60L, 20.0, 50, 5.0));
+    }
+
+    // Then
+    List<ObservationAggregate> daily = restarted.aggregate(MILAN, START, START + 3 * DAY, DAY);
+    assertEquals(3, daily.size());
+    assertEquals(48, daily.get(2).getSamples());
+    assertEquals(20.0, daily.get(2).getTemperatureMax(), 1e-9);
+    List<ObservationAggregate> hourly = restarted.aggregate(MILAN, START, START + 3 * DAY, HOUR);
+    assertEquals(72, hourly.size());
+    assertTrue(hourly.stream().allMatch(bucket -> bucket.getSamples() == 2));
+    restarted.stop();
+  }
+
+  @Test
+  @DisplayName("Should keep rollups after the raw observations expire")
+  void shouldKeepRollupsPastRawRetention() throws Exception {
+    // Given
+    ObservationStore store = storeAt(START + DAY);
+    store.start();
+    store.record(MILAN, observation(START, 15.0, 60, 8.0));
+    store.record(MILAN, observation(START + HOUR, 17.0, 60, 8.0));
+    store.stop();
+
+    // When
+    config.setRetention(Duration.ofDays(7));
+    ObservationStore later = storeAt(START + 10 * DAY);
+    later.start();
+    later.seal();
+
+    // Then
+    assertTrue(later.observations(MILAN, START, START + DAY).isEmpty());
+    List<ObservationAggregate> daily = later.aggregate(MILAN, START, START + DAY, DAY);
+    assertEquals(1, daily.size());
+    assertEquals(16.0, daily.get(0).getTemperatureAverage(), 1e-9);
+    later.stop();
+  }
+
+  private ObservationStore storeAt(long epochSecond) {
+    Clock clock = Clock.fixed(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    return new ObservationStore(mock(WeatherService.class), config, clock, new SimpleMeterRegistry());
+  }
+
+  private WeatherData observation(long epochSecond, double temperature, int humidity, double windSpeed) {
+    return WeatherData.builder()
+            .temperature(temperature)
+            .condition("Clear")
+            .humidity(humidity)
+            .windSpeed(windSpeed)
+            .epochSecond(epochSecond)
+            .build();
+  }
+}
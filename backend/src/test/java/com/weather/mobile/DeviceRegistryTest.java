@@ -0,0 +1,149 @@
+package com.weather.mobile;
+
+import com.weather.config.MobileConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Device Registry Tests")
+public class DeviceRegistryTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should resolve recipients by location and alert without duplicates")
+  void shouldResolveRecipientsByLocationAndAlertWithoutDuplicates() {
+    // Given
+    DeviceRegistry registry = new DeviceRegistry(config(10));
+    registry.register(device("a", Set.of("milan_IT"), Set.of("alert-1")));
+    registry.register(device("b", Set.of("milan_IT"), Set.of()));
+    registry.register(device("c", Set.of("london_GB"), Set.of("alert-1")));
+    registry.register(device("d", Set.of("london_GB"), Set.of()));
+
+    // When
+    List<String> tokens = registry.recipients("milan_IT", "alert-1").stream()
+            .map(DeviceRegistration::getToken).sorted().toList();
+
+    // Then
+    assertEquals(List.of("a", "b", "c"), tokens);
+  }
+
+  @Test
+  @DisplayName("Should move index entries when a device re-registers")
+  void shouldMoveIndexEntriesWhenADeviceReRegisters() {
+    // Given
+    DeviceRegistry registry = new DeviceRegistry(config(10));
+    assertTrue(registry.register(device("a", Set.of("milan_IT"), Set.of())));
+
+    // When
+    boolean created = registry.register(device("a", Set.of("london_GB"), Set.of()));
+
+    // Then
+    assertFalse(created);
+    assertEquals(1, registry.size());
+    assertTrue(registry.recipients("milan_IT", null).isEmpty());
+    assertEquals(1, registry.recipients("london_GB", null).size());
+  }
+
+  @Test
+  @DisplayName("Should reject new devices once full")
+  void shouldRejectNewDevicesOnceFull() {
+    // Given
+    DeviceRegistry registry = new DeviceRegistry(config(1));
+    registry.register(device("a", Set.of("milan_IT"), Set.of()));
+
+    // When & Then
+    assertThrows(IllegalStateException.class, () -> registry.register(device("b", Set.of(), Set.of())));
+    assertFalse(registry.register(device("a", Set.of("london_GB"), Set.of())));
+  }
+
+  @Test
+  @DisplayName("Should never register more devices than the limit under concurrent registrations")
+  void shouldEnforceDeviceLimitUnderConcurrency() throws Exception {
+    // Given
+    DeviceRegistry registry = new DeviceRegistry(config(3));
+    int attempts = 16;
+    ExecutorService executor = Executors.newFixedThreadPool(attempts);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+
+    // When
+    for (int i = 0; i < attempts; i++) {
+      DeviceRegistration device = device("device-" + i, Set.of("milan_IT"), Set.of());
+      results.add(executor.submit(() -> {
+        start.await();
+        try {
+          return registry.register(device);
+        } catch (IllegalStateException e) {
+          return false;
+        }
+      }));
+    }
+    start.countDown();
+    int accepted = 0;
+    for (Future<Boolean> result : results) {
+      if (result.get(5, TimeUnit.SECONDS)) {
+        accepted++;
+      }
+    }
+    executor.shutdown();
+
+    // Then
+    assertEquals(3, accepted);
+    assertEquals(3, registry.size());
+    assertEquals(3, registry.recipients("milan_IT", null).size());
+  }
+
+  @Test
+  @DisplayName("Should restore devices from a snapshot")
+  void shouldRestoreDevicesFromASnapshot() {
+    // Given
+    DeviceRegistry registry = new DeviceRegistry(config(10));
+    registry.register(device("a", Set.of("milan_IT", "london_GB"), Set.of("alert-1")));
+    registry.register(device("b", Set.of("milan_IT"), Set.of()));
+    registry.unregister("b");
+    registry.snapshotIfChanged();
+
+    // When
+    DeviceRegistry restored = new DeviceRegistry(config(10));
+    restored.start();
+    restored.stop();
+
+    // Then
+    assertEquals(1, restored.size());
+    DeviceRegistration device = restored.find("a").orElseThrow();
+    assertEquals(Set.of("milan_IT", "london_GB"), device.getLocationKeys());
+    assertEquals(Set.of("alert-1"), device.getAlertIds());
+    assertEquals(DevicePlatform.ANDROID, device.getPlatform());
+  }
+
+  private MobileConfig config(int maxDevices) {
+    MobileConfig config = new MobileConfig();
+    config.setShards(4);
+    config.setMaxDevices(maxDevices);
+    config.setSnapshotFile(tempDir.resolve("devices.snapshot").toString());
+    config.init();
+    return config;
+  }
+
+  private static DeviceRegistration device(String token, Set<String> locations, Set<String> alerts) {
+    return new DeviceRegistration(token, DevicePlatform.ANDROID, locations, alerts, Instant.now());
+  }
+}
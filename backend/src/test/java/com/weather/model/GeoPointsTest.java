@@ -0,0 +1,102 @@
+package com.weather.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Geo Points Tests")
+public class GeoPointsTest {
+
+  private static final int POINTS = 5_000;
+
+  private double[] latitudes;
+  private double[] longitudes;
+  private GeoPoints points;
+
+  @BeforeEach
+  void setUp() {
+    Random random = new Random(3);
+    latitudes = new double[POINTS];
+    longitudes = new double[POINTS];
+    for (int i = 0; i < POINTS; i++) {
+      latitudes[i] = random.nextDouble() * 140 - 70;
+      longitudes[i] = random.nextDouble() * 360 - 180;
+    }
+    points = GeoPoints.fromDegrees(latitudes, longitudes);
+  }
+
+  @Test
+  @DisplayName("Should compute the same distances as Location")
+  void shouldComputeSameDistancesAsLocation() {
+    // Given
+    Location milan = new Location("Milan", "IT", 45.4642, 9.1900);
+    double[] distances = new double[POINTS];
+
+    // When
+    points.distancesKm(milan.getLatitude(), milan.getLongitude(), distances);
+
+    // Then
+    for (int i = 0; i < POINTS; i++) {
+      Location other = new Location("Point", "XX", latitudes[i], longitudes[i]);
+      assertEquals(milan.distanceTo(other), distances[i], 1e-9);
+    }
+  }
+
+  @Test
+  @DisplayName("Should select the same points within a radius as exact distances")
+  void shouldSelectSamePointsWithinRadiusAsExactDistances() {
+    // Given
+    double[] distances = new double[POINTS];
+    int[] matches = new int[POINTS];
+    points.distancesKm(10.0, 170.0, distances);
+
+    // When
+    int count = points.within(10.0, 170.0, 2_000, matches);
+
+    // Then
+    int expected = 0;
+    for (int i = 0; i < POINTS; i++) {
+      if (distances[i] <= 2_000) {
+        assertEquals(i, matches[expected++]);
+      }
+    }
+    assertEquals(expected, count);
+  }
+
+  @Test
+  @DisplayName("Should approximate short distances closely, across the antimeridian too")
+  void shouldApproximateShortDistancesClosely() {
+    // Given
+    GeoPoints nearby = GeoPoints.fromDegrees(
+            new double[]{45.4642, 46.0, 44.0, -18.1248},
+            new double[]{9.1900, 10.5, 7.0, 178.4501});
+    double[] exact = new double[4];
+    double[] approximate = new double[4];
+
+    // When
+    nearby.distancesKm(45.0703, 7.6869, exact);
+    nearby.approximateDistancesKm(45.0703, 7.6869, approximate);
+    int acrossAntimeridian = GeoPoints.fromDegrees(new double[]{-18.1248}, new double[]{178.4501})
+            .withinApproximate(-18.0, -179.9, 200, new int[1]);
+
+    // Then
+    for (int i = 0; i < 3; i++) {
+      assertTrue(Math.abs(exact[i] - approximate[i]) / exact[i] < 0.001, "point " + i);
+    }
+    assertEquals(1, acrossAntimeridian);
+  }
+
+  @Test
+  @DisplayName("Should reject output arrays that are too small")
+  void shouldRejectOutputArraysThatAreTooSmall() {
+    // When & Then
+    assertThrows(IllegalArgumentException.class, () -> points.distancesKm(0, 0, new double[1]));
+    assertThrows(IllegalArgumentException.class, () -> points.within(0, 0, 10, new int[1]));
+  }
+}
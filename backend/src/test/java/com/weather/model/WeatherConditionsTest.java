@@ -0,0 +1,48 @@
+package com.weather.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Weather Conditions Tests")
+public class WeatherConditionsTest {
+
+  @Test
+  @DisplayName("Should return the shared instance of a known name")
+  void shouldReturnSharedInstance() {
+    // Given
+    WeatherConditions conditions = new WeatherConditions(100);
+
+    // When
+    String first = conditions.canonical(new String("Freezing Rain"));
+    String second = conditions.canonical(new String("Freezing Rain"));
+
+    // Then
+    assertSame(first, second);
+    assertSame(conditions.canonical("Clear"), conditions.canonical(new String("Clear")));
+  }
+
+  @Test
+  @DisplayName("Should fall back to the given name once the table is full")
+  void shouldFallBackToRawNameWhenFull() {
+    // Given
+    WeatherConditions conditions = new WeatherConditions(30);
+    for (int i = 0; conditions.size() < 30; i++) {
+      conditions.canonical("Condition " + i);
+    }
+    String raw = new String("Volcanic Ash Plume");
+
+    // When
+    String first = conditions.canonical(raw);
+    String second = conditions.canonical(new String("Volcanic Ash Plume"));
+
+    // Then
+    assertSame(raw, first);
+    assertEquals(first, second);
+    assertNotSame(first, second);
+    assertEquals(30, conditions.size());
+  }
+}
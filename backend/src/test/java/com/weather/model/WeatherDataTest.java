@@ -6,16 +6,18 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("Weather Data Tests")
 public class WeatherDataTest {
 
+  private WeatherData.Builder builder;
   private WeatherData weatherData;
 
   @BeforeEach
   void setUp() {
-    weatherData = new WeatherData();
+    builder = WeatherData.builder();
   }
 
   @Test
@@ -26,8 +28,7 @@ public class WeatherDataTest {
     String condition = "Sunny";
 
     // When
-    weatherData.setTemperature(temperature);
-    weatherData.setCondition(condition);
+    weatherData = builder.temperature(temperature).condition(condition).build();
 
     // Then
     assertEquals(temperature, weatherData.getTemperature());
@@ -41,7 +42,7 @@ public class WeatherDataTest {
     double extremeCold = -50.0;
 
     // When & Then
-    assertDoesNotThrow(() -> weatherData.setTemperature(extremeCold));
+    assertDoesNotThrow(() -> weatherData = builder.temperature(extremeCold).build());
     assertEquals(extremeCold, weatherData.getTemperature());
   }
 
@@ -52,7 +53,7 @@ public class WeatherDataTest {
     double extremeHot = 60.0;
 
     // When & Then
-    assertDoesNotThrow(() -> weatherData.setTemperature(extremeHot));
+    assertDoesNotThrow(() -> weatherData = builder.temperature(extremeHot).build());
     assertEquals(extremeHot, weatherData.getTemperature());
   }
 
@@ -64,7 +65,7 @@ public class WeatherDataTest {
 
     // When & Then
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setTemperature(invalidTemperature));
+            () -> builder.temperature(invalidTemperature).build());
   }
 
   @Test
@@ -72,7 +73,7 @@ public class WeatherDataTest {
   void shouldHandleNullConditionGracefully() {
     // When & Then
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setCondition(null));
+            () -> builder.condition(null).build());
   }
 
   @Test
@@ -80,7 +81,7 @@ public class WeatherDataTest {
   void shouldHandleEmptyConditionString() {
     // When & Then
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setCondition(""));
+            () -> builder.condition("").build());
   }
 
   @Test
@@ -92,13 +93,13 @@ public class WeatherDataTest {
     int invalidHumidityLow = -10;
 
     // When & Then
-    assertDoesNotThrow(() -> weatherData.setHumidity(validHumidity));
+    assertDoesNotThrow(() -> weatherData = builder.humidity(validHumidity).build());
     assertEquals(validHumidity, weatherData.getHumidity());
 
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setHumidity(invalidHumidityHigh));
+            () -> builder.humidity(invalidHumidityHigh).build());
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setHumidity(invalidHumidityLow));
+            () -> builder.humidity(invalidHumidityLow).build());
   }
 
   @Test
@@ -109,11 +110,11 @@ public class WeatherDataTest {
     double invalidWindSpeed = -5.0;
 
     // When & Then
-    assertDoesNotThrow(() -> weatherData.setWindSpeed(validWindSpeed));
+    assertDoesNotThrow(() -> weatherData = builder.windSpeed(validWindSpeed).build());
     assertEquals(validWindSpeed, weatherData.getWindSpeed());
 
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setWindSpeed(invalidWindSpeed));
+            () -> builder.windSpeed(invalidWindSpeed).build());
   }
 
   @Test
@@ -124,7 +125,7 @@ public class WeatherDataTest {
     double expectedFahrenheit = 77.0;
 
     // When
-    weatherData.setTemperature(celsiusTemp);
+    weatherData = builder.temperature(celsiusTemp).build();
 
     // Then
     assertEquals(expectedFahrenheit, weatherData.getTemperatureInFahrenheit(), 0.01);
@@ -138,7 +139,7 @@ public class WeatherDataTest {
     double expectedFahrenheit = 32.0;
 
     // When
-    weatherData.setTemperature(freezingCelsius);
+    weatherData = builder.temperature(freezingCelsius).build();
 
     // Then
     assertEquals(expectedFahrenheit, weatherData.getTemperatureInFahrenheit(), 0.01);
@@ -152,7 +153,7 @@ public class WeatherDataTest {
     double expectedCelsius = 25.0;
 
     // When
-    weatherData.setTemperatureFromFahrenheit(fahrenheitTemp);
+    weatherData = builder.temperatureFromFahrenheit(fahrenheitTemp).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
@@ -166,7 +167,7 @@ public class WeatherDataTest {
     double expectedCelsius = 0.0;
 
     // When
-    weatherData.setTemperatureFromFahrenheit(freezingFahrenheit);
+    weatherData = builder.temperatureFromFahrenheit(freezingFahrenheit).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
@@ -180,7 +181,7 @@ public class WeatherDataTest {
     double expectedCelsius = 100.0;
 
     // When
-    weatherData.setTemperatureFromFahrenheit(boilingFahrenheit);
+    weatherData = builder.temperatureFromFahrenheit(boilingFahrenheit).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
@@ -194,7 +195,7 @@ public class WeatherDataTest {
     double expectedCelsius = -40.0; // -40°F = -40°C (special case where they're equal)
 
     // When
-    weatherData.setTemperatureFromFahrenheit(negativeFahrenheit);
+    weatherData = builder.temperatureFromFahrenheit(negativeFahrenheit).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
@@ -208,7 +209,7 @@ public class WeatherDataTest {
     double expectedCelsius = -73.33; // (-100 - 32) * 5/9 = -73.33°C
 
     // When
-    weatherData.setTemperatureFromFahrenheit(extremeColdFahrenheit);
+    weatherData = builder.temperatureFromFahrenheit(extremeColdFahrenheit).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
@@ -222,7 +223,7 @@ public class WeatherDataTest {
     double expectedCelsius = 20.0;
 
     // When
-    weatherData.setTemperatureFromFahrenheit(roomTempFahrenheit);
+    weatherData = builder.temperatureFromFahrenheit(roomTempFahrenheit).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
@@ -236,7 +237,7 @@ public class WeatherDataTest {
 
     // When & Then
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setTemperatureFromFahrenheit(belowAbsoluteZeroFahrenheit));
+            () -> builder.temperatureFromFahrenheit(belowAbsoluteZeroFahrenheit).build());
   }
 
   @Test
@@ -247,7 +248,7 @@ public class WeatherDataTest {
 
     // When & Then
     assertThrows(IllegalArgumentException.class,
-            () -> weatherData.setTemperatureFromFahrenheit(aboveMaximumFahrenheit));
+            () -> builder.temperatureFromFahrenheit(aboveMaximumFahrenheit).build());
   }
 
   @Test
@@ -258,7 +259,7 @@ public class WeatherDataTest {
     double expectedCelsius = -273.15;
 
     // When
-    weatherData.setTemperatureFromFahrenheit(absoluteZeroFahrenheit);
+    weatherData = builder.temperatureFromFahrenheit(absoluteZeroFahrenheit).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
@@ -272,9 +273,66 @@ public class WeatherDataTest {
     double expectedCelsius = 37.0;
 
     // When
-    weatherData.setTemperatureFromFahrenheit(preciseFahrenheit);
+    weatherData = builder.temperatureFromFahrenheit(preciseFahrenheit).build();
 
     // Then
     assertEquals(expectedCelsius, weatherData.getTemperature(), 0.01);
   }
+
+  @Test
+  @DisplayName("Should share interned condition names between instances")
+  void shouldShareInternedConditionNamesBetweenInstances() {
+    // Given
+    WeatherData first = new WeatherData(20.0, new String("Light Drizzle"), 50, 5.0);
+    WeatherData second = new WeatherData(21.0, " Light Drizzle ", 55, 6.0);
+
+    // When & Then
+    assertEquals("Light Drizzle", first.getCondition());
+    assertSame(first.getCondition(), second.getCondition());
+  }
+
+  @Test
+  @DisplayName("Should store temperature and wind speed to hundredths")
+  void shouldStoreTemperatureAndWindSpeedToHundredths() {
+    // When
+    weatherData = builder.temperature(21.456).windSpeed(12.344).build();
+
+    // Then
+    assertEquals(21.46, weatherData.getTemperature());
+    assertEquals(12.34, weatherData.getWindSpeed());
+  }
+
+  @Test
+  @DisplayName("Should derive a modified copy without changing the original")
+  void shouldDeriveAModifiedCopyWithoutChangingTheOriginal() {
+    // Given
+    WeatherData original = new WeatherData(20.0, "Clear", 50, 10.0);
+
+    // When
+    WeatherData warmer = original.toBuilder().temperature(25.0).build();
+
+    // Then
+    assertEquals(20.0, original.getTemperature());
+    assertEquals(25.0, warmer.getTemperature());
+    assertEquals(original.getCondition(), warmer.getCondition());
+    assertEquals(original.getEpochSecond(), warmer.getEpochSecond());
+  }
+
+  @Test
+  @DisplayName("Should keep the valid time apart from the observation time")
+  void shouldKeepValidTimeApartFromObservationTime() {
+    // Given
+    WeatherData observed = WeatherData.builder().temperature(20.0).epochSecond(1_700_000_000L).build();
+    WeatherData forecast = observed.toBuilder().validAt(1_700_086_400L).build();
+
+    // When
+    WeatherData refetched = observed.toBuilder().epochSecond(1_700_000_600L).build();
+    WeatherData derivedForecast = forecast.toBuilder().temperature(21.0).build();
+
+    // Then
+    assertEquals(1_700_000_000L, observed.getValidAtEpochSecond());
+    assertEquals(1_700_000_600L, refetched.getValidAtEpochSecond());
+    assertEquals(1_700_000_000L, derivedForecast.getEpochSecond());
+    assertEquals(1_700_086_400L, derivedForecast.getValidAtEpochSecond());
+  }
 }
@@ -0,0 +1,131 @@
+package com.weather.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DisplayName("Endpoint Metrics Interceptor Tests")
+public class EndpointMetricsInterceptorTest {
+
+  private static final String ENDPOINT = "GET /api/v1/weather/current/{city}";
+
+  private SimpleMeterRegistry registry;
+  private EndpointMetricsInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    interceptor = new EndpointMetricsInterceptor(registry, List.of(Duration.ofMillis(100), Duration.ofMillis(500)));
+    RequestCacheState.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestCacheState.reset();
+  }
+
+  @Test
+  @DisplayName("Should tag each request with the cache state it observed")
+  void shouldTagRequestsByCacheState() {
+    // Given
+    RequestCacheState[] states = {RequestCacheState.HIT, RequestCacheState.MISS, RequestCacheState.STALE};
+
+    // When
+    serve(200, null, null);
+    for (RequestCacheState state : states) {
+      serve(200, state, null);
+    }
+
+    // Then
+    for (RequestCacheState state : RequestCacheState.values()) {
+      assertEquals(1, timer("2xx", state.tag()).count(), state.tag());
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep the most significant cache state of a request")
+  void shouldKeepMostSignificantState() {
+    // Given
+    MockHttpServletRequest request = request();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, new Object());
+
+    // When
+    RequestCacheState.record(RequestCacheState.MISS);
+    RequestCacheState.record(RequestCacheState.HIT);
+    interceptor.afterCompletion(request, response, new Object(), null);
+
+    // Then
+    assertEquals(1, timer("2xx", "miss").count());
+  }
+
+  @Test
+  @DisplayName("Should clear the cache state after a completed request")
+  void shouldClearStateAfterCompletion() {
+    // When
+    serve(200, RequestCacheState.HIT, null);
+
+    // Then
+    assertEquals(RequestCacheState.NONE, RequestCacheState.current());
+  }
+
+  @Test
+  @DisplayName("Should clear the cache state and report a server error when the handler threw")
+  void shouldClearStateOnErrorPath() {
+    // When
+    serve(200, RequestCacheState.MISS, new IllegalStateException("boom"));
+
+    // Then
+    assertEquals(1, timer("5xx", "miss").count());
+    assertEquals(RequestCacheState.NONE, RequestCacheState.current());
+  }
+
+  @Test
+  @DisplayName("Should drop state left on a pooled thread by an earlier request")
+  void shouldResetLeftoverStateOnPreHandle() {
+    // Given
+    RequestCacheState.record(RequestCacheState.STALE);
+
+    // When
+    serve(503, null, null);
+
+    // Then
+    assertEquals(1, timer("503", "none").count());
+  }
+
+  private void serve(int status, RequestCacheState state, Exception error) {
+    MockHttpServletRequest request = request();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(request, response, new Object());
+    if (state != null) {
+      RequestCacheState.record(state);
+    }
+    response.setStatus(status);
+    interceptor.afterCompletion(request, response, new Object(), error);
+  }
+
+  private static MockHttpServletRequest request() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/weather/current/Milan");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/weather/current/{city}");
+    return request;
+  }
+
+  private Timer timer(String outcome, String cache) {
+    Timer timer = registry.find("weather.endpoint.duration")
+            .tag("endpoint", ENDPOINT).tag("outcome", outcome).tag("cache", cache).timer();
+    assertNotNull(timer, outcome + "/" + cache);
+    return timer;
+  }
+}
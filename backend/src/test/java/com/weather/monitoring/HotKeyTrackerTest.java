@@ -0,0 +1,75 @@
+package com.weather.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Hot Key Tracker Tests")
+public class HotKeyTrackerTest {
+
+  @Test
+  @DisplayName("Should rank the most accessed keys first")
+  void shouldRankTheMostAccessedKeysFirst() {
+    // Given
+    HotKeyTracker tracker = new HotKeyTracker(3, 10, 0);
+
+    // When
+    for (int i = 0; i < 500; i++) {
+      tracker.record("Milan_IT");
+      if (i % 2 == 0) {
+        tracker.record("London_GB");
+      }
+      tracker.record("City" + i); // long tail of single accesses
+    }
+    List<HotKeyTracker.HotKey> top = tracker.topKeys(2);
+
+    // Then
+    assertEquals(2, top.size());
+    assertEquals("Milan_IT", top.get(0).getKey());
+    assertEquals("London_GB", top.get(1).getKey());
+    assertTrue(top.get(0).getEstimatedAccesses() >= 500);
+  }
+
+  @Test
+  @DisplayName("Should keep at most the configured number of keys")
+  void shouldKeepAtMostTheConfiguredNumberOfKeys() {
+    // Given
+    HotKeyTracker tracker = new HotKeyTracker(5, 10, 0);
+
+    // When
+    for (int i = 0; i < 100; i++) {
+      tracker.record("City" + i);
+    }
+
+    // Then
+    assertEquals(5, tracker.topKeys(50).size());
+  }
+
+  @Test
+  @DisplayName("Should evict the coldest key when a hotter key arrives")
+  void shouldEvictTheColdestKey() {
+    // Given
+    HotKeyTracker tracker = new HotKeyTracker(2, 10, 0);
+    for (int i = 0; i < 10; i++) {
+      tracker.record("Milan_IT");
+      if (i < 3) {
+        tracker.record("Paris_FR");
+      }
+    }
+
+    // When
+    for (int i = 0; i < 5; i++) {
+      tracker.record("London_GB");
+    }
+    List<HotKeyTracker.HotKey> top = tracker.topKeys(5);
+
+    // Then
+    assertEquals(2, top.size());
+    assertEquals("Milan_IT", top.get(0).getKey());
+    assertEquals("London_GB", top.get(1).getKey());
+  }
+}
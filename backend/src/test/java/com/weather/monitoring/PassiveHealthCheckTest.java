@@ -0,0 +1,160 @@
+package com.weather.monitoring;
+
+import com.weather.config.CacheConfig;
+import com.weather.monitoring.circuit.CircuitBreaker;
+import com.weather.monitoring.circuit.CircuitBreakerState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Passive Health Check Tests")
+public class PassiveHealthCheckTest {
+
+  private CircuitBreaker circuitBreaker;
+  private WeatherMetrics weatherMetrics;
+
+  @BeforeEach
+  void setUp() {
+    circuitBreaker = mock(CircuitBreaker.class);
+    when(circuitBreaker.getState()).thenReturn(CircuitBreakerState.CLOSED);
+    weatherMetrics = new WeatherMetrics(new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("Should report UP without upstream trouble")
+  void shouldReportUpWhenHealthy() {
+    // Given
+    upstream().record(true, 10_000_000);
+
+    // When
+    HealthSnapshot snapshot = healthCheck(Duration.ofMinutes(30)).snapshot();
+
+    // Then
+    assertEquals(HealthSnapshot.Status.UP, snapshot.getStatus());
+    assertEquals("ok", snapshot.getReason());
+    assertTrue(snapshot.isHealthy());
+    assertTrue(snapshot.isCacheFresh());
+  }
+
+  @Test
+  @DisplayName("Should report DOWN while the circuit breaker is open")
+  void shouldReportDownWhenBreakerOpen() {
+    // Given
+    when(circuitBreaker.getState()).thenReturn(CircuitBreakerState.OPEN);
+
+    // When
+    HealthSnapshot snapshot = healthCheck(Duration.ofMinutes(30)).snapshot();
+
+    // Then
+    assertEquals(HealthSnapshot.Status.DOWN, snapshot.getStatus());
+    assertEquals("circuit-breaker-open", snapshot.getReason());
+    assertFalse(snapshot.isHealthy());
+  }
+
+  @Test
+  @DisplayName("Should report DEGRADED while the circuit breaker probes recovery")
+  void shouldReportDegradedWhenBreakerHalfOpen() {
+    // Given
+    when(circuitBreaker.getState()).thenReturn(CircuitBreakerState.HALF_OPEN);
+
+    // When
+    HealthSnapshot snapshot = healthCheck(Duration.ofMinutes(30)).snapshot();
+
+    // Then
+    assertEquals(HealthSnapshot.Status.DEGRADED, snapshot.getStatus());
+    assertEquals("circuit-breaker-half-open", snapshot.getReason());
+    assertTrue(snapshot.isHealthy());
+  }
+
+  @Test
+  @DisplayName("Should report DEGRADED when upstream fails but cached data is still fresh")
+  void shouldReportDegradedWhenUpstreamFailingWithFreshCache() {
+    // Given
+    recordMostlyFailing();
+
+    // When
+    HealthSnapshot snapshot = healthCheck(Duration.ofMinutes(30)).snapshot();
+
+    // Then
+    assertEquals(HealthSnapshot.Status.DEGRADED, snapshot.getStatus());
+    assertEquals("upstream-failing", snapshot.getReason());
+    assertTrue(snapshot.isHealthy());
+  }
+
+  @Test
+  @DisplayName("Should report DOWN when upstream fails and cached data has expired")
+  void shouldReportDownWhenUpstreamFailingWithStaleCache() throws InterruptedException {
+    // Given
+    recordMostlyFailing();
+    Thread.sleep(20);
+
+    // When
+    HealthSnapshot snapshot = healthCheck(Duration.ofMillis(1)).snapshot();
+
+    // Then
+    assertEquals(HealthSnapshot.Status.DOWN, snapshot.getStatus());
+    assertEquals("upstream-failing", snapshot.getReason());
+    assertFalse(snapshot.isCacheFresh());
+  }
+
+  @Test
+  @DisplayName("Should report DOWN when refreshes fail after the cache lifetime")
+  void shouldReportDownWhenDataStale() throws InterruptedException {
+    // Given
+    upstream().record(true, 10_000_000);
+    Thread.sleep(5);
+    upstream().record(false, 10_000_000);
+    Thread.sleep(20);
+
+    // When
+    HealthSnapshot snapshot = healthCheck(Duration.ofMillis(1)).snapshot();
+
+    // Then
+    assertEquals(HealthSnapshot.Status.DOWN, snapshot.getStatus());
+    assertEquals("data-stale", snapshot.getReason());
+  }
+
+  @Test
+  @DisplayName("Should serve the same snapshot within a second")
+  void shouldReuseRecentSnapshot() {
+    // Given
+    PassiveHealthCheck healthCheck = healthCheck(Duration.ofMinutes(30));
+    HealthSnapshot first = healthCheck.snapshot();
+
+    // When
+    when(circuitBreaker.getState()).thenReturn(CircuitBreakerState.OPEN);
+    HealthSnapshot second = healthCheck.snapshot();
+
+    // Then
+    assertSame(first, second);
+    assertEquals(HealthSnapshot.Status.UP, second.getStatus());
+  }
+
+  private void recordMostlyFailing() {
+    upstream().record(true, 10_000_000);
+    for (int i = 0; i < 5; i++) {
+      upstream().record(false, 10_000_000);
+    }
+  }
+
+  private UpstreamHealthWindow upstream() {
+    return weatherMetrics.upstreamHealth();
+  }
+
+  private PassiveHealthCheck healthCheck(Duration expiration) {
+    CacheConfig cacheConfig = new CacheConfig();
+    cacheConfig.setExpiration(expiration);
+    return new PassiveHealthCheck(circuitBreaker, weatherMetrics, new CaffeineCacheManager(), cacheConfig);
+  }
+}
@@ -0,0 +1,43 @@
+package com.weather.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Upstream Health Window Tests")
+public class UpstreamHealthWindowTest {
+
+  @Test
+  @DisplayName("Should report full success rate without calls")
+  void shouldReportFullSuccessRateWithoutCalls() {
+    // When
+    UpstreamHealthWindow.Totals totals = new UpstreamHealthWindow().totals();
+
+    // Then
+    assertEquals(0, totals.calls());
+    assertEquals(1.0, totals.successRate(), 0.0001);
+    assertEquals(0, totals.getLastSuccessMillis());
+  }
+
+  @Test
+  @DisplayName("Should aggregate outcomes and latency within the window")
+  void shouldAggregateOutcomesAndLatencyWithinTheWindow() {
+    // Given
+    UpstreamHealthWindow window = new UpstreamHealthWindow();
+
+    // When
+    window.record(true, 10_000_000);
+    window.record(true, 30_000_000);
+    window.record(false, 50_000_000);
+    UpstreamHealthWindow.Totals totals = window.totals();
+
+    // Then
+    assertEquals(3, totals.calls());
+    assertEquals(2.0 / 3, totals.successRate(), 0.0001);
+    assertEquals(30.0, totals.meanLatencyMillis(), 0.0001);
+    assertEquals(50_000_000, totals.getMaxLatencyNanos());
+    assertTrue(totals.getLastFailureMillis() >= totals.getLastSuccessMillis());
+  }
+}
@@ -0,0 +1,100 @@
+package com.weather.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Weather Metrics Tests")
+public class WeatherMetricsTest {
+
+  @Test
+  @DisplayName("Should pre-register operation and cache meters before any request")
+  void shouldPreRegisterMeters() {
+    // Given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // When
+    new WeatherMetrics(registry);
+
+    // Then
+    for (String operation : new String[]{WeatherMetrics.CURRENT_WEATHER, WeatherMetrics.WEATHER_FORECAST}) {
+      assertNotNull(registry.find("weather.api.calls.duration").tag("operation", operation).timer());
+      for (String status : new String[]{"success", "failure", "error"}) {
+        assertNotNull(registry.find("weather.api.calls.total")
+                .tag("operation", operation).tag("status", status).counter());
+      }
+    }
+    for (String cache : new String[]{"weather-current", "weather-forecast", "weather-alerts"}) {
+      assertNotNull(registry.find("weather.cache.request.duration").tag("cache", cache).tag("result", "hit").timer());
+      assertNotNull(registry.find("weather.cache.request.duration").tag("cache", cache).tag("result", "miss").timer());
+      assertNotNull(registry.find("weather.cache.load.duration").tag("cache", cache).tag("outcome", "success").timer());
+      assertNotNull(registry.find("weather.cache.load.duration").tag("cache", cache).tag("outcome", "failure").timer());
+      assertNotNull(registry.find("weather.cache.weighted.size").tag("cache", cache).gauge());
+      assertNotNull(registry.find("weather.cache.hotkeys.share").tag("cache", cache).gauge());
+    }
+  }
+
+  @Test
+  @DisplayName("Should return the same handles for an operation and a cache")
+  void shouldReuseHandles() {
+    // Given
+    WeatherMetrics metrics = new WeatherMetrics(new SimpleMeterRegistry());
+
+    // When / Then
+    assertSame(metrics.operation(WeatherMetrics.CURRENT_WEATHER), metrics.operation(WeatherMetrics.CURRENT_WEATHER));
+    assertSame(metrics.cache("weather-current"), metrics.cache("weather-current"));
+  }
+
+  @Test
+  @DisplayName("Should count upstream outcomes and feed the health window")
+  void shouldRecordUpstreamOutcomes() {
+    // Given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    WeatherMetrics metrics = new WeatherMetrics(registry);
+    WeatherMetrics.OperationMetrics operation = metrics.operation(WeatherMetrics.CURRENT_WEATHER);
+
+    // When
+    operation.recordUpstream(true, 10_000_000);
+    operation.recordUpstream(false, 20_000_000);
+    operation.record(WeatherMetrics.CallStatus.ERROR);
+
+    // Then
+    assertEquals(1.0, count(registry, "success"));
+    assertEquals(1.0, count(registry, "failure"));
+    assertEquals(1.0, count(registry, "error"));
+    assertEquals(2, metrics.upstreamHealth().totals().calls());
+  }
+
+  @Test
+  @DisplayName("Should time cache requests by result and loads by outcome")
+  void shouldRecordCacheRequestsAndLoads() {
+    // Given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    WeatherMetrics.CacheMetrics cache = new WeatherMetrics(registry).cache("weather-current");
+
+    // When
+    cache.recordRequest(true, 1_000);
+    cache.recordRequest(true, 2_000);
+    cache.recordRequest(false, 5_000_000);
+    cache.recordLoad(false, 4_000_000);
+
+    // Then
+    assertEquals(2, timerCount(registry, "weather.cache.request.duration", "result", "hit"));
+    assertEquals(1, timerCount(registry, "weather.cache.request.duration", "result", "miss"));
+    assertEquals(0, timerCount(registry, "weather.cache.load.duration", "outcome", "success"));
+    assertEquals(1, timerCount(registry, "weather.cache.load.duration", "outcome", "failure"));
+  }
+
+  private static long timerCount(SimpleMeterRegistry registry, String name, String tag, String value) {
+    return registry.get(name).tag("cache", "weather-current").tag(tag, value).timer().count();
+  }
+
+  private static double count(SimpleMeterRegistry registry, String status) {
+    return registry.get("weather.api.calls.total")
+            .tag("operation", WeatherMetrics.CURRENT_WEATHER).tag("status", status).counter().count();
+  }
+}
@@ -0,0 +1,233 @@
+package com.weather.notification.impl;
+
+import com.weather.alert.WeatherAlertSystem;
+import com.weather.config.MobileConfig;
+import com.weather.config.NotificationConfig;
+import com.weather.mobile.DevicePlatform;
+import com.weather.mobile.DeviceRegistration;
+import com.weather.mobile.DeviceRegistry;
+import com.weather.notification.Notification;
+import com.weather.notification.NotificationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Multi-Platform Notification Service Tests")
+public class MultiPlatformNotificationServiceTest {
+
+  private NotificationConfig config;
+  private List<Notification> delivered;
+  private DeviceRegistry deviceRegistry;
+  private MultiPlatformNotificationService service;
+
+  @BeforeEach
+  void setUp() {
+    config = new NotificationConfig();
+    config.setIngressCapacity(100);
+    config.setCoalesceWindow(Duration.ofMillis(50));
+    config.setBatchLinger(Duration.ofMillis(10));
+    config.setWorkersPerChannel(1);
+    config.init();
+    delivered = new CopyOnWriteArrayList<>();
+    MobileConfig mobileConfig = new MobileConfig();
+    mobileConfig.init();
+    deviceRegistry = new DeviceRegistry(mobileConfig);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (service != null) {
+      service.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should coalesce notifications with the same key into one delivery")
+  void shouldCoalesceNotificationsWithTheSameKey() throws Exception {
+    // Given
+    startService(new RecordingChannel());
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      service.submit(notification("alert-1", "message " + i));
+    }
+    service.submit(notification("alert-2", "other"));
+    awaitDelivered(2);
+
+    // Then
+    Notification first = delivered.stream().filter(n -> n.getKey().equals("alert-1")).findFirst().orElseThrow();
+    assertEquals(10, first.getOccurrences());
+    assertEquals("message 9", first.getMessage());
+  }
+
+  @Test
+  @DisplayName("Should suppress a key already delivered within the dedup window")
+  void shouldSuppressAKeyAlreadyDeliveredWithinTheDedupWindow() throws Exception {
+    // Given
+    startService(new RecordingChannel());
+    service.submit(notification("alert-1", "first"));
+    awaitDelivered(1);
+
+    // When
+    service.submit(notification("alert-1", "second"));
+    service.submit(notification("alert-2", "other"));
+    awaitDelivered(2);
+
+    // Then
+    assertEquals(List.of("first", "other"), delivered.stream().map(Notification::getMessage).toList());
+  }
+
+  @Test
+  @DisplayName("Should address a notification to the devices following its location or alert")
+  void shouldAddressNotificationToFollowingDevices() throws Exception {
+    // Given
+    deviceRegistry.register(device("by-location", Set.of("milan_IT"), Set.of()));
+    deviceRegistry.register(device("by-alert", Set.of(), Set.of("alert-1")));
+    deviceRegistry.register(device("elsewhere", Set.of("london_GB"), Set.of("alert-2")));
+    startService(new RecordingChannel());
+
+    // When
+    service.submit(notification("alert-1", "storm"));
+    awaitDelivered(1);
+
+    // Then
+    assertEquals(Set.of("by-location", "by-alert"), delivered.get(0).getRecipients().stream()
+            .map(DeviceRegistration::getToken)
+            .collect(Collectors.toSet()));
+  }
+
+  @Test
+  @DisplayName("Should reject without blocking when the ingress queue is full")
+  void shouldRejectWithoutBlockingWhenTheIngressQueueIsFull() {
+    // Given a pipeline whose stages are not running, so nothing drains the ingress queue
+    service = new MultiPlatformNotificationService(config, List.of(new RecordingChannel()), new WeatherAlertSystem(),
+            deviceRegistry, new SimpleMeterRegistry());
+    for (int i = 0; i < config.getIngressCapacity(); i++) {
+      assertTrue(service.submit(notification("alert-" + i, "storm")));
+    }
+
+    // When
+    boolean accepted = service.submit(notification("alert-overflow", "storm"));
+
+    // Then
+    assertFalse(accepted);
+    assertEquals(config.getIngressCapacity(), service.queueDepths().get("ingress"));
+  }
+
+  @Test
+  @DisplayName("Should not suppress a key whose notification no channel accepted")
+  void shouldNotSuppressAKeyNoChannelAccepted() throws Exception {
+    // Given a channel whose worker is stuck and whose one-slot queue is already taken
+    config.setChannelQueueCapacity(1);
+    CountDownLatch delivering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    startService(new RecordingChannel() {
+      @Override
+      public void deliver(List<Notification> batch) {
+        delivering.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.deliver(batch);
+      }
+    }, registry);
+    service.submit(notification("alert-1", "first"));
+    assertTrue(delivering.await(5, TimeUnit.SECONDS));
+    service.submit(notification("alert-2", "queued"));
+    awaitLaneRejections(registry, 0);
+
+    // When
+    service.submit(notification("alert-3", "rejected"));
+    awaitLaneRejections(registry, 1);
+    release.countDown();
+    awaitDelivered(2);
+    service.submit(notification("alert-3", "retried"));
+    awaitDelivered(3);
+
+    // Then
+    assertEquals(List.of("first", "queued", "retried"), delivered.stream().map(Notification::getMessage).toList());
+  }
+
+  private void startService(NotificationChannel channel) {
+    startService(channel, new SimpleMeterRegistry());
+  }
+
+  private void startService(NotificationChannel channel, SimpleMeterRegistry registry) {
+    service = new MultiPlatformNotificationService(config, List.of(channel), new WeatherAlertSystem(),
+            deviceRegistry, registry);
+    service.start();
+  }
+
+  /**
+   * Waits until the channel queue holds a notification and has rejected the given number
+   */
+  private void awaitLaneRejections(SimpleMeterRegistry registry, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (System.currentTimeMillis() < deadline && (service.queueDepths().get("recording") < 1
+            || rejectedByLane(registry) < count)) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, service.queueDepths().get("recording"));
+    assertEquals(count, rejectedByLane(registry), 0.0);
+  }
+
+  private static double rejectedByLane(SimpleMeterRegistry registry) {
+    return registry.get("weather.notifications.rejected").tag("stage", "recording").counter().count();
+  }
+
+  private void awaitDelivered(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (delivered.size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, delivered.size());
+  }
+
+  private static Notification notification(String key, String message) {
+    return Notification.builder()
+            .key(key)
+            .alertId(key)
+            .location("Milan, IT")
+            .locationKey("milan_IT")
+            .priority(3)
+            .title("High Temperature - Milan, IT")
+            .message(message)
+            .createdAt(Instant.now())
+            .build();
+  }
+
+  private static DeviceRegistration device(String token, Set<String> locations, Set<String> alerts) {
+    return new DeviceRegistration(token, DevicePlatform.IOS, locations, alerts, Instant.now());
+  }
+
+  private class RecordingChannel implements NotificationChannel {
+
+    @Override
+    public String name() {
+      return "recording";
+    }
+
+    @Override
+    public void deliver(List<Notification> batch) {
+      delivered.addAll(batch);
+    }
+  }
+}
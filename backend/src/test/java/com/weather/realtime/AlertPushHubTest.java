@@ -0,0 +1,266 @@
+package com.weather.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.alert.AlertType;
+import com.weather.alert.WeatherAlert;
+import com.weather.alert.WeatherAlertSystem;
+import com.weather.config.WebSocketConfig;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Alert Push Hub Tests")
+public class AlertPushHubTest {
+
+  private static final Location MILAN = new Location("Milan", "IT", 45.4642, 9.1900);
+  private static final WeatherData HOT = new WeatherData(35.0, "Sunny", 40, 3.2);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private AlertPushHub hub;
+
+  @AfterEach
+  void tearDown() {
+    if (hub != null) {
+      hub.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should publish an alert to its id, location and priority topics")
+  void shouldPublishAnAlertToItsIdLocationAndPriorityTopics() {
+    // Given
+    WeatherAlert alert = new WeatherAlert(new Location("Milan", "IT", 45.4642, 9.1900), AlertType.HIGH_TEMPERATURE, 30.0);
+    alert.setPriority(1);
+
+    // When
+    List<String> topics = AlertPushHub.topicsFor(alert);
+
+    // Then
+    assertEquals(List.of("alert:" + alert.getId(), "location:milan_IT", "priority:1"), topics);
+  }
+
+  @Test
+  @DisplayName("Should normalise location topics to the published key form")
+  void shouldNormaliseLocationTopicsToThePublishedKeyForm() {
+    // When & Then
+    assertEquals("location:milan_IT", AlertPushHub.normaliseTopic("location:Milan,it"));
+    assertEquals("location:milan_IT", AlertPushHub.normaliseTopic(" location:MILAN_it "));
+    assertEquals("location:new york_US", AlertPushHub.normaliseTopic("location: New York , us"));
+    assertEquals("priority:3", AlertPushHub.normaliseTopic("priority:3"));
+  }
+
+  @Test
+  @DisplayName("Should reject malformed topics")
+  void shouldRejectMalformedTopics() {
+    // When & Then
+    assertThrows(IllegalArgumentException.class, () -> AlertPushHub.normaliseTopic("priority:9"));
+    assertThrows(IllegalArgumentException.class, () -> AlertPushHub.normaliseTopic("location:Milan"));
+    assertThrows(IllegalArgumentException.class, () -> AlertPushHub.normaliseTopic("alert:"));
+    assertThrows(IllegalArgumentException.class, () -> AlertPushHub.normaliseTopic("weather:Milan"));
+  }
+
+  @Test
+  @DisplayName("Should deliver an alert once to every connection subscribed to any of its topics")
+  void shouldFanOutAlertOncePerConnection() throws Exception {
+    // Given
+    startHub(10);
+    WeatherAlert alert = alert();
+    List<String> byLocation = new CopyOnWriteArrayList<>();
+    List<String> byId = new CopyOnWriteArrayList<>();
+    WebSocketSession first = session("first", byLocation, null, null);
+    WebSocketSession second = session("second", byId, null, null);
+    hub.open(first);
+    hub.open(second);
+    hub.subscribe(first, List.of("location:Milan,it", "priority:3"));
+    hub.subscribe(second, List.of("alert:" + alert.getId()));
+
+    // When
+    hub.onTriggered(List.of(alert), HOT);
+    awaitTrue(() -> byLocation.size() == 1 && byId.size() == 1);
+
+    // Then
+    assertEquals(1, occurrences(byLocation.get(0), "\"alertId\""));
+    assertEquals(byLocation.get(0), byId.get(0));
+    assertEquals(2.0, registry.get("weather.alerts.push.delivered").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should batch events queued behind a write into one frame")
+  void shouldBatchQueuedEvents() throws Exception {
+    // Given
+    startHub(10);
+    List<String> frames = new CopyOnWriteArrayList<>();
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    WebSocketSession session = session("batched", frames, writing, release);
+    hub.open(session);
+    hub.subscribe(session, List.of("location:Milan_IT"));
+    hub.onTriggered(List.of(alert()), HOT);
+    assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+    // When
+    hub.onTriggered(List.of(alert(), alert()), HOT);
+    release.countDown();
+    awaitTrue(() -> frames.size() == 2);
+
+    // Then
+    assertEquals(1, occurrences(frames.get(0), "\"alertId\""));
+    assertEquals(2, occurrences(frames.get(1), "\"alertId\""));
+    assertEquals(2.0, registry.get("weather.alerts.push.frames").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should match location subscriptions regardless of case")
+  void shouldMatchLocationSubscriptionsRegardlessOfCase() throws Exception {
+    // Given
+    startHub(10);
+    List<String> frames = new CopyOnWriteArrayList<>();
+    WebSocketSession session = session("mixed-case", frames, null, null);
+    hub.open(session);
+    hub.subscribe(session, List.of("location:MILAN,it"));
+
+    // When
+    hub.onTriggered(List.of(alert()), HOT);
+
+    // Then
+    awaitTrue(() -> frames.size() == 1);
+  }
+
+  @Test
+  @DisplayName("Should disconnect a client that is too slow and count its batch as dropped")
+  void shouldDisconnectSlowClient() throws Exception {
+    // Given
+    startHub(10);
+    WebSocketSession session = mock(WebSocketSession.class);
+    when(session.getId()).thenReturn("slow");
+    when(session.isOpen()).thenReturn(true);
+    doThrow(new SessionLimitExceededException("Send time limit exceeded", CloseStatus.SESSION_NOT_RELIABLE))
+            .when(session).sendMessage(any());
+    hub.open(session);
+    hub.subscribe(session, List.of("location:Milan_IT"));
+
+    // When
+    hub.onTriggered(List.of(alert(), alert()), HOT);
+
+    // Then
+    awaitTrue(() -> registry.get("weather.alerts.push.dropped").counter().count() == 2.0);
+    verify(session, timeout(5_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+    assertEquals(0.0, registry.get("weather.alerts.push.delivered").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should never accept more connections than the limit under concurrent opens")
+  void shouldEnforceConnectionLimitUnderConcurrency() throws Exception {
+    // Given
+    startHub(3);
+    int attempts = 16;
+    List<WebSocketSession> sessions = new ArrayList<>();
+    for (int i = 0; i < attempts; i++) {
+      sessions.add(session("session-" + i, new CopyOnWriteArrayList<>(), null, null));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(attempts);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+
+    // When
+    for (WebSocketSession session : sessions) {
+      results.add(executor.submit(() -> {
+        start.await();
+        return hub.open(session);
+      }));
+    }
+    start.countDown();
+    List<WebSocketSession> accepted = new ArrayList<>();
+    for (int i = 0; i < attempts; i++) {
+      if (results.get(i).get(5, TimeUnit.SECONDS)) {
+        accepted.add(sessions.get(i));
+      }
+    }
+    executor.shutdown();
+    hub.closed(accepted.get(0));
+    boolean reopened = hub.open(session("late", new CopyOnWriteArrayList<>(), null, null));
+
+    // Then
+    assertEquals(3, accepted.size());
+    assertEquals(attempts - 3.0, registry.get("weather.alerts.push.rejected").counter().count());
+    assertTrue(reopened);
+  }
+
+  private void startHub(int maxConnections) {
+    WebSocketConfig config = new WebSocketConfig();
+    config.setMaxConnections(maxConnections);
+    config.init();
+    hub = new AlertPushHub(new WeatherAlertSystem(), new ObjectMapper().findAndRegisterModules(), config, registry);
+    hub.start();
+  }
+
+  private static WeatherAlert alert() {
+    WeatherAlert alert = new WeatherAlert(MILAN, AlertType.HIGH_TEMPERATURE, 30.0);
+    alert.setPriority(3);
+    return alert;
+  }
+
+  /**
+   * Session recording text frames; the first write optionally signals and waits for a release
+   */
+  private static WebSocketSession session(String id, List<String> frames, CountDownLatch writing,
+                                          CountDownLatch release) throws IOException {
+    WebSocketSession session = mock(WebSocketSession.class);
+    when(session.getId()).thenReturn(id);
+    when(session.isOpen()).thenReturn(true);
+    doAnswer(invocation -> {
+      if (writing != null && writing.getCount() > 0) {
+        writing.countDown();
+        release.await(5, TimeUnit.SECONDS);
+      }
+      frames.add(((TextMessage) invocation.getArgument(0)).getPayload());
+      return null;
+    }).when(session).sendMessage(any());
+    return session;
+  }
+
+  private static int occurrences(String text, String token) {
+    int count = 0;
+    for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + 1)) {
+      count++;
+    }
+    return count;
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+}
@@ -0,0 +1,248 @@
+package com.weather.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.config.RealTimeConfig;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.WeatherService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Live Weather Hub Tests")
+public class LiveWeatherHubTest {
+
+  private static final Location MILAN = new Location("Milan", "IT", 45.4642, 9.1900);
+  private static final Location ROME = new Location("Rome", "IT", 41.9028, 12.4964);
+  private static final Duration NEVER = Duration.ofHours(1);
+
+  private final WeatherService weatherService = mock(WeatherService.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final CountDownLatch releaseWrites = new CountDownLatch(1);
+  private LiveWeatherHub hub;
+  private boolean blockingWrites;
+  private boolean failingWrites;
+
+  @AfterEach
+  void tearDown() {
+    releaseWrites.countDown();
+    if (hub != null) {
+      hub.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should include every field in a snapshot")
+  void shouldIncludeEveryFieldInASnapshot() {
+    // Given
+    WeatherData current = new WeatherData(21.5, "Sunny", 40, 3.2);
+
+    // When
+    Map<String, Object> fields = LiveWeatherHub.fields(null, current);
+
+    // Then
+    assertEquals(Map.of("temperature", 21.5, "condition", "Sunny", "humidity", 40, "windSpeed", 3.2), fields);
+  }
+
+  @Test
+  @DisplayName("Should include only changed fields in a delta")
+  void shouldIncludeOnlyChangedFieldsInADelta() {
+    // Given
+    WeatherData previous = new WeatherData(21.5, "Sunny", 40, 3.2);
+    WeatherData current = new WeatherData(22.0, "Sunny", 40, 3.2);
+
+    // When
+    Map<String, Object> fields = LiveWeatherHub.fields(previous, current);
+
+    // Then
+    assertEquals(Map.of("temperature", 22.0), fields);
+  }
+
+  @Test
+  @DisplayName("Should fan one changed event out to every subscriber of a location")
+  void shouldFanOutChangesToEverySubscriber() throws InterruptedException {
+    // Given
+    AtomicReference<WeatherData> upstream = new AtomicReference<>(new WeatherData(21.5, "Sunny", 40, 3.2));
+    when(weatherService.getCurrentWeather(any())).thenAnswer(invocation -> upstream.get());
+    startHub(Duration.ofMillis(50), NEVER, NEVER, 16);
+    RecordingEmitter first = (RecordingEmitter) hub.subscribe(List.of(MILAN));
+    awaitTrue(() -> first.events.size() == 1);
+    RecordingEmitter second = (RecordingEmitter) hub.subscribe(List.of(MILAN));
+    awaitTrue(() -> second.events.size() == 1);
+
+    // When
+    upstream.set(new WeatherData(22.0, "Sunny", 40, 3.2));
+    awaitTrue(() -> first.events.size() == 2 && second.events.size() == 2);
+
+    // Then
+    assertTrue(first.events.get(1).contains("\"type\":\"delta\""));
+    assertEquals(first.events.get(1), second.events.get(1));
+    assertEquals(2, hub.getSubscriberCount());
+  }
+
+  @Test
+  @DisplayName("Should serve late subscribers the shared snapshot without another fetch")
+  void shouldCoalesceFetchesPerLocation() throws InterruptedException {
+    // Given
+    when(weatherService.getCurrentWeather(any())).thenReturn(new WeatherData(21.5, "Sunny", 40, 3.2));
+    startHub(NEVER, NEVER, NEVER, 16);
+    RecordingEmitter first = (RecordingEmitter) hub.subscribe(List.of(MILAN));
+    awaitTrue(() -> first.events.size() == 1);
+
+    // When
+    RecordingEmitter second = (RecordingEmitter) hub.subscribe(List.of(MILAN));
+    awaitTrue(() -> second.events.size() == 1);
+
+    // Then
+    verify(weatherService, times(1)).getCurrentWeather(any());
+    assertTrue(second.events.get(0).contains("\"type\":\"snapshot\""));
+    assertEquals(first.events.get(0), second.events.get(0));
+  }
+
+  @Test
+  @DisplayName("Should evict a subscriber whose queue fills up while its write is stalled")
+  void shouldEvictSlowConsumer() throws InterruptedException {
+    // Given
+    when(weatherService.getCurrentWeather(any())).thenReturn(new WeatherData(21.5, "Sunny", 40, 3.2));
+    blockingWrites = true;
+    startHub(NEVER, Duration.ofMillis(20), NEVER, 2);
+
+    // When
+    RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(List.of(MILAN));
+    awaitTrue(() -> emitter.completed);
+
+    // Then
+    assertEquals(1.0, evictions("slow-consumer"));
+    assertEquals(0.0, evictions("send-timeout"));
+    assertEquals(0, hub.getSubscriberCount());
+  }
+
+  @Test
+  @DisplayName("Should evict a subscriber and free its sender when a write exceeds the send timeout")
+  void shouldEvictSubscriberPastSendTimeout() throws InterruptedException {
+    // Given
+    when(weatherService.getCurrentWeather(any())).thenReturn(new WeatherData(21.5, "Sunny", 40, 3.2));
+    blockingWrites = true;
+    startHub(NEVER, NEVER, Duration.ofMillis(100), 16);
+
+    // When
+    RecordingEmitter emitter = (RecordingEmitter) hub.subscribe(List.of(MILAN));
+    awaitTrue(() -> emitter.completed);
+
+    // Then
+    assertEquals(1.0, evictions("send-timeout"));
+    assertEquals(0.0, evictions("slow-consumer"));
+    assertTrue(emitter.interrupted);
+    assertEquals(0, hub.getSubscriberCount());
+  }
+
+  @Test
+  @DisplayName("Should leave no subscriber behind in a channel when it is evicted while subscribing")
+  void shouldLeaveNoSubscriberBehindWhenEvictedWhileSubscribing() throws InterruptedException {
+    // Given every refresh changes the data and every write fails, so subscribers are evicted as they join
+    AtomicInteger temperature = new AtomicInteger();
+    when(weatherService.getCurrentWeather(any()))
+            .thenAnswer(invocation -> new WeatherData(temperature.incrementAndGet(), "Sunny", 40, 3.2));
+    failingWrites = true;
+    startHub(Duration.ofMillis(1), NEVER, NEVER, 16);
+
+    // When
+    for (int i = 0; i < 500; i++) {
+      hub.subscribe(List.of(MILAN, ROME));
+    }
+
+    // Then
+    awaitTrue(() -> hub.getSubscriberCount() == 0
+            && registry.get("weather.realtime.locations").gauge().value() == 0.0);
+  }
+
+  private void startHub(Duration refreshInterval, Duration heartbeatInterval, Duration sendTimeout, int queueCapacity) {
+    RealTimeConfig config = new RealTimeConfig();
+    config.setRefreshInterval(refreshInterval);
+    config.setHeartbeatInterval(heartbeatInterval);
+    config.setSendTimeout(sendTimeout);
+    config.setSubscriberQueueCapacity(queueCapacity);
+    config.init();
+    hub = new LiveWeatherHub(weatherService, new ObjectMapper().findAndRegisterModules(), config, registry) {
+      @Override
+      SseEmitter newEmitter(long timeoutMillis) {
+        return new RecordingEmitter(blockingWrites ? releaseWrites : null, failingWrites);
+      }
+    };
+    hub.start();
+  }
+
+  private double evictions(String reason) {
+    return registry.get("weather.realtime.evictions").tag("reason", reason).counter().count();
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+
+  /**
+   * Emitter that records written events, optionally blocking every write until released or failing it
+   */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release;
+    private final boolean failing;
+    private volatile boolean completed;
+    private volatile boolean interrupted;
+
+    private RecordingEmitter(CountDownLatch release, boolean failing) {
+      this.release = release;
+      this.failing = failing;
+    }
+
+    @Override
+    public void send(Set<DataWithMediaType> items) throws IOException {
+      if (failing) {
+        throw new IOException("Client disconnected");
+      }
+      if (release != null) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          interrupted = true;
+          throw new IOException("Write interrupted", e);
+        }
+      }
+      StringBuilder event = new StringBuilder();
+      items.forEach(item -> event.append(item.getData()));
+      events.add(event.toString());
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.weather.service;
+
+import com.weather.config.FreshnessConfig;
+import com.weather.model.WeatherData;
+import com.weather.service.FreshnessPolicy.DataKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Freshness Policy Tests")
+public class FreshnessPolicyTest {
+
+  private static final Instant NOW = Instant.parse("2024-03-31T01:30:00Z");
+
+  private FreshnessPolicy policy;
+
+  @BeforeEach
+  void setUp() {
+    FreshnessConfig config = new FreshnessConfig();
+    config.setCurrent(Duration.ofHours(1));
+    config.setForecast(Duration.ofHours(6));
+    policy = new FreshnessPolicy(Clock.fixed(NOW, ZoneId.of("Europe/Rome")), config);
+  }
+
+  @Test
+  @DisplayName("Should apply the window of each data kind")
+  void shouldApplyWindowOfEachDataKind() {
+    // Given
+    WeatherData twoHoursOld = dataAt(NOW.minus(Duration.ofHours(2)));
+
+    // When & Then
+    assertFalse(policy.isFresh(twoHoursOld, DataKind.CURRENT));
+    assertTrue(policy.isFresh(twoHoursOld, DataKind.FORECAST));
+  }
+
+  @Test
+  @DisplayName("Should treat data as stale exactly at the window boundary")
+  void shouldTreatDataAsStaleAtWindowBoundary() {
+    // Given
+    WeatherData justInside = dataAt(NOW.minus(Duration.ofMinutes(59)));
+    WeatherData atBoundary = dataAt(NOW.minus(Duration.ofHours(1)));
+
+    // When & Then
+    assertTrue(policy.isFresh(justInside, DataKind.CURRENT));
+    assertFalse(policy.isFresh(atBoundary, DataKind.CURRENT));
+  }
+
+  @Test
+  @DisplayName("Should judge freshness on epoch time across a daylight saving change")
+  void shouldJudgeFreshnessAcrossDaylightSavingChange() {
+    // Given - clocks in Rome jump from 02:00 to 03:00 half an hour after NOW
+    FreshnessConfig config = new FreshnessConfig();
+    config.setCurrent(Duration.ofHours(1));
+    config.setForecast(Duration.ofHours(6));
+    Instant afterJump = NOW.plus(Duration.ofMinutes(50));
+    FreshnessPolicy later = new FreshnessPolicy(Clock.fixed(afterJump, ZoneId.of("Europe/Rome")), config);
+
+    // When
+    WeatherData observed = dataAt(NOW);
+
+    // Then - 50 minutes elapsed although local time moved by 1h50m
+    assertTrue(later.isFresh(observed, DataKind.CURRENT));
+  }
+
+  @Test
+  @DisplayName("Should judge forecast freshness on the fetch time, not the valid time")
+  void shouldJudgeForecastFreshnessOnFetchTime() {
+    // Given
+    WeatherData fetchedLongAgo = WeatherData.builder()
+            .temperature(12.0)
+            .condition("Cloudy")
+            .humidity(70)
+            .windSpeed(8.0)
+            .epochSecond(NOW.minus(Duration.ofHours(7)).getEpochSecond())
+            .validAt(NOW.plus(Duration.ofDays(2)).getEpochSecond())
+            .build();
+
+    // When & Then
+    assertFalse(policy.isFresh(fetchedLongAgo, DataKind.FORECAST));
+  }
+
+  @Test
+  @DisplayName("Should read time from the injected clock")
+  void shouldReadTimeFromInjectedClock() {
+    // When & Then
+    assertEquals(NOW.getEpochSecond(), policy.nowEpochSecond());
+    assertEquals(ZoneId.of("Europe/Rome"), policy.zone());
+  }
+
+  private static WeatherData dataAt(Instant instant) {
+    return WeatherData.builder()
+            .temperature(12.0)
+            .condition("Cloudy")
+            .humidity(70)
+            .windSpeed(8.0)
+            .epochSecond(instant.getEpochSecond())
+            .build();
+  }
+}
@@ -2,6 +2,7 @@ package com.weather.service;
 
 import com.weather.model.Location;
 import com.weather.model.WeatherData;
+import com.weather.monitoring.WeatherMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,7 +44,7 @@ public class WeatherServiceTest {
             new io.micrometer.core.instrument.simple.SimpleMeterRegistry();
 
     weatherService = new WeatherService(
-            weatherApiClient, cacheManager, circuitBreaker, meterRegistry);
+            weatherApiClient, cacheManager, circuitBreaker, new WeatherMetrics(meterRegistry));
   }
 
   @Test
@@ -185,22 +186,23 @@ public class WeatherServiceTest {
   }
 
   private WeatherData createSampleWeatherData() {
-    WeatherData weatherData = new WeatherData();
-    weatherData.setTemperature(22.5);
-    weatherData.setCondition("Partly Cloudy");
-    weatherData.setHumidity(65);
-    weatherData.setWindSpeed(10.5);
-    return weatherData;
+    return WeatherData.builder()
+            .temperature(22.5)
+            .condition("Partly Cloudy")
+            .humidity(65)
+            .windSpeed(10.5)
+            .build();
   }
 
   private WeatherData[] createSampleForecastArray(int days) {
     WeatherData[] forecast = new WeatherData[days];
     for (int i = 0; i < days; i++) {
-      WeatherData weatherData = new WeatherData();
-      weatherData.setTemperature(20.0 + i);
-      weatherData.setCondition("Day " + (i + 1) + " Weather");
-      weatherData.setHumidity(60 + i);
-      weatherData.setWindSpeed(10.0 + i);
+      WeatherData weatherData = WeatherData.builder()
+              .temperature(20.0 + i)
+              .condition("Day " + (i + 1) + " Weather")
+              .humidity(60 + i)
+              .windSpeed(10.0 + i)
+              .build();
       forecast[i] = weatherData;
     }
     return forecast;
@@ -0,0 +1,203 @@
+package com.weather.service.impl;
+
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import com.weather.service.NetworkException;
+import com.weather.service.WeatherApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Hedging Weather Api Client Tests")
+public class HedgingWeatherApiClientTest {
+
+  private Location location;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    location = new Location("Milan", "IT", 45.4642, 9.1900);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  @DisplayName("Should use primary answer without hedging when primary is fast")
+  void shouldUsePrimaryAnswerWhenPrimaryIsFast() {
+    // Given
+    DelayedClient primary = new DelayedClient(createWeatherData(20.0), 0, false);
+    DelayedClient secondary = new DelayedClient(createWeatherData(30.0), 0, false);
+    HedgingWeatherApiClient client = createClient(primary, secondary, Duration.ofMillis(500));
+
+    // When
+    WeatherData result = client.getCurrentWeather(location);
+
+    // Then
+    assertEquals(20.0, result.getTemperature());
+    assertEquals(0, secondary.calls.get());
+  }
+
+  @Test
+  @DisplayName("Should hedge to secondary when primary is slower than the hedge delay")
+  void shouldHedgeToSecondaryWhenPrimaryIsSlow() throws Exception {
+    // Given
+    DelayedClient primary = new DelayedClient(createWeatherData(20.0), 2000, false);
+    DelayedClient secondary = new DelayedClient(createWeatherData(30.0), 0, false);
+    HedgingWeatherApiClient client = createClient(primary, secondary, Duration.ofMillis(20));
+
+    // When
+    WeatherData result = client.getCurrentWeather(location);
+
+    // Then
+    assertEquals(30.0, result.getTemperature());
+    assertEquals(1, secondary.calls.get());
+    Throwable primaryOutcome = primary.lastCall.handle((value, error) -> error).get(1, TimeUnit.SECONDS);
+    assertTrue(primaryOutcome instanceof CancellationException);
+  }
+
+  @Test
+  @DisplayName("Should fail over to secondary when primary fails")
+  void shouldFailOverToSecondaryWhenPrimaryFails() {
+    // Given
+    DelayedClient primary = new DelayedClient(createWeatherData(20.0), 0, true);
+    DelayedClient secondary = new DelayedClient(createWeatherData(30.0), 0, false);
+    HedgingWeatherApiClient client = createClient(primary, secondary, Duration.ofSeconds(5));
+
+    // When
+    WeatherData result = client.getCurrentWeather(location);
+
+    // Then
+    assertEquals(30.0, result.getTemperature());
+  }
+
+  @Test
+  @DisplayName("Should propagate failure when both providers fail")
+  void shouldPropagateFailureWhenBothProvidersFail() {
+    // Given
+    DelayedClient primary = new DelayedClient(createWeatherData(20.0), 0, true);
+    DelayedClient secondary = new DelayedClient(createWeatherData(30.0), 0, true);
+    HedgingWeatherApiClient client = createClient(primary, secondary, Duration.ofMillis(20));
+
+    // When & Then
+    assertThrows(NetworkException.class, () -> client.getCurrentWeather(location));
+  }
+
+  @Test
+  @DisplayName("Should sample an outrun primary with its elapsed time at cancellation")
+  void shouldSampleOutrunPrimaryLatency() throws Exception {
+    // Given
+    DelayedClient primary = new DelayedClient(createWeatherData(20.0), 2000, false);
+    DelayedClient secondary = new DelayedClient(createWeatherData(30.0), 0, false);
+    List<Long> samples = new CopyOnWriteArrayList<>();
+    LatencyTracker tracker = new LatencyTracker(64, 0.95, Duration.ofMillis(20)) {
+      @Override
+      public void record(long nanos) {
+        samples.add(nanos);
+        super.record(nanos);
+      }
+    };
+    HedgingWeatherApiClient client = new HedgingWeatherApiClient(primary, secondary, tracker,
+            Duration.ofMillis(20), Duration.ofMillis(20), meterRegistry);
+
+    // When
+    WeatherData result = client.getCurrentWeather(location);
+    primary.lastCall.handle((value, error) -> error).get(1, TimeUnit.SECONDS);
+
+    // Then
+    assertEquals(30.0, result.getTemperature());
+    assertEquals(1, samples.size());
+    assertTrue(samples.get(0) >= Duration.ofMillis(20).toNanos());
+  }
+
+  @Test
+  @DisplayName("Should sample a primary that answers first once")
+  void shouldSamplePrimaryWinOnce() {
+    // Given
+    DelayedClient primary = new DelayedClient(createWeatherData(20.0), 0, false);
+    DelayedClient secondary = new DelayedClient(createWeatherData(30.0), 0, false);
+    List<Long> samples = new CopyOnWriteArrayList<>();
+    LatencyTracker tracker = new LatencyTracker(64, 0.95, Duration.ofMillis(500)) {
+      @Override
+      public void record(long nanos) {
+        samples.add(nanos);
+        super.record(nanos);
+      }
+    };
+    HedgingWeatherApiClient client = new HedgingWeatherApiClient(primary, secondary, tracker,
+            Duration.ofMillis(500), Duration.ofMillis(500), meterRegistry);
+
+    // When
+    client.getCurrentWeather(location);
+
+    // Then
+    assertEquals(1, samples.size());
+  }
+
+  private HedgingWeatherApiClient createClient(WeatherApiClient primary, WeatherApiClient secondary,
+                                               Duration delay) {
+    LatencyTracker tracker = new LatencyTracker(64, 0.95, delay);
+    return new HedgingWeatherApiClient(primary, secondary, tracker, delay, delay, meterRegistry);
+  }
+
+  private WeatherData createWeatherData(double temperature) {
+    return WeatherData.builder()
+            .temperature(temperature)
+            .condition("Clear")
+            .humidity(50)
+            .windSpeed(10.0)
+            .build();
+  }
+
+  private static class DelayedClient implements WeatherApiClient {
+
+    private final WeatherData response;
+    private final long delayMillis;
+    private final boolean fail;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile CompletableFuture<WeatherData> lastCall;
+
+    DelayedClient(WeatherData response, long delayMillis, boolean fail) {
+      this.response = response;
+      this.delayMillis = delayMillis;
+      this.fail = fail;
+    }
+
+    @Override
+    public WeatherData getCurrentWeather(Location location) {
+      return getCurrentWeatherAsync(location).join();
+    }
+
+    @Override
+    public WeatherData[] getWeatherForecast(Location location, int days) {
+      return new WeatherData[]{getCurrentWeather(location)};
+    }
+
+    @Override
+    public CompletableFuture<WeatherData> getCurrentWeatherAsync(Location location) {
+      calls.incrementAndGet();
+      CompletableFuture<WeatherData> future = new CompletableFuture<>();
+      lastCall = future;
+      CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+              .execute(() -> {
+                if (fail) {
+                  future.completeExceptionally(new NetworkException("Simulated network error"));
+                } else {
+                  future.complete(response);
+                }
+              });
+      return future;
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package com.weather.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.weather.config.WeatherApiProperties;
+import com.weather.model.Location;
+import com.weather.model.WeatherData;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("OpenWeatherMap Revalidation Tests")
+public class OpenWeatherMapRevalidationTest {
+
+  private static final MediaType JSON = MediaType.get("application/json");
+
+  private final List<Request> requests = new CopyOnWriteArrayList<>();
+  private Location location;
+  private WeatherApiProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    location = new Location("Milan", "IT", 45.4642, 9.1900);
+    properties = new WeatherApiProperties();
+    properties.setBaseUrl("https://api.test/data/2.5");
+    properties.init();
+  }
+
+  @Test
+  @DisplayName("Should reuse the stored result when upstream answers 304")
+  void shouldReuseResultOnNotModified() {
+    // Given
+    OpenWeatherMapApiClient client = clientAnswering(request -> request.header("If-None-Match") == null
+            ? ok(request, "\"v1\"", currentWeather(100, 20.0))
+            : notModified(request));
+    WeatherData first = client.getCurrentWeather(location);
+
+    // When
+    WeatherData second = client.getCurrentWeather(location);
+
+    // Then
+    assertSame(first, second);
+    assertEquals(2, requests.size());
+    assertEquals("\"v1\"", requests.get(1).header("If-None-Match"));
+  }
+
+  @Test
+  @DisplayName("Should repeat the request unconditionally when the entry was evicted before the 304 arrived")
+  void shouldRetryWhenValidatorEvictedInFlight() {
+    // Given
+    OpenWeatherMapApiClient[] client = new OpenWeatherMapApiClient[1];
+    client[0] = clientAnswering(request -> {
+      if (request.header("If-None-Match") == null) {
+        return ok(request, "\"v" + requests.size() + "\"", currentWeather(100 + requests.size(), 20.0 + requests.size()));
+      }
+      client[0].validators().invalidate(request.url());
+      return notModified(request);
+    });
+    client[0].getCurrentWeather(location);
+
+    // When
+    WeatherData refreshed = client[0].getCurrentWeather(location);
+
+    // Then
+    assertEquals(3, requests.size());
+    assertNull(requests.get(2).header("If-None-Match"));
+    assertEquals(23.0, refreshed.getTemperature(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Should repeat an asynchronous request unconditionally when the entry was evicted")
+  void shouldRetryAsyncWhenValidatorEvictedInFlight() throws Exception {
+    // Given
+    OpenWeatherMapApiClient[] client = new OpenWeatherMapApiClient[1];
+    client[0] = clientAnswering(request -> {
+      if (request.header("If-None-Match") == null) {
+        return ok(request, "\"v" + requests.size() + "\"", currentWeather(100 + requests.size(), 20.0 + requests.size()));
+      }
+      client[0].validators().invalidate(request.url());
+      return notModified(request);
+    });
+    client[0].getCurrentWeatherAsync(location).get(5, TimeUnit.SECONDS);
+
+    // When
+    WeatherData refreshed = client[0].getCurrentWeatherAsync(location).get(5, TimeUnit.SECONDS);
+
+    // Then
+    assertEquals(3, requests.size());
+    assertEquals(23.0, refreshed.getTemperature(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Should skip parsing when the observation time is unchanged")
+  void shouldReuseResultForUnchangedObservationTime() {
+    // Given
+    OpenWeatherMapApiClient client = clientAnswering(request -> requests.size() == 1
+            ? ok(request, null, currentWeather(100, 20.0))
+            : ok(request, null, currentWeather(100, 35.0)));
+    WeatherData first = client.getCurrentWeather(location);
+
+    // When
+    WeatherData second = client.getCurrentWeather(location);
+
+    // Then
+    assertSame(first, second);
+    assertEquals(20.0, second.getTemperature(), 0.001);
+  }
+
+  @Test
+  @DisplayName("Should evict validators beyond the maximum size and after the retention")
+  void shouldEvictValidators() {
+    // Given
+    AtomicLong nanos = new AtomicLong();
+    Ticker ticker = nanos::get;
+    UpstreamValidatorStore store = new UpstreamValidatorStore(2, Duration.ofHours(1), ticker, Runnable::run);
+    HttpUrl[] urls = new HttpUrl[3];
+    for (int i = 0; i < urls.length; i++) {
+      urls[i] = HttpUrl.get("https://api.test/data/2.5/weather?lat=" + i);
+      Request request = new Request.Builder().url(urls[i]).build();
+      store.store(urls[i], 100, ok(request, "\"v" + i + "\"", "{}"), "result-" + i);
+    }
+
+    // When
+    long sizeAfterWrites = store.size();
+    nanos.addAndGet(Duration.ofHours(2).toNanos());
+    Request.Builder revalidation = store.applyValidators(urls[2], new Request.Builder().url(urls[2]));
+
+    // Then
+    assertEquals(2, sizeAfterWrites);
+    assertNull(revalidation.build().header("If-None-Match"));
+  }
+
+  private OpenWeatherMapApiClient clientAnswering(Function<Request, Response> responder) {
+    OkHttpClient httpClient = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+              requests.add(chain.request());
+              return responder.apply(chain.request());
+            })
+            .build();
+    return new OpenWeatherMapApiClient(properties, new ObjectMapper(), httpClient);
+  }
+
+  private static String currentWeather(long observationTime, double temperature) {
+    return "{\"dt\":" + observationTime + ",\"main\":{\"temp\":" + temperature + ",\"humidity\":50},"
+            + "\"wind\":{\"speed\":2.0},\"weather\":[{\"main\":\"Clear\"}]}";
+  }
+
+  private static Response ok(Request request, String etag, String body) {
+    Response.Builder builder = new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create(body, JSON));
+    if (etag != null) {
+      builder.header("ETag", etag);
+    }
+    return builder.build();
+  }
+
+  private static Response notModified(Request request) {
+    return new Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(304)
+            .message("Not Modified")
+            .body(ResponseBody.create("", JSON))
+            .build();
+  }
+}
@@ -0,0 +1,78 @@
+package com.weather.service.impl;
+
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("OpenWeatherMap URL Tests")
+public class OpenWeatherMapUrlsTest {
+
+  private final OpenWeatherMapUrls urls = new OpenWeatherMapUrls("https://api.openweathermap.org/data/2.5");
+
+  @Test
+  @DisplayName("Should format coordinates with six decimals")
+  void shouldFormatCoordinatesWithSixDecimals() {
+    assertEquals("45.464200", OpenWeatherMapUrls.formatCoordinate(45.4642));
+    assertEquals("-0.127800", OpenWeatherMapUrls.formatCoordinate(-0.1278));
+    assertEquals("0.000000", OpenWeatherMapUrls.formatCoordinate(0.0));
+    assertEquals("-180.000000", OpenWeatherMapUrls.formatCoordinate(-180.0));
+  }
+
+  @Test
+  @DisplayName("Should use dot separator regardless of default locale")
+  void shouldUseDotSeparatorRegardlessOfDefaultLocale() {
+    Locale original = Locale.getDefault();
+    try {
+      Locale.setDefault(Locale.ITALY);
+      assertEquals("9.190000", OpenWeatherMapUrls.formatCoordinate(9.19));
+    } finally {
+      Locale.setDefault(original);
+    }
+  }
+
+  @Test
+  @DisplayName("Should build current weather URL without API key")
+  void shouldBuildCurrentWeatherUrlWithoutApiKey() {
+    // When
+    HttpUrl url = urls.currentWeather(51.5074, -0.1278);
+
+    // Then
+    assertEquals("/data/2.5/weather", url.encodedPath());
+    assertEquals("metric", url.queryParameter("units"));
+    assertEquals("51.507400", url.queryParameter("lat"));
+    assertEquals("-0.127800", url.queryParameter("lon"));
+    assertNull(url.queryParameter(ApiKeyInterceptor.API_KEY_PARAMETER));
+  }
+
+  @Test
+  @DisplayName("Should build forecast URL with reading count")
+  void shouldBuildForecastUrlWithReadingCount() {
+    // When
+    HttpUrl url = urls.forecast(45.4642, 9.19, 5);
+
+    // Then
+    assertEquals("/data/2.5/forecast", url.encodedPath());
+    assertEquals("40", url.queryParameter("cnt"));
+  }
+
+  @Test
+  @DisplayName("Should redact API key from logged URLs")
+  void shouldRedactApiKeyFromLoggedUrls() {
+    // Given
+    HttpUrl url = urls.currentWeather(45.4642, 9.19).newBuilder()
+            .addQueryParameter(ApiKeyInterceptor.API_KEY_PARAMETER, "secret-key")
+            .build();
+
+    // When
+    String redacted = ApiKeyInterceptor.redact(url);
+
+    // Then
+    assertFalse(redacted.contains("secret-key"));
+  }
+}